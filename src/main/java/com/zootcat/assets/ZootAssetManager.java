@@ -16,6 +16,7 @@ import com.zootcat.tools.physicsbodyeditor.PhysicsBodyEditorModelLoader;
 public class ZootAssetManager extends AssetManager
 {
 	private ZootAssetRecognizer assetRecognizer;
+	private ZootTiledMapLoader tiledMapLoader;
 	
 	public ZootAssetManager()
 	{
@@ -30,7 +31,8 @@ public class ZootAssetManager extends AssetManager
 		assetRecognizer.setAssetType(".json", PhysicsBodyEditorModel.class);
 		
 		setLoader(TiledMap.class, new TmxMapLoader());
-		setLoader(ZootTiledMap.class, new ZootTiledMapLoader(assetRecognizer));
+		tiledMapLoader = new ZootTiledMapLoader(assetRecognizer);
+		setLoader(ZootTiledMap.class, tiledMapLoader);
 		setLoader(ZootAnimationFile.class, new ZootAnimationFileLoader(assetRecognizer));
 		setLoader(PhysicsBodyEditorModel.class, new PhysicsBodyEditorModelLoader());
 	}
@@ -40,6 +42,20 @@ public class ZootAssetManager extends AssetManager
 		return assetRecognizer;
 	}
 	
+	public boolean isPackAnimationSpriteSheets()
+	{
+		return tiledMapLoader.isPackAnimationSpriteSheets();
+	}
+	
+	/**
+	 * Enables packing sprite sheets of animations used by loaded maps into shared atlas pages.
+	 * Disabled by default.
+	 */
+	public void setPackAnimationSpriteSheets(boolean pack)
+	{
+		tiledMapLoader.setPackAnimationSpriteSheets(pack);
+	}
+	
 	public <T> T getOrLoad(String filename, Class<T> clazz)
 	{
 		if(filename == null || filename.trim().isEmpty())
@@ -29,4 +29,24 @@ public interface Controller
 	{ 
 		return ControllerPriority.Normal; 
 	}
+	
+	/**
+	 * Actors with controllers that are always updated are updated every step,
+	 * regardless of their distance from the camera.
+	 * @see com.zootcat.scene.ZootUpdateLod
+	 */
+	default boolean isAlwaysUpdated()
+	{
+		return false;
+	}
+	
+	/**
+	 * Called instead of {@link #onUpdate(float, ZootActor)} in steps in which the actor is 
+	 * not updated, because of its reduced update rate. Should be cheap, by default does nothing.
+	 * @see com.zootcat.scene.ZootUpdateLod
+	 */
+	default void onSkippedUpdate(float delta, ZootActor actor)
+	{
+		//noop
+	}
 }
@@ -2,8 +2,9 @@ package com.zootcat.controllers.factory;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.zootcat.controllers.Controller;
@@ -13,7 +14,12 @@ public class ControllerAnnotations
 {
 	public static List<ControllerParameter> getControllerParameterFields(Controller controller)
 	{
-		return getAllFields(controller).stream()
+		return getControllerParameterFields(controller.getClass());
+	}
+	
+	public static List<ControllerParameter> getControllerParameterFields(Class<?> controllerClass)
+	{
+		return getAllFields(controllerClass).stream()
 									   .filter(field -> field.isAnnotationPresent(CtrlParam.class))
 									   .map(field -> new ControllerParameter(field))
 									   .collect(Collectors.toList());
@@ -21,7 +27,7 @@ public class ControllerAnnotations
 	
 	public static List<Field> getControllerDebugFields(Controller controller)
 	{		
-		return getAllFields(controller)
+		return getAllFields(controller.getClass())
 				.stream()
 				.filter((field -> field.isAnnotationPresent(CtrlParam.class) || field.isAnnotationPresent(CtrlDebug.class)))
 				.collect(Collectors.toList());
@@ -45,18 +51,21 @@ public class ControllerAnnotations
 		}
 	}
 	
-	private static List<Field> getAllFields(Controller controller)
+	private static List<Field> getAllFields(Class<?> controllerClass)
 	{
 		List<Field> allClassFields = new ArrayList<Field>();
+		Set<String> fieldNames = new HashSet<String>();
 		
-		Class<?> currentClass = controller.getClass();
+		Class<?> currentClass = controllerClass;
 		while(currentClass != null)
 		{
-			Field[] currentClassFields = currentClass.getDeclaredFields();
-			Arrays.stream(currentClassFields)
-				.filter(newField -> !allClassFields.stream().anyMatch(existingField -> existingField.getName().equals(newField.getName())))
-				.forEach(newField -> allClassFields.add(newField));			
-			
+			for(Field field : currentClass.getDeclaredFields())
+			{
+				if(fieldNames.add(field.getName()))
+				{
+					allClassFields.add(field);
+				}
+			}
 			currentClass = currentClass.getSuperclass();
 		}	
 		
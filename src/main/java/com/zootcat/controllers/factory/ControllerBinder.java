@@ -0,0 +1,139 @@
+package com.zootcat.controllers.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+
+import com.zootcat.controllers.Controller;
+import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.utils.ZootUtils;
+
+/**
+ * Creates controllers of a single class and assigns their parameters. Parameter fields
+ * are resolved once, when the binder is created, so creating a controller costs a
+ * constructor call and direct field stores.<br/>
+ * <br/>
+ * Binder is immutable and can be used from many threads.
+ * @author Cream
+ */
+public class ControllerBinder
+{
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Controller.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Class<? extends Controller> controllerClass;
+	private final MethodHandle constructor;
+	private final Binding[] bindings;
+
+	public ControllerBinder(Class<? extends Controller> controllerClass)
+	{
+		this.controllerClass = controllerClass;
+		try
+		{
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			constructor = lookup.findConstructor(controllerClass, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+
+			List<ControllerParameter> parameters = ControllerAnnotations.getControllerParameterFields(controllerClass);
+			bindings = new Binding[parameters.size()];
+			for(int i = 0; i < bindings.length; ++i)
+			{
+				ControllerParameter parameter = parameters.get(i);
+				parameter.field.setAccessible(true);
+				bindings[i] = new Binding(parameter, lookup.unreflectSetter(parameter.field).asType(SETTER_TYPE));
+			}
+		}
+		catch(NoSuchMethodException | IllegalAccessException e)
+		{
+			throw new RuntimeZootException("Unable to create binder for " + controllerClass.getSimpleName(), e);
+		}
+	}
+
+	public Class<? extends Controller> getControllerClass()
+	{
+		return controllerClass;
+	}
+
+	/**
+	 * Creates the controller and assigns its parameters.
+	 * @param params - controller parameters
+	 * @param globalParams - global parameters, used for fields marked as global
+	 * @return Created controller.
+	 * @throws IllegalArgumentException when a required parameter is missing or parameter type is invalid
+	 */
+	public Controller create(Map<String, Object> params, Map<String, Object> globalParams)
+	{
+		Controller controller = newInstance();
+		for(Binding binding : bindings)
+		{
+			Object paramValue = binding.global ? globalParams.get(binding.name) : params.get(binding.name);
+			if(paramValue == null)
+			{
+				if(binding.required || binding.global)
+				{
+					throw new IllegalArgumentException("Parameter " + binding.name + " is required for " + controllerClass.getSimpleName());
+				}
+				continue;
+			}
+			binding.set(controller, paramValue);
+		}
+		return controller;
+	}
+
+	private Controller newInstance()
+	{
+		try
+		{
+			return (Controller) constructor.invokeExact();
+		}
+		catch(RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch(Throwable e)
+		{
+			throw new RuntimeZootException("Unable to create " + controllerClass.getSimpleName(), (Exception)e);
+		}
+	}
+
+	private static class Binding
+	{
+		final String name;
+		final boolean required;
+		final boolean global;
+		final Class<? extends Enum<?>> enumType;
+		final MethodHandle setter;
+
+		@SuppressWarnings("unchecked")
+		Binding(ControllerParameter parameter, MethodHandle setter)
+		{
+			this.name = parameter.field.getName();
+			this.required = parameter.required;
+			this.global = parameter.global;
+			this.enumType = parameter.field.getType().isEnum() ? (Class<? extends Enum<?>>) parameter.field.getType() : null;
+			this.setter = setter;
+		}
+
+		void set(Controller controller, Object paramValue)
+		{
+			Object value = enumType != null ? ZootUtils.searchEnum(enumType, paramValue.toString()) : paramValue;
+			try
+			{
+				setter.invokeExact((Object)controller, value);
+			}
+			catch(ClassCastException e)
+			{
+				throw new IllegalArgumentException("Can not set " + name + " field to " + value.getClass().getName(), e);
+			}
+			catch(RuntimeException | Error e)
+			{
+				throw e;
+			}
+			catch(Throwable e)
+			{
+				throw new RuntimeZootException("Unable to set " + name + " field", (Exception)e);
+			}
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.zootcat.controllers.factory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -11,14 +12,15 @@ import com.zootcat.controllers.Controller;
 import com.zootcat.exceptions.RuntimeZootException;
 import com.zootcat.utils.ArgumentParser;
 import com.zootcat.utils.ClassFinder;
-import com.zootcat.utils.ZootUtils;
 
 public class ControllerFactory
 {
 	private static final String CONTROLLER_SUFFIX = "controller";
+	private static final String DEFAULT_CONTROLLERS_PACKAGE = "com.zootcat.controllers";
 	
 	Map<String, Class<? extends Controller>> classes = new HashMap<String, Class<? extends Controller>>();
     Map<String, Object> globalParameters = new HashMap<String, Object>();
+    Map<Class<? extends Controller>, ControllerBinder> binders = new ConcurrentHashMap<Class<? extends Controller>, ControllerBinder>();
     
     public ControllerFactory()
     {
@@ -27,9 +29,9 @@ public class ControllerFactory
     
     public ControllerFactory(boolean addDefaultControllers)
     {
-    	if(addDefaultControllers)
+    	if(addDefaultControllers && !addFromRegistry())
     	{
-    		addFromPackage("com.zootcat.controllers", true);
+    		addFromPackage(DEFAULT_CONTROLLERS_PACKAGE, true);
     	}
     }
     
@@ -68,6 +70,33 @@ public class ControllerFactory
 		filtered.forEach(cls -> add(cls));
 	}
 	
+	/**
+	 * Adds controllers listed in the build time generated {@link ControllerRegistry}.
+	 * @return True if registry was found and controllers were added, false otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean addFromRegistry()
+	{
+		List<String> classNames = ControllerRegistry.load();
+		if(classNames == null)
+		{
+			return false;
+		}
+		
+		for(String className : classNames)
+		{
+			try
+			{
+				add((Class<? extends Controller>) Class.forName(className));
+			}
+			catch(ClassNotFoundException e)
+			{
+				throw new RuntimeZootException("Controller registry is out of date, class not found: " + className, e);
+			}
+		}
+		return true;
+	}
+	
     public int getSize()
     {
         return classes.size();
@@ -100,49 +129,25 @@ public class ControllerFactory
             throw new RuntimeZootException("No controller for given name: " + ctrlName + ".");
         }
     	
-        Class<?> classToCreate = get(ctrlName);
-        
         try 
         {
-			Controller createdController = (Controller) classToCreate.newInstance();
-			assignParamsToClassFields(createdController, params);
-			return createdController;
+        	return getBinder(get(ctrlName)).create(params, globalParameters);
 		}
-        catch (InstantiationException | IllegalAccessException | IllegalArgumentException e) 
+        catch (IllegalArgumentException e) 
         {
         	throw new RuntimeZootException(e.getMessage(), e);
 		}
     }
     
-    private void assignParamsToClassFields(Controller controller, Map<String, Object> params) throws IllegalArgumentException, IllegalAccessException 
+    /**
+     * Returns parameter binder for the given controller class. Binders are created
+     * once per class and cached, it is safe to call this method from many threads.
+     */
+    public ControllerBinder getBinder(Class<? extends Controller> controllerClass)
     {
-    	List<ControllerParameter> annotatedFields = ControllerAnnotations.getControllerParameterFields(controller);     	
-    	for(ControllerParameter parameter : annotatedFields)
-    	{
-			String fieldName = parameter.field.getName();								
-			Object paramValue = parameter.global ? globalParameters.get(fieldName) : params.get(fieldName);			
-			if(paramValue == null)
-			{
-				if(parameter.required || parameter.global)
-				{				
-					throw new IllegalArgumentException("Parameter " + fieldName + " is required for " + controller.getClass().getSimpleName());
-				}
-				continue;
-			}
-			parameter.field.setAccessible(true);
-							
-			if(parameter.field.getType().isEnum())
-			{
-				@SuppressWarnings("unchecked")
-				Enum<?> enumeration = ZootUtils.searchEnum((Class<? extends Enum<?>>)parameter.field.getType(), paramValue.toString());					
-				parameter.field.set(controller, enumeration);
-			}
-			else
-			{				
-				parameter.field.set(controller, paramValue);
-			}		
-    	}	
-	}
+    	ControllerBinder binder = binders.get(controllerClass);
+    	return binder != null ? binder : binders.computeIfAbsent(controllerClass, ControllerBinder::new);
+    }
     
 	private String normalizeName(String name)
 	{
@@ -0,0 +1,123 @@
+package com.zootcat.controllers.factory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.zootcat.controllers.Controller;
+import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.utils.ClassFinder;
+
+/**
+ * Registry of controller class names, generated at build time by the
+ * generateControllerRegistry task from build.gradle. Lets {@link ControllerFactory}
+ * register default controllers without scanning the classpath.<br/>
+ * <br/>
+ * Registry file contains one class name per line, empty lines and lines starting
+ * with # are ignored.
+ * @author Cream
+ */
+public class ControllerRegistry
+{
+	public static final String REGISTRY_FILE = "META-INF/zoot/controllers.registry";
+	private static final String COMMENT = "#";
+
+	/**
+	 * Loads controller class names from the registry file found on the classpath.
+	 * @return Controller class names, or null if there is no registry on the classpath.
+	 */
+	public static List<String> load()
+	{
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		InputStream stream = (classLoader != null ? classLoader : ControllerRegistry.class.getClassLoader()).getResourceAsStream(REGISTRY_FILE);
+		if(stream == null)
+		{
+			return null;
+		}
+
+		try(Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8))
+		{
+			return read(reader);
+		}
+		catch(IOException e)
+		{
+			throw new RuntimeZootException("Unable to read controller registry", e);
+		}
+	}
+
+	public static List<String> read(Reader reader) throws IOException
+	{
+		List<String> classNames = new ArrayList<String>();
+		BufferedReader bufferedReader = new BufferedReader(reader);
+		String line;
+		while((line = bufferedReader.readLine()) != null)
+		{
+			String className = line.trim();
+			if(!className.isEmpty() && !className.startsWith(COMMENT))
+			{
+				classNames.add(className);
+			}
+		}
+		return classNames;
+	}
+
+	public static void write(List<Class<? extends Controller>> controllers, Writer writer) throws IOException
+	{
+		writer.write(COMMENT + " Generated at build time, do not edit\n");
+		for(Class<? extends Controller> controller : controllers)
+		{
+			writer.write(controller.getName());
+			writer.write('\n');
+		}
+	}
+
+	/**
+	 * Returns classes that can be created by {@link ControllerFactory}, sorted by name.
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Class<? extends Controller>> filterControllers(List<Class<?>> classes)
+	{
+		return classes.stream()
+					  .filter(cls -> ClassReflection.isAssignableFrom(Controller.class, cls))
+					  .filter(cls -> !ClassReflection.isInterface(cls) && !ClassReflection.isAbstract(cls))
+					  .map(cls -> (Class<? extends Controller>)cls)
+					  .sorted((c1, c2) -> c1.getName().compareTo(c2.getName()))
+					  .collect(Collectors.toList());
+	}
+
+	/**
+	 * Generates the registry file.
+	 * @param args - output directory followed by scanned package names
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if(args.length < 2)
+		{
+			throw new IllegalArgumentException("Usage: ControllerRegistry <output dir> <package>...");
+		}
+
+		List<Class<?>> found = new ArrayList<Class<?>>();
+		for(int i = 1; i < args.length; ++i)
+		{
+			found.addAll(ClassFinder.find(args[i], true));
+		}
+
+		File registryFile = new File(args[0], REGISTRY_FILE);
+		registryFile.getParentFile().mkdirs();
+		try(Writer writer = new OutputStreamWriter(new FileOutputStream(registryFile), StandardCharsets.UTF_8))
+		{
+			write(filterControllers(found), writer);
+		}
+	}
+}
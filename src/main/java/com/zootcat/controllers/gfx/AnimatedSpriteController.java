@@ -1,5 +1,6 @@
 package com.zootcat.controllers.gfx;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,15 +11,18 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.zootcat.controllers.factory.CtrlDebug;
 import com.zootcat.controllers.factory.CtrlParam;
 import com.zootcat.controllers.logic.DirectionController;
 import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.exceptions.ZootException;
 import com.zootcat.game.ZootGame;
 import com.zootcat.gfx.ZootAnimation;
 import com.zootcat.gfx.ZootAnimationFile;
 import com.zootcat.gfx.ZootAnimationOffset;
+import com.zootcat.gfx.ZootAnimationTemplate;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.ZootDirection;
 import com.zootcat.scene.ZootScene;
@@ -42,23 +46,21 @@ public class AnimatedSpriteController extends RenderControllerAdapter
 	private float firstAnimationWidth;
 	private float firstAnimationHeight;	
 	private Map<Integer, ZootAnimation> animations;
+	private DirectionController directionCtrl;
+	private int directionCtrlVersion = -1;
+	private SpriteState spriteState = new SpriteState();
 				
 	@Override
 	public void init(ZootActor actor)
 	{
 		try
 		{			
-			FileHandle animationFileHandle = Gdx.files.internal(file);			
-			ZootAnimationFile zootAnimationFile = new ZootAnimationFile(animationFileHandle.file()); 
-			
-			Map<String, Texture> spriteSheets = new HashMap<String, Texture>();
-			zootAnimationFile.getSpriteSheets().forEach((k, v) -> spriteSheets.put(k, assetManager.get(animationFileHandle.parent().path() + "/" + v)));
-			
-			animations = zootAnimationFile.createAnimations(spriteSheets); 		
+			animations = ZootAnimationFile.createAnimations(getAnimationTemplates());
 			setAnimation(startingAnimation);
 			calculateFirstAnimationFrameSize(getCurrentAnimation());
 			
 			sprite = game.getGraphicsFactory().createSprite();
+			spriteState.invalidate();
 			if(currentAnimation != null) updateSprite(actor);
 		}
 		catch (Exception e)
@@ -67,6 +69,23 @@ public class AnimatedSpriteController extends RenderControllerAdapter
 		}
 	}
 
+	private Collection<ZootAnimationTemplate> getAnimationTemplates() throws ZootException
+	{
+		//templates loaded by the asset manager are shared between all actors using the file
+		if(assetManager.isLoaded(file, ZootAnimationFile.class))
+		{
+			Map<Integer, ZootAnimationTemplate> templates = assetManager.get(file, ZootAnimationFile.class).getTemplates();
+			if(templates != null) return templates.values();
+		}
+		
+		FileHandle animationFileHandle = Gdx.files.internal(file);			
+		ZootAnimationFile zootAnimationFile = new ZootAnimationFile(animationFileHandle.file()); 
+		
+		Map<String, Texture> spriteSheets = new HashMap<String, Texture>();
+		zootAnimationFile.getSpriteSheets().forEach((k, v) -> spriteSheets.put(k, assetManager.get(animationFileHandle.parent().path() + "/" + v)));
+		return zootAnimationFile.createTemplates(spriteSheets).values();
+	}
+	
 	private void calculateFirstAnimationFrameSize(ZootAnimation firstAnimation)
 	{		
 		firstAnimationWidth = firstAnimation.getKeyFrame().getRegionWidth();
@@ -105,9 +124,26 @@ public class AnimatedSpriteController extends RenderControllerAdapter
 			return;
 		}
 		
+		//actor can be moved after the update, e.g. by render interpolation
+		updateSprite(actor);
 		sprite.draw(batch);
 	}
 	
+	/**
+	 * Returns bounds of the drawn sprite extended by the overdraw margin.
+	 */
+	@Override
+	public Rectangle getRenderBounds(ZootActor actor, Rectangle bounds)
+	{
+		Rectangle spriteBounds = currentAnimation != null && sprite != null ? sprite.getBoundingRectangle() : null;
+		if(spriteBounds == null)
+		{
+			return super.getRenderBounds(actor, bounds);
+		}
+		return bounds.set(spriteBounds.x - getOverdraw(), spriteBounds.y - getOverdraw(), 
+						  spriteBounds.width + getOverdraw() * 2.0f, spriteBounds.height + getOverdraw() * 2.0f);
+	}
+	
 	public ZootAnimation getCurrentAnimation()
 	{
 		return currentAnimation;
@@ -127,6 +163,7 @@ public class AnimatedSpriteController extends RenderControllerAdapter
 		}
 		
 		currentAnimation = getAnimation(animationName);
+		spriteState.invalidate();
 		
 		if(currentAnimation != null)
 		{
@@ -134,20 +171,33 @@ public class AnimatedSpriteController extends RenderControllerAdapter
 		}
 	}
 	
+	/**
+	 * Forces the sprite to be updated on next update, even if nothing it depends on has changed.
+	 */
+	public void invalidateSprite()
+	{
+		spriteState.invalidate();
+	}
+	
 	private void updateSprite(ZootActor actor)
 	{		
 		TextureRegion currentFrame = currentAnimation.getKeyFrame();		
+		ZootAnimationOffset offset = currentAnimation.getKeyFrameOffset();		
+		ZootDirection direction = getDirection(actor);		
+		float sceneUnitScale = scene.getUnitScale();
+		
+		//sprite vertices are recomputed only when the frame, actor or direction has changed
+		if(!spriteState.update(currentFrame, offset, direction, sceneUnitScale, actor, getOffsetX(), getOffsetY()))
+		{
+			return;
+		}
+		
 		sprite.setTexture(currentFrame.getTexture());
 		sprite.setRegion(currentFrame);
 		sprite.setColor(actor.getColor());
-		
-		ZootAnimationOffset offset = currentAnimation.getKeyFrameOffset();		
-		
-		ZootDirection direction = getDirection(actor);		
 		sprite.setFlip(direction == ZootDirection.Left, false);
 		Vector2 directionOffset = direction == ZootDirection.Left ? offset.left : offset.right;
 		
-		float sceneUnitScale = scene.getUnitScale();
 		float frameWidth = currentFrame.getRegionWidth() * sceneUnitScale;
 		float frameHeight = currentFrame.getRegionHeight() * sceneUnitScale;
 		
@@ -187,11 +237,69 @@ public class AnimatedSpriteController extends RenderControllerAdapter
 
 	private ZootDirection getDirection(ZootActor actor)
 	{
-		DirectionController ctrl = actor.tryGetSingleController(DirectionController.class);
-		if(ctrl != null)
+		int controllersVersion = actor.getControllersVersion();
+		if(directionCtrlVersion != controllersVersion)
+		{
+			directionCtrl = actor.tryGetSingleController(DirectionController.class);
+			directionCtrlVersion = controllersVersion;
+		}
+		
+		if(directionCtrl != null)
 		{
-			return ctrl.getDirection();
+			return directionCtrl.getDirection();
 		}
 		return ZootDirection.Right;
 	}
+	
+	private static class SpriteState
+	{
+		private boolean valid = false;
+		private TextureRegion frame;
+		private ZootAnimationOffset offset;
+		private ZootDirection direction;
+		private float unitScale;
+		private float x;
+		private float y;
+		private float width;
+		private float height;
+		private float rotation;
+		private float color;
+		private float offsetX;
+		private float offsetY;
+		
+		public void invalidate()
+		{
+			valid = false;
+		}
+		
+		/**
+		 * Stores the current state.
+		 * @return true if state has changed since last update, false otherwise
+		 */
+		public boolean update(TextureRegion frame, ZootAnimationOffset offset, ZootDirection direction, float unitScale, ZootActor actor, float offsetX, float offsetY)
+		{
+			float color = actor.getColor() != null ? actor.getColor().toFloatBits() : 0.0f;
+			if(valid && this.frame == frame && this.offset == offset && this.direction == direction && this.unitScale == unitScale
+			   && x == actor.getX() && y == actor.getY() && width == actor.getWidth() && height == actor.getHeight()
+			   && rotation == actor.getRotation() && this.color == color && this.offsetX == offsetX && this.offsetY == offsetY)
+			{
+				return false;
+			}
+			
+			valid = true;
+			this.frame = frame;
+			this.offset = offset;
+			this.direction = direction;
+			this.unitScale = unitScale;
+			this.x = actor.getX();
+			this.y = actor.getY();
+			this.width = actor.getWidth();
+			this.height = actor.getHeight();
+			this.rotation = actor.getRotation();
+			this.color = color;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+			return true;
+		}
+	}
 }
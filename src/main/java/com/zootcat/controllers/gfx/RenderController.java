@@ -1,6 +1,7 @@
 package com.zootcat.controllers.gfx;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
 import com.zootcat.controllers.Controller;
 import com.zootcat.scene.ZootActor;
 
@@ -13,4 +14,15 @@ public interface RenderController extends Controller
 {
 	void onRender(Batch batch, float parentAlpha, ZootActor actor, float delta);
 	void setOffset(float x, float y);
+	
+	/**
+	 * Returns area the controller draws in. Actors drawn outside of the camera view are culled.
+	 * @param actor - rendered actor
+	 * @param bounds - rectangle the result will be stored in
+	 * @return bounds
+	 */
+	default Rectangle getRenderBounds(ZootActor actor, Rectangle bounds)
+	{
+		return bounds.set(actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight());
+	}
 }
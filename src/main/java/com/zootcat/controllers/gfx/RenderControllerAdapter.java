@@ -1,11 +1,15 @@
 package com.zootcat.controllers.gfx;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
 import com.zootcat.controllers.ControllerAdapter;
+import com.zootcat.controllers.factory.CtrlParam;
 import com.zootcat.scene.ZootActor;
 
 public class RenderControllerAdapter extends ControllerAdapter implements RenderController
 {
+	@CtrlParam private float overdraw = 0.0f;
+	
 	private float offsetX = 0.0f;
 	private float offsetY = 0.0f;
 	
@@ -31,4 +35,39 @@ public class RenderControllerAdapter extends ControllerAdapter implements Render
 	{
 		return offsetY;
 	}
+	
+	/**
+	 * Margin added to render bounds, for controllers drawing outside of the actor bounds.
+	 */
+	public float getOverdraw()
+	{
+		return overdraw;
+	}
+	
+	public void setOverdraw(float overdraw)
+	{
+		this.overdraw = overdraw;
+	}
+	
+	/**
+	 * Returns actor bounds moved by the offset and extended by the overdraw margin. 
+	 * Rotated actors are given bounds of the circle they are rotated in.
+	 */
+	@Override
+	public Rectangle getRenderBounds(ZootActor actor, Rectangle bounds)
+	{
+		float x = actor.getX() + offsetX;
+		float y = actor.getY() + offsetY;
+		float width = actor.getWidth();
+		float height = actor.getHeight();
+		if(actor.getRotation() != 0.0f)
+		{
+			float diameter = (float)Math.sqrt(width * width + height * height);
+			x -= (diameter - width) * 0.5f;
+			y -= (diameter - height) * 0.5f;
+			width = diameter;
+			height = diameter;
+		}
+		return bounds.set(x - overdraw, y - overdraw, width + overdraw * 2.0f, height + overdraw * 2.0f);
+	}
 }
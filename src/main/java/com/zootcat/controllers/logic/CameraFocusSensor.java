@@ -1,5 +1,6 @@
 package com.zootcat.controllers.logic;
 
+import java.util.List;
 import java.util.function.Function;
 
 import com.badlogic.gdx.physics.box2d.Fixture;
@@ -78,8 +79,9 @@ public class CameraFocusSensor extends OnCollideWithSensorController
 	private void focus()
 	{		
 		//fetch actor to focus on
-		ZootActor actorToFocus = scene.getFirstActor(act -> act.getName().equalsIgnoreCase(focusedActorName));
-		if(actorToFocus == null) throw new RuntimeZootException("Actor to focus not found: " + focusedActorName);
+		List<ZootActor> actorsToFocus = scene.getActorsByName(focusedActorName);
+		if(actorsToFocus.isEmpty()) throw new RuntimeZootException("Actor to focus not found: " + focusedActorName);
+		ZootActor actorToFocus = actorsToFocus.get(0);
 				
 		//set the scrolling strategy
 		ZootCamera camera = scene.getCamera();
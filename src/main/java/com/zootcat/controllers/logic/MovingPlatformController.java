@@ -31,6 +31,12 @@ public class MovingPlatformController extends ControllerAdapter
 		worldRange = range * scene.getUnitScale();
 	}
 	
+	@Override
+	public boolean isAlwaysUpdated()
+	{
+		return true;
+	}
+	
 	@Override
 	public void onUpdate(float delta, ZootActor actor)
 	{
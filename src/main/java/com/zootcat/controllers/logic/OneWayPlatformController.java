@@ -14,6 +14,7 @@ import com.zootcat.controllers.factory.CtrlParam;
 import com.zootcat.controllers.physics.PhysicsBodyController;
 import com.zootcat.controllers.physics.PhysicsCollisionController;
 import com.zootcat.math.ZootBoundingBoxFactory;
+import com.zootcat.physics.ZootCollisionEvent.Type;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.ZootScene;
 
@@ -42,6 +43,19 @@ public class OneWayPlatformController extends PhysicsCollisionController
 		return true;
 	}
 	
+	@Override
+	public boolean isInterestedIn(Type type)
+	{
+		return type != Type.PostSolve;
+	}
+	
+	@Override
+	public boolean requiresImmediateDispatch()
+	{
+		//needs world manifold on begin and enables the contact on end
+		return true;
+	}
+	
 	@Override
 	public void onBeginContact(ZootActor actorA, ZootActor actorB, Contact contact)
 	{
@@ -13,7 +13,7 @@ public class KillActorsTriggerController extends TriggerEventListener
 	@Override
 	public void triggerOn(ZootActor switchActor)
 	{
-		scene.getActors(act -> act.getName().equalsIgnoreCase(actorName)).forEach(act -> 
+		scene.getActorsByName(actorName).forEach(act -> 
 		{
 			act.addAction(ZootActions.killActor(act));	 
 		});
@@ -39,7 +39,7 @@ public class MoveActorsTriggerController extends TriggerEventListener
 		float distX = mx * scene.getUnitScale() * (revertToPreviousLocation ? -1 : 1);
 		float distY = my * scene.getUnitScale() * (revertToPreviousLocation ? -1 : 1);
 		
-		scene.getActors(act -> act.getName().equalsIgnoreCase(actorName)).forEach(act -> 
+		scene.getActorsByName(actorName).forEach(act -> 
 		{
 			act.addAction(ZootActions.moveActor(act, distX, distY));
 		});
@@ -24,7 +24,7 @@ public class MovingPlatformTriggerController extends TriggerEventListener
 	
 	protected void setMovingPlatformsMoving(boolean moving)
 	{
-		scene.getActors(actor -> actor.getName().equalsIgnoreCase(platformActorName))
+		scene.getActorsByName(platformActorName)
 	 		 .forEach(actor -> actor.controllersAction(MovingPlatformController.class, ctrl ->
 	 		 {
 	 			 ctrl.setMoving(moving);
@@ -89,4 +89,10 @@ public class TriggerController extends OnCollideController
 	{
 		return true;
 	}
+	
+	@Override
+	public boolean isAlwaysUpdated()
+	{
+		return true;
+	}
 }
@@ -10,6 +10,7 @@ import com.zootcat.controllers.factory.CtrlParam;
 import com.zootcat.physics.ZootBodyShape;
 import com.zootcat.physics.ZootFixtureDefBuilder;
 import com.zootcat.physics.ZootFixtureDefBuilder.FixtureDimensions;
+import com.zootcat.physics.ZootShapeFactory;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.ZootScene;
 import com.zootcat.utils.CollisionMask;
@@ -27,6 +28,9 @@ import com.zootcat.utils.CollisionMask;
  * @ctrlParam shape - box2d fixture shape (box, circle, polygon, slope left, slope right)
  * @ctrlParam category - box2d filter category (e.g. "myCategory") 
  * @ctrlParam mask - box2d filter mask (e.g. "myCategory | otherCategory")
+ * <br/><br/>
+ * When outlines are set, actor sized box is replaced with chain loop fixtures, one per outline.
+ * Sensors keep the box.
  * @author Cream
  *
  */
@@ -50,6 +54,7 @@ public class FixtureController extends ControllerAdapter
 	protected Array<Fixture> fixtures = new Array<Fixture>(0);
 	protected CollisionMask collisionMask = new CollisionMask();
 	protected boolean disposeShapesAutomatically = true;
+	protected float[][] outlines;
 	
 	@Override
 	public void init(ZootActor actor)
@@ -74,11 +79,45 @@ public class FixtureController extends ControllerAdapter
 				.setMask(mask)
 				.setDimensions(dimensions)
 				.build(actor);
+		
+		//chains are hollow, sensors would detect contacts only at the outline
+		if(outlines != null && !sensor && shape == ZootBodyShape.BOX && dimensions == FixtureDimensions.Actor)
+		{
+			return createOutlineFixtureDefs(fixtureDef);
+		}
 			
 		Array<FixtureDef> fixtureDefs = new Array<FixtureDef>(1);
 		fixtureDefs.add(fixtureDef);
 		return fixtureDefs;
 	}
+	
+	private Array<FixtureDef> createOutlineFixtureDefs(FixtureDef boxFixtureDef)
+	{
+		boxFixtureDef.shape.dispose();
+		
+		Array<FixtureDef> fixtureDefs = new Array<FixtureDef>(outlines.length);
+		for(float[] outline : outlines)
+		{
+			float[] vertices = new float[outline.length];
+			for(int i = 0; i < vertices.length; i += 2)
+			{
+				vertices[i] = outline[i] + offsetX * scene.getUnitScale();
+				vertices[i + 1] = outline[i + 1] + offsetY * scene.getUnitScale();
+			}
+			
+			FixtureDef fixtureDef = new FixtureDef();
+			fixtureDef.density = boxFixtureDef.density;
+			fixtureDef.friction = boxFixtureDef.friction;
+			fixtureDef.restitution = boxFixtureDef.restitution;
+			fixtureDef.isSensor = boxFixtureDef.isSensor;
+			fixtureDef.filter.categoryBits = boxFixtureDef.filter.categoryBits;
+			fixtureDef.filter.maskBits = boxFixtureDef.filter.maskBits;
+			fixtureDef.filter.groupIndex = boxFixtureDef.filter.groupIndex;
+			fixtureDef.shape = ZootShapeFactory.createChainLoop(vertices);
+			fixtureDefs.add(fixtureDef);
+		}
+		return fixtureDefs;
+	}
 					
 	@Override
 	public void onAdd(ZootActor actor)
@@ -147,4 +186,18 @@ public class FixtureController extends ControllerAdapter
 	{
 		disposeShapesAutomatically = dispose;
 	}
+	
+	/**
+	 * Sets outlines used instead of the actor sized box, ignored for sensors. Must be set before the controller is initialized.
+	 * @param outlines - vertex loops, in world units relative to the actor center
+	 */
+	public void setOutlines(float[][] outlines)
+	{
+		this.outlines = outlines;
+	}
+	
+	public float[][] getOutlines()
+	{
+		return outlines;
+	}
 }
@@ -9,6 +9,7 @@ import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.zootcat.controllers.factory.CtrlParam;
+import com.zootcat.physics.ZootCollisionEvent.Type;
 import com.zootcat.physics.ZootDefaultContactFilter;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.utils.BitMaskConverter;
@@ -163,6 +164,12 @@ public abstract class OnCollideController extends PhysicsCollisionController
 		return collisionDetected && sensorOk;
 	}
 		
+	@Override
+	public boolean isInterestedIn(Type type)
+	{
+		return type == Type.BeginContact || type == Type.EndContact;
+	}
+	
 	@Override
 	public void onPreSolve(ZootActor actorA, ZootActor actorB, Contact contact, Manifold manifold)
 	{
@@ -14,6 +14,7 @@ import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.zootcat.controllers.factory.CtrlParam;
 import com.zootcat.physics.ZootBodyShape;
+import com.zootcat.physics.ZootCollisionEvent.Type;
 import com.zootcat.physics.ZootFixtureDefBuilder;
 import com.zootcat.physics.ZootFixtureDefBuilder.FixtureDimensions;
 import com.zootcat.physics.ZootPhysicsUtils;
@@ -157,6 +158,12 @@ public class OnCollideWithSensorController extends OnCollideController
 		return contactEnabled;
 	}
 	
+	@Override
+	public boolean isInterestedIn(Type type)
+	{
+		return super.isInterestedIn(type) || type == Type.PreSolve;
+	}
+	
 	//Box2D enables all contacts after postSolve step, so we need to keep track of them in the preSolve step
 	@Override
 	public void onPreSolve(ZootActor actorA, ZootActor actorB, Contact contact, Manifold manifold)
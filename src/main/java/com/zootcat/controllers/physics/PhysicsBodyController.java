@@ -9,11 +9,15 @@ import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
 import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Shape;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.zootcat.controllers.ControllerAdapter;
 import com.zootcat.controllers.ControllerPriority;
 import com.zootcat.controllers.factory.CtrlDebug;
 import com.zootcat.controllers.factory.CtrlParam;
+import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.physics.ZootCollisionListener;
 import com.zootcat.physics.ZootPhysicsUtils;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.ZootScene;
@@ -27,22 +31,49 @@ public class PhysicsBodyController extends ControllerAdapter
 	@CtrlParam protected boolean canRotate = true;
 	@CtrlParam protected boolean canSleep = true;
 	@CtrlParam protected BodyType type = BodyType.DynamicBody;
+	@CtrlParam protected boolean alwaysActive = false;
 	@CtrlParam(global = true) protected ZootScene scene;
 
 	@CtrlDebug private float velocityX = 0.0f;
 	@CtrlDebug private float velocityY = 0.0f;	
 	private Body body;
+	private Body sharedBody;
 	private Array<Fixture> fixtures;
+	private float previousX;
+	private float previousY;
+	private float previousAngle;
+	private long previousStep = -1;
 	
 	@Override
 	public void init(ZootActor actor)
 	{
 		fixtures = new Array<Fixture>(false, 4);
+		if(sharedBody != null)
+		{
+			body = sharedBody;
+			return;
+		}
 		body = scene.getPhysics().createBody(createBodyDef(actor));
 		body.setActive(false);
 		body.setUserData(actor);
 	}
 	
+	/**
+	 * Sets body shared with other actors, used instead of creating own body. Fixtures are placed
+	 * at the actor position and the actor is never moved by the body. Shared body does not support 
+	 * collision listeners. Must be set before the controller is initialized.
+	 * @see com.zootcat.scene.ZootTerrain
+	 */
+	public void setSharedBody(Body sharedBody)
+	{
+		this.sharedBody = sharedBody;
+	}
+	
+	public boolean isSharedBody()
+	{
+		return sharedBody != null;
+	}
+	
 	@Override
 	public boolean isSingleton()
 	{
@@ -52,13 +83,26 @@ public class PhysicsBodyController extends ControllerAdapter
 	@Override
 	public void onAdd(ZootActor actor) 
 	{
+		//collision controllers added before the body controller
+		actor.controllersAction(ctrl -> ClassReflection.isInstance(PhysicsCollisionController.class, ctrl), 
+								ctrl -> ((PhysicsCollisionController)ctrl).registerIn(this));
+		
+		if(isSharedBody()) return;
 		body.setActive(true);
+		if(alwaysActive) scene.getPhysics().getBodyActivator().addAlwaysActiveBody(body);
 	}
 
 	@Override
 	public void onRemove(ZootActor actor)
 	{
-		scene.getPhysics().removeBody(body);
+		if(isSharedBody())
+		{
+			fixtures.forEach(fixture -> scene.getPhysics().destroyFixture(body, fixture));
+		}
+		else
+		{
+			scene.getPhysics().removeBody(body);
+		}
 		fixtures = null;
 		body = null;
 	}
@@ -66,16 +110,56 @@ public class PhysicsBodyController extends ControllerAdapter
 	@Override
 	public void onUpdate(float delta, ZootActor actor) 
 	{
-		float bottomLeftX = body.getPosition().x - actor.getWidth() * 0.5f; 
-		float bottomLeftY = body.getPosition().y - actor.getHeight() * 0.5f;
+		if(isSharedBody()) return;
+		
+		Vector2 position = body.getPosition();
+		float bottomLeftX = position.x - actor.getWidth() * 0.5f; 
+		float bottomLeftY = position.y - actor.getHeight() * 0.5f;
 		actor.setPosition(bottomLeftX, bottomLeftY);
 		actor.setRotation(body.getAngle() * MathUtils.radiansToDegrees);
 		
+		//body transform before the next physics step, used for interpolation
+		previousX = position.x;
+		previousY = position.y;
+		previousAngle = body.getAngle();
+		previousStep = scene.getPhysics().getStepCount();
+		
 		Vector2 velocity = body.getLinearVelocity();
 		velocityX = velocity.x;
 		velocityY = velocity.y;
 	}
 	
+	@Override
+	public void onSkippedUpdate(float delta, ZootActor actor)
+	{
+		//body is simulated regardless of the actor update rate, actor must follow it
+		onUpdate(delta, actor);
+	}
+	
+	/**
+	 * Sets actor transform between the body transform before and after the last physics step. 
+	 * If the body transform was not stored before the last step, current body transform is used.
+	 * @param alpha - interpolation factor, 0 for previous and 1 for current transform
+	 * @param actor - controlled actor
+	 */
+	public void interpolate(float alpha, ZootActor actor)
+	{
+		if(isSharedBody()) return;
+		
+		Vector2 position = body.getPosition();
+		float x = position.x;
+		float y = position.y;
+		float angle = body.getAngle();
+		if(previousStep == scene.getPhysics().getStepCount() - 1)
+		{
+			x = MathUtils.lerp(previousX, x, alpha);
+			y = MathUtils.lerp(previousY, y, alpha);
+			angle = MathUtils.lerp(previousAngle, angle, alpha);
+		}
+		actor.setPosition(x - actor.getWidth() * 0.5f, y - actor.getHeight() * 0.5f);
+		actor.setRotation(angle * MathUtils.radiansToDegrees);
+	}
+	
 	@Override
 	public ControllerPriority getPriority()
 	{
@@ -87,6 +171,11 @@ public class PhysicsBodyController extends ControllerAdapter
 		return body;
 	}
 	
+	public BodyType getType()
+	{
+		return type;
+	}
+	
 	public ImmutableArray<Fixture> getFixtures()
 	{
 		return new ImmutableArray<Fixture>(fixtures);
@@ -138,6 +227,11 @@ public class PhysicsBodyController extends ControllerAdapter
 		body.setAwake(awake);
 	}
 	
+	public boolean isBullet()
+	{
+		return body.isBullet();
+	}
+	
 	public boolean isSleepingAllowed()
 	{
 		return body.isSleepingAllowed();
@@ -145,18 +239,51 @@ public class PhysicsBodyController extends ControllerAdapter
 	
 	public Fixture addFixture(FixtureDef fixtureDef, ZootActor actor)
 	{
-		Fixture fixture = scene.getPhysics().createFixture(body, fixtureDef);		
+		Fixture fixture = isSharedBody() ? addSharedBodyFixture(fixtureDef, actor) : scene.getPhysics().createFixture(body, fixtureDef);		
 		fixture.setUserData(actor);
 		
 		fixtures.add(fixture);		
 		return fixture;
 	}
 	
+	private Fixture addSharedBodyFixture(FixtureDef fixtureDef, ZootActor actor)
+	{
+		//fixture definitions are relative to the actor center
+		Shape shape = fixtureDef.shape;
+		fixtureDef.shape = ZootPhysicsUtils.createMovedShape(shape, actor.getX() + actor.getWidth() * 0.5f, actor.getY() + actor.getHeight() * 0.5f);
+		try
+		{
+			return scene.getPhysics().createFixture(body, fixtureDef);
+		}
+		finally
+		{
+			fixtureDef.shape.dispose();
+			fixtureDef.shape = shape;
+		}
+	}
+	
+	public void addCollisionListener(ZootCollisionListener listener)
+	{
+		if(isSharedBody())
+		{
+			throw new RuntimeZootException("Collision listeners are not supported for actors with shared body");
+		}
+		scene.getPhysics().addCollisionListener(body, listener);
+	}
+	
+	public void removeCollisionListener(ZootCollisionListener listener)
+	{
+		if(body != null)
+		{
+			scene.getPhysics().removeCollisionListener(body, listener);
+		}
+	}
+	
 	public void removeFixture(Fixture fixture)
 	{
 		if(body != null && fixtures != null && fixture != null)
 		{
-			body.destroyFixture(fixture);
+			scene.getPhysics().destroyFixture(body, fixture);
 			fixtures.removeValue(fixture, true);
 		}
 	}
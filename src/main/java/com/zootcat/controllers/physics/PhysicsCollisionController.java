@@ -4,6 +4,7 @@ import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.zootcat.controllers.Controller;
 import com.zootcat.controllers.factory.CtrlParam;
 import com.zootcat.exceptions.RuntimeZootException;
@@ -14,6 +15,7 @@ public abstract class PhysicsCollisionController extends ZootCollisionListener i
 {
 	@CtrlParam private boolean enabled = true;
 	private ZootActor controllerActor;
+	private PhysicsBodyController registeredBodyCtrl;
 		
 	@Override
 	public void init(ZootActor actor)	
@@ -24,13 +26,43 @@ public abstract class PhysicsCollisionController extends ZootCollisionListener i
 	@Override
 	public void onAdd(ZootActor actor) 
 	{
-		actor.addListener(this);
+		//otherwise registered by the body controller, when it is added
+		PhysicsBodyController physicsCtrl = findBodyController(actor);
+		if(physicsCtrl != null)
+		{
+			registerIn(physicsCtrl);
+		}
 	}
 
 	@Override
 	public void onRemove(ZootActor actor) 
 	{
-		actor.removeListener(this);
+		PhysicsBodyController physicsCtrl = findBodyController(actor);
+		if(physicsCtrl != null)
+		{
+			physicsCtrl.removeCollisionListener(this);
+		}
+		registeredBodyCtrl = null;
+	}
+	
+	/**
+	 * Registers the controller as collision listener of the body, only once for the given body controller.
+	 */
+	void registerIn(PhysicsBodyController physicsCtrl)
+	{
+		if(registeredBodyCtrl == physicsCtrl) return;
+		physicsCtrl.addCollisionListener(this);
+		registeredBodyCtrl = physicsCtrl;
+	}
+	
+	private static PhysicsBodyController findBodyController(ZootActor actor)
+	{
+		//controller recognizer matches exact classes, body controller can be subclassed
+		for(Controller ctrl : actor.getAllControllers())
+		{
+			if(ClassReflection.isInstance(PhysicsBodyController.class, ctrl)) return (PhysicsBodyController)ctrl;
+		}
+		return null;
 	}
 
 	@Override
@@ -6,6 +6,7 @@ import java.util.function.Function;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.physics.box2d.Box2D;
 import com.zootcat.assets.ZootAssetManager;
 import com.zootcat.controllers.factory.ControllerFactory;
@@ -14,8 +15,11 @@ import com.zootcat.gfx.ZootGraphicsFactory;
 import com.zootcat.input.ZootInputManager;
 import com.zootcat.map.tiled.ZootTiledMap;
 import com.zootcat.scene.ZootScene;
+import com.zootcat.scene.tiled.ZootSceneLoadingListener;
+import com.zootcat.scene.tiled.ZootSceneLoadingPhase;
 import com.zootcat.scene.tiled.ZootTiledScene;
 import com.zootcat.screen.ZootLoadingScreen;
+import com.zootcat.screen.ZootLoadingTask;
 import com.zootcat.screen.ZootSceneScreen;
 import com.zootcat.screen.ZootScreen;
 
@@ -24,6 +28,7 @@ public abstract class ZootGame extends Game
 	private float unitPerTile = 1.0f;
 	private float viewportWidth = 16.0f;
 	private float viewportHeight = 9.0f;
+	private boolean levelStreaming = false;
 	private ZootScreen previousScreen;
 	private String currentLevelPath;	
 	private ZootAssetManager assetManager;
@@ -121,18 +126,10 @@ public abstract class ZootGame extends Game
     	ZootLoadingScreen loadingScreen = createLoadingScreen(); 	
     	loadingScreen.addTask((assetManager) -> assetManager.load(levelFile, ZootTiledMap.class));
     	
-    	loadingScreen.onFinishLoading((game) -> 
-    	{
-    		ZootTiledMap tiledMap = getAssetManager().get(levelFile, ZootTiledMap.class);
-    		ZootTiledScene scene = new ZootTiledScene(
-    				tiledMap, 
-    				getAssetManager(), 
-    				getControllerFactory(), 
-    				game.getViewportWidth(), 
-    				game.getViewportHeight(), 
-    				game.getUnitPerTile());
-    		game.setScreen(createSceneScreen(scene));
-    	});
+    	SceneLoadingTask sceneLoadingTask = new SceneLoadingTask(levelFile);
+    	loadingScreen.addTask(sceneLoadingTask);
+    	
+    	loadingScreen.onFinishLoading((game) -> game.setScreen(createSceneScreen(sceneLoadingTask.scene)));
     	
     	setScreen(loadingScreen);
     }
@@ -182,6 +179,19 @@ public abstract class ZootGame extends Game
     	return unitPerTile;
     }
     
+    /**
+     * When enabled, levels are loaded in chunks around the camera target, see {@link ZootTiledScene#setLevelStreaming(boolean)}.
+     */
+    public void setLevelStreaming(boolean enabled)
+    {
+    	levelStreaming = enabled;
+    }
+    
+    public boolean isLevelStreaming()
+    {
+    	return levelStreaming;
+    }
+    
     public void setLoadingScreenSupplier(Function<ZootGame, ZootLoadingScreen> supplier)
     {
     	loadingScreenSupplier = supplier;
@@ -206,4 +216,52 @@ public abstract class ZootGame extends Game
     {
     	return inputManager;
     }
+    
+    private class SceneLoadingTask implements ZootLoadingTask, ZootSceneLoadingListener
+    {
+    	private final String levelFile;
+    	private ZootTiledScene scene;
+    	
+    	public SceneLoadingTask(String levelFile)
+    	{
+    		this.levelFile = levelFile;
+    	}
+    	
+    	@Override
+    	public void start(AssetManager assetManager)
+    	{
+    		ZootTiledMap tiledMap = assetManager.get(levelFile, ZootTiledMap.class);
+    		scene = new ZootTiledScene(
+    				tiledMap, 
+    				assetManager, 
+    				getControllerFactory(), 
+    				getViewportWidth(), 
+    				getViewportHeight(), 
+    				getUnitPerTile(),
+    				this);
+    		scene.setLevelStreaming(levelStreaming);
+    	}
+    	
+    	@Override
+    	public boolean update(AssetManager assetManager)
+    	{
+    		return scene.updateLoading();
+    	}
+    	
+    	@Override
+    	public float getProgress(AssetManager assetManager)
+    	{
+    		return scene.getLoadingProgress();
+    	}
+    	
+    	@Override
+    	public void onPhaseFinished(ZootSceneLoadingPhase phase, long durationMillis)
+    	{
+    		Gdx.app.debug("ZootGame", "Level " + levelFile + " " + phase + " took " + durationMillis + " ms");
+    		if(phase == ZootSceneLoadingPhase.LayerOptimization)
+    		{
+    			Gdx.app.debug("ZootGame", "Level " + levelFile + " collision layer optimized into " + scene.getCollisionRegionCount() + " regions");
+    		}
+    	}
+    }
 }
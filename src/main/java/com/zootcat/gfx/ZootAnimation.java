@@ -1,16 +1,20 @@
 package com.zootcat.gfx;
 
-import java.util.Arrays;
-
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.zootcat.utils.ZootUtils;
 
+/**
+ * Animation playback state of a single actor. Frames and offsets are shared
+ * with the {@link ZootAnimationTemplate} the animation was created from.
+ * @author Cream
+ */
 public class ZootAnimation 
 {	
 	private final String name;	//name must be final in order to make getId() immutable	
+	private final ZootAnimationTemplate template;
 	private float animationTime = 0.0f;	
 	private boolean playing = false;
 	private int repeatsCount = 0;
@@ -20,16 +24,28 @@ public class ZootAnimation
 		
 	public ZootAnimation(String name, TextureRegion[] frames, float frameDuration)
 	{
-		this.name = name;
-		animation = new Animation<TextureRegion>(frameDuration, frames);
-		offsets = new ZootAnimationOffset[frames.length];
-		Arrays.fill(offsets, new ZootAnimationOffset());
+		this(new ZootAnimationTemplate(name, frames, frameDuration));
+	}
+	
+	public ZootAnimation(ZootAnimationTemplate template)
+	{
+		this.name = template.getName();
+		this.template = template;
+		animation = new Animation<TextureRegion>(template.getFrameDuration(), template.frames);
+		animation.setPlayMode(template.getPlayMode());
+		offsets = template.offsets;
+		repeatsCount = template.getRepeatCount();
 	}
 		
 	public static int getAnimationId(String name)
 	{
 		return name.hashCode();
 	}
+	
+	public ZootAnimationTemplate getTemplate()
+	{
+		return template;
+	}
 		
 	public void setOffsets(ZootAnimationOffset[] offsets)
 	{
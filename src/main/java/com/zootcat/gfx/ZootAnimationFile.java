@@ -1,6 +1,8 @@
 package com.zootcat.gfx;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,13 +19,15 @@ import com.zootcat.textdata.TextDataSection;
 
 public class ZootAnimationFile
 {
-	private TextDataFile animationFile;
     private TextDataSection spriteSheetData;
     private List<TextDataSection> animationData;
+    private Map<String, Texture> spriteSheetTextures;
+    private Map<String, TextureRegion> packedSpriteSheets;
+    private Map<Integer, ZootAnimationTemplate> templates;
     
 	public ZootAnimationFile(File file) throws ZootException
 	{
-		animationFile = new TextDataFile(file);
+		TextDataFile animationFile = new TextDataFile(file);
 		spriteSheetData = animationFile.readSections(":SpriteSheets", ":~SpriteSheets").get(0);
 		animationData = animationFile.readSections(":Animation", ":~Animation");
 	}
@@ -35,26 +39,103 @@ public class ZootAnimationFile
 				
 	public Map<Integer, ZootAnimation> createAnimations(Map<String, Texture> spriteSheets)
 	{		
+		return createAnimations(createTemplates(spriteSheets).values());
+	}
+	
+	/**
+	 * Creates animations playing the given templates.
+	 * @param templates - animation templates
+	 * @return New animations by animation id.
+	 */
+	public static Map<Integer, ZootAnimation> createAnimations(Collection<ZootAnimationTemplate> templates)
+	{
 		Map<Integer, ZootAnimation> animations = new HashMap<Integer, ZootAnimation>();
+		templates.forEach(template -> animations.put(template.getId(), template.createAnimation()));
+		return animations;
+	}
+	
+	public Map<Integer, ZootAnimationTemplate> createTemplates(Map<String, Texture> spriteSheets)
+	{
+		Map<String, TextureRegion> spriteSheetRegions = new HashMap<String, TextureRegion>();
+		spriteSheets.forEach((name, texture) -> spriteSheetRegions.put(name, new TextureRegion(texture)));
+		return createTemplatesFromRegions(spriteSheetRegions);
+	}
+	
+	/**
+	 * Creates templates using sprite sheets placed in texture regions, e.g. in a packed atlas.
+	 * @param spriteSheets - sprite sheet regions by sprite sheet name
+	 * @return Templates by animation id.
+	 */
+	public Map<Integer, ZootAnimationTemplate> createTemplatesFromRegions(Map<String, TextureRegion> spriteSheets)
+	{
+		Map<Integer, ZootAnimationTemplate> result = new HashMap<Integer, ZootAnimationTemplate>();
 		for(TextDataSection data : animationData)
 		{
 			TextureRegion[] frames = buildFrames(data, getSpriteSheet(spriteSheets, data));
 			TextureRegion[] orderedFrames = orderFrames(data, frames);
 			ZootAnimationOffset[] offsets = buildOffsets(data, orderedFrames);
 			
-			ZootAnimation animation = new ZootAnimation(getName(data), orderedFrames, getFrameDuration(data));		
-			animation.setPlayMode(getPlayMode(data));
-			animation.setOffsets(offsets);		
-			animation.setRepeatCount(data.getInt("Repeat", 0));
-			animations.put(animation.getId(), animation);
+			ZootAnimationTemplate template = new ZootAnimationTemplate(getName(data), orderedFrames, offsets, getFrameDuration(data), getPlayMode(data), data.getInt("Repeat", 0));
+			result.put(template.getId(), template);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns templates shared by all actors using this file. Templates are created
+	 * once, on first call, from packed sprite sheets if they are set, or from sprite
+	 * sheet textures set by {@link ZootAnimationFileLoader}.
+	 * @return Templates by animation id, or null if sprite sheets were not set.
+	 */
+	public synchronized Map<Integer, ZootAnimationTemplate> getTemplates()
+	{
+		if(templates == null && packedSpriteSheets != null)
+		{
+			templates = Collections.unmodifiableMap(createTemplatesFromRegions(packedSpriteSheets));
+		}
+		else if(templates == null && spriteSheetTextures != null)
+		{
+			templates = Collections.unmodifiableMap(createTemplates(spriteSheetTextures));
+		}
+		return templates;
+	}
+	
+	public synchronized void setSpriteSheetTextures(Map<String, Texture> spriteSheetTextures)
+	{
+		this.spriteSheetTextures = spriteSheetTextures;
+		this.templates = null;
+	}
+	
+	/**
+	 * Sets sprite sheet regions from a packed atlas, used instead of sprite sheet
+	 * textures. Pass null to go back to sprite sheet textures.
+	 */
+	public synchronized void setPackedSpriteSheets(Map<String, TextureRegion> packedSpriteSheets)
+	{
+		this.packedSpriteSheets = packedSpriteSheets;
+		this.templates = null;
+	}
+	
+	public synchronized boolean isPacked()
+	{
+		return packedSpriteSheets != null;
+	}
+	
+	/**
+	 * Removes packed sprite sheets, only if they are the given ones.
+	 */
+	public synchronized void resetPackedSpriteSheets(Map<String, TextureRegion> packedSpriteSheets)
+	{
+		if(this.packedSpriteSheets == packedSpriteSheets)
+		{
+			setPackedSpriteSheets(null);
 		}
-		return animations;
 	}
 
-	private Texture getSpriteSheet(Map<String, Texture> spriteSheets, TextDataSection data)
+	private TextureRegion getSpriteSheet(Map<String, TextureRegion> spriteSheets, TextDataSection data)
 	{
 		String sheetName = data.contains("sheet") ? data.get("sheet") : "default";				
-		Texture spriteSheet = spriteSheets.get(sheetName); 
+		TextureRegion spriteSheet = spriteSheets.get(sheetName); 
 		if(spriteSheet == null)
 		{
 			throw new RuntimeZootException("No sprite sheet found for name: " + sheetName);
@@ -134,7 +215,7 @@ public class ZootAnimationFile
 		return orderedFrames;
 	}
 	
-	private TextureRegion[] buildFrames(TextDataSection data, Texture spriteSheet)
+	private TextureRegion[] buildFrames(TextDataSection data, TextureRegion spriteSheet)
 	{
 		int totalFrames = data.getInt("Frames", 0);
 		int framesPerRow = data.getInt("FramesPerRow", totalFrames);
@@ -1,5 +1,8 @@
 package com.zootcat.gfx;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -7,6 +10,7 @@ import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.utils.Array;
 import com.zootcat.assets.ZootAssetRecognizer;
 import com.zootcat.exceptions.ZootException;
@@ -38,6 +42,13 @@ public class ZootAnimationFileLoader extends AsynchronousAssetLoader<ZootAnimati
 	{
 		ZootAnimationFile result = animationFile;
 		animationFile = null;
+		if(result != null)
+		{
+			//sprite sheets are kept, so animation templates can be created once and shared
+			Map<String, Texture> spriteSheets = new HashMap<String, Texture>();
+			result.getSpriteSheets().forEach((name, spriteSheet) -> spriteSheets.put(name, manager.get(file.parent().path() + "/" + spriteSheet, Texture.class)));
+			result.setSpriteSheetTextures(spriteSheets);
+		}
 		return result;
 	}
 
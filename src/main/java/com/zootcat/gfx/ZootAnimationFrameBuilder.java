@@ -15,6 +15,15 @@ public class ZootAnimationFrameBuilder
 	private int frameLimit = 0;
 	
 	public TextureRegion[] build(Texture spriteSheet)
+	{
+		return build(spriteSheet != null ? new TextureRegion(spriteSheet) : null);
+	}
+	
+	/**
+	 * Builds frames from a sprite sheet placed in a region of a texture, e.g. an atlas page.
+	 * Frame offsets are relative to the region.
+	 */
+	public TextureRegion[] build(TextureRegion spriteSheet)
 	{
 		validate(spriteSheet);
 		
@@ -127,7 +136,7 @@ public class ZootAnimationFrameBuilder
 		frameLimit = 0;
 	}
 	
-	private void validate(Texture spriteSheet) 
+	private void validate(TextureRegion spriteSheet) 
 	{
 		if(spriteSheet == null)
 		{
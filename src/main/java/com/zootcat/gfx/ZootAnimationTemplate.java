@@ -0,0 +1,103 @@
+package com.zootcat.gfx;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Immutable animation data loaded from an animation file: frames, offsets, frame
+ * duration, play mode and repeat count. Templates are created once per file and
+ * shared by every {@link ZootAnimation} playing them, so actors using the same file
+ * do not copy the frames.<br/>
+ * <br/>
+ * Frames and offsets must not be modified.
+ * @author Cream
+ */
+public final class ZootAnimationTemplate
+{
+	private final String name;
+	private final float frameDuration;
+	private final PlayMode playMode;
+	private final int repeatCount;
+	final TextureRegion[] frames;
+	final ZootAnimationOffset[] offsets;
+
+	public ZootAnimationTemplate(String name, TextureRegion[] frames, ZootAnimationOffset[] offsets, float frameDuration, PlayMode playMode, int repeatCount)
+	{
+		this.name = name;
+		this.frames = frames.clone();
+		this.offsets = offsets.clone();
+		this.frameDuration = frameDuration;
+		this.playMode = playMode;
+		this.repeatCount = Math.max(0, repeatCount);
+	}
+
+	public ZootAnimationTemplate(String name, TextureRegion[] frames, float frameDuration)
+	{
+		this(name, frames, createDefaultOffsets(frames.length), frameDuration, PlayMode.NORMAL, 0);
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public int getId()
+	{
+		return ZootAnimation.getAnimationId(name);
+	}
+
+	public int getFrameCount()
+	{
+		return frames.length;
+	}
+
+	public TextureRegion getFrame(int index)
+	{
+		return frames[index];
+	}
+
+	public int getOffsetCount()
+	{
+		return offsets.length;
+	}
+
+	public ZootAnimationOffset getOffset(int index)
+	{
+		return offsets[index];
+	}
+
+	public float getFrameDuration()
+	{
+		return frameDuration;
+	}
+
+	public PlayMode getPlayMode()
+	{
+		return playMode;
+	}
+
+	public int getRepeatCount()
+	{
+		return repeatCount;
+	}
+
+	public ZootAnimation createAnimation()
+	{
+		return new ZootAnimation(this);
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+
+	private static ZootAnimationOffset[] createDefaultOffsets(int count)
+	{
+		ZootAnimationOffset[] offsets = new ZootAnimationOffset[count];
+		Arrays.fill(offsets, new ZootAnimationOffset());
+		return offsets;
+	}
+}
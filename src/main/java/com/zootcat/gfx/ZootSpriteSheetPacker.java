@@ -0,0 +1,93 @@
+package com.zootcat.gfx;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Packs animation sprite sheets into shared atlas pages, so animations using different
+ * sprite sheets can be drawn without texture switches. Sprite sheets bigger than
+ * a page are not packed.<br/>
+ * <br/>
+ * Packing can be done on any thread, {@link #createAtlas(TextureFilter, TextureFilter)}
+ * creates textures and must be called on the rendering thread.
+ * @author Cream
+ */
+public class ZootSpriteSheetPacker implements Disposable
+{
+	public static final int DEFAULT_PAGE_SIZE = 2048;
+	public static final int DEFAULT_PADDING = 2;
+
+	private final int pageWidth;
+	private final int pageHeight;
+	private final int padding;
+	private PixmapPacker packer;
+
+	public ZootSpriteSheetPacker()
+	{
+		this(DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE, DEFAULT_PADDING);
+	}
+
+	public ZootSpriteSheetPacker(int pageWidth, int pageHeight, int padding)
+	{
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		this.padding = padding;
+		this.packer = new PixmapPacker(pageWidth, pageHeight, Format.RGBA8888, padding, false);
+	}
+
+	/**
+	 * Packs the sprite sheet. Pixmap is copied and can be disposed afterwards.
+	 * @param name - name of the atlas region created for the sprite sheet
+	 * @param spriteSheet - sprite sheet image
+	 * @return true if sprite sheet was packed or already packed under this name, false if it does not fit into a page.
+	 */
+	public boolean pack(String name, Pixmap spriteSheet)
+	{
+		if(isPacked(name)) return true;
+		if(!fits(spriteSheet)) return false;
+
+		packer.pack(name, spriteSheet);
+		return true;
+	}
+
+	/**
+	 * Sprite sheet fits into an empty page if it is smaller than the page, with padding
+	 * around the sprite sheet and the padding reserved by the packer at the page border.
+	 */
+	public boolean fits(Pixmap spriteSheet)
+	{
+		return spriteSheet.getWidth() + padding * 3 <= pageWidth && spriteSheet.getHeight() + padding * 3 <= pageHeight;
+	}
+
+	public boolean isPacked(String name)
+	{
+		return packer.getRect(name) != null;
+	}
+
+	public int getPageCount()
+	{
+		return packer.getPages().size;
+	}
+
+	/**
+	 * Creates texture atlas with all packed sprite sheets. Atlas must be disposed by the caller.
+	 */
+	public TextureAtlas createAtlas(TextureFilter minFilter, TextureFilter magFilter)
+	{
+		return packer.generateTextureAtlas(minFilter, magFilter, false);
+	}
+
+	@Override
+	public void dispose()
+	{
+		if(packer != null)
+		{
+			packer.dispose();
+			packer = null;
+		}
+	}
+}
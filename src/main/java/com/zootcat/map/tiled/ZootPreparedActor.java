@@ -0,0 +1,34 @@
+package com.zootcat.map.tiled;
+
+import java.util.List;
+
+import com.zootcat.controllers.Controller;
+import com.zootcat.scene.ZootActor;
+
+/**
+ * Actor with created, but not yet initialized controllers. Preparing actors
+ * does not touch the scene, so it can be done outside of the render thread.
+ * @author Cream
+ * @see ZootTiledSceneActorFactory#initialize(ZootPreparedActor)
+ */
+public class ZootPreparedActor
+{
+	private final ZootActor actor;
+	private final List<Controller> controllers;
+	
+	public ZootPreparedActor(ZootActor actor, List<Controller> controllers)
+	{
+		this.actor = actor;
+		this.controllers = controllers;
+	}
+	
+	public ZootActor getActor()
+	{
+		return actor;
+	}
+	
+	public List<Controller> getControllers()
+	{
+		return controllers;
+	}
+}
@@ -0,0 +1,90 @@
+package com.zootcat.map.tiled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.zootcat.controllers.factory.ControllerFactory;
+import com.zootcat.utils.ArgumentParser;
+
+/**
+ * Per map cache of parsed controller parameters, kept for every tile used to create
+ * actors. Tile controller strings are parsed once, so creating cells, layer regions
+ * or spawning the same tile again does no string parsing.<br/>
+ * <br/>
+ * Cache can be used from many threads, tiles are parsed outside of any lock, so threads
+ * do not wait for each other. Call {@link #clear()} after tile properties are changed.
+ * @author Cream
+ */
+public class ZootTiledControllerCache
+{
+	private final ControllerFactory controllerFactory;
+	private final Map<TiledMapTile, List<ControllerParams>> tileControllers = new ConcurrentHashMap<TiledMapTile, List<ControllerParams>>();
+
+	public ZootTiledControllerCache(ControllerFactory controllerFactory)
+	{
+		this.controllerFactory = controllerFactory;
+	}
+
+	/**
+	 * Returns parsed parameters of all controllers defined in the tile properties.
+	 * Returned list and parameter maps should not be modified.
+	 */
+	public List<ControllerParams> get(TiledMapTile tile)
+	{
+		List<ControllerParams> controllers = tileControllers.get(tile);
+		if(controllers != null) return controllers;
+
+		//tile can be parsed by two threads at once, the first stored result is kept
+		controllers = parse(tile.getProperties());
+		List<ControllerParams> previous = tileControllers.putIfAbsent(tile, controllers);
+		return previous != null ? previous : controllers;
+	}
+
+	public int size()
+	{
+		return tileControllers.size();
+	}
+
+	public void clear()
+	{
+		tileControllers.clear();
+	}
+
+	private List<ControllerParams> parse(MapProperties properties)
+	{
+		List<String> ctrlNames = new ArrayList<String>();
+		synchronized(properties)
+		{
+			properties.getKeys().forEachRemaining(key ->
+			{
+				if(controllerFactory.contains(key)) ctrlNames.add(key);
+			});
+		}
+
+		List<ControllerParams> result = new ArrayList<ControllerParams>(ctrlNames.size());
+		for(String ctrlName : ctrlNames)
+		{
+			String ctrlParams = properties.get(ctrlName, String.class);
+			Map<String, Object> params = ArgumentParser.parse(ctrlParams.split(","));
+			result.add(new ControllerParams(ctrlName, Collections.unmodifiableMap(params)));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	public static class ControllerParams
+	{
+		public final String name;
+		public final Map<String, Object> params;
+
+		public ControllerParams(String name, Map<String, Object> params)
+		{
+			this.name = name;
+			this.params = params;
+		}
+	}
+}
@@ -14,6 +14,7 @@ import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
 import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
 import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.zootcat.exceptions.RuntimeZootException;
 import com.zootcat.map.ZootMap;
@@ -28,6 +29,7 @@ public class ZootTiledMap implements ZootMap
 	public static final String MAP_HEIGHT_PROPERTY = "height";
 		
 	private TiledMap tiledMap;
+	private List<Disposable> ownedResources = new ArrayList<Disposable>();
 	
 	public ZootTiledMap(final TiledMap tiledMap)
 	{
@@ -86,6 +88,14 @@ public class ZootTiledMap implements ZootMap
 		return tiledMap;
 	}
 	
+	/**
+	 * Adds resource created for this map, e.g. a packed texture atlas. Resource is disposed with the map.
+	 */
+	public void addOwnedResource(Disposable resource)
+	{
+		ownedResources.add(resource);
+	}
+	
 	@Override
 	public MapObject getObjectById(int id)
 	{		
@@ -159,6 +169,9 @@ public class ZootTiledMap implements ZootMap
 			tiledMap.dispose();
 			tiledMap = null;
 		}
+		
+		ownedResources.forEach(resource -> resource.dispose());
+		ownedResources.clear();
 	}
 	
 	private MapObject createMapObjectWithProperties(final MapObject obj, final MapLayer layer) 
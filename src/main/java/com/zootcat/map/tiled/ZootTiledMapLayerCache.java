@@ -0,0 +1,370 @@
+package com.zootcat.map.tiled;
+
+import static com.badlogic.gdx.graphics.g2d.Batch.C1;
+import static com.badlogic.gdx.graphics.g2d.Batch.C2;
+import static com.badlogic.gdx.graphics.g2d.Batch.C3;
+import static com.badlogic.gdx.graphics.g2d.Batch.C4;
+import static com.badlogic.gdx.graphics.g2d.Batch.U1;
+import static com.badlogic.gdx.graphics.g2d.Batch.U2;
+import static com.badlogic.gdx.graphics.g2d.Batch.U3;
+import static com.badlogic.gdx.graphics.g2d.Batch.U4;
+import static com.badlogic.gdx.graphics.g2d.Batch.V1;
+import static com.badlogic.gdx.graphics.g2d.Batch.V2;
+import static com.badlogic.gdx.graphics.g2d.Batch.V3;
+import static com.badlogic.gdx.graphics.g2d.Batch.V4;
+import static com.badlogic.gdx.graphics.g2d.Batch.X1;
+import static com.badlogic.gdx.graphics.g2d.Batch.X2;
+import static com.badlogic.gdx.graphics.g2d.Batch.X3;
+import static com.badlogic.gdx.graphics.g2d.Batch.X4;
+import static com.badlogic.gdx.graphics.g2d.Batch.Y1;
+import static com.badlogic.gdx.graphics.g2d.Batch.Y2;
+import static com.badlogic.gdx.graphics.g2d.Batch.Y3;
+import static com.badlogic.gdx.graphics.g2d.Batch.Y4;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Static tiles of a tile layer baked into {@link SpriteCache} caches, one cache for each
+ * chunk of chunkSize x chunkSize tiles. Only chunks visible in the view bounds are drawn.<br/>
+ * <br/>
+ * Animated tiles are not baked, they are drawn using the batch every frame. Tiles are baked with
+ * layer opacity, the cache must be rebuilt if layer cells or opacity change. Sprite cache must be 
+ * created without indices, as each tile is added as two triangles.
+ * @author Cream
+ */
+public class ZootTiledMapLayerCache
+{
+	private static final int NUM_VERTICES = 20;
+	private static final int NUM_TRIANGLE_VERTICES = 30;
+	private static final int VERTEX_SIZE = 5;
+	private static final int[] TRIANGLE_CORNERS = { 0, 1, 2, 2, 3, 0 };
+
+	private final TiledMapTileLayer layer;
+	private final float unitScale;
+	private final int chunkSize;
+	private final int chunkCols;
+	private final int chunkRows;
+	private final int[] chunkCacheIds;
+	private final IntArray[] chunkDynamicCells;
+	private final float[] vertices = new float[NUM_VERTICES];
+	private final float[] triangleVertices = new float[NUM_TRIANGLE_VERTICES];
+	private int drawnChunkCount;
+	private int drawnDynamicTileCount;
+
+	public ZootTiledMapLayerCache(TiledMapTileLayer layer, float unitScale, int chunkSize)
+	{
+		if(chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+
+		this.layer = layer;
+		this.unitScale = unitScale;
+		this.chunkSize = chunkSize;
+		this.chunkCols = (layer.getWidth() + chunkSize - 1) / chunkSize;
+		this.chunkRows = (layer.getHeight() + chunkSize - 1) / chunkSize;
+		this.chunkCacheIds = new int[chunkCols * chunkRows];
+		this.chunkDynamicCells = new IntArray[chunkCols * chunkRows];
+	}
+
+	/**
+	 * Returns number of tiles that will be baked into the sprite cache.
+	 */
+	public static int countStaticTiles(TiledMapTileLayer layer)
+	{
+		int count = 0;
+		for(int row = 0; row < layer.getHeight(); ++row)
+		{
+			for(int col = 0; col < layer.getWidth(); ++col)
+			{
+				if(isStatic(layer.getCell(col, row))) ++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Bakes static tiles into the cache. Cache must have room for {@link #countStaticTiles(TiledMapTileLayer)} tiles.
+	 */
+	public void build(SpriteCache cache)
+	{
+		float color = Color.toFloatBits(1.0f, 1.0f, 1.0f, layer.getOpacity());
+		for(int chunkRow = 0; chunkRow < chunkRows; ++chunkRow)
+		{
+			for(int chunkCol = 0; chunkCol < chunkCols; ++chunkCol)
+			{
+				int chunk = chunkRow * chunkCols + chunkCol;
+				chunkCacheIds[chunk] = -1;
+				chunkDynamicCells[chunk] = null;
+
+				boolean cacheStarted = false;
+				int toRow = Math.min(layer.getHeight(), (chunkRow + 1) * chunkSize);
+				int toCol = Math.min(layer.getWidth(), (chunkCol + 1) * chunkSize);
+				for(int row = chunkRow * chunkSize; row < toRow; ++row)
+				{
+					for(int col = chunkCol * chunkSize; col < toCol; ++col)
+					{
+						Cell cell = layer.getCell(col, row);
+						if(cell == null || cell.getTile() == null) continue;
+
+						if(!isStatic(cell))
+						{
+							if(chunkDynamicCells[chunk] == null) chunkDynamicCells[chunk] = new IntArray();
+							chunkDynamicCells[chunk].add(col, row);
+							continue;
+						}
+
+						if(!cacheStarted)
+						{
+							cache.beginCache();
+							cacheStarted = true;
+						}
+						computeVertices(layer, cell, col, row, unitScale, color, vertices);
+						toTriangles(vertices, triangleVertices);
+						cache.add(cell.getTile().getTextureRegion().getTexture(), triangleVertices, 0, NUM_TRIANGLE_VERTICES);
+					}
+				}
+
+				if(cacheStarted)
+				{
+					chunkCacheIds[chunk] = cache.endCache();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws chunks visible in the view bounds. Must be called between batch begin and end,
+	 * batch is ended while cached chunks are drawn.
+	 */
+	public void draw(SpriteCache cache, Batch batch, Rectangle viewBounds)
+	{
+		drawnChunkCount = 0;
+		drawnDynamicTileCount = 0;
+
+		float layerTileWidth = layer.getTileWidth() * unitScale;
+		float layerTileHeight = layer.getTileHeight() * unitScale;
+		float layerOffsetX = layer.getRenderOffsetX() * unitScale;
+		float layerOffsetY = -layer.getRenderOffsetY() * unitScale;
+
+		int col1 = Math.max(0, (int)((viewBounds.x - layerOffsetX) / layerTileWidth));
+		int col2 = Math.min(layer.getWidth(), (int)((viewBounds.x + viewBounds.width + layerTileWidth - layerOffsetX) / layerTileWidth));
+		int row1 = Math.max(0, (int)((viewBounds.y - layerOffsetY) / layerTileHeight));
+		int row2 = Math.min(layer.getHeight(), (int)((viewBounds.y + viewBounds.height + layerTileHeight - layerOffsetY) / layerTileHeight));
+		if(col1 >= col2 || row1 >= row2) return;
+
+		int chunkCol1 = col1 / chunkSize;
+		int chunkCol2 = (col2 - 1) / chunkSize;
+		int chunkRow1 = row1 / chunkSize;
+		int chunkRow2 = (row2 - 1) / chunkSize;
+
+		drawCachedChunks(cache, batch, chunkCol1, chunkCol2, chunkRow1, chunkRow2);
+		drawDynamicTiles(batch, chunkCol1, chunkCol2, chunkRow1, chunkRow2);
+	}
+
+	public int getChunkCount()
+	{
+		return chunkCacheIds.length;
+	}
+
+	/**
+	 * Returns number of cached chunks drawn in the last {@link #draw(SpriteCache, Batch, Rectangle)} call.
+	 */
+	public int getDrawnChunkCount()
+	{
+		return drawnChunkCount;
+	}
+
+	/**
+	 * Returns number of animated tiles drawn in the last {@link #draw(SpriteCache, Batch, Rectangle)} call.
+	 */
+	public int getDrawnDynamicTileCount()
+	{
+		return drawnDynamicTileCount;
+	}
+
+	/**
+	 * Computes tile vertices the same way OrthogonalTiledMapRenderer does.
+	 */
+	public static void computeVertices(TiledMapTileLayer layer, Cell cell, int col, int row, float unitScale, float color, float[] vertices)
+	{
+		TiledMapTile tile = cell.getTile();
+		TextureRegion region = tile.getTextureRegion();
+
+		float x1 = col * layer.getTileWidth() * unitScale + tile.getOffsetX() * unitScale + layer.getRenderOffsetX() * unitScale;
+		float y1 = row * layer.getTileHeight() * unitScale + tile.getOffsetY() * unitScale - layer.getRenderOffsetY() * unitScale;
+		float x2 = x1 + region.getRegionWidth() * unitScale;
+		float y2 = y1 + region.getRegionHeight() * unitScale;
+
+		float u1 = region.getU();
+		float v1 = region.getV2();
+		float u2 = region.getU2();
+		float v2 = region.getV();
+
+		vertices[X1] = x1;
+		vertices[Y1] = y1;
+		vertices[C1] = color;
+		vertices[U1] = u1;
+		vertices[V1] = v1;
+
+		vertices[X2] = x1;
+		vertices[Y2] = y2;
+		vertices[C2] = color;
+		vertices[U2] = u1;
+		vertices[V2] = v2;
+
+		vertices[X3] = x2;
+		vertices[Y3] = y2;
+		vertices[C3] = color;
+		vertices[U3] = u2;
+		vertices[V3] = v2;
+
+		vertices[X4] = x2;
+		vertices[Y4] = y1;
+		vertices[C4] = color;
+		vertices[U4] = u2;
+		vertices[V4] = v1;
+
+		if(cell.getFlipHorizontally())
+		{
+			swap(vertices, U1, U3);
+			swap(vertices, U2, U4);
+		}
+
+		if(cell.getFlipVertically())
+		{
+			swap(vertices, V1, V3);
+			swap(vertices, V2, V4);
+		}
+
+		switch(cell.getRotation())
+		{
+		case Cell.ROTATE_90:
+			rotate(vertices, V1, V2, V3, V4);
+			rotate(vertices, U1, U2, U3, U4);
+			break;
+
+		case Cell.ROTATE_180:
+			swap(vertices, U1, U3);
+			swap(vertices, U2, U4);
+			swap(vertices, V1, V3);
+			swap(vertices, V2, V4);
+			break;
+
+		case Cell.ROTATE_270:
+			rotate(vertices, V1, V4, V3, V2);
+			rotate(vertices, U1, U4, U3, U2);
+			break;
+
+		default:
+			break;
+		}
+	}
+
+	private void drawCachedChunks(SpriteCache cache, Batch batch, int chunkCol1, int chunkCol2, int chunkRow1, int chunkRow2)
+	{
+		for(int chunkRow = chunkRow1; chunkRow <= chunkRow2; ++chunkRow)
+		{
+			for(int chunkCol = chunkCol1; chunkCol <= chunkCol2; ++chunkCol)
+			{
+				int cacheId = chunkCacheIds[chunkRow * chunkCols + chunkCol];
+				if(cacheId < 0) continue;
+
+				if(drawnChunkCount == 0)
+				{
+					beginCache(cache, batch);
+				}
+				cache.draw(cacheId);
+				++drawnChunkCount;
+			}
+		}
+
+		if(drawnChunkCount > 0)
+		{
+			endCache(cache, batch);
+		}
+	}
+
+	private void drawDynamicTiles(Batch batch, int chunkCol1, int chunkCol2, int chunkRow1, int chunkRow2)
+	{
+		Color batchColor = batch.getColor();
+		float color = Color.toFloatBits(batchColor.r, batchColor.g, batchColor.b, batchColor.a * layer.getOpacity());
+		for(int chunkRow = chunkRow1; chunkRow <= chunkRow2; ++chunkRow)
+		{
+			for(int chunkCol = chunkCol1; chunkCol <= chunkCol2; ++chunkCol)
+			{
+				IntArray cells = chunkDynamicCells[chunkRow * chunkCols + chunkCol];
+				if(cells == null) continue;
+
+				for(int i = 0; i < cells.size; i += 2)
+				{
+					int col = cells.get(i);
+					int row = cells.get(i + 1);
+					Cell cell = layer.getCell(col, row);
+					computeVertices(layer, cell, col, row, unitScale, color, vertices);
+					batch.draw(cell.getTile().getTextureRegion().getTexture(), vertices, 0, NUM_VERTICES);
+					++drawnDynamicTileCount;
+				}
+			}
+		}
+	}
+
+	private void beginCache(SpriteCache cache, Batch batch)
+	{
+		batch.end();
+
+		//sprite cache does not set blending on its own
+		Gdx.gl.glEnable(GL20.GL_BLEND);
+		Gdx.gl.glBlendFuncSeparate(batch.getBlendSrcFunc(), batch.getBlendDstFunc(), batch.getBlendSrcFuncAlpha(), batch.getBlendDstFuncAlpha());
+		cache.setProjectionMatrix(batch.getProjectionMatrix());
+		cache.setTransformMatrix(batch.getTransformMatrix());
+		cache.begin();
+	}
+
+	private void endCache(SpriteCache cache, Batch batch)
+	{
+		cache.end();
+		Gdx.gl.glDisable(GL20.GL_BLEND);
+		batch.begin();
+	}
+
+	private static boolean isStatic(Cell cell)
+	{
+		return cell != null && cell.getTile() != null && !(cell.getTile() instanceof AnimatedTiledMapTile);
+	}
+
+	/**
+	 * Sprite cache without indices expects six vertices per image, so the quad is split into two triangles.
+	 */
+	private static void toTriangles(float[] quad, float[] triangles)
+	{
+		for(int i = 0; i < TRIANGLE_CORNERS.length; ++i)
+		{
+			System.arraycopy(quad, TRIANGLE_CORNERS[i] * VERTEX_SIZE, triangles, i * VERTEX_SIZE, VERTEX_SIZE);
+		}
+	}
+
+	private static void swap(float[] vertices, int index1, int index2)
+	{
+		float temp = vertices[index1];
+		vertices[index1] = vertices[index2];
+		vertices[index2] = temp;
+	}
+
+	private static void rotate(float[] vertices, int index1, int index2, int index3, int index4)
+	{
+		float temp = vertices[index1];
+		vertices[index1] = vertices[index2];
+		vertices[index2] = vertices[index3];
+		vertices[index3] = vertices[index4];
+		vertices[index4] = temp;
+	}
+}
@@ -1,5 +1,8 @@
 package com.zootcat.map.tiled;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.badlogic.gdx.assets.AssetDescriptor;
@@ -9,7 +12,11 @@ import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.utils.Array;
@@ -17,6 +24,8 @@ import com.badlogic.gdx.utils.XmlReader;
 import com.badlogic.gdx.utils.XmlReader.Element;
 import com.zootcat.assets.ZootAssetRecognizer;
 import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.gfx.ZootAnimationFile;
+import com.zootcat.gfx.ZootSpriteSheetPacker;
 import com.zootcat.map.ZootMap;
 import com.zootcat.utils.ArgumentParser;
 
@@ -25,6 +34,10 @@ public class ZootTiledMapLoader extends AsynchronousAssetLoader<ZootTiledMap, Zo
 	private ZootAssetRecognizer assetRecognizer;
 	private TmxMapLoader tmxMapLoader = new TmxMapLoader();
 	private ZootTiledMap map;
+	private boolean packAnimationSpriteSheets = false;
+	private List<String> animationFileNames = new ArrayList<String>();
+	private ZootSpriteSheetPacker spriteSheetPacker;
+	private Map<String, TextureRegion> unpackedSpriteSheets = new HashMap<String, TextureRegion>();
 	
 	public ZootTiledMapLoader(ZootAssetRecognizer assetRecognizer)
 	{
@@ -49,21 +62,101 @@ public class ZootTiledMapLoader extends AsynchronousAssetLoader<ZootTiledMap, Zo
 		tmxMapLoader.loadAsync(manager, fileName, file, toTmxParams(parameter));
 		TiledMap tiledMap = tmxMapLoader.loadSync(manager, fileName, file, toTmxParams(parameter));
 		map = new ZootTiledMap(tiledMap);
+		
+		if(packAnimationSpriteSheets)
+		{
+			packSpriteSheets(manager);
+		}
 	}
 
 	@Override
 	public ZootTiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter)
 	{
+		if(spriteSheetPacker != null)
+		{
+			TextureFilter minFilter = parameter != null ? parameter.textureMinFilter : TextureFilter.Nearest;
+			TextureFilter magFilter = parameter != null ? parameter.textureMagFilter : TextureFilter.Nearest;
+			TextureAtlas atlas = spriteSheetPacker.createAtlas(minFilter, magFilter);
+			spriteSheetPacker.dispose();
+			spriteSheetPacker = null;
+			
+			map.addOwnedResource(atlas);			
+			for(String animationFileName : animationFileNames)
+			{
+				setPackedSpriteSheets(manager, animationFileName, atlas);
+			}
+			unpackedSpriteSheets.clear();
+		}
+		
 		ZootTiledMap result = map;
 		map = null;
 		return result;
 	}
+	
+	public boolean isPackAnimationSpriteSheets()
+	{
+		return packAnimationSpriteSheets;
+	}
+	
+	/**
+	 * When enabled, sprite sheets of all animation files used by the map are packed 
+	 * into shared atlas pages, so actors with different animations can be drawn
+	 * without switching textures. Atlas is disposed together with the map.
+	 */
+	public void setPackAnimationSpriteSheets(boolean pack)
+	{
+		packAnimationSpriteSheets = pack;
+	}
+	
+	private void packSpriteSheets(AssetManager manager)
+	{
+		spriteSheetPacker = new ZootSpriteSheetPacker();
+		for(String animationFileName : animationFileNames)
+		{
+			ZootAnimationFile animationFile = manager.get(animationFileName, ZootAnimationFile.class);
+			for(String spriteSheet : animationFile.getSpriteSheets().values())
+			{
+				String spriteSheetPath = getSpriteSheetPath(animationFileName, spriteSheet);
+				if(spriteSheetPacker.isPacked(spriteSheetPath) || unpackedSpriteSheets.containsKey(spriteSheetPath)) continue;
+				
+				Pixmap pixmap = new Pixmap(resolve(spriteSheetPath));
+				if(!spriteSheetPacker.pack(spriteSheetPath, pixmap))
+				{
+					//too big for an atlas page, original texture is used
+					unpackedSpriteSheets.put(spriteSheetPath, new TextureRegion(manager.get(spriteSheetPath, Texture.class)));
+				}
+				pixmap.dispose();
+			}
+		}
+	}
+	
+	private void setPackedSpriteSheets(AssetManager manager, String animationFileName, TextureAtlas atlas)
+	{
+		ZootAnimationFile animationFile = manager.get(animationFileName, ZootAnimationFile.class);
+		Map<String, TextureRegion> packedSpriteSheets = new HashMap<String, TextureRegion>();
+		animationFile.getSpriteSheets().forEach((name, spriteSheet) -> 
+		{
+			String spriteSheetPath = getSpriteSheetPath(animationFileName, spriteSheet);
+			TextureRegion region = atlas.findRegion(spriteSheetPath);
+			packedSpriteSheets.put(name, region != null ? region : unpackedSpriteSheets.get(spriteSheetPath));
+		});
+		animationFile.setPackedSpriteSheets(packedSpriteSheets);
+		
+		//atlas is disposed with the map, file goes back to its own textures unless other map packed it since
+		map.addOwnedResource(() -> animationFile.resetPackedSpriteSheets(packedSpriteSheets));
+	}
+	
+	private String getSpriteSheetPath(String animationFileName, String spriteSheet)
+	{
+		return resolve(animationFileName).parent().path() + "/" + spriteSheet;
+	}
 
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter)
 	{
 		Array<AssetDescriptor> dependencies = tmxMapLoader.getDependencies(fileName, file, toTmxParams(parameter)); 		
+		animationFileNames.clear();
 		
 		//add dependencies from this map
 		Element tilemapRoot = new XmlReader().parse(file);
@@ -80,6 +173,13 @@ public class ZootTiledMapLoader extends AsynchronousAssetLoader<ZootTiledMap, Zo
 			addDependenciesFromXml(tilesetRoot, dependencies);
 		}
 		
+		for(AssetDescriptor dependency : dependencies)
+		{
+			if(dependency.type == ZootAnimationFile.class && !animationFileNames.contains(dependency.fileName))
+			{
+				animationFileNames.add(dependency.fileName);
+			}
+		}
 		return dependencies;
 	}
 
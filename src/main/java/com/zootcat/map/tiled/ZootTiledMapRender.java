@@ -4,6 +4,8 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.maps.MapLayer;
@@ -14,6 +16,7 @@ import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.zootcat.gfx.ZootRender;
 
 public class ZootTiledMapRender extends OrthogonalTiledMapRenderer implements ZootRender 
@@ -23,6 +26,10 @@ public class ZootTiledMapRender extends OrthogonalTiledMapRenderer implements Zo
 	private Color backgroundColor;
 	private ZootTiledMapRenderConfig config;
 	private ShapeRenderer shapeRenderer = new ShapeRenderer();
+	private SpriteCache spriteCache;
+	private ObjectMap<TiledMapTileLayer, ZootTiledMapLayerCache> layerCaches;
+	private int drawnChunkCount;
+	private int drawnDynamicTileCount;
 	
 	public ZootTiledMapRender(ZootTiledMap map) 
 	{
@@ -36,6 +43,18 @@ public class ZootTiledMapRender extends OrthogonalTiledMapRenderer implements Zo
 		this.backgroundColor = map.getBackgroundColor();
 	}
 	
+	public ZootTiledMapRender(ZootTiledMap map, ZootTiledMapRenderConfig config, Batch batch)
+	{
+		super(map.getTiledMap(), config.unitScale, batch);		
+		this.config = config;
+		this.backgroundColor = map.getBackgroundColor();
+	}
+	
+	public ZootTiledMapRenderConfig getConfig()
+	{
+		return config;
+	}
+	
 	@Override
 	public void render(float delta) 
 	{
@@ -76,6 +95,15 @@ public class ZootTiledMapRender extends OrthogonalTiledMapRenderer implements Zo
 			return;
 		}
 		
+		ZootTiledMapLayerCache layerCache = config.cacheStaticLayers ? getLayerCache(layer) : null;
+		if(layerCache != null)
+		{
+			layerCache.draw(spriteCache, batch, viewBounds);
+			drawnChunkCount += layerCache.getDrawnChunkCount();
+			drawnDynamicTileCount += layerCache.getDrawnDynamicTileCount();
+			return;
+		}
+		
 		super.renderTileLayer(layer);
 	}
 	
@@ -86,8 +114,79 @@ public class ZootTiledMapRender extends OrthogonalTiledMapRenderer implements Zo
 		{
 			clearBackground();
 		}
+		drawnChunkCount = 0;
+		drawnDynamicTileCount = 0;
 		super.beginRender();
 	}
+	
+	/**
+	 * Returns number of cached tile chunks drawn in the last frame.
+	 */
+	public int getDrawnChunkCount()
+	{
+		return drawnChunkCount;
+	}
+	
+	/**
+	 * Returns number of animated tiles drawn along with cached tile chunks in the last frame.
+	 */
+	public int getDrawnDynamicTileCount()
+	{
+		return drawnDynamicTileCount;
+	}
+	
+	/**
+	 * Removes cached static tile layers, they will be rebuilt when rendered next time.
+	 * Should be called after tiles of cached layers have changed.
+	 */
+	public void invalidateCache()
+	{
+		if(spriteCache != null)
+		{
+			spriteCache.dispose();
+			spriteCache = null;
+		}
+		layerCaches = null;
+	}
+	
+	@Override
+	public void dispose()
+	{
+		invalidateCache();
+		super.dispose();
+	}
+	
+	protected SpriteCache createSpriteCache(int size)
+	{
+		//indexed cache is limited to 8191 images, too few for big maps
+		return new SpriteCache(size, false);
+	}
+	
+	private ZootTiledMapLayerCache getLayerCache(TiledMapTileLayer layer)
+	{
+		if(layerCaches == null)
+		{
+			buildCache();
+		}
+		return layerCaches.get(layer);
+	}
+	
+	private void buildCache()
+	{
+		layerCaches = new ObjectMap<TiledMapTileLayer, ZootTiledMapLayerCache>();
+		
+		int size = 0;
+		for(TiledMapTileLayer layer : map.getLayers().getByType(TiledMapTileLayer.class))
+		{
+			if(!config.renderCollisionLayer && layer.getName().equalsIgnoreCase(COLLISION_LAYER_NAME)) continue;
+			layerCaches.put(layer, new ZootTiledMapLayerCache(layer, unitScale, config.cacheChunkSize));
+			size += ZootTiledMapLayerCache.countStaticTiles(layer);
+		}
+		
+		//caches are built even without static tiles, animated tiles are still drawn by chunks
+		spriteCache = createSpriteCache(Math.max(1, size));
+		layerCaches.values().forEach(layerCache -> layerCache.build(spriteCache));
+	}
 
 	protected void clearBackground() 
 	{
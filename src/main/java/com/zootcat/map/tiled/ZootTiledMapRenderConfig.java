@@ -7,4 +7,6 @@ public class ZootTiledMapRenderConfig
 	public boolean renderCollisionLayer = false;
 	public boolean clearBackground = true;
 	public float unitScale = 1.0f;
+	public boolean cacheStaticLayers = false;
+	public int cacheChunkSize = 32;
 }
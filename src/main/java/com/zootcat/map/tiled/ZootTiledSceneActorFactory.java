@@ -3,6 +3,8 @@ package com.zootcat.map.tiled;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.badlogic.gdx.maps.MapObject;
@@ -14,7 +16,9 @@ import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.zootcat.controllers.Controller;
 import com.zootcat.controllers.ZootControllerOrderComparator;
 import com.zootcat.controllers.factory.ControllerFactory;
+import com.zootcat.controllers.physics.FixtureController;
 import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.map.tiled.ZootTiledControllerCache.ControllerParams;
 import com.zootcat.map.tiled.optimizer.ZootLayerRegion;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.tiled.ZootTiledScene;
@@ -24,26 +28,43 @@ public class ZootTiledSceneActorFactory
 	public static final String DEFAULT_NAME = "";
 	private static final String SCENE_GLOBAL_PARAM = "scene";
 	private static final String ASSET_MANAGER_GLOBAL_PARAM = "assetManager";
+	private static final String SENSOR_PARAM = "sensor";
 
 	private float scale;
 	private ZootTiledScene scene;
 	private ControllerFactory controllerFactory;		
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+	private ZootTiledControllerCache controllerCache;
 			
 	public ZootTiledSceneActorFactory(ZootTiledScene scene)
 	{
 		this.scene = scene;
 		this.scale = scene.getUnitScale();
 		this.controllerFactory = scene.getControllerFactory();
+		this.controllerCache = new ZootTiledControllerCache(controllerFactory);
 		this.controllerFactory.addGlobalParameter(SCENE_GLOBAL_PARAM, scene);
 		this.controllerFactory.addGlobalParameter(ASSET_MANAGER_GLOBAL_PARAM, scene.getAssetManager());
 	}
 	
+	/**
+	 * Reserves the id, so it is not allocated for actors created from tiles, e.g. id of the map object
+	 * that will be created later.
+	 */
+	public void reserveActorId(int id)
+	{
+		scene.getActorIdAllocator().reserve(id);
+	}
+	
 	public ZootActor createFromMapObject(final MapObject mapObject)
 	{		
+		return initialize(prepareFromMapObject(mapObject));
+	}
+	
+	public ZootPreparedActor prepareFromMapObject(final MapObject mapObject)
+	{
 		ZootActor actor = new ZootActor();		
-		setActorBasicProperties(mapObject, actor);		
-		setActorControllers(mapObject.getProperties(), actor);
-		return actor;
+		setActorBasicProperties(mapObject, actor);
+		return new ZootPreparedActor(actor, createControllers(mapObject.getProperties()));
 	}
 	
 	public ZootActor createFromMapCell(final ZootTiledMapCell cell)
@@ -52,7 +73,7 @@ public class ZootTiledSceneActorFactory
 		cellActor.setId(cell.cell.getTile().getProperties().get("id", 0, Integer.class));		
 		cellActor.setName("Cell " + cell.x + "x" + cell.y);
 		cellActor.setBounds(cell.x * cell.width * scale, cell.y * cell.height * scale, cell.width * scale, cell.height * scale);
-		setActorControllers(cell.cell.getTile().getProperties(), cellActor);		
+		addControllersToActor(cellActor, createControllers(cell.cell.getTile()));
 		return cellActor;
 	}
 	
@@ -63,10 +84,7 @@ public class ZootTiledSceneActorFactory
 		tileActor.setName(tile.getProperties().get("name", "", String.class));
 		
 		//id
-		int sceneMaxActorId = scene.getActors().stream().mapToInt(actor -> actor.getId()).max().orElse(0);
-		int mapMaxObjectId = scene.getMap().getAllObjects().stream().mapToInt(mo -> mo.getProperties().get("id", 0, Integer.class)).max().orElse(0);
-		int tileActorId = Math.max(sceneMaxActorId, mapMaxObjectId) + 1;
-		tileActor.setId(tileActorId);
+		tileActor.setId(scene.getActorIdAllocator().next());
 
 		//size
 		float width = Float.valueOf(getPropertyOrDefault(tile.getProperties(), "width", "0"));
@@ -74,12 +92,17 @@ public class ZootTiledSceneActorFactory
 		tileActor.setBounds(0.0f, 0.0f, width * scale, height * scale);		
 	
 		//controllers
-		setActorControllers(tile.getProperties(), tileActor);
+		addControllersToActor(tileActor, createControllers(tile));
 		
 		return tileActor;
 	}
 	
 	public ZootActor createFromLayerRegion(ZootLayerRegion region)
+	{
+		return initialize(prepareFromLayerRegion(region));
+	}
+	
+	public ZootPreparedActor prepareFromLayerRegion(ZootLayerRegion region)
 	{
 		ZootActor cellActor = new ZootActor();
 		cellActor.setId(region.cell.getTile().getProperties().get("id", 0, Integer.class));		
@@ -88,8 +111,51 @@ public class ZootTiledSceneActorFactory
 							region.y * region.tileHeight * scale, 
 							region.width * region.tileWidth * scale,
 							region.height * region.tileHeight * scale);
-		setActorControllers(region.cell.getTile().getProperties(), cellActor);		
-		return cellActor;
+		
+		List<Controller> controllers = createControllers(region.cell.getTile());
+		if(region.outlines != null) setOutlines(region, cellActor, controllers);
+		return new ZootPreparedActor(cellActor, controllers);
+	}
+	
+	private void setOutlines(ZootLayerRegion region, ZootActor regionActor, List<Controller> controllers)
+	{
+		//outlines relative to the actor center, in world units
+		float[][] outlines = new float[region.outlines.length][];
+		for(int i = 0; i < outlines.length; ++i)
+		{
+			float[] outline = region.outlines[i];
+			outlines[i] = new float[outline.length];
+			for(int v = 0; v < outline.length; v += 2)
+			{
+				outlines[i][v] = outline[v] * region.tileWidth * scale - regionActor.getWidth() * 0.5f;
+				outlines[i][v + 1] = outline[v + 1] * region.tileHeight * scale - regionActor.getHeight() * 0.5f;
+			}
+		}
+		
+		for(Controller ctrl : controllers)
+		{
+			if(ClassReflection.isInstance(FixtureController.class, ctrl)) ((FixtureController)ctrl).setOutlines(outlines);
+		}
+	}
+	
+	/**
+	 * Initializes prepared actor controllers and adds them to the actor. Must be
+	 * called from the render thread, as controllers can create physics bodies.
+	 */
+	public ZootActor initialize(ZootPreparedActor preparedActor)
+	{
+		addControllersToActor(preparedActor.getActor(), preparedActor.getControllers());
+		return preparedActor.getActor();
+	}
+	
+	public List<ZootActor> initialize(final List<ZootPreparedActor> preparedActors)
+	{
+		List<ZootActor> actors = new ArrayList<ZootActor>(preparedActors.size());
+		for(ZootPreparedActor preparedActor : preparedActors)
+		{
+			actors.add(initialize(preparedActor));
+		}
+		return actors;
 	}
 	
 	public List<ZootActor> createFromMapCells(final List<ZootTiledMapCell> cells) 
@@ -99,12 +165,57 @@ public class ZootTiledSceneActorFactory
 	
 	public List<ZootActor> createFromMapObjects(final Collection<MapObject> objects)
 	{
-		return objects.stream().map(obj -> createFromMapObject(obj)).collect(Collectors.toList());
+		return initialize(prepareFromMapObjects(objects));
 	}
 	
 	public List<ZootActor> createFromLayerRegions(final List<ZootLayerRegion> regions)
 	{
-		return regions.stream().map(obj -> createFromLayerRegion(obj)).collect(Collectors.toList());
+		return initialize(prepareFromLayerRegions(regions));
+	}
+	
+	/**
+	 * Prepares actors in parallel, using the factory pool. Returned list keeps the objects order.
+	 */
+	public List<ZootPreparedActor> prepareFromMapObjects(final Collection<MapObject> objects)
+	{
+		return prepareInParallel(objects, this::prepareFromMapObject);
+	}
+	
+	/**
+	 * Prepares actors in parallel, using the factory pool. Returned list keeps the regions order.
+	 */
+	public List<ZootPreparedActor> prepareFromLayerRegions(final List<ZootLayerRegion> regions)
+	{
+		return prepareInParallel(regions, this::prepareFromLayerRegion);
+	}
+	
+	/**
+	 * Checks if the tile has any fixture controller creating a sensor.
+	 */
+	public boolean hasSensorFixtures(TiledMapTile tile)
+	{
+		for(ControllerParams ctrlParams : controllerCache.get(tile))
+		{
+			Class<? extends Controller> ctrlClass = controllerFactory.get(ctrlParams.name);
+			if(ClassReflection.isAssignableFrom(FixtureController.class, ctrlClass) 
+			   && Boolean.TRUE.equals(ctrlParams.params.get(SENSOR_PARAM))) return true;
+		}
+		return false;
+	}
+	
+	public ZootTiledControllerCache getControllerCache()
+	{
+		return controllerCache;
+	}
+	
+	public ForkJoinPool getPool()
+	{
+		return pool;
+	}
+	
+	public void setPool(ForkJoinPool pool)
+	{
+		this.pool = pool;
 	}
 		
 	protected void setActorBasicProperties(final MapObject mapObject, ZootActor actor) 
@@ -145,18 +256,44 @@ public class ZootTiledSceneActorFactory
 
 	protected void setActorControllers(final MapProperties actorProperties, ZootActor actor)
 	{		
-		List<Controller> createdControllers = new ArrayList<Controller>();
-		
-		actorProperties.getKeys().forEachRemaining(ctrlName ->
-		{								
-			if(controllerFactory.contains(ctrlName))
+		addControllersToActor(actor, createControllers(actorProperties));
+	}
+	
+	protected List<Controller> createControllers(final MapProperties actorProperties)
+	{
+		//properties can be shared between objects and their key iterators are reused
+		List<String> ctrlNames = new ArrayList<String>();
+		synchronized(actorProperties)
+		{
+			actorProperties.getKeys().forEachRemaining(key ->
 			{
-				String controllerParams = actorProperties.get(ctrlName, String.class);
-				Controller controller = controllerFactory.create(ctrlName, controllerParams);
-				createdControllers.add(controller);
-			}
-		});		
-		addControllersToActor(actor, createdControllers);
+				if(controllerFactory.contains(key)) ctrlNames.add(key);
+			});
+		}
+		
+		List<Controller> createdControllers = new ArrayList<Controller>(ctrlNames.size());
+		for(String ctrlName : ctrlNames)
+		{
+			String controllerParams = actorProperties.get(ctrlName, String.class);
+			createdControllers.add(controllerFactory.create(ctrlName, controllerParams));
+		}
+		return createdControllers;
+	}
+	
+	protected List<Controller> createControllers(final TiledMapTile tile)
+	{
+		List<ControllerParams> tileControllers = controllerCache.get(tile);
+		List<Controller> createdControllers = new ArrayList<Controller>(tileControllers.size());
+		for(ControllerParams ctrlParams : tileControllers)
+		{
+			createdControllers.add(controllerFactory.create(ctrlParams.name, ctrlParams.params));
+		}
+		return createdControllers;
+	}
+	
+	private <T> List<ZootPreparedActor> prepareInParallel(final Collection<T> items, Function<T, ZootPreparedActor> preparer)
+	{
+		return pool.submit(() -> items.parallelStream().map(preparer).collect(Collectors.toList())).join();
 	}
 			
 	protected String getPropertyOrDefault(MapProperties properties, String key, String defaultValue)
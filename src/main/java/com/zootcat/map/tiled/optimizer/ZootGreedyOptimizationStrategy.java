@@ -0,0 +1,88 @@
+package com.zootcat.map.tiled.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+
+/**
+ * Greedy strategy, takes the first free cell, grows the region horizontally as far as possible
+ * and then vertically by the whole rows. Fast, but creates more regions than needed on stairs
+ * and L-shaped terrain.
+ * @author Cream
+ */
+public class ZootGreedyOptimizationStrategy implements ZootLayerOptimizationStrategy
+{
+	@Override
+	public List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator, int startX, int startY, int width, int height)
+	{
+		List<ZootLayerRegion> regions = new ArrayList<ZootLayerRegion>();
+		
+		int endX = Math.min(startX + width, layer.getWidth());
+		int endY = Math.min(startY + height, layer.getHeight());
+		startX = Math.max(startX, 0);
+		startY = Math.max(startY, 0);
+		if(startX >= endX || startY >= endY) return regions;
+		
+		boolean[][] takenCells = new boolean[endX - startX][endY - startY];
+		
+		for(int y = startY; y < endY; ++y)
+		{	
+			for(int x = startX; x < endX; ++x)
+			{
+				if(takenCells[x - startX][y - startY] == true)
+				{
+					continue;
+				}
+				
+				takenCells[x - startX][y - startY] = true;				
+				Cell firstCell = layer.getCell(x, y);
+				if(firstCell == null) continue;
+				
+				ZootLayerRegion region = new ZootLayerRegion(x, y, layer.getTileWidth(), layer.getTileHeight(), firstCell);
+				
+				//get max horizontal slice
+				for(int rx = x + 1; rx < endX; ++rx)
+				{
+					Cell cell = layer.getCell(rx, y);
+					if(cell == null || takenCells[rx - startX][y - startY] == true || !comparator.areEqual(firstCell, cell))
+					{
+						break;
+					}
+					takenCells[rx - startX][y - startY] = true;
+					++region.width;				
+				}
+				
+				//try to make a box
+				for(int ry = y + 1; ry < endY; ++ry)
+				{
+					boolean foundAnotherSlice = true;
+					for(int rx = x; rx < x + region.width; ++rx)
+					{
+						Cell cell = layer.getCell(rx, ry);
+						if(cell == null || takenCells[rx - startX][ry - startY] == true || !comparator.areEqual(firstCell, cell))
+						{
+							foundAnotherSlice = false;
+							break;
+						}	
+					}
+					
+					if(foundAnotherSlice)
+					{
+						for(int rx = x; rx < x + region.width; ++rx) takenCells[rx - startX][ry - startY] = true;						
+						++region.height;
+					}
+					else
+					{
+						break;
+					}
+				}
+				
+				//add new region
+				regions.add(region);
+			}
+		}
+		return regions;
+	}
+}
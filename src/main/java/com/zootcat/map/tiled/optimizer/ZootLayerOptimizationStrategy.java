@@ -0,0 +1,22 @@
+package com.zootcat.map.tiled.optimizer;
+
+import java.util.List;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+/**
+ * Strategy of dividing the layer cells into rectangular regions. Regions do not overlap,
+ * contain only cells equal according to the comparator and together cover all non-null
+ * cells of the area.
+ * @author Cream
+ */
+public interface ZootLayerOptimizationStrategy
+{
+	/**
+	 * @param startX - first column of the area, in tiles
+	 * @param startY - first row of the area, in tiles
+	 * @param width - area width, in tiles
+	 * @param height - area height, in tiles
+	 */
+	List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator, int startX, int startY, int width, int height);
+}
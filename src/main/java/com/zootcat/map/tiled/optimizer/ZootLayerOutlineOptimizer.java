@@ -0,0 +1,278 @@
+package com.zootcat.map.tiled.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Alternative to the {@link ZootLayerOptimizer}, which does not split cells into boxes.
+ * Connected cells equal according to the comparator are grouped into islands and the
+ * contours of each island are traced. Every island is returned as a single region,
+ * covering its bounding box, with the outlines set, so it can be created as one body
+ * with chain shape fixtures, without seams between boxes.<br/>
+ * <br/>
+ * Outer outlines are counter clockwise and hole outlines are clockwise, so the solid
+ * cells are always on the left side. Collinear vertices are removed.<br/>
+ * <br/>
+ * Islands can be excluded from outlining, e.g. islands of sensor tiles, which must cover
+ * the island cells and not only its outline. Such islands are divided into box regions.
+ * @author Cream
+ */
+public class ZootLayerOutlineOptimizer
+{
+	private static final int[] DX = {1, 0, -1, 0};
+	private static final int[] DY = {0, 1, 0, -1};
+	private static final int NO_ISLAND = -1;
+	private static final Predicate<Cell> NO_BOX_ISLANDS = cell -> false;
+
+	public static List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator)
+	{
+		return optimize(layer, comparator, NO_BOX_ISLANDS);
+	}
+
+	/**
+	 * @param boxIslands - tests the first cell of the island, islands passing the test are divided into box regions
+	 */
+	public static List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator, Predicate<Cell> boxIslands)
+	{
+		return optimize(layer, comparator, boxIslands, 0, 0, layer.getWidth(), layer.getHeight());
+	}
+
+	/**
+	 * Optimizes only the given area of the layer, islands do not exceed the area.
+	 * @param startX - first column of the area, in tiles
+	 * @param startY - first row of the area, in tiles
+	 * @param width - area width, in tiles
+	 * @param height - area height, in tiles
+	 */
+	public static List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator, int startX, int startY, int width, int height)
+	{
+		return optimize(layer, comparator, NO_BOX_ISLANDS, startX, startY, width, height);
+	}
+
+	/**
+	 * Optimizes only the given area of the layer, islands do not exceed the area.
+	 * @param boxIslands - tests the first cell of the island, islands passing the test are divided into box regions
+	 */
+	public static List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator, Predicate<Cell> boxIslands, 
+												 int startX, int startY, int width, int height)
+	{
+		List<ZootLayerRegion> regions = new ArrayList<ZootLayerRegion>();
+
+		int endX = Math.min(startX + width, layer.getWidth());
+		int endY = Math.min(startY + height, layer.getHeight());
+		startX = Math.max(startX, 0);
+		startY = Math.max(startY, 0);
+		if(startX >= endX || startY >= endY) return regions;
+
+		int areaWidth = endX - startX;
+		int areaHeight = endY - startY;
+		int[] islands = new int[areaWidth * areaHeight];
+		for(int i = 0; i < islands.length; ++i) islands[i] = NO_ISLAND;
+
+		//vertex grid is one larger than the cell grid, each vertex has bits of the outgoing edge directions
+		int gridWidth = areaWidth + 1;
+		byte[] edges = new byte[gridWidth * (areaHeight + 1)];
+		byte[] usedEdges = new byte[edges.length];
+
+		IntArray islandCells = new IntArray();
+		IntArray edgeVertices = new IntArray();
+		FloatArray outline = new FloatArray();
+		boolean[] boxedCells = null;
+		int islandCount = 0;
+		for(int y = 0; y < areaHeight; ++y)
+		{
+			for(int x = 0; x < areaWidth; ++x)
+			{
+				if(islands[y * areaWidth + x] != NO_ISLAND) continue;
+
+				Cell firstCell = layer.getCell(startX + x, startY + y);
+				if(firstCell == null) continue;
+
+				int island = islandCount++;
+				fillIsland(layer, comparator, firstCell, startX, startY, areaWidth, areaHeight, x, y, island, islands, islandCells);
+				if(boxIslands.test(firstCell))
+				{
+					if(boxedCells == null) boxedCells = new boolean[islands.length];
+					addBoxRegions(layer, startX, startY, areaWidth, areaHeight, island, islands, islandCells, boxedCells, regions);
+					continue;
+				}
+
+				//bounding box
+				int minX = x, minY = y, maxX = x, maxY = y;
+				for(int i = 0; i < islandCells.size; ++i)
+				{
+					int cx = islandCells.get(i) % areaWidth;
+					int cy = islandCells.get(i) / areaWidth;
+					minX = Math.min(minX, cx);
+					minY = Math.min(minY, cy);
+					maxX = Math.max(maxX, cx);
+					maxY = Math.max(maxY, cy);
+				}
+
+				ZootLayerRegion region = new ZootLayerRegion(startX + minX, startY + minY, layer.getTileWidth(), layer.getTileHeight(), firstCell);
+				region.width = maxX - minX + 1;
+				region.height = maxY - minY + 1;
+
+				//boundary edges, solid cells on the left side
+				edgeVertices.clear();
+				for(int i = 0; i < islandCells.size; ++i)
+				{
+					int cx = islandCells.get(i) % areaWidth;
+					int cy = islandCells.get(i) / areaWidth;
+					if(!isIsland(islands, areaWidth, areaHeight, cx, cy - 1, island)) addEdge(edges, edgeVertices, cy * gridWidth + cx, 0);
+					if(!isIsland(islands, areaWidth, areaHeight, cx + 1, cy, island)) addEdge(edges, edgeVertices, cy * gridWidth + cx + 1, 1);
+					if(!isIsland(islands, areaWidth, areaHeight, cx, cy + 1, island)) addEdge(edges, edgeVertices, (cy + 1) * gridWidth + cx + 1, 2);
+					if(!isIsland(islands, areaWidth, areaHeight, cx - 1, cy, island)) addEdge(edges, edgeVertices, (cy + 1) * gridWidth + cx, 3);
+				}
+
+				List<float[]> outlines = new ArrayList<float[]>();
+				for(int i = 0; i < edgeVertices.size; ++i)
+				{
+					int vertex = edgeVertices.get(i);
+					while((edges[vertex] & ~usedEdges[vertex]) != 0)
+					{
+						traceOutline(edges, usedEdges, gridWidth, vertex, outline);
+
+						//relative to the region origin
+						for(int v = 0; v < outline.size; v += 2)
+						{
+							outline.items[v] -= minX;
+							outline.items[v + 1] -= minY;
+						}
+						outlines.add(outline.toArray());
+					}
+				}
+
+				for(int i = 0; i < edgeVertices.size; ++i)
+				{
+					edges[edgeVertices.get(i)] = 0;
+					usedEdges[edgeVertices.get(i)] = 0;
+				}
+
+				region.outlines = outlines.toArray(new float[outlines.size()][]);
+				regions.add(region);
+			}
+		}
+		return regions;
+	}
+
+	static void fillIsland(TiledMapTileLayer layer, ZootTiledCellComparator comparator, Cell firstCell, int startX, int startY, int areaWidth, int areaHeight, int x, int y, int island, int[] islands, IntArray islandCells)
+	{
+		islandCells.clear();
+		islands[y * areaWidth + x] = island;
+		islandCells.add(y * areaWidth + x);
+		for(int i = 0; i < islandCells.size; ++i)
+		{
+			int cx = islandCells.get(i) % areaWidth;
+			int cy = islandCells.get(i) / areaWidth;
+			for(int dir = 0; dir < 4; ++dir)
+			{
+				int nx = cx + DX[dir];
+				int ny = cy + DY[dir];
+				if(nx < 0 || ny < 0 || nx >= areaWidth || ny >= areaHeight || islands[ny * areaWidth + nx] != NO_ISLAND) continue;
+
+				Cell cell = layer.getCell(startX + nx, startY + ny);
+				if(cell == null || !comparator.areEqual(firstCell, cell)) continue;
+
+				islands[ny * areaWidth + nx] = island;
+				islandCells.add(ny * areaWidth + nx);
+			}
+		}
+	}
+
+	/**
+	 * Greedy division of the island cells, same as {@link ZootGreedyOptimizationStrategy}.
+	 */
+	private static void addBoxRegions(TiledMapTileLayer layer, int startX, int startY, int areaWidth, int areaHeight, int island, 
+									  int[] islands, IntArray islandCells, boolean[] boxedCells, List<ZootLayerRegion> regions)
+	{
+		//cell indices in row order, so regions grow to the right and up
+		islandCells.sort();
+		for(int i = 0; i < islandCells.size; ++i)
+		{
+			int cellIndex = islandCells.get(i);
+			if(boxedCells[cellIndex]) continue;
+
+			int x = cellIndex % areaWidth;
+			int y = cellIndex / areaWidth;
+			int width = 1;
+			while(isFreeIslandCell(islands, boxedCells, areaWidth, areaHeight, x + width, y, island)) ++width;
+
+			int height = 1;
+			while(isFreeIslandRow(islands, boxedCells, areaWidth, areaHeight, x, y + height, width, island)) ++height;
+
+			for(int cy = y; cy < y + height; ++cy)
+			{
+				for(int cx = x; cx < x + width; ++cx) boxedCells[cy * areaWidth + cx] = true;
+			}
+
+			ZootLayerRegion region = new ZootLayerRegion(startX + x, startY + y, layer.getTileWidth(), layer.getTileHeight(), layer.getCell(startX + x, startY + y));
+			region.width = width;
+			region.height = height;
+			regions.add(region);
+		}
+	}
+
+	private static boolean isFreeIslandRow(int[] islands, boolean[] boxedCells, int areaWidth, int areaHeight, int x, int y, int width, int island)
+	{
+		for(int cx = x; cx < x + width; ++cx)
+		{
+			if(!isFreeIslandCell(islands, boxedCells, areaWidth, areaHeight, cx, y, island)) return false;
+		}
+		return true;
+	}
+
+	private static boolean isFreeIslandCell(int[] islands, boolean[] boxedCells, int areaWidth, int areaHeight, int x, int y, int island)
+	{
+		return isIsland(islands, areaWidth, areaHeight, x, y, island) && !boxedCells[y * areaWidth + x];
+	}
+
+	private static boolean isIsland(int[] islands, int areaWidth, int areaHeight, int x, int y, int island)
+	{
+		if(x < 0 || y < 0 || x >= areaWidth || y >= areaHeight) return false;
+		return islands[y * areaWidth + x] == island;
+	}
+
+	private static void addEdge(byte[] edges, IntArray edgeVertices, int vertex, int dir)
+	{
+		if(edges[vertex] == 0) edgeVertices.add(vertex);
+		edges[vertex] |= 1 << dir;
+	}
+
+	private static void traceOutline(byte[] edges, byte[] usedEdges, int gridWidth, int startVertex, FloatArray outline)
+	{
+		outline.clear();
+		int startDir = Integer.numberOfTrailingZeros(edges[startVertex] & ~usedEdges[startVertex]);
+		int vertex = startVertex;
+		int dir = startDir;
+		int previousDir = -1;
+		do
+		{
+			usedEdges[vertex] |= 1 << dir;
+			if(dir != previousDir) outline.add(vertex % gridWidth, vertex / gridWidth);
+			previousDir = dir;
+
+			vertex += DX[dir] + DY[dir] * gridWidth;
+			dir = nextDirection(edges[vertex], dir);
+		}
+		while(vertex != startVertex || dir != startDir);
+
+		//outline started in the middle of a straight segment
+		if(previousDir == startDir) outline.removeRange(0, 1);
+	}
+
+	private static int nextDirection(byte vertexEdges, int dir)
+	{
+		//right turn first, so outline of a hole touching other outline in a single vertex is traced separately
+		int right = (dir + 3) & 3;
+		if((vertexEdges & (1 << right)) != 0) return right;
+		if((vertexEdges & (1 << dir)) != 0) return dir;
+		return (dir + 1) & 3;
+	}
+}
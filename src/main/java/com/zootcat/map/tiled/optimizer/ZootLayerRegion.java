@@ -12,6 +12,9 @@ public class ZootLayerRegion
 	public float tileHeight;
 	public Cell cell;
 	
+	/** Outlines of the region cells, in tiles relative to the region origin, null for box regions. */
+	public float[][] outlines;
+	
 	public ZootLayerRegion(int x, int y, float tileWidth, float tileHeight, Cell cell)
 	{
 		this.x = x;
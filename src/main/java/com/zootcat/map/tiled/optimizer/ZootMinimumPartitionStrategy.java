@@ -0,0 +1,452 @@
+package com.zootcat.map.tiled.optimizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Minimum rectangle partition strategy. Each island of connected equal cells is divided
+ * into the smallest possible number of regions, which for an island with holes is the number
+ * of concave vertices, minus the maximum number of non-intersecting chords joining two
+ * concave vertices, minus the number of holes, plus one.<br/>
+ * <br/>
+ * Chords are selected as the maximum independent set of the bipartite graph of intersecting
+ * horizontal and vertical chords, found with the Hopcroft-Karp matching. Concave vertices not
+ * resolved by the chords are then cut horizontally until the cut reaches the boundary or other cut.
+ * Slower than the {@link ZootGreedyOptimizationStrategy}, but creates fewer regions.
+ * @author Cream
+ */
+public class ZootMinimumPartitionStrategy implements ZootLayerOptimizationStrategy
+{
+	private static final int NONE = -1;
+
+	@Override
+	public List<ZootLayerRegion> optimize(TiledMapTileLayer layer, ZootTiledCellComparator comparator, int startX, int startY, int width, int height)
+	{
+		List<ZootLayerRegion> regions = new ArrayList<ZootLayerRegion>();
+
+		int endX = Math.min(startX + width, layer.getWidth());
+		int endY = Math.min(startY + height, layer.getHeight());
+		startX = Math.max(startX, 0);
+		startY = Math.max(startY, 0);
+		if(startX >= endX || startY >= endY) return regions;
+
+		int areaWidth = endX - startX;
+		int areaHeight = endY - startY;
+		int[] islands = new int[areaWidth * areaHeight];
+		Arrays.fill(islands, NONE);
+
+		int islandCount = 0;
+		IntArray islandCells = new IntArray();
+		for(int y = 0; y < areaHeight; ++y)
+		{
+			for(int x = 0; x < areaWidth; ++x)
+			{
+				if(islands[y * areaWidth + x] != NONE) continue;
+
+				Cell firstCell = layer.getCell(startX + x, startY + y);
+				if(firstCell == null) continue;
+
+				int island = islandCount++;
+				ZootLayerOutlineOptimizer.fillIsland(layer, comparator, firstCell, startX, startY, areaWidth, areaHeight, x, y, island, islands, islandCells);
+				new IslandPartition(layer, startX, startY, areaWidth, islands, island, islandCells).partition(regions);
+			}
+		}
+		return regions;
+	}
+
+	private static class IslandPartition
+	{
+		private final TiledMapTileLayer layer;
+		private final int[] islands;
+		private final int island;
+		private final int areaWidth;
+		private final int originX;
+		private final int originY;
+		private final int originCellX;
+		private final int originCellY;
+		private final int width;
+		private final int height;
+		private final int gridWidth;
+
+		//cut edges, horizontal from the vertex to the right and vertical from the vertex up
+		private final boolean[] horizontalCuts;
+		private final boolean[] verticalCuts;
+		private final boolean[] cutVertices;
+
+		private final IntArray concaveVertices = new IntArray();
+		private final IntArray horizontalChords = new IntArray();
+		private final IntArray verticalChords = new IntArray();
+
+		IslandPartition(TiledMapTileLayer layer, int startX, int startY, int areaWidth, int[] islands, int island, IntArray islandCells)
+		{
+			this.layer = layer;
+			this.islands = islands;
+			this.island = island;
+			this.areaWidth = areaWidth;
+
+			int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = 0, maxY = 0;
+			for(int i = 0; i < islandCells.size; ++i)
+			{
+				int cx = islandCells.get(i) % areaWidth;
+				int cy = islandCells.get(i) / areaWidth;
+				minX = Math.min(minX, cx);
+				minY = Math.min(minY, cy);
+				maxX = Math.max(maxX, cx);
+				maxY = Math.max(maxY, cy);
+			}
+			originX = minX;
+			originY = minY;
+			width = maxX - minX + 1;
+			height = maxY - minY + 1;
+			gridWidth = width + 1;
+
+			int vertexCount = gridWidth * (height + 1);
+			horizontalCuts = new boolean[vertexCount];
+			verticalCuts = new boolean[vertexCount];
+			cutVertices = new boolean[vertexCount];
+			originCellX = startX + originX;
+			originCellY = startY + originY;
+		}
+
+		void partition(List<ZootLayerRegion> regions)
+		{
+			findConcaveVerticesAndChords();
+			cutSelectedChords();
+			cutConcaveVertices();
+			createRegions(regions);
+		}
+
+		private boolean isIn(int x, int y)
+		{
+			if(x < 0 || y < 0 || x >= width || y >= height) return false;
+			return islands[(originY + y) * areaWidth + originX + x] == island;
+		}
+
+		private boolean isHorizontalInterior(int x, int y, int dir)
+		{
+			int edgeX = dir > 0 ? x : x - 1;
+			return isIn(edgeX, y) && isIn(edgeX, y - 1);
+		}
+
+		private boolean isVerticalInterior(int x, int y, int dir)
+		{
+			int edgeY = dir > 0 ? y : y - 1;
+			return isIn(x, edgeY) && isIn(x - 1, edgeY);
+		}
+
+		/**
+		 * Returns interior directions of the concave vertex, bit 0 set for the horizontal direction to the right
+		 * and bit 1 set for the vertical direction up, or {@link #NONE} if the vertex is not concave.
+		 */
+		private int getConcaveDirections(int x, int y)
+		{
+			boolean sw = isIn(x - 1, y - 1);
+			boolean se = isIn(x, y - 1);
+			boolean nw = isIn(x - 1, y);
+			boolean ne = isIn(x, y);
+			int count = (sw ? 1 : 0) + (se ? 1 : 0) + (nw ? 1 : 0) + (ne ? 1 : 0);
+			if(count != 3) return NONE;
+
+			boolean emptyEast = !se || !ne;
+			boolean emptyNorth = !nw || !ne;
+			return (emptyEast ? 0 : 1) | (emptyNorth ? 0 : 2);
+		}
+
+		private void findConcaveVerticesAndChords()
+		{
+			for(int y = 0; y <= height; ++y)
+			{
+				for(int x = 0; x <= width; ++x)
+				{
+					int dirs = getConcaveDirections(x, y);
+					if(dirs == NONE) continue;
+					concaveVertices.add(y * gridWidth + x);
+
+					//chords are found from their left and bottom end
+					if((dirs & 1) != 0)
+					{
+						int end = x;
+						while(isHorizontalInterior(end, y, 1)) ++end;
+						int endDirs = getConcaveDirections(end, y);
+						if(endDirs != NONE && (endDirs & 1) == 0) horizontalChords.add(x, end, y);
+					}
+					if((dirs & 2) != 0)
+					{
+						int end = y;
+						while(isVerticalInterior(x, end, 1)) ++end;
+						int endDirs = getConcaveDirections(x, end);
+						if(endDirs != NONE && (endDirs & 2) == 0) verticalChords.add(y, end, x);
+					}
+				}
+			}
+		}
+
+		private void cutSelectedChords()
+		{
+			int horizontalCount = horizontalChords.size / 3;
+			int verticalCount = verticalChords.size / 3;
+			if(horizontalCount == 0 && verticalCount == 0) return;
+
+			//vertical chords are the left side of the bipartite graph, horizontal chords the right side
+			int[] horizontalAt = new int[cutVertices.length];
+			Arrays.fill(horizontalAt, NONE);
+			for(int h = 0; h < horizontalCount; ++h)
+			{
+				int y = horizontalChords.get(h * 3 + 2);
+				for(int x = horizontalChords.get(h * 3); x <= horizontalChords.get(h * 3 + 1); ++x) horizontalAt[y * gridWidth + x] = h;
+			}
+
+			int[] edgeStart = new int[verticalCount + 1];
+			IntArray edges = new IntArray();
+			for(int v = 0; v < verticalCount; ++v)
+			{
+				edgeStart[v] = edges.size;
+				int x = verticalChords.get(v * 3 + 2);
+				for(int y = verticalChords.get(v * 3); y <= verticalChords.get(v * 3 + 1); ++y)
+				{
+					int h = horizontalAt[y * gridWidth + x];
+					if(h != NONE) edges.add(h);
+				}
+			}
+			edgeStart[verticalCount] = edges.size;
+
+			boolean[] selectedVertical = new boolean[verticalCount];
+			boolean[] coveredHorizontal = new boolean[horizontalCount];
+			new BipartiteMatching(verticalCount, horizontalCount, edgeStart, edges.items).findIndependentSet(selectedVertical, coveredHorizontal);
+
+			for(int h = 0; h < horizontalCount; ++h)
+			{
+				if(coveredHorizontal[h]) continue;
+				int y = horizontalChords.get(h * 3 + 2);
+				for(int x = horizontalChords.get(h * 3); x < horizontalChords.get(h * 3 + 1); ++x)
+				{
+					horizontalCuts[y * gridWidth + x] = true;
+					cutVertices[y * gridWidth + x] = true;
+					cutVertices[y * gridWidth + x + 1] = true;
+				}
+			}
+
+			for(int v = 0; v < verticalCount; ++v)
+			{
+				if(!selectedVertical[v]) continue;
+				int x = verticalChords.get(v * 3 + 2);
+				for(int y = verticalChords.get(v * 3); y < verticalChords.get(v * 3 + 1); ++y)
+				{
+					verticalCuts[y * gridWidth + x] = true;
+					cutVertices[y * gridWidth + x] = true;
+					cutVertices[(y + 1) * gridWidth + x] = true;
+				}
+			}
+		}
+
+		private void cutConcaveVertices()
+		{
+			for(int i = 0; i < concaveVertices.size; ++i)
+			{
+				int vertex = concaveVertices.get(i);
+				if(cutVertices[vertex]) continue;
+
+				int x = vertex % gridWidth;
+				int y = vertex / gridWidth;
+				int dir = (getConcaveDirections(x, y) & 1) != 0 ? 1 : -1;
+				cutVertices[vertex] = true;
+				while(true)
+				{
+					horizontalCuts[y * gridWidth + (dir > 0 ? x : x - 1)] = true;
+					x += dir;
+
+					int next = y * gridWidth + x;
+					boolean reachedCut = cutVertices[next];
+					cutVertices[next] = true;
+					if(reachedCut || !isHorizontalInterior(x, y, dir)) break;
+				}
+			}
+		}
+
+		private void createRegions(List<ZootLayerRegion> regions)
+		{
+			boolean[] taken = new boolean[width * height];
+			for(int y = 0; y < height; ++y)
+			{
+				for(int x = 0; x < width; ++x)
+				{
+					if(taken[y * width + x] || !isIn(x, y)) continue;
+
+					//cells separated by cuts form rectangles, so the first free cell is the bottom left corner
+					int regionWidth = 1;
+					while(isIn(x + regionWidth, y) && !verticalCuts[y * gridWidth + x + regionWidth]) ++regionWidth;
+					int regionHeight = 1;
+					while(isIn(x, y + regionHeight) && !horizontalCuts[(y + regionHeight) * gridWidth + x]) ++regionHeight;
+
+					for(int ry = y; ry < y + regionHeight; ++ry)
+					{
+						for(int rx = x; rx < x + regionWidth; ++rx) taken[ry * width + rx] = true;
+					}
+
+					Cell cell = layer.getCell(originCellX + x, originCellY + y);
+					ZootLayerRegion region = new ZootLayerRegion(originCellX + x, originCellY + y, layer.getTileWidth(), layer.getTileHeight(), cell);
+					region.width = regionWidth;
+					region.height = regionHeight;
+					regions.add(region);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Hopcroft-Karp maximum matching, used to find the maximum independent set of the chords graph.
+	 */
+	private static class BipartiteMatching
+	{
+		private final int leftCount;
+		private final int rightCount;
+		private final int[] edgeStart;
+		private final int[] edges;
+		private final int[] leftMatch;
+		private final int[] rightMatch;
+		private final int[] distance;
+		private final int[] queue;
+		private final int[] stack;
+		private final int[] stackEdge;
+
+		BipartiteMatching(int leftCount, int rightCount, int[] edgeStart, int[] edges)
+		{
+			this.leftCount = leftCount;
+			this.rightCount = rightCount;
+			this.edgeStart = edgeStart;
+			this.edges = edges;
+			leftMatch = new int[leftCount];
+			rightMatch = new int[rightCount];
+			distance = new int[leftCount];
+			queue = new int[Math.max(leftCount, rightCount) + 1];
+			stack = new int[leftCount + 1];
+			stackEdge = new int[leftCount + 1];
+		}
+
+		/**
+		 * Left vertices in the independent set are marked as selected, right vertices
+		 * not in the independent set (in the minimum vertex cover) are marked as covered.
+		 */
+		void findIndependentSet(boolean[] selectedLeft, boolean[] coveredRight)
+		{
+			Arrays.fill(leftMatch, NONE);
+			Arrays.fill(rightMatch, NONE);
+			while(bfs())
+			{
+				for(int left = 0; left < leftCount; ++left)
+				{
+					if(leftMatch[left] == NONE) dfs(left);
+				}
+			}
+
+			//Konig theorem, vertices reachable by alternating paths from the free left vertices
+			boolean[] visitedLeft = selectedLeft;
+			boolean[] visitedRight = coveredRight;
+			int head = 0, tail = 0;
+			for(int left = 0; left < leftCount; ++left)
+			{
+				if(leftMatch[left] != NONE) continue;
+				visitedLeft[left] = true;
+				queue[tail++] = left;
+			}
+			while(head < tail)
+			{
+				int left = queue[head++];
+				for(int e = edgeStart[left]; e < edgeStart[left + 1]; ++e)
+				{
+					int right = edges[e];
+					if(visitedRight[right] || rightMatch[right] == NONE) continue;
+					visitedRight[right] = true;
+					int next = rightMatch[right];
+					if(!visitedLeft[next])
+					{
+						visitedLeft[next] = true;
+						queue[tail++] = next;
+					}
+				}
+			}
+		}
+
+		private boolean bfs()
+		{
+			int head = 0, tail = 0;
+			boolean found = false;
+			for(int left = 0; left < leftCount; ++left)
+			{
+				if(leftMatch[left] == NONE)
+				{
+					distance[left] = 0;
+					queue[tail++] = left;
+				}
+				else
+				{
+					distance[left] = NONE;
+				}
+			}
+
+			while(head < tail)
+			{
+				int left = queue[head++];
+				for(int e = edgeStart[left]; e < edgeStart[left + 1]; ++e)
+				{
+					int next = rightMatch[edges[e]];
+					if(next == NONE)
+					{
+						found = true;
+					}
+					else if(distance[next] == NONE)
+					{
+						distance[next] = distance[left] + 1;
+						queue[tail++] = next;
+					}
+				}
+			}
+			return found;
+		}
+
+		private void dfs(int root)
+		{
+			//iterative, augmenting paths can be long on big islands
+			int top = 0;
+			stack[0] = root;
+			stackEdge[0] = edgeStart[root];
+			while(top >= 0)
+			{
+				int left = stack[top];
+				if(stackEdge[top] == edgeStart[left + 1])
+				{
+					distance[left] = NONE;
+					--top;
+					continue;
+				}
+
+				int right = edges[stackEdge[top]++];
+				int next = rightMatch[right];
+				if(next == NONE)
+				{
+					//augment along the path on the stack
+					for(int i = top; i >= 0; --i)
+					{
+						int pathLeft = stack[i];
+						int pathRight = edges[stackEdge[i] - 1];
+						leftMatch[pathLeft] = pathRight;
+						rightMatch[pathRight] = pathLeft;
+					}
+					return;
+				}
+
+				if(distance[next] == distance[left] + 1)
+				{
+					++top;
+					stack[top] = next;
+					stackEdge[top] = edgeStart[next];
+				}
+			}
+		}
+	}
+}
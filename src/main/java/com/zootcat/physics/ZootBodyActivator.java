@@ -0,0 +1,175 @@
+package com.zootcat.physics;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.zootcat.scene.ZootActor;
+
+/**
+ * Deactivates actor bodies outside of the activation region, which is the view
+ * extended by the margin, so Box2D does not simulate them. Bodies are checked for
+ * deactivation in batches, few every update, and reactivated as soon as the region
+ * moves over them.<br/>
+ * <br/>
+ * Only bodies of actors are managed, bounds of the actor are used as body bounds.
+ * Bodies deactivated by the game and bodies registered as always active are not changed.
+ * @author Cream
+ */
+public class ZootBodyActivator
+{
+	public static final float DEFAULT_MARGIN = 8.0f;
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private final World world;
+	private final ObjectSet<Body> alwaysActiveBodies = new ObjectSet<Body>();
+	private final Array<Body> deactivatedBodies = new Array<Body>(false, 64);
+	private final Array<Body> bodies = new Array<Body>(false, 256);
+	private final Rectangle region = new Rectangle();
+	private final Rectangle bounds = new Rectangle();
+	private boolean enabled = false;
+	private boolean bodiesChanged = true;
+	private float margin = DEFAULT_MARGIN;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private int nextBody = 0;
+
+	public ZootBodyActivator(World world)
+	{
+		this.world = world;
+	}
+
+	/**
+	 * Reactivates bodies in the activation region and checks the next batch of bodies for deactivation.
+	 * @param view - view around which bodies are active, e.g. camera view
+	 */
+	public void update(Rectangle view)
+	{
+		if(!enabled) return;
+
+		region.set(view.x - margin, view.y - margin, view.width + margin * 2.0f, view.height + margin * 2.0f);
+		for(int i = deactivatedBodies.size - 1; i >= 0; --i)
+		{
+			Body body = deactivatedBodies.get(i);
+			if(isInRegion(body) || alwaysActiveBodies.contains(body))
+			{
+				deactivatedBodies.removeIndex(i);
+				body.setActive(true);
+			}
+		}
+
+		if(nextBody >= bodies.size || bodiesChanged)
+		{
+			world.getBodies(bodies);
+			bodiesChanged = false;
+			if(nextBody >= bodies.size) nextBody = 0;
+		}
+
+		int end = Math.min(nextBody + batchSize, bodies.size);
+		for(; nextBody < end; ++nextBody)
+		{
+			Body body = bodies.get(nextBody);
+			if(!body.isActive() || !ClassReflection.isInstance(ZootActor.class, body.getUserData())) continue;
+			if(alwaysActiveBodies.contains(body) || isInRegion(body)) continue;
+
+			body.setActive(false);
+			deactivatedBodies.add(body);
+		}
+	}
+
+	private boolean isInRegion(Body body)
+	{
+		ZootActor actor = (ZootActor)body.getUserData();
+		return bounds.set(actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight()).overlaps(region);
+	}
+
+	/**
+	 * Must be called before the body is destroyed.
+	 */
+	public void removeBody(Body body)
+	{
+		alwaysActiveBodies.remove(body);
+		deactivatedBodies.removeValue(body, true);
+		bodiesChanged = true;
+	}
+
+	/**
+	 * Marks body as always active, it will not be deactivated outside of the activation region.
+	 */
+	public void addAlwaysActiveBody(Body body)
+	{
+		alwaysActiveBodies.add(body);
+	}
+
+	public void removeAlwaysActiveBody(Body body)
+	{
+		alwaysActiveBodies.remove(body);
+	}
+
+	public boolean isAlwaysActive(Body body)
+	{
+		return alwaysActiveBodies.contains(body);
+	}
+
+	/**
+	 * Enables body activation, disabled by default. When disabled, all deactivated bodies are reactivated.
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		if(this.enabled && !enabled)
+		{
+			for(int i = 0; i < deactivatedBodies.size; ++i)
+			{
+				deactivatedBodies.get(i).setActive(true);
+			}
+			deactivatedBodies.clear();
+		}
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Sets distance from the view, in world units, in which bodies stay active.
+	 */
+	public void setMargin(float margin)
+	{
+		this.margin = margin;
+	}
+
+	public float getMargin()
+	{
+		return margin;
+	}
+
+	/**
+	 * Sets number of bodies checked for deactivation in each update.
+	 */
+	public void setBatchSize(int batchSize)
+	{
+		if(batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		this.batchSize = batchSize;
+	}
+
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Returns number of bodies deactivated outside of the activation region.
+	 */
+	public int getDeactivatedBodyCount()
+	{
+		return deactivatedBodies.size;
+	}
+
+	public Rectangle getRegion()
+	{
+		return region;
+	}
+}
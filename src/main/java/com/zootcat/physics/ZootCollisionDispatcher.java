@@ -0,0 +1,120 @@
+package com.zootcat.physics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.zootcat.physics.ZootCollisionEvent.Type;
+
+/**
+ * Keeps {@link ZootCollisionListener}'s registered per {@link Body} and per collision
+ * callback type. Used by {@link ZootPhysicsContactListener} to route contact callbacks
+ * directly to interested listeners, bodies with no interest in a given callback
+ * type are skipped.<br/>
+ * <br/>
+ * Listener arrays are replaced on every change, so listeners can be safely added
+ * or removed while a callback is being dispatched.
+ * @author Cream
+ * @see ZootCollisionListener#isInterestedIn(Type)
+ */
+public class ZootCollisionDispatcher
+{
+	public static final ZootCollisionListener[] NO_LISTENERS = new ZootCollisionListener[0];
+
+	private static final Type[] TYPES = Type.values();
+
+	private Map<Body, ZootCollisionListener[][]> bodyListeners = new HashMap<Body, ZootCollisionListener[][]>();
+
+	public void addListener(Body body, ZootCollisionListener listener)
+	{
+		ZootCollisionListener[][] listeners = bodyListeners.get(body);
+		if(listeners == null)
+		{
+			listeners = new ZootCollisionListener[TYPES.length][];
+			for(int i = 0; i < TYPES.length; ++i) listeners[i] = NO_LISTENERS;
+			bodyListeners.put(body, listeners);
+		}
+
+		for(Type type : TYPES)
+		{
+			if(type != Type.Unknown && listener.isInterestedIn(type))
+			{
+				listeners[type.ordinal()] = append(listeners[type.ordinal()], listener);
+			}
+		}
+	}
+
+	public void removeListener(Body body, ZootCollisionListener listener)
+	{
+		ZootCollisionListener[][] listeners = bodyListeners.get(body);
+		if(listeners == null) return;
+
+		boolean empty = true;
+		for(int i = 0; i < listeners.length; ++i)
+		{
+			listeners[i] = remove(listeners[i], listener);
+			empty &= listeners[i].length == 0;
+		}
+
+		if(empty)
+		{
+			bodyListeners.remove(body);
+		}
+	}
+
+	public void removeListeners(Body body)
+	{
+		bodyListeners.remove(body);
+	}
+
+	/**
+	 * Returns listeners registered for the body and given callback type.
+	 * @param body - body for which listeners are returned
+	 * @param type - collision callback type
+	 * @return Listeners array, should not be modified. Empty array if there are no listeners.
+	 */
+	public ZootCollisionListener[] getListeners(Body body, Type type)
+	{
+		ZootCollisionListener[][] listeners = bodyListeners.get(body);
+		return listeners != null ? listeners[type.ordinal()] : NO_LISTENERS;
+	}
+
+	public boolean hasListeners(Body body)
+	{
+		return bodyListeners.containsKey(body);
+	}
+
+	public void clear()
+	{
+		bodyListeners.clear();
+	}
+
+	private static ZootCollisionListener[] append(ZootCollisionListener[] listeners, ZootCollisionListener listener)
+	{
+		ZootCollisionListener[] result = new ZootCollisionListener[listeners.length + 1];
+		System.arraycopy(listeners, 0, result, 0, listeners.length);
+		result[listeners.length] = listener;
+		return result;
+	}
+
+	private static ZootCollisionListener[] remove(ZootCollisionListener[] listeners, ZootCollisionListener listener)
+	{
+		int index = -1;
+		for(int i = 0; i < listeners.length; ++i)
+		{
+			if(listeners[i] == listener)
+			{
+				index = i;
+				break;
+			}
+		}
+
+		if(index == -1) return listeners;
+		if(listeners.length == 1) return NO_LISTENERS;
+
+		ZootCollisionListener[] result = new ZootCollisionListener[listeners.length - 1];
+		System.arraycopy(listeners, 0, result, 0, index);
+		System.arraycopy(listeners, index + 1, result, index, listeners.length - index - 1);
+		return result;
+	}
+}
@@ -39,6 +39,27 @@ public abstract class ZootCollisionListener implements EventListener
 		}
 	}
 
+	/**
+	 * Used when registering the listener, only callbacks of types that the
+	 * listener is interested in will be dispatched to it.
+	 * @param type - collision callback type
+	 * @return true if listener should be notified about given callback type, by default true
+	 */
+	public boolean isInterestedIn(ZootCollisionEvent.Type type)
+	{
+		return true;
+	}
+	
+	/**
+	 * Used when contacts are deferred, see {@link ZootPhysics#setDeferredContacts(boolean)}.
+	 * @return true if begin and end contact must be dispatched during the physics step, with the
+	 * Box2D contact, rather than with the {@link ZootDeferredContact} after the step, by default false
+	 */
+	public boolean requiresImmediateDispatch()
+	{
+		return false;
+	}
+
 	public abstract void beginContact(ZootActor actorA, ZootActor actorB, Contact contact); 	
 	
 	public abstract void endContact(ZootActor actorA, ZootActor actorB, Contact contact);	
@@ -1,34 +1,53 @@
 package com.zootcat.physics;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import com.badlogic.gdx.physics.box2d.ContactFilter;
 import com.badlogic.gdx.physics.box2d.Fixture;
 
+/**
+ * Contact filter used by {@link ZootPhysics}. Fixtures without custom filters
+ * use {@link ZootDefaultContactFilter}, so when no custom filters are registered 
+ * the check goes straight to the bitmask comparison. If any of the two fixtures 
+ * have custom filters, all of them must agree for the collision to take place.
+ * @author Cream
+ */
 public class ZootContactFilter implements ContactFilter
 {
-	private static final int DEFAULT_FILTER_LIST_SIZE = 3;
+	private static final ContactFilter[] NO_FILTERS = new ContactFilter[0];
 	
-	private Map<Fixture, List<ContactFilter>> fixtureFilters = new HashMap<Fixture, List<ContactFilter>>();
+	private Map<Fixture, ContactFilter[]> fixtureFilters = new IdentityHashMap<Fixture, ContactFilter[]>();
 	
 	public void addFixtureFilter(Fixture fixture, ContactFilter contactFilter)
 	{	
-		List<ContactFilter> filters = fixtureFilters.get(fixture);
-		if(filters == null)
-		{
-			filters = new ArrayList<ContactFilter>(DEFAULT_FILTER_LIST_SIZE);
-		}
-		filters.add(contactFilter);
-		fixtureFilters.put(fixture, filters);
+		ContactFilter[] filters = getFixtureFilters(fixture);
+		ContactFilter[] newFilters = new ContactFilter[filters.length + 1];
+		System.arraycopy(filters, 0, newFilters, 0, filters.length);
+		newFilters[filters.length] = contactFilter;
+		fixtureFilters.put(fixture, newFilters);
 	}
 	
 	public void removeFixtureFilter(Fixture fixture, ContactFilter filter)
 	{
-		getFixtureFilters(fixture).remove(filter);
+		ContactFilter[] filters = getFixtureFilters(fixture);
+		for(int i = 0; i < filters.length; ++i)
+		{
+			if(filters[i].equals(filter))
+			{
+				if(filters.length == 1)
+				{
+					fixtureFilters.remove(fixture);
+					return;
+				}
+				
+				ContactFilter[] newFilters = new ContactFilter[filters.length - 1];
+				System.arraycopy(filters, 0, newFilters, 0, i);
+				System.arraycopy(filters, i + 1, newFilters, i, filters.length - i - 1);
+				fixtureFilters.put(fixture, newFilters);
+				return;
+			}
+		}
 	}
 	
 	public void removeFixtureFilters(Fixture fixture)
@@ -39,22 +58,33 @@ public class ZootContactFilter implements ContactFilter
 	@Override
 	public boolean shouldCollide(Fixture fixtureA, Fixture fixtureB)
 	{
-		List<ContactFilter> filtersA = getFixtureFilters(fixtureA);
-		List<ContactFilter> filtersB = getFixtureFilters(fixtureB);		
-		if(filtersA.size() == 0 && filtersB.size() == 0)
+		if(fixtureFilters.isEmpty())
+		{
+			return ZootDefaultContactFilter.shouldCollide(fixtureA, fixtureB);
+		}
+		
+		ContactFilter[] filtersA = fixtureFilters.get(fixtureA);
+		ContactFilter[] filtersB = fixtureFilters.get(fixtureB);		
+		if(filtersA == null && filtersB == null)
 		{
 			return ZootDefaultContactFilter.shouldCollide(fixtureA, fixtureB);	
 		}
+		return allCollide(filtersA, fixtureA, fixtureB) && allCollide(filtersB, fixtureA, fixtureB);
+	}
 	
-		boolean fixtureACollided = filtersA.stream().allMatch(filter -> filter.shouldCollide(fixtureA, fixtureB));
-		boolean fixtureBCollided = filtersB.stream().allMatch(filter -> filter.shouldCollide(fixtureA, fixtureB));
-		return fixtureACollided && fixtureBCollided;
+	private boolean allCollide(ContactFilter[] filters, Fixture fixtureA, Fixture fixtureB)
+	{
+		if(filters == null) return true;
+		for(int i = 0; i < filters.length; ++i)
+		{
+			if(!filters[i].shouldCollide(fixtureA, fixtureB)) return false;
+		}
+		return true;
 	}
 			
-	private List<ContactFilter> getFixtureFilters(Fixture fixture)
+	private ContactFilter[] getFixtureFilters(Fixture fixture)
 	{
-		List<ContactFilter> filters = fixtureFilters.get(fixture);
-		return filters != null ? filters : Collections.emptyList();
+		ContactFilter[] filters = fixtureFilters.get(fixture);
+		return filters != null ? filters : NO_FILTERS;
 	}
 }
-
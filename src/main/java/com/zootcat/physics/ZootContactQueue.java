@@ -0,0 +1,285 @@
+package com.zootcat.physics;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.zootcat.physics.ZootCollisionEvent.Type;
+import com.zootcat.scene.ZootActor;
+
+/**
+ * Ring buffer of begin and end contacts recorded during the physics step and dispatched
+ * in a batch after it. Buffers are preallocated and grow when full, so recording does not
+ * allocate in the steady state.<br/>
+ * <br/>
+ * Contacts are dispatched grouped by body, groups are ordered by the first recorded contact
+ * of the body and contacts of each body are dispatched in the recording order, so begin
+ * contact of fixtures pair always comes before its end contact. Contacts of bodies or fixtures
+ * removed with {@link ZootPhysics} before being dispatched are dropped.
+ * @author Cream
+ * @see ZootDeferredContact
+ */
+public class ZootContactQueue
+{
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private static final byte BEGIN = 0;
+	private static final byte END = 1;
+	private static final byte REMOVED = 2;
+	private static final Type[] TYPES = {Type.BeginContact, Type.EndContact};
+
+	private int capacity;
+	private int head = 0;
+	private int size = 0;
+	private byte[] types;
+	private Fixture[] fixturesA;
+	private Fixture[] fixturesB;
+	private Body[] bodiesA;
+	private Body[] bodiesB;
+	private int[] childIndicesA;
+	private int[] childIndicesB;
+
+	private int[] entryContacts;
+	private int[] entryGroups;
+	private int[] groupOffsets;
+	private int[] order;
+	private final ObjectIntMap<Body> bodyGroups = new ObjectIntMap<Body>();
+	private final ZootDeferredContact deferredContact = new ZootDeferredContact();
+	private long droppedCount = 0;
+
+	public ZootContactQueue()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ZootContactQueue(int capacity)
+	{
+		allocate(Math.max(capacity, 1));
+	}
+
+	public void addBeginContact(Contact contact)
+	{
+		add(BEGIN, contact.getFixtureA(), contact.getFixtureB(), contact.getChildIndexA(), contact.getChildIndexB());
+	}
+
+	public void addBeginContact(Fixture fixtureA, Fixture fixtureB, int childIndexA, int childIndexB)
+	{
+		add(BEGIN, fixtureA, fixtureB, childIndexA, childIndexB);
+	}
+
+	public void addEndContact(Contact contact)
+	{
+		add(END, contact.getFixtureA(), contact.getFixtureB(), contact.getChildIndexA(), contact.getChildIndexB());
+	}
+
+	public void addEndContact(Fixture fixtureA, Fixture fixtureB, int childIndexA, int childIndexB)
+	{
+		add(END, fixtureA, fixtureB, childIndexA, childIndexB);
+	}
+
+	/**
+	 * Dispatches all recorded contacts to the listeners that do not require immediate dispatch.
+	 * Listeners can remove bodies and fixtures, contacts of removed ones are dropped.
+	 */
+	public void dispatch(ZootCollisionDispatcher dispatcher)
+	{
+		int count = size;
+		if(count == 0) return;
+
+		//up to two entries per contact, with contact order and side, placed by body group keeping the order
+		int entries = 0;
+		for(int i = 0; i < count; ++i)
+		{
+			int index = (head + i) % capacity;
+			if(types[index] == REMOVED) continue;
+			
+			Type type = TYPES[types[index]];
+			if(dispatcher.getListeners(bodiesA[index], type).length > 0) addEntry(entries++, bodiesA[index], i << 1);
+			if(dispatcher.getListeners(bodiesB[index], type).length > 0) addEntry(entries++, bodiesB[index], (i << 1) | 1);
+		}
+		
+		int groups = bodyGroups.size;
+		for(int g = 0, offset = 0; g < groups; ++g)
+		{
+			int groupSize = groupOffsets[g];
+			groupOffsets[g] = offset;
+			offset += groupSize;
+		}
+		for(int e = 0; e < entries; ++e) order[groupOffsets[entryGroups[e]]++] = entryContacts[e];
+		bodyGroups.clear();
+
+		try
+		{
+			for(int e = 0; e < entries; ++e)
+			{
+				int index = (head + (order[e] >>> 1)) % capacity;
+				if(types[index] == REMOVED) continue;
+
+				Body body = (order[e] & 1) == 0 ? bodiesA[index] : bodiesB[index];
+				dispatch(dispatcher.getListeners(body, TYPES[types[index]]), index);
+			}
+		}
+		finally
+		{
+			clearRange(count);
+		}
+	}
+
+	/**
+	 * Drops recorded contacts of the body.
+	 */
+	public void remove(Body body)
+	{
+		for(int i = 0; i < size; ++i)
+		{
+			int index = (head + i) % capacity;
+			if(types[index] != REMOVED && (bodiesA[index] == body || bodiesB[index] == body)) drop(index);
+		}
+	}
+
+	/**
+	 * Drops recorded contacts of the fixture.
+	 */
+	public void remove(Fixture fixture)
+	{
+		for(int i = 0; i < size; ++i)
+		{
+			int index = (head + i) % capacity;
+			if(types[index] != REMOVED && (fixturesA[index] == fixture || fixturesB[index] == fixture)) drop(index);
+		}
+	}
+
+	public void clear()
+	{
+		clearRange(size);
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Returns number of contacts dropped because their body or fixture was removed.
+	 */
+	public long getDroppedCount()
+	{
+		return droppedCount;
+	}
+
+	private void add(byte type, Fixture fixtureA, Fixture fixtureB, int childIndexA, int childIndexB)
+	{
+		if(size == capacity) grow();
+
+		int index = (head + size) % capacity;
+		types[index] = type;
+		fixturesA[index] = fixtureA;
+		fixturesB[index] = fixtureB;
+		bodiesA[index] = fixtureA.getBody();
+		bodiesB[index] = fixtureB.getBody();
+		childIndicesA[index] = childIndexA;
+		childIndicesB[index] = childIndexB;
+		++size;
+	}
+
+	private void dispatch(ZootCollisionListener[] listeners, int index)
+	{
+		Fixture fixtureA = fixturesA[index];
+		Fixture fixtureB = fixturesB[index];
+		ZootActor actorA = (ZootActor) fixtureA.getUserData();
+		ZootActor actorB = (ZootActor) fixtureB.getUserData();
+		boolean begin = types[index] == BEGIN;
+		deferredContact.set(fixtureA, fixtureB, childIndicesA[index], childIndicesB[index], begin);
+		
+		//stops when one of the listeners removes the body or fixture
+		for(int i = 0; i < listeners.length && types[index] != REMOVED; ++i)
+		{
+			ZootCollisionListener listener = listeners[i];
+			if(listener.requiresImmediateDispatch()) continue;
+			
+			if(begin) listener.beginContact(actorA, actorB, deferredContact);
+			else listener.endContact(actorA, actorB, deferredContact);
+		}
+	}
+
+	private void addEntry(int entry, Body body, int contactSide)
+	{
+		int group = bodyGroups.get(body, -1);
+		if(group == -1)
+		{
+			group = bodyGroups.size;
+			bodyGroups.put(body, group);
+			groupOffsets[group] = 0;
+		}
+		entryContacts[entry] = contactSide;
+		entryGroups[entry] = group;
+		++groupOffsets[group];
+	}
+
+	private void drop(int index)
+	{
+		types[index] = REMOVED;
+		++droppedCount;
+	}
+
+	private void clearRange(int count)
+	{
+		for(int i = 0; i < count; ++i)
+		{
+			int index = (head + i) % capacity;
+			fixturesA[index] = null;
+			fixturesB[index] = null;
+			bodiesA[index] = null;
+			bodiesB[index] = null;
+		}
+		head = (head + count) % capacity;
+		size -= count;
+	}
+
+	private void grow()
+	{
+		byte[] oldTypes = types;
+		Fixture[] oldFixturesA = fixturesA;
+		Fixture[] oldFixturesB = fixturesB;
+		Body[] oldBodiesA = bodiesA;
+		Body[] oldBodiesB = bodiesB;
+		int[] oldChildIndicesA = childIndicesA;
+		int[] oldChildIndicesB = childIndicesB;
+		int oldCapacity = capacity;
+
+		allocate(capacity * 2);
+		for(int i = 0; i < size; ++i)
+		{
+			int index = (head + i) % oldCapacity;
+			types[i] = oldTypes[index];
+			fixturesA[i] = oldFixturesA[index];
+			fixturesB[i] = oldFixturesB[index];
+			bodiesA[i] = oldBodiesA[index];
+			bodiesB[i] = oldBodiesB[index];
+			childIndicesA[i] = oldChildIndicesA[index];
+			childIndicesB[i] = oldChildIndicesB[index];
+		}
+		head = 0;
+	}
+
+	private void allocate(int newCapacity)
+	{
+		capacity = newCapacity;
+		types = new byte[capacity];
+		fixturesA = new Fixture[capacity];
+		fixturesB = new Fixture[capacity];
+		bodiesA = new Body[capacity];
+		bodiesB = new Body[capacity];
+		childIndicesA = new int[capacity];
+		childIndicesB = new int[capacity];
+		entryContacts = new int[capacity * 2];
+		entryGroups = new int[capacity * 2];
+		groupOffsets = new int[capacity * 2];
+		order = new int[capacity * 2];
+	}
+}
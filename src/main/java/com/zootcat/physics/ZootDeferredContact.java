@@ -0,0 +1,142 @@
+package com.zootcat.physics;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.WorldManifold;
+import com.zootcat.exceptions.RuntimeZootException;
+
+/**
+ * Contact passed to listeners by {@link ZootContactQueue}, after the physics step. Box2D contact
+ * may no longer exist at this point, so only the fixtures and child indices recorded during the step
+ * are available, other contact methods throw. Listeners that need the Box2D contact should return
+ * true from {@link ZootCollisionListener#requiresImmediateDispatch()}.<br/>
+ * <br/>
+ * Single instance is reused for all callbacks, it must not be stored by the listeners.
+ * @author Cream
+ */
+public class ZootDeferredContact extends Contact
+{
+	private Fixture fixtureA;
+	private Fixture fixtureB;
+	private int childIndexA;
+	private int childIndexB;
+	private boolean touching;
+
+	public ZootDeferredContact()
+	{
+		super(null, 0);
+	}
+
+	void set(Fixture fixtureA, Fixture fixtureB, int childIndexA, int childIndexB, boolean touching)
+	{
+		this.fixtureA = fixtureA;
+		this.fixtureB = fixtureB;
+		this.childIndexA = childIndexA;
+		this.childIndexB = childIndexB;
+		this.touching = touching;
+	}
+
+	@Override
+	public Fixture getFixtureA()
+	{
+		return fixtureA;
+	}
+
+	@Override
+	public Fixture getFixtureB()
+	{
+		return fixtureB;
+	}
+
+	@Override
+	public int getChildIndexA()
+	{
+		return childIndexA;
+	}
+
+	@Override
+	public int getChildIndexB()
+	{
+		return childIndexB;
+	}
+
+	/**
+	 * Returns true for the begin contact and false for the end contact.
+	 */
+	@Override
+	public boolean isTouching()
+	{
+		return touching;
+	}
+
+	@Override
+	public boolean isEnabled()
+	{
+		return true;
+	}
+
+	@Override
+	public WorldManifold getWorldManifold()
+	{
+		throw unsupported("World manifold");
+	}
+
+	@Override
+	public void setEnabled(boolean flag)
+	{
+		throw unsupported("Enabling");
+	}
+
+	@Override
+	public void setFriction(float friction)
+	{
+		throw unsupported("Friction");
+	}
+
+	@Override
+	public float getFriction()
+	{
+		throw unsupported("Friction");
+	}
+
+	@Override
+	public void resetFriction()
+	{
+		throw unsupported("Friction");
+	}
+
+	@Override
+	public void setRestitution(float restitution)
+	{
+		throw unsupported("Restitution");
+	}
+
+	@Override
+	public float getRestitution()
+	{
+		throw unsupported("Restitution");
+	}
+
+	@Override
+	public void ResetRestitution()
+	{
+		throw unsupported("Restitution");
+	}
+
+	@Override
+	public float getTangentSpeed()
+	{
+		throw unsupported("Tangent speed");
+	}
+
+	@Override
+	public void setTangentSpeed(float speed)
+	{
+		throw unsupported("Tangent speed");
+	}
+
+	private static RuntimeZootException unsupported(String what)
+	{
+		return new RuntimeZootException(what + " is not available for deferred contact, listener should require immediate dispatch");
+	}
+}
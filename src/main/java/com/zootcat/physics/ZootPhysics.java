@@ -12,26 +12,38 @@ import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.Joint;
 import com.badlogic.gdx.physics.box2d.JointDef;
-import com.badlogic.gdx.physics.box2d.QueryCallback;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
 public class ZootPhysics implements Disposable
 {
 	public static final Vector2 DEFAULT_GRAVITY = new Vector2(0.0f, -9.80f);
 	
-	private static final int POSITION_ITERATIONS = 2;
-	private static final int VELOCITY_ITERATIONS = 6;
+	public static final int DEFAULT_POSITION_ITERATIONS = 2;
+	public static final int DEFAULT_VELOCITY_ITERATIONS = 6;
 	
 	private World world;
 	private ZootContactFilter contactFilter = new ZootContactFilter();
+	private ZootCollisionDispatcher collisionDispatcher = new ZootCollisionDispatcher();
+	private ZootPhysicsContactListener contactListener = new ZootPhysicsContactListener(collisionDispatcher);
+	private ZootContactQueue contactQueue;
+	private ZootBodyActivator bodyActivator;
+	private ZootPhysicsQuery query;
+	private Array<Fixture> fixtures = new Array<Fixture>(false, 16);
+	private Array<Body> bodies = new Array<Body>(false, 16);
+	private long stepCount = 0;
+	private int velocityIterations = DEFAULT_VELOCITY_ITERATIONS;
+	private int positionIterations = DEFAULT_POSITION_ITERATIONS;
 	
 	public ZootPhysics()
 	{
 		Box2D.init();
 		world = new World(DEFAULT_GRAVITY, true);	
-		world.setContactListener(new ZootPhysicsContactListener());
+		world.setContactListener(contactListener);
 		world.setContactFilter(contactFilter);
+		bodyActivator = new ZootBodyActivator(world);
+		query = new ZootPhysicsQuery(world);
 	}
 	
 	public void addFixtureContactFilter(Fixture fixture, ContactFilter filter)
@@ -49,6 +61,52 @@ public class ZootPhysics implements Disposable
 		contactFilter.removeFixtureFilters(fixture);
 	}
 	
+	/**
+	 * Registers collision listener for a body. Listener will be notified only
+	 * about collision callback types it is interested in.
+	 * @param body - body for which collisions will be reported
+	 * @param listener - collision listener
+	 */
+	public void addCollisionListener(Body body, ZootCollisionListener listener)
+	{
+		collisionDispatcher.addListener(body, listener);
+	}
+	
+	public void removeCollisionListener(Body body, ZootCollisionListener listener)
+	{
+		collisionDispatcher.removeListener(body, listener);
+	}
+	
+	public ZootCollisionDispatcher getCollisionDispatcher()
+	{
+		return collisionDispatcher;
+	}
+	
+	/**
+	 * When enabled, begin and end contacts are recorded during the step and dispatched after it,
+	 * see {@link ZootContactQueue}. Listeners can then remove bodies directly in the callbacks.
+	 * Pre and post solve, and listeners requiring immediate dispatch, are still called during the step.
+	 * Disabled by default.
+	 */
+	public void setDeferredContacts(boolean enabled)
+	{
+		if(enabled && contactQueue == null) contactQueue = new ZootContactQueue();
+		else if(!enabled && contactQueue != null) contactQueue = null;
+	}
+	
+	public boolean isDeferredContacts()
+	{
+		return contactQueue != null;
+	}
+	
+	/**
+	 * Returns queue of deferred contacts, or null if contacts are dispatched immediately.
+	 */
+	public ZootContactQueue getContactQueue()
+	{
+		return contactQueue;
+	}
+	
 	public void setGravity(float x, float y)
 	{
 		world.setGravity(new Vector2(x, y));
@@ -66,7 +124,10 @@ public class ZootPhysics implements Disposable
 	
 	public void removeBody(Body body)
 	{
+		bodyActivator.removeBody(body);
+		if(contactQueue != null) contactQueue.remove(body);
 		world.destroyBody(body);
+		collisionDispatcher.removeListeners(body);
 	}
 		
 	/**
@@ -97,18 +158,67 @@ public class ZootPhysics implements Disposable
 	
 	public void destroyFixture(Body body, Fixture fixture)
 	{
+		if(contactQueue != null) contactQueue.remove(fixture);
 		body.destroyFixture(fixture);
 	}
 	
 	public void step(float delta)
 	{
-		world.step(delta, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+		if(contactQueue == null)
+		{
+			world.step(delta, velocityIterations, positionIterations);
+			++stepCount;
+			return;
+		}
+		
+		//contacts ended outside of the step, e.g. by removing a body, are dispatched immediately
+		ZootContactQueue queue = contactQueue;
+		contactListener.setContactQueue(queue);
+		try
+		{
+			world.step(delta, velocityIterations, positionIterations);
+		}
+		finally
+		{
+			contactListener.setContactQueue(null);
+		}
+		++stepCount;
+		queue.dispatch(collisionDispatcher);
+	}
+	
+	/**
+	 * Returns number of physics steps done so far.
+	 */
+	public long getStepCount()
+	{
+		return stepCount;
+	}
+	
+	/**
+	 * Sets number of the constraint solver iterations used in each step. 
+	 * Less iterations make the step cheaper but less accurate.
+	 */
+	public void setIterations(int velocityIterations, int positionIterations)
+	{
+		this.velocityIterations = velocityIterations;
+		this.positionIterations = positionIterations;
+	}
+	
+	public int getVelocityIterations()
+	{
+		return velocityIterations;
+	}
+	
+	public int getPositionIterations()
+	{
+		return positionIterations;
 	}
 	
 	public void dispose() 
 	{		
 		world.dispose();
 		world = null;
+		collisionDispatcher.clear();
 	}
 
 	public World getWorld() 
@@ -118,19 +228,90 @@ public class ZootPhysics implements Disposable
 
 	public List<Fixture> getFixturesInArea(float lowerX, float lowerY, float upperX, float upperY)
 	{
-		List<Fixture> result = new ArrayList<Fixture>();		
-		world.QueryAABB(new QueryCallback()
-		{			
-			@Override
-			public boolean reportFixture(Fixture fixture)
-			{
-				result.add(fixture);
-				return true;
-			}
-		}, lowerX, lowerY, upperX, upperY);				
+		query.queryArea(lowerX, lowerY, upperX, upperY, ZootPhysicsQuery.ALL_CATEGORIES, fixtures);
+		List<Fixture> result = new ArrayList<Fixture>(fixtures.size);
+		for(int i = 0; i < fixtures.size; ++i) result.add(fixtures.get(i));
+		fixtures.clear();
 		return result;
 	}
+	
+	/**
+	 * Returns spatial queries, that do not allocate, see {@link ZootPhysicsQuery}.
+	 */
+	public ZootPhysicsQuery getQuery()
+	{
+		return query;
+	}
+	
+	/**
+	 * Adds fixtures of given categories, with bounding boxes overlapping the area, to the result.
+	 * @return Number of fixtures added.
+	 */
+	public int queryArea(float lowerX, float lowerY, float upperX, float upperY, short categoryMask, Array<Fixture> result)
+	{
+		return query.queryArea(lowerX, lowerY, upperX, upperY, categoryMask, result);
+	}
+	
+	/**
+	 * Adds fixtures of given categories, containing the point, to the result.
+	 * @return Number of fixtures added.
+	 */
+	public int queryPoint(float x, float y, short categoryMask, Array<Fixture> result)
+	{
+		return query.queryPoint(x, y, categoryMask, result);
+	}
+	
+	/**
+	 * Finds the closest fixture of given categories hit by the ray.
+	 * @return True if anything was hit, the hit is then set.
+	 */
+	public boolean rayCastClosest(float x1, float y1, float x2, float y2, short categoryMask, ZootRayCastHit hit)
+	{
+		return query.rayCastClosest(x1, y1, x2, y2, categoryMask, hit);
+	}
+	
+	/**
+	 * Finds fixtures of given categories hit by the ray, closest first, up to the size of the buffer.
+	 * @return Number of hits set.
+	 */
+	public int rayCastAll(float x1, float y1, float x2, float y2, short categoryMask, ZootRayCastHit[] hits)
+	{
+		return query.rayCastAll(x1, y1, x2, y2, categoryMask, hits);
+	}
+	
+	/**
+	 * Checks whether the ray hits any fixture of given categories.
+	 */
+	public boolean rayCastAny(float x1, float y1, float x2, float y2, short categoryMask)
+	{
+		return query.rayCastAny(x1, y1, x2, y2, categoryMask);
+	}
 
+	/**
+	 * Returns body activator, used to deactivate bodies outside of the camera view.
+	 */
+	public ZootBodyActivator getBodyActivator()
+	{
+		return bodyActivator;
+	}
+	
+	public int getActiveBodyCount()
+	{
+		world.getBodies(bodies);
+		int count = 0;
+		for(int i = 0; i < bodies.size; ++i)
+		{
+			if(bodies.get(i).isActive()) ++count;
+		}
+		bodies.clear();
+		return count;
+	}
+	
+	public int getInactiveBodyCount()
+	{
+		return world.getBodyCount() - getActiveBodyCount();
+	}
+	
 	public Joint createJoint(JointDef jointDef)
 	{
 		return world.createJoint(jointDef);
@@ -1,68 +1,117 @@
 package com.zootcat.physics;
 
+import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.zootcat.physics.ZootCollisionEvent.Type;
 import com.zootcat.scene.ZootActor;
 
-public class ZootPhysicsContactListener implements ContactListener 
+/**
+ * Routes Box2D contact callbacks to the {@link ZootCollisionListener}'s registered in the
+ * {@link ZootCollisionDispatcher}. Actors are taken from the fixtures user data.<br/>
+ * <br/>
+ * When the contact queue is set, begin and end contacts are dispatched immediately only to
+ * the listeners requiring it, and recorded in the queue for the others. Pre and post solve
+ * callbacks are always dispatched immediately.
+ * @author Cream
+ */
+public class ZootPhysicsContactListener implements ContactListener
 {
-	private final ZootCollisionEvent event = new ZootCollisionEvent();
-	
-	@Override
-	public void beginContact(Contact contact) 
+	private final ZootCollisionDispatcher dispatcher;
+	private ZootContactQueue contactQueue;
+
+	public ZootPhysicsContactListener(ZootCollisionDispatcher dispatcher)
 	{
-		ZootActor actorA = (ZootActor) contact.getFixtureA().getBody().getUserData();
-		ZootActor actorB = (ZootActor) contact.getFixtureB().getBody().getUserData();			
-		setupEvent(actorA, actorB, Type.BeginContact, contact, null, null);		
-		fireEventOnActors(actorA, actorB);
+		this.dispatcher = dispatcher;
 	}
-
-	@Override
-	public void endContact(Contact contact) 
+	
+	/**
+	 * Sets queue recording begin and end contacts, null to dispatch all contacts immediately.
+	 */
+	public void setContactQueue(ZootContactQueue contactQueue)
 	{
-		ZootActor actorA = (ZootActor) contact.getFixtureA().getBody().getUserData();
-		ZootActor actorB = (ZootActor) contact.getFixtureB().getBody().getUserData();		
+		this.contactQueue = contactQueue;
+	}
 	
-		setupEvent(actorA, actorB, Type.EndContact, contact, null, null);		
-		fireEventOnActors(actorA, actorB);
+	public ZootContactQueue getContactQueue()
+	{
+		return contactQueue;
 	}
 
 	@Override
-	public void preSolve(Contact contact, Manifold oldManifold) 
+	public void beginContact(Contact contact)
 	{
-		ZootActor actorA = (ZootActor) contact.getFixtureA().getBody().getUserData();
-		ZootActor actorB = (ZootActor) contact.getFixtureB().getBody().getUserData();	
-	
-		setupEvent(actorA, actorB, Type.PreSolve, contact, oldManifold, null);		
-		fireEventOnActors(actorA, actorB);
+		Fixture fixtureA = contact.getFixtureA();
+		Fixture fixtureB = contact.getFixtureB();
+		ZootCollisionListener[] listenersA = dispatcher.getListeners(fixtureA.getBody(), Type.BeginContact);
+		ZootCollisionListener[] listenersB = dispatcher.getListeners(fixtureB.getBody(), Type.BeginContact);
+		if(listenersA.length == 0 && listenersB.length == 0) return;
+
+		ZootActor actorA = (ZootActor) fixtureA.getUserData();
+		ZootActor actorB = (ZootActor) fixtureB.getUserData();
+		if(contactQueue != null)
+		{
+			contactQueue.addBeginContact(fixtureA, fixtureB, contact.getChildIndexA(), contact.getChildIndexB());
+			for(int i = 0; i < listenersA.length; ++i) if(listenersA[i].requiresImmediateDispatch()) listenersA[i].beginContact(actorA, actorB, contact);
+			for(int i = 0; i < listenersB.length; ++i) if(listenersB[i].requiresImmediateDispatch()) listenersB[i].beginContact(actorA, actorB, contact);
+			return;
+		}
+		for(int i = 0; i < listenersA.length; ++i) listenersA[i].beginContact(actorA, actorB, contact);
+		for(int i = 0; i < listenersB.length; ++i) listenersB[i].beginContact(actorA, actorB, contact);
 	}
 
 	@Override
-	public void postSolve(Contact contact, ContactImpulse impulse) 
+	public void endContact(Contact contact)
 	{
-		ZootActor actorA = (ZootActor) contact.getFixtureA().getBody().getUserData();
-		ZootActor actorB = (ZootActor) contact.getFixtureB().getBody().getUserData();
-		setupEvent(actorA, actorB, Type.PostSolve, contact, null, impulse);		
-		fireEventOnActors(actorA, actorB);
+		Fixture fixtureA = contact.getFixtureA();
+		Fixture fixtureB = contact.getFixtureB();
+		ZootCollisionListener[] listenersA = dispatcher.getListeners(fixtureA.getBody(), Type.EndContact);
+		ZootCollisionListener[] listenersB = dispatcher.getListeners(fixtureB.getBody(), Type.EndContact);
+		if(listenersA.length == 0 && listenersB.length == 0) return;
+
+		ZootActor actorA = (ZootActor) fixtureA.getUserData();
+		ZootActor actorB = (ZootActor) fixtureB.getUserData();
+		if(contactQueue != null)
+		{
+			contactQueue.addEndContact(fixtureA, fixtureB, contact.getChildIndexA(), contact.getChildIndexB());
+			for(int i = 0; i < listenersA.length; ++i) if(listenersA[i].requiresImmediateDispatch()) listenersA[i].endContact(actorA, actorB, contact);
+			for(int i = 0; i < listenersB.length; ++i) if(listenersB[i].requiresImmediateDispatch()) listenersB[i].endContact(actorA, actorB, contact);
+			return;
+		}
+		for(int i = 0; i < listenersA.length; ++i) listenersA[i].endContact(actorA, actorB, contact);
+		for(int i = 0; i < listenersB.length; ++i) listenersB[i].endContact(actorA, actorB, contact);
 	}
-	
-	private void setupEvent(ZootActor actorA, ZootActor actorB, Type type, Contact contact, Manifold manifold, ContactImpulse impulse) 
+
+	@Override
+	public void preSolve(Contact contact, Manifold oldManifold)
 	{
-		event.reset();
-		event.setActorA(actorA);
-		event.setActorB(actorB);
-		event.setType(type);
-		event.setContact(contact);
-		event.setManifold(manifold);
-		event.setContactImpulse(impulse);
+		Body bodyA = contact.getFixtureA().getBody();
+		Body bodyB = contact.getFixtureB().getBody();
+		ZootCollisionListener[] listenersA = dispatcher.getListeners(bodyA, Type.PreSolve);
+		ZootCollisionListener[] listenersB = dispatcher.getListeners(bodyB, Type.PreSolve);
+		if(listenersA.length == 0 && listenersB.length == 0) return;
+
+		ZootActor actorA = (ZootActor) contact.getFixtureA().getUserData();
+		ZootActor actorB = (ZootActor) contact.getFixtureB().getUserData();
+		for(int i = 0; i < listenersA.length; ++i) listenersA[i].preSolve(actorA, actorB, contact, oldManifold);
+		for(int i = 0; i < listenersB.length; ++i) listenersB[i].preSolve(actorA, actorB, contact, oldManifold);
 	}
-	
-	private void fireEventOnActors(ZootActor actorA, ZootActor actorB)
+
+	@Override
+	public void postSolve(Contact contact, ContactImpulse impulse)
 	{
-		actorA.fire(event);
-		actorB.fire(event);
+		Body bodyA = contact.getFixtureA().getBody();
+		Body bodyB = contact.getFixtureB().getBody();
+		ZootCollisionListener[] listenersA = dispatcher.getListeners(bodyA, Type.PostSolve);
+		ZootCollisionListener[] listenersB = dispatcher.getListeners(bodyB, Type.PostSolve);
+		if(listenersA.length == 0 && listenersB.length == 0) return;
+
+		ZootActor actorA = (ZootActor) contact.getFixtureA().getUserData();
+		ZootActor actorB = (ZootActor) contact.getFixtureB().getUserData();
+		for(int i = 0; i < listenersA.length; ++i) listenersA[i].postSolve(actorA, actorB, impulse);
+		for(int i = 0; i < listenersB.length; ++i) listenersB[i].postSolve(actorA, actorB, impulse);
 	}
 }
@@ -0,0 +1,232 @@
+package com.zootcat.physics;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.zootcat.utils.BitMaskConverter;
+
+/**
+ * Spatial queries on the physics world. Box2D callbacks are created once and reused, results
+ * are written to the buffers provided by the caller, so the queries do not allocate.<br/>
+ * <br/>
+ * Fixtures are filtered by category mask, only fixtures with category bits matching the mask
+ * are reported. Masks can be created with {@link BitMaskConverter}, once, as conversion allocates.
+ * @author Cream
+ */
+public class ZootPhysicsQuery
+{
+	public static final short ALL_CATEGORIES = (short) BitMaskConverter.MASK_COLLIDE_WITH_ALL;
+
+	private static final float POINT_MARGIN = 0.001f;
+
+	private final World world;
+	private final AreaCallback areaCallback = new AreaCallback();
+	private final ClosestRayCallback closestRayCallback = new ClosestRayCallback();
+	private final AllRayCallback allRayCallback = new AllRayCallback();
+	private final AnyRayCallback anyRayCallback = new AnyRayCallback();
+
+	public ZootPhysicsQuery(World world)
+	{
+		this.world = world;
+	}
+
+	/**
+	 * Adds fixtures with bounding boxes overlapping given area to the result.
+	 * @return Number of fixtures added.
+	 */
+	public int queryArea(float lowerX, float lowerY, float upperX, float upperY, short categoryMask, Array<Fixture> result)
+	{
+		return areaCallback.query(lowerX, lowerY, upperX, upperY, categoryMask, false, result);
+	}
+
+	/**
+	 * Adds fixtures containing given point to the result.
+	 * @return Number of fixtures added.
+	 */
+	public int queryPoint(float x, float y, short categoryMask, Array<Fixture> result)
+	{
+		return areaCallback.query(x - POINT_MARGIN, y - POINT_MARGIN, x + POINT_MARGIN, y + POINT_MARGIN, categoryMask, true, result);
+	}
+
+	/**
+	 * Finds the fixture hit first by the ray going from the first point to the second.
+	 * @return True if anything was hit, the hit is then set, otherwise it is reset.
+	 */
+	public boolean rayCastClosest(float x1, float y1, float x2, float y2, short categoryMask, ZootRayCastHit hit)
+	{
+		hit.reset();
+		return closestRayCallback.cast(x1, y1, x2, y2, categoryMask, hit);
+	}
+
+	/**
+	 * Finds fixtures hit by the ray, ordered by the distance from the first point. When there
+	 * are more hits than the buffer can hold, only the closest ones are kept.
+	 * @return Number of hits set, starting from the beginning of the buffer.
+	 */
+	public int rayCastAll(float x1, float y1, float x2, float y2, short categoryMask, ZootRayCastHit[] hits)
+	{
+		return allRayCallback.cast(x1, y1, x2, y2, categoryMask, hits);
+	}
+
+	/**
+	 * Checks whether the ray hits any fixture, stops on the first one found, which is not necessarily the closest.
+	 */
+	public boolean rayCastAny(float x1, float y1, float x2, float y2, short categoryMask)
+	{
+		return anyRayCallback.cast(x1, y1, x2, y2, categoryMask);
+	}
+
+	private static boolean matches(Fixture fixture, short categoryMask)
+	{
+		return categoryMask == ALL_CATEGORIES || (fixture.getFilterData().categoryBits & categoryMask) != 0;
+	}
+
+	private void rayCast(RayCastCallback callback, float x1, float y1, float x2, float y2)
+	{
+		//Box2D does not accept rays of zero length
+		if(x1 == x2 && y1 == y2) return;
+		world.rayCast(callback, x1, y1, x2, y2);
+	}
+
+	private class AreaCallback implements QueryCallback
+	{
+		private Array<Fixture> result;
+		private short categoryMask;
+		private boolean testPoint;
+		private float x;
+		private float y;
+		private int count;
+
+		public int query(float lowerX, float lowerY, float upperX, float upperY, short categoryMask, boolean testPoint, Array<Fixture> result)
+		{
+			this.result = result;
+			this.categoryMask = categoryMask;
+			this.testPoint = testPoint;
+			this.x = (lowerX + upperX) * 0.5f;
+			this.y = (lowerY + upperY) * 0.5f;
+			count = 0;
+			try
+			{
+				world.QueryAABB(this, lowerX, lowerY, upperX, upperY);
+			}
+			finally
+			{
+				this.result = null;
+			}
+			return count;
+		}
+
+		@Override
+		public boolean reportFixture(Fixture fixture)
+		{
+			if(!matches(fixture, categoryMask)) return true;
+			if(testPoint && !fixture.testPoint(x, y)) return true;
+
+			result.add(fixture);
+			++count;
+			return true;
+		}
+	}
+
+	private class ClosestRayCallback implements RayCastCallback
+	{
+		private ZootRayCastHit hit;
+		private short categoryMask;
+		private boolean found;
+
+		public boolean cast(float x1, float y1, float x2, float y2, short categoryMask, ZootRayCastHit hit)
+		{
+			this.hit = hit;
+			this.categoryMask = categoryMask;
+			found = false;
+			try
+			{
+				rayCast(this, x1, y1, x2, y2);
+			}
+			finally
+			{
+				this.hit = null;
+			}
+			return found;
+		}
+
+		@Override
+		public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction)
+		{
+			if(!matches(fixture, categoryMask)) return -1.0f;
+
+			hit.set(fixture, point, normal, fraction);
+			found = true;
+			return fraction;
+		}
+	}
+
+	private class AllRayCallback implements RayCastCallback
+	{
+		private ZootRayCastHit[] hits;
+		private short categoryMask;
+		private int count;
+
+		public int cast(float x1, float y1, float x2, float y2, short categoryMask, ZootRayCastHit[] hits)
+		{
+			this.hits = hits;
+			this.categoryMask = categoryMask;
+			count = 0;
+			try
+			{
+				if(hits.length > 0) rayCast(this, x1, y1, x2, y2);
+			}
+			finally
+			{
+				this.hits = null;
+			}
+			return count;
+		}
+
+		@Override
+		public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction)
+		{
+			if(!matches(fixture, categoryMask)) return -1.0f;
+
+			//when full, the farthest hit is replaced and the ray is clipped to the new farthest one
+			boolean full = count == hits.length;
+			if(full && fraction >= hits[count - 1].fraction) return hits[count - 1].fraction;
+
+			int index = full ? count - 1 : count++;
+			ZootRayCastHit hit = hits[index];
+			hit.set(fixture, point, normal, fraction);
+			for(; index > 0 && hits[index - 1].fraction > fraction; --index)
+			{
+				hits[index] = hits[index - 1];
+				hits[index - 1] = hit;
+			}
+			return count == hits.length ? hits[count - 1].fraction : 1.0f;
+		}
+	}
+
+	private class AnyRayCallback implements RayCastCallback
+	{
+		private short categoryMask;
+		private boolean found;
+
+		public boolean cast(float x1, float y1, float x2, float y2, short categoryMask)
+		{
+			this.categoryMask = categoryMask;
+			found = false;
+			rayCast(this, x1, y1, x2, y2);
+			return found;
+		}
+
+		@Override
+		public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction)
+		{
+			if(!matches(fixture, categoryMask)) return -1.0f;
+
+			found = true;
+			return 0.0f;
+		}
+	}
+}
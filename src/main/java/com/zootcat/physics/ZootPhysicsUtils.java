@@ -3,7 +3,9 @@ package com.zootcat.physics;
 import java.util.Arrays;
 
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.ChainShape;
 import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.Shape;
@@ -139,5 +141,59 @@ public class ZootPhysicsUtils
 			}
 			poly.set(vertices);
 		}
-	}	
+	}
+	
+	/**
+	 * Creates copy of the shape moved by the given offset. Returned shape must be disposed by the caller.
+	 */
+	public static Shape createMovedShape(Shape shape, float mx, float my)
+	{
+		Vector2 vertex = new Vector2();
+		switch(shape.getType())
+		{
+		case Polygon:
+			PolygonShape polygon = (PolygonShape)shape;
+			Vector2[] vertices = getPolygonVertices(polygon);
+			Arrays.stream(vertices).forEach(vert -> vert.add(mx, my));
+			PolygonShape movedPolygon = new PolygonShape();
+			movedPolygon.set(vertices);
+			return movedPolygon;
+			
+		case Circle:
+			CircleShape circle = (CircleShape)shape;
+			CircleShape movedCircle = new CircleShape();
+			movedCircle.setRadius(circle.getRadius());
+			movedCircle.setPosition(circle.getPosition().add(mx, my));
+			return movedCircle;
+			
+		case Edge:
+			EdgeShape edge = (EdgeShape)shape;
+			EdgeShape movedEdge = new EdgeShape();
+			edge.getVertex1(vertex);
+			float x1 = vertex.x + mx;
+			float y1 = vertex.y + my;
+			edge.getVertex2(vertex);
+			movedEdge.set(x1, y1, vertex.x + mx, vertex.y + my);
+			return movedEdge;
+			
+		case Chain:
+			//looped chain keeps the first vertex duplicated at the end
+			ChainShape chain = (ChainShape)shape;
+			int count = chain.isLooped() ? chain.getVertexCount() - 1 : chain.getVertexCount();
+			float[] chainVertices = new float[count * 2];
+			for(int i = 0; i < count; ++i)
+			{
+				chain.getVertex(i, vertex);
+				chainVertices[i * 2] = vertex.x + mx;
+				chainVertices[i * 2 + 1] = vertex.y + my;
+			}
+			ChainShape movedChain = new ChainShape();
+			if(chain.isLooped()) movedChain.createLoop(chainVertices);
+			else movedChain.createChain(chainVertices);
+			return movedChain;
+			
+		default:
+			throw new RuntimeZootException("Unable to move shape with type " + shape.getType());
+		}
+	}
 }
@@ -0,0 +1,33 @@
+package com.zootcat.physics;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * Result of the ray cast, provided by the caller and filled by {@link ZootPhysicsQuery},
+ * so it can be reused between the queries.
+ * @author Cream
+ */
+public class ZootRayCastHit
+{
+	public Fixture fixture;
+	public final Vector2 point = new Vector2();
+	public final Vector2 normal = new Vector2();
+	public float fraction;
+
+	public void set(Fixture fixture, Vector2 point, Vector2 normal, float fraction)
+	{
+		this.fixture = fixture;
+		this.point.set(point);
+		this.normal.set(normal);
+		this.fraction = fraction;
+	}
+
+	public void reset()
+	{
+		fixture = null;
+		point.setZero();
+		normal.setZero();
+		fraction = 0.0f;
+	}
+}
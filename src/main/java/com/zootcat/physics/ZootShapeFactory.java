@@ -3,6 +3,7 @@ package com.zootcat.physics;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.ChainShape;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 
@@ -22,6 +23,13 @@ public class ZootShapeFactory
 		return boxPoly;
 	}
 	
+	public static ChainShape createChainLoop(float[] vertices)
+	{
+		ChainShape chain = new ChainShape();
+		chain.createLoop(vertices);
+		return chain;
+	}
+	
 	public static CircleShape createCircle(float radius) 
 	{
 		CircleShape circle = new CircleShape();
@@ -2,17 +2,20 @@ package com.zootcat.scene;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.zootcat.controllers.ChangeListenerController;
@@ -35,15 +38,31 @@ import com.zootcat.fsm.ZootStateMachine;
 public class ZootActor extends Actor
 {
 	public static final String DEFAULT_NAME = "Unnamed Actor";
+	public static final float UPDATE_EVERY_STEP = 0.0f;
+	public static final float UPDATE_SUSPENDED = -1.0f;
+	
+	private static final Controller[] NO_CONTROLLERS = new Controller[0];
+	private static final RenderController[] NO_RENDER_CONTROLLERS = new RenderController[0];
+	private static final ChangeListenerController[] NO_CHANGE_LISTENER_CONTROLLERS = new ChangeListenerController[0];
 	
 	private int id = 0;
 	private int gid = -1;
 	private ZootScene scene;
+	private ZootSceneIndex sceneIndex;
 	private float opacity = 1.0f;		
 	private Set<String> types = new HashSet<String>();
 	private List<Controller> controllers = new ArrayList<Controller>();
+	private Map<Class<?>, List<Controller>> controllersByClass = new HashMap<Class<?>, List<Controller>>();
+	private Controller[] updateControllers = NO_CONTROLLERS;
+	private RenderController[] renderControllers = NO_RENDER_CONTROLLERS;
+	private ChangeListenerController[] changeListenerControllers = NO_CHANGE_LISTENER_CONTROLLERS;
 	private ZootStateMachine stateMachine = new ZootStateMachine();
 	private ZootControllerRecognizer controllerRecognizer = ZootClassControllerRecognizer.Instance;
+	private int controllersVersion = 0;
+	private boolean culled = false;
+	private boolean alwaysUpdated = false;
+	private float updateInterval = UPDATE_EVERY_STEP;
+	private float updateAccumulator = 0.0f;
 	
 	public ZootActor()
 	{
@@ -55,8 +74,44 @@ public class ZootActor extends Actor
 	@Override
 	public void act(float delta)
 	{				
-		controllers.stream().filter(ctrl -> ctrl.isEnabled()).forEach(ctrl -> ctrl.onUpdate(delta, this));
-		stateMachine.update(delta);
+		float updateDelta = delta;
+		boolean update = true;
+		if(!alwaysUpdated && updateInterval != UPDATE_EVERY_STEP)
+		{
+			//reduced update rate, controllers receive time accumulated since the last update
+			updateAccumulator += updateInterval == UPDATE_SUSPENDED ? 0.0f : delta;
+			update = updateInterval != UPDATE_SUSPENDED && updateAccumulator >= updateInterval;
+			if(update)
+			{
+				updateDelta = updateAccumulator;
+				updateAccumulator = 0.0f;
+			}
+		}
+		else if(updateAccumulator > 0.0f)
+		{
+			updateDelta += updateAccumulator;
+			updateAccumulator = 0.0f;
+		}
+		
+		if(update)
+		{
+			Controller[] ctrls = updateControllers;
+			for(int i = 0; i < ctrls.length; ++i)
+			{
+				if(ctrls[i].isEnabled()) ctrls[i].onUpdate(updateDelta, this);
+			}
+			stateMachine.update(updateDelta);
+		}
+		else
+		{
+			Controller[] ctrls = updateControllers;
+			for(int i = 0; i < ctrls.length; ++i)
+			{
+				if(ctrls[i].isEnabled()) ctrls[i].onSkippedUpdate(delta, this);
+			}
+		}
+		
+		//actions, e.g. removing the actor, are run every step even when controllers are not updated
 		super.act(delta);
 	}
 	
@@ -64,44 +119,53 @@ public class ZootActor extends Actor
 	public boolean remove() 
 	{
 		removeAllControllers();
+		if(sceneIndex != null) sceneIndex.remove(this);
 		return super.remove();
 	}
 	
 	@Override
 	public void draw(Batch batch, float parentAlpha) 
 	{
+		if(culled) return;
+		
 		float delta = Gdx.graphics.getDeltaTime();
-		controllers.stream().filter(ctrl -> ClassReflection.isInstance(RenderController.class, ctrl))
-							.filter(ctrl -> ctrl.isEnabled())
-							.map(ctrl -> (RenderController)ctrl)
-							.forEach(ctrl -> ctrl.onRender(batch, parentAlpha, this, delta));
+		RenderController[] ctrls = renderControllers;
+		for(int i = 0; i < ctrls.length; ++i)
+		{
+			if(ctrls[i].isEnabled()) ctrls[i].onRender(batch, parentAlpha, this, delta);
+		}
 	}
 	
 	@Override
 	protected void positionChanged() 
 	{
-		controllers.stream().filter(ctrl -> ClassReflection.isInstance(ChangeListenerController.class, ctrl))
-							.filter(ctrl -> ctrl.isEnabled())
-							.map(ctrl -> (ChangeListenerController)ctrl)
-							.forEach(ctrl -> ctrl.onPositionChange(this));
+		if(sceneIndex != null) sceneIndex.boundsChanged(this);
+		ChangeListenerController[] ctrls = changeListenerControllers;
+		for(int i = 0; i < ctrls.length; ++i)
+		{
+			if(ctrls[i].isEnabled()) ctrls[i].onPositionChange(this);
+		}
 	}
 
 	@Override
 	protected void sizeChanged() 
 	{
-		controllers.stream().filter(ctrl -> ClassReflection.isInstance(ChangeListenerController.class, ctrl))
-							.filter(ctrl -> ctrl.isEnabled())
-							.map(ctrl -> (ChangeListenerController)ctrl)
-							.forEach(ctrl -> ctrl.onSizeChange(this));
+		if(sceneIndex != null) sceneIndex.boundsChanged(this);
+		ChangeListenerController[] ctrls = changeListenerControllers;
+		for(int i = 0; i < ctrls.length; ++i)
+		{
+			if(ctrls[i].isEnabled()) ctrls[i].onSizeChange(this);
+		}
 	}
 	
 	@Override
 	protected void rotationChanged() 
 	{
-		controllers.stream().filter(ctrl -> ClassReflection.isInstance(ChangeListenerController.class, ctrl))
-							.filter(ctrl -> ctrl.isEnabled())
-							.map(ctrl -> (ChangeListenerController)ctrl)
-							.forEach(ctrl -> ctrl.onRotationChange(this));
+		ChangeListenerController[] ctrls = changeListenerControllers;
+		for(int i = 0; i < ctrls.length; ++i)
+		{
+			if(ctrls[i].isEnabled()) ctrls[i].onRotationChange(this);
+		}
 	}
 		
 	/**
@@ -114,7 +178,11 @@ public class ZootActor extends Actor
 	{				
 		List<T> controllers = getControllers(clazz);
 		if(controllers.isEmpty()) return false;		
-		return controllers.stream().allMatch(ctrl -> func.apply(ctrl));
+		for(int i = 0; i < controllers.size(); ++i)
+		{
+			if(!func.apply(controllers.get(i))) return false;
+		}
+		return true;
 	}
 	
 	/**
@@ -126,8 +194,11 @@ public class ZootActor extends Actor
 	public <T extends Controller> boolean controllersAnyMatch(Class<T> clazz, Function<T, Boolean> func)
 	{		
 		List<T> controllers = getControllers(clazz);
-		if(controllers.isEmpty()) return false;		
-		return controllers.stream().anyMatch(ctrl -> func.apply(ctrl));
+		for(int i = 0; i < controllers.size(); ++i)
+		{
+			if(func.apply(controllers.get(i))) return true;
+		}
+		return false;
 	}
 	
 	/**
@@ -160,6 +231,7 @@ public class ZootActor extends Actor
 		
 		//controllers must be added to actor
 		newControllers.forEach((ctrl) -> controllers.add(ctrl));
+		controllersChanged();
 		
 		//must be invoked in proper order
 		newControllers.stream().sorted(ZootControllerOrderComparator.Instance)
@@ -167,6 +239,7 @@ public class ZootActor extends Actor
 		
 		//reorder controllers
 		controllers.sort(ZootControllerOrderComparator.Instance);
+		controllersChanged();
 	}
 		
 	/**
@@ -180,6 +253,7 @@ public class ZootActor extends Actor
 		
 		controllers.add(newController);
 		controllers.sort(ZootControllerOrderComparator.Instance);
+		controllersChanged();
 		newController.onAdd(this);		
 	}
 	
@@ -195,6 +269,7 @@ public class ZootActor extends Actor
 	{
 		controller.onRemove(this);
 		controllers.remove(controller);
+		controllersChanged();
 	}
 	
 	public void removeAllControllers()
@@ -202,24 +277,39 @@ public class ZootActor extends Actor
 		controllers.stream().sorted(ZootControllerOrderComparator.Instance.reversed())
 							.forEach(ctrl -> ctrl.onRemove(this));
 		controllers.clear();
+		controllersChanged();
 	}
 	
 	public List<Controller> getAllControllers()
 	{
 		return new ArrayList<Controller>(controllers);
 	}
+	
+	/**
+	 * Returns number increased every time controllers of this actor are added, removed
+	 * or the controller recognizer changes. Lets controllers cache references to other
+	 * controllers and look them up again only when the number changes.
+	 */
+	public int getControllersVersion()
+	{
+		return controllersVersion;
+	}
 		
 	/**
-	 * Get all controllers of a given class.
+	 * Get all controllers of a given class. Results are cached per class
+	 * until the controller list of this actor changes.
 	 * @param controllerClass - controllers of given class (only) will be returned
-	 * @return List of controllers. Empty list if none are found.
+	 * @return Unmodifiable list of controllers. Empty list if none are found.
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends Controller> List<T> getControllers(Class<T> controllerClass)
 	{
-		List<Controller> result = controllers.stream()
-						 .filter(ctrl -> controllerRecognizer.isControllerExact(ctrl, controllerClass))
-						 .collect(Collectors.toList());
+		List<Controller> result = controllersByClass.get(controllerClass);
+		if(result == null)
+		{
+			result = findControllers(controllerClass);
+			controllersByClass.put(controllerClass, result);
+		}
 		return (List<T>)result;
 	}
 		
@@ -231,10 +321,9 @@ public class ZootActor extends Actor
 	 */
 	public <T extends Controller> T getSingleController(Class<T> controllerClass)
 	{
-		List<T> controllers = getControllers(controllerClass);
-		if(controllers.isEmpty()) throw new ZootControllerNotFoundException(controllerClass.getSimpleName(), getName());
-		if(controllers.size() > 1) throw new ZootDuplicatedControllerException(controllerClass.getSimpleName(), getName());
-		return controllers.get(0);
+		T controller = tryGetSingleController(controllerClass);
+		if(controller == null) throw new ZootControllerNotFoundException(controllerClass.getSimpleName(), getName());
+		return controller;
 	}
 	
 	/**
@@ -245,14 +334,45 @@ public class ZootActor extends Actor
 	 */
 	public <T extends Controller> T tryGetSingleController(Class<T> controllerClass)
 	{
-		try
+		List<T> controllers = getControllers(controllerClass);
+		if(controllers.isEmpty()) return null;
+		if(controllers.size() > 1) throw new ZootDuplicatedControllerException(controllerClass.getSimpleName(), getName());
+		return controllers.get(0);
+	}
+	
+	private List<Controller> findControllers(Class<? extends Controller> controllerClass)
+	{
+		List<Controller> result = new ArrayList<Controller>();
+		for(int i = 0; i < controllers.size(); ++i)
 		{
-			return getSingleController(controllerClass);
+			Controller ctrl = controllers.get(i);
+			if(controllerRecognizer.isControllerExact(ctrl, controllerClass))
+			{
+				result.add(ctrl);
+			}
 		}
-		catch(ZootControllerNotFoundException e)
+		return result.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(result);
+	}
+	
+	private void controllersChanged()
+	{
+		controllersByClass.clear();
+		++controllersVersion;
+		
+		//dispatch arrays are replaced, not modified, so loops in progress are not affected
+		List<RenderController> renderCtrls = new ArrayList<RenderController>();
+		List<ChangeListenerController> changeListenerCtrls = new ArrayList<ChangeListenerController>();
+		alwaysUpdated = false;
+		for(int i = 0; i < controllers.size(); ++i)
 		{
-			return null;
-		}
+			Controller ctrl = controllers.get(i);
+			alwaysUpdated |= ctrl.isAlwaysUpdated();
+			if(ClassReflection.isInstance(RenderController.class, ctrl)) renderCtrls.add((RenderController)ctrl);
+			if(ClassReflection.isInstance(ChangeListenerController.class, ctrl)) changeListenerCtrls.add((ChangeListenerController)ctrl);
+		}		
+		updateControllers = controllers.toArray(NO_CONTROLLERS);
+		renderControllers = renderCtrls.toArray(NO_RENDER_CONTROLLERS);
+		changeListenerControllers = changeListenerCtrls.toArray(NO_CHANGE_LISTENER_CONTROLLERS);
 	}
 	
 	public float getOpacity() 
@@ -267,12 +387,14 @@ public class ZootActor extends Actor
 	    
     public void addType(String newType)
     {
-        types.add(newType.toLowerCase().trim());
+    	String type = newType.toLowerCase().trim();
+        if(types.add(type) && sceneIndex != null) sceneIndex.typeAdded(this, type);
     }
     
     public void removeType(String typeToRemove)
     {
-        types.remove(typeToRemove.toLowerCase());
+    	String type = typeToRemove.toLowerCase();
+        if(types.remove(type) && sceneIndex != null) sceneIndex.typeRemoved(this, type);
     }
     
     public Set<String> getTypes()
@@ -292,7 +414,9 @@ public class ZootActor extends Actor
     
     public void setId(int id)
     {
+    	int oldId = this.id;
     	this.id = id;
+    	if(sceneIndex != null && oldId != id) sceneIndex.idChanged(this, oldId);
     }
     
 	public void setGid(int gid)
@@ -310,6 +434,14 @@ public class ZootActor extends Actor
 		return stateMachine;
 	}
 		
+    @Override
+    public void setName(String name)
+    {
+    	String oldName = getName();
+    	super.setName(name);
+    	if(sceneIndex != null) sceneIndex.nameChanged(this, oldName);
+    }
+    
     @Override
     public String toString()
     {
@@ -325,10 +457,76 @@ public class ZootActor extends Actor
 	{
 		return scene;
 	}
+	
+	/**
+	 * Checks if any enabled render controller draws in the given area.
+	 * @param area - checked area, e.g. camera view
+	 * @param bounds - rectangle used to store render bounds of each controller
+	 * @return true if actor is drawn in the area
+	 */
+	public boolean isRenderedInArea(Rectangle area, Rectangle bounds)
+	{
+		RenderController[] ctrls = renderControllers;
+		for(int i = 0; i < ctrls.length; ++i)
+		{
+			if(ctrls[i].isEnabled() && ctrls[i].getRenderBounds(this, bounds).overlaps(area)) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Culled actors are not drawn, set by {@link ZootActorCuller}.
+	 */
+	public boolean isCulled()
+	{
+		return culled;
+	}
+	
+	void setCulled(boolean culled)
+	{
+		this.culled = culled;
+	}
+	
+	/**
+	 * Sets how often the actor is updated, set by {@link ZootUpdateLod}.
+	 * @param interval - time in seconds between updates, {@link #UPDATE_EVERY_STEP} 
+	 * or {@link #UPDATE_SUSPENDED} if actor should not be updated at all
+	 */
+	public void setUpdateInterval(float interval)
+	{
+		updateInterval = interval;
+		if(interval == UPDATE_SUSPENDED) updateAccumulator = 0.0f;
+	}
+	
+	public float getUpdateInterval()
+	{
+		return updateInterval;
+	}
+	
+	/**
+	 * Returns true if any of the actor controllers must be updated every step, 
+	 * in which case update interval is ignored.
+	 */
+	public boolean isAlwaysUpdated()
+	{
+		return alwaysUpdated;
+	}
+	
+	void setSceneIndex(ZootSceneIndex sceneIndex)
+	{
+		this.sceneIndex = sceneIndex;
+	}
+	
+	public ZootSceneIndex getSceneIndex()
+	{
+		return sceneIndex;
+	}
 
 	public void setControllerRecognizer(ZootControllerRecognizer controllerRecognizer)
 	{
 		this.controllerRecognizer = controllerRecognizer;
+		controllersByClass.clear();
+		++controllersVersion;
 	}
 
 	public ZootControllerRecognizer getControllerRecognizer()
@@ -0,0 +1,101 @@
+package com.zootcat.scene;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+
+/**
+ * Marks actors which are not drawn in the camera view as culled, so they are
+ * skipped when the stage is drawn. Render bounds of the actors are given by their
+ * render controllers.
+ * @author Cream
+ */
+public class ZootActorCuller
+{
+	private final Rectangle view = new Rectangle();
+	private final Rectangle bounds = new Rectangle();
+	private int drawnCount = 0;
+	private int culledCount = 0;
+
+	/**
+	 * Sets the view to the area covered by the camera frustum.
+	 */
+	public void setView(Frustum frustum)
+	{
+		float minX = Float.MAX_VALUE;
+		float minY = Float.MAX_VALUE;
+		float maxX = -Float.MAX_VALUE;
+		float maxY = -Float.MAX_VALUE;
+		for(Vector3 point : frustum.planePoints)
+		{
+			minX = Math.min(minX, point.x);
+			minY = Math.min(minY, point.y);
+			maxX = Math.max(maxX, point.x);
+			maxY = Math.max(maxY, point.y);
+		}
+		view.set(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	public void setView(Rectangle area)
+	{
+		view.set(area);
+	}
+
+	public Rectangle getView()
+	{
+		return view;
+	}
+
+	/**
+	 * Culls actors drawn outside of the view. Actors other than {@link ZootActor} are not culled.
+	 */
+	public void cull(Array<Actor> actors)
+	{
+		drawnCount = 0;
+		culledCount = 0;
+		for(int i = 0; i < actors.size; ++i)
+		{
+			Actor actor = actors.get(i);
+			if(!ClassReflection.isInstance(ZootActor.class, actor)) continue;
+
+			ZootActor zootActor = (ZootActor)actor;
+			boolean visible = zootActor.isRenderedInArea(view, bounds);
+			zootActor.setCulled(!visible);
+			if(visible) ++drawnCount;
+			else ++culledCount;
+		}
+	}
+
+	/**
+	 * Removes culling from actors, so all of them are drawn.
+	 */
+	public void reset(Array<Actor> actors)
+	{
+		for(int i = 0; i < actors.size; ++i)
+		{
+			Actor actor = actors.get(i);
+			if(ClassReflection.isInstance(ZootActor.class, actor)) ((ZootActor)actor).setCulled(false);
+		}
+		drawnCount = 0;
+		culledCount = 0;
+	}
+
+	/**
+	 * Returns number of actors left to be drawn by the last {@link #cull(Array)} call.
+	 */
+	public int getDrawnCount()
+	{
+		return drawnCount;
+	}
+
+	/**
+	 * Returns number of actors culled by the last {@link #cull(Array)} call.
+	 */
+	public int getCulledCount()
+	{
+		return culledCount;
+	}
+}
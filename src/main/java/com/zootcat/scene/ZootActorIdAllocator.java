@@ -0,0 +1,29 @@
+package com.zootcat.scene;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocates unique actor ids in constant time. Ids of actors added to the scene
+ * are reserved, so allocated ids are always greater than any id already in use.
+ * Ids are never reused, also after actor is removed from the scene.
+ * @author Cream
+ */
+public class ZootActorIdAllocator
+{
+	private final AtomicInteger lastId = new AtomicInteger(0);
+	
+	public int next()
+	{
+		return lastId.incrementAndGet();
+	}
+	
+	public void reserve(int id)
+	{
+		lastId.accumulateAndGet(id, Math::max);
+	}
+	
+	public int getLastId()
+	{
+		return lastId.get();
+	}
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.EventListener;
 import com.badlogic.gdx.utils.Disposable;
@@ -26,6 +27,30 @@ public interface ZootScene extends Disposable
 	List<ZootActor> getActors(Predicate<ZootActor> filter);
 	ZootActor getFirstActor(Predicate<ZootActor> filter);
 	
+	/**
+	 * Lookups below scan all actors by default, scenes can override them with indexed lookups.
+	 */
+	default ZootActor getActorById(int id)
+	{
+		return getFirstActor(act -> act.getId() == id);
+	}
+	
+	default List<ZootActor> getActorsByName(String name)
+	{
+		return getActors(act -> act.getName().equalsIgnoreCase(name));
+	}
+	
+	default List<ZootActor> getActorsByType(String type)
+	{
+		return getActors(act -> act.isType(type));
+	}
+	
+	default List<ZootActor> getActorsInArea(Rectangle area)
+	{
+		return getActors(act -> act.getX() <= area.x + area.width && act.getX() + act.getWidth() >= area.x
+							 && act.getY() <= area.y + area.height && act.getY() + act.getHeight() >= area.y);
+	}
+	
 	void addRootAction(Action action);
 	
 	ZootCamera getCamera();
@@ -0,0 +1,325 @@
+package com.zootcat.scene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Index of scene actors by name, id, type and position. Spatial queries use
+ * a uniform grid, actors are put in every grid cell their bounds (position and size)
+ * overlap. Indexed actors notify the index when their name, id, types, position or
+ * size changes and remove themselves from the index when they are removed from the scene.<br/>
+ * <br/>
+ * Names and types are case insensitive. Index should be used from the render thread only.
+ * @author Cream
+ */
+public class ZootSceneIndex
+{
+	private final float cellSize;
+	private final IdentityMap<ZootActor, Entry> entries = new IdentityMap<ZootActor, Entry>();
+	private final ObjectMap<String, Array<ZootActor>> actorsByName = new ObjectMap<String, Array<ZootActor>>();
+	private final ObjectMap<String, Array<ZootActor>> actorsByType = new ObjectMap<String, Array<ZootActor>>();
+	private final IntMap<Array<ZootActor>> actorsById = new IntMap<Array<ZootActor>>();
+	private final LongMap<Array<Entry>> cells = new LongMap<Array<Entry>>();
+	private int minCellX = Integer.MAX_VALUE;
+	private int minCellY = Integer.MAX_VALUE;
+	private int maxCellX = Integer.MIN_VALUE;
+	private int maxCellY = Integer.MIN_VALUE;
+	private int queryStamp = 0;
+
+	public ZootSceneIndex(float cellSize)
+	{
+		if(cellSize <= 0.0f) throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+		this.cellSize = cellSize;
+	}
+
+	public void add(ZootActor actor)
+	{
+		if(entries.containsKey(actor)) return;
+
+		Entry entry = new Entry(actor);
+		entries.put(actor, entry);
+		put(actorsByName, nameKey(actor.getName()), actor);
+		put(actorsById, actor.getId(), actor);
+		for(String type : actor.getTypes())
+		{
+			put(actorsByType, type, actor);
+		}
+		addToCells(entry);
+		actor.setSceneIndex(this);
+	}
+
+	public void remove(ZootActor actor)
+	{
+		Entry entry = entries.remove(actor);
+		if(entry == null) return;
+
+		remove(actorsByName, nameKey(actor.getName()), actor);
+		remove(actorsById, actor.getId(), actor);
+		for(String type : actor.getTypes())
+		{
+			remove(actorsByType, type, actor);
+		}
+		removeFromCells(entry);
+		actor.setSceneIndex(null);
+	}
+
+	public boolean contains(ZootActor actor)
+	{
+		return entries.containsKey(actor);
+	}
+
+	public int size()
+	{
+		return entries.size;
+	}
+
+	public float getCellSize()
+	{
+		return cellSize;
+	}
+
+	/**
+	 * Returns first actor with the given id, or null if there is none.
+	 */
+	public ZootActor getActorById(int id)
+	{
+		Array<ZootActor> actors = actorsById.get(id);
+		return actors != null && actors.size > 0 ? actors.first() : null;
+	}
+
+	/**
+	 * Returns actors with the given name, in the order they were added.
+	 */
+	public List<ZootActor> getActorsByName(String name)
+	{
+		return toList(actorsByName.get(nameKey(name)));
+	}
+
+	/**
+	 * Returns actors of the given type, in the order they were added.
+	 */
+	public List<ZootActor> getActorsByType(String type)
+	{
+		return toList(actorsByType.get(typeKey(type)));
+	}
+
+	/**
+	 * Returns actors whose bounds overlap the given area.
+	 */
+	public List<ZootActor> getActorsInArea(Rectangle area)
+	{
+		List<ZootActor> result = new ArrayList<ZootActor>();
+		getActorsInArea(area, result);
+		return result;
+	}
+
+	/**
+	 * Adds actors whose bounds overlap the given area to the result list. Does not
+	 * allocate if the result list is big enough.
+	 * @param area - searched area
+	 * @param result - list the found actors will be added to
+	 */
+	public void getActorsInArea(Rectangle area, List<ZootActor> result)
+	{
+		if(entries.size == 0) return;
+
+		int fromX = Math.max(cellCoord(area.x), minCellX);
+		int fromY = Math.max(cellCoord(area.y), minCellY);
+		int toX = Math.min(cellCoord(area.x + area.width), maxCellX);
+		int toY = Math.min(cellCoord(area.y + area.height), maxCellY);
+		int stamp = ++queryStamp;
+		for(int x = fromX; x <= toX; ++x)
+		{
+			for(int y = fromY; y <= toY; ++y)
+			{
+				Array<Entry> cell = cells.get(cellKey(x, y));
+				if(cell == null) continue;
+
+				for(int i = 0; i < cell.size; ++i)
+				{
+					Entry entry = cell.get(i);
+					if(entry.stamp == stamp) continue;
+					entry.stamp = stamp;
+					if(overlaps(entry.actor, area)) result.add(entry.actor);
+				}
+			}
+		}
+	}
+
+	void boundsChanged(ZootActor actor)
+	{
+		Entry entry = entries.get(actor);
+		if(entry == null) return;
+
+		int fromX = cellCoord(actor.getX());
+		int fromY = cellCoord(actor.getY());
+		int toX = cellCoord(actor.getX() + actor.getWidth());
+		int toY = cellCoord(actor.getY() + actor.getHeight());
+		if(entry.fromX == fromX && entry.fromY == fromY && entry.toX == toX && entry.toY == toY) return;
+
+		removeFromCells(entry);
+		addToCells(entry);
+	}
+
+	void nameChanged(ZootActor actor, String oldName)
+	{
+		if(!entries.containsKey(actor)) return;
+		remove(actorsByName, nameKey(oldName), actor);
+		put(actorsByName, nameKey(actor.getName()), actor);
+	}
+
+	void idChanged(ZootActor actor, int oldId)
+	{
+		if(!entries.containsKey(actor)) return;
+		remove(actorsById, oldId, actor);
+		put(actorsById, actor.getId(), actor);
+	}
+
+	void typeAdded(ZootActor actor, String type)
+	{
+		if(entries.containsKey(actor)) put(actorsByType, type, actor);
+	}
+
+	void typeRemoved(ZootActor actor, String type)
+	{
+		if(entries.containsKey(actor)) remove(actorsByType, type, actor);
+	}
+
+	private void addToCells(Entry entry)
+	{
+		ZootActor actor = entry.actor;
+		entry.fromX = cellCoord(actor.getX());
+		entry.fromY = cellCoord(actor.getY());
+		entry.toX = cellCoord(actor.getX() + actor.getWidth());
+		entry.toY = cellCoord(actor.getY() + actor.getHeight());
+		minCellX = Math.min(minCellX, entry.fromX);
+		minCellY = Math.min(minCellY, entry.fromY);
+		maxCellX = Math.max(maxCellX, entry.toX);
+		maxCellY = Math.max(maxCellY, entry.toY);
+
+		for(int x = entry.fromX; x <= entry.toX; ++x)
+		{
+			for(int y = entry.fromY; y <= entry.toY; ++y)
+			{
+				long key = cellKey(x, y);
+				Array<Entry> cell = cells.get(key);
+				if(cell == null)
+				{
+					cell = new Array<Entry>(false, 4);
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	private void removeFromCells(Entry entry)
+	{
+		for(int x = entry.fromX; x <= entry.toX; ++x)
+		{
+			for(int y = entry.fromY; y <= entry.toY; ++y)
+			{
+				Array<Entry> cell = cells.get(cellKey(x, y));
+				if(cell != null) cell.removeValue(entry, true);
+			}
+		}
+	}
+
+	private int cellCoord(float value)
+	{
+		return (int)Math.floor(value / cellSize);
+	}
+
+	private static long cellKey(int x, int y)
+	{
+		return ((long)x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static boolean overlaps(ZootActor actor, Rectangle area)
+	{
+		return actor.getX() <= area.x + area.width && actor.getX() + actor.getWidth() >= area.x
+			&& actor.getY() <= area.y + area.height && actor.getY() + actor.getHeight() >= area.y;
+	}
+
+	private static String nameKey(String name)
+	{
+		return name != null ? name.toLowerCase() : "";
+	}
+
+	private static String typeKey(String type)
+	{
+		return type.toLowerCase().trim();
+	}
+
+	private static <K> void put(ObjectMap<K, Array<ZootActor>> map, K key, ZootActor actor)
+	{
+		Array<ZootActor> actors = map.get(key);
+		if(actors == null)
+		{
+			actors = new Array<ZootActor>();
+			map.put(key, actors);
+		}
+		actors.add(actor);
+	}
+
+	private static <K> void remove(ObjectMap<K, Array<ZootActor>> map, K key, ZootActor actor)
+	{
+		Array<ZootActor> actors = map.get(key);
+		if(actors == null) return;
+		actors.removeValue(actor, true);
+		if(actors.size == 0) map.remove(key);
+	}
+
+	private static void put(IntMap<Array<ZootActor>> map, int key, ZootActor actor)
+	{
+		Array<ZootActor> actors = map.get(key);
+		if(actors == null)
+		{
+			actors = new Array<ZootActor>();
+			map.put(key, actors);
+		}
+		actors.add(actor);
+	}
+
+	private static void remove(IntMap<Array<ZootActor>> map, int key, ZootActor actor)
+	{
+		Array<ZootActor> actors = map.get(key);
+		if(actors == null) return;
+		actors.removeValue(actor, true);
+		if(actors.size == 0) map.remove(key);
+	}
+
+	private static List<ZootActor> toList(Array<ZootActor> actors)
+	{
+		if(actors == null) return Collections.emptyList();
+		List<ZootActor> result = new ArrayList<ZootActor>(actors.size);
+		for(int i = 0; i < actors.size; ++i)
+		{
+			result.add(actors.get(i));
+		}
+		return result;
+	}
+
+	private static class Entry
+	{
+		final ZootActor actor;
+		int fromX;
+		int fromY;
+		int toX;
+		int toY;
+		int stamp;
+
+		Entry(ZootActor actor)
+		{
+			this.actor = actor;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.zootcat.scene;
+
+/**
+ * What {@link ZootStepScheduler} does when the steps do not fit into the time budget of the frame.
+ * In every policy the steps that did not fit are dropped, so they do not pile up for the next frame.
+ * @author Cream
+ */
+public enum ZootStepPolicy
+{
+	/** Only drops the steps that did not fit. */
+	DropTime,
+
+	/** Slows down the game time, so less steps are needed in the next frames. */
+	SlowMotion,
+
+	/** Lowers number of physics solver iterations, so the steps are cheaper in the next frames. */
+	ReduceIterations
+}
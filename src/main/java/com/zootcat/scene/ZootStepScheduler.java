@@ -0,0 +1,296 @@
+package com.zootcat.scene;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.zootcat.physics.ZootPhysics;
+
+/**
+ * Runs fixed time steps of the scene for the time passed since the last frame. Number of
+ * steps in a frame is limited by the maximum substeps and by the time budget, basing on
+ * the measured step cost. Steps that did not fit are dropped instead of being carried over
+ * to the next frame, which would make it even slower. Additionally, the {@link ZootStepPolicy}
+ * can slow down the game time or lower the physics iterations while the frames are over budget.
+ * @author Cream
+ */
+public class ZootStepScheduler
+{
+	public static final float DEFAULT_FIXED_TIME_STEP = 1.0f / 60.0f;
+	public static final float DEFAULT_MAX_FRAME_TIME = 0.25f;
+	public static final int DEFAULT_MAX_SUBSTEPS = 5;
+	public static final float DEFAULT_TIME_BUDGET = 1.0f / 60.0f;
+	public static final int DEFAULT_REDUCED_VELOCITY_ITERATIONS = 3;
+	public static final int DEFAULT_REDUCED_POSITION_ITERATIONS = 1;
+	public static final float MIN_TIME_SCALE = 0.25f;
+	public static final float TIME_SCALE_RECOVERY = 0.05f;
+	public static final int ITERATIONS_RECOVERY_FRAMES = 30;
+
+	private static final float STEP_COST_SMOOTHING = 0.1f;
+	private static final float NANOS_TO_SECONDS = 1.0f / 1000000000.0f;
+
+	/**
+	 * Action run in every step before the physics step, e.g. stage update.
+	 */
+	public interface StepAction
+	{
+		void step(float delta);
+	}
+
+	private final ZootPhysics physics;
+	private final StepAction stepAction;
+	private ZootStepPolicy policy = ZootStepPolicy.DropTime;
+	private float fixedTimeStep = DEFAULT_FIXED_TIME_STEP;
+	private float maxFrameTime = DEFAULT_MAX_FRAME_TIME;
+	private int maxSubsteps = DEFAULT_MAX_SUBSTEPS;
+	private float timeBudget = DEFAULT_TIME_BUDGET;
+	private int reducedVelocityIterations = DEFAULT_REDUCED_VELOCITY_ITERATIONS;
+	private int reducedPositionIterations = DEFAULT_REDUCED_POSITION_ITERATIONS;
+	private float accumulator = 0.0f;
+	private float timeScale = 1.0f;
+	private boolean iterationsReduced = false;
+	private int savedVelocityIterations;
+	private int savedPositionIterations;
+	private int framesUnderBudget = 0;
+
+	private float stepCost = 0.0f;
+	private float lastStepTime = 0.0f;
+	private int lastStepCount = 0;
+	private long stepCount = 0;
+	private long overBudgetFrameCount = 0;
+	private float droppedTime = 0.0f;
+
+	public ZootStepScheduler(ZootPhysics physics, StepAction stepAction)
+	{
+		this.physics = physics;
+		this.stepAction = stepAction;
+	}
+
+	/**
+	 * Runs steps for the given frame time.
+	 * @param delta - time passed since the last frame, in seconds
+	 * @return number of steps done
+	 */
+	public int update(float delta)
+	{
+		float frameTime = Math.min(delta, maxFrameTime);
+		accumulator += frameTime * timeScale;
+
+		int steps = 0;
+		float elapsed = 0.0f;
+		boolean overBudget = false;
+		long start = TimeUtils.nanoTime();
+		while(accumulator >= fixedTimeStep)
+		{
+			if(steps >= maxSubsteps || (steps > 0 && elapsed + stepCost > timeBudget))
+			{
+				overBudget = true;
+				break;
+			}
+
+			long stepStart = TimeUtils.nanoTime();
+			stepAction.step(fixedTimeStep);
+			physics.step(fixedTimeStep);
+			accumulator -= fixedTimeStep;
+			++steps;
+
+			float cost = TimeUtils.timeSinceNanos(stepStart) * NANOS_TO_SECONDS;
+			stepCost = stepCount + steps == 1 ? cost : MathUtils.lerp(stepCost, cost, STEP_COST_SMOOTHING);
+			elapsed = TimeUtils.timeSinceNanos(start) * NANOS_TO_SECONDS;
+		}
+
+		lastStepCount = steps;
+		lastStepTime = elapsed;
+		stepCount += steps;
+		if(overBudget)
+		{
+			++overBudgetFrameCount;
+			float remainder = accumulator % fixedTimeStep;
+			droppedTime += accumulator - remainder;
+			accumulator = remainder;
+		}
+		adapt(overBudget, frameTime);
+		return steps;
+	}
+
+	private void adapt(boolean overBudget, float frameTime)
+	{
+		if(policy == ZootStepPolicy.SlowMotion)
+		{
+			if(overBudget) timeScale = MathUtils.clamp(lastStepCount * fixedTimeStep / frameTime, MIN_TIME_SCALE, 1.0f);
+			else timeScale = Math.min(1.0f, timeScale + TIME_SCALE_RECOVERY);
+		}
+		else if(policy == ZootStepPolicy.ReduceIterations)
+		{
+			if(overBudget)
+			{
+				framesUnderBudget = 0;
+				reduceIterations();
+			}
+			else if(iterationsReduced && ++framesUnderBudget >= ITERATIONS_RECOVERY_FRAMES)
+			{
+				restoreIterations();
+			}
+		}
+	}
+
+	private void reduceIterations()
+	{
+		if(iterationsReduced) return;
+
+		savedVelocityIterations = physics.getVelocityIterations();
+		savedPositionIterations = physics.getPositionIterations();
+		physics.setIterations(Math.min(reducedVelocityIterations, savedVelocityIterations), Math.min(reducedPositionIterations, savedPositionIterations));
+		iterationsReduced = true;
+	}
+
+	private void restoreIterations()
+	{
+		if(!iterationsReduced) return;
+
+		physics.setIterations(savedVelocityIterations, savedPositionIterations);
+		iterationsReduced = false;
+		framesUnderBudget = 0;
+	}
+
+	/**
+	 * Sets what is done when the frame is over budget, default is {@link ZootStepPolicy#DropTime}.
+	 * Restores time scale and physics iterations changed by the previous policy.
+	 */
+	public void setPolicy(ZootStepPolicy policy)
+	{
+		restoreIterations();
+		timeScale = 1.0f;
+		this.policy = policy;
+	}
+
+	public ZootStepPolicy getPolicy()
+	{
+		return policy;
+	}
+
+	public void setFixedTimeStep(float step)
+	{
+		if(step <= 0.0f) throw new IllegalArgumentException("Fixed time step must be positive: " + step);
+		fixedTimeStep = step;
+	}
+
+	public float getFixedTimeStep()
+	{
+		return fixedTimeStep;
+	}
+
+	/**
+	 * Sets the longest frame time taken into account, longer frames are clamped to it.
+	 */
+	public void setMaxFrameTime(float maxFrameTime)
+	{
+		this.maxFrameTime = maxFrameTime;
+	}
+
+	public float getMaxFrameTime()
+	{
+		return maxFrameTime;
+	}
+
+	public void setMaxSubsteps(int maxSubsteps)
+	{
+		if(maxSubsteps <= 0) throw new IllegalArgumentException("Max substeps must be positive: " + maxSubsteps);
+		this.maxSubsteps = maxSubsteps;
+	}
+
+	public int getMaxSubsteps()
+	{
+		return maxSubsteps;
+	}
+
+	/**
+	 * Sets time, in seconds, that can be spent on steps in a single frame. At least one step is always done.
+	 */
+	public void setTimeBudget(float timeBudget)
+	{
+		this.timeBudget = timeBudget;
+	}
+
+	public float getTimeBudget()
+	{
+		return timeBudget;
+	}
+
+	/**
+	 * Sets physics iterations used by the {@link ZootStepPolicy#ReduceIterations} policy.
+	 */
+	public void setReducedIterations(int velocityIterations, int positionIterations)
+	{
+		reducedVelocityIterations = velocityIterations;
+		reducedPositionIterations = positionIterations;
+	}
+
+	public int getReducedVelocityIterations()
+	{
+		return reducedVelocityIterations;
+	}
+
+	public int getReducedPositionIterations()
+	{
+		return reducedPositionIterations;
+	}
+
+	/**
+	 * Returns part of the fixed time step left after the last update, from 0 to 1.
+	 */
+	public float getInterpolationAlpha()
+	{
+		return accumulator / fixedTimeStep;
+	}
+
+	/**
+	 * Returns game time scale set by the {@link ZootStepPolicy#SlowMotion} policy, 1 means normal speed.
+	 */
+	public float getTimeScale()
+	{
+		return timeScale;
+	}
+
+	public boolean isIterationsReduced()
+	{
+		return iterationsReduced;
+	}
+
+	/**
+	 * Returns average cost of a single step, in seconds.
+	 */
+	public float getStepCost()
+	{
+		return stepCost;
+	}
+
+	/**
+	 * Returns time, in seconds, spent on steps in the last update.
+	 */
+	public float getLastStepTime()
+	{
+		return lastStepTime;
+	}
+
+	public int getLastStepCount()
+	{
+		return lastStepCount;
+	}
+
+	public long getStepCount()
+	{
+		return stepCount;
+	}
+
+	public long getOverBudgetFrameCount()
+	{
+		return overBudgetFrameCount;
+	}
+
+	/**
+	 * Returns game time, in seconds, dropped because the steps did not fit into the frame.
+	 */
+	public float getDroppedTime()
+	{
+		return droppedTime;
+	}
+}
@@ -0,0 +1,131 @@
+package com.zootcat.scene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.utils.LongMap;
+import com.zootcat.controllers.Controller;
+import com.zootcat.controllers.physics.FixtureController;
+import com.zootcat.controllers.physics.PhysicsBodyController;
+import com.zootcat.physics.ZootPhysics;
+
+/**
+ * Static terrain, keeps fixtures of static actors on a single body, or on one body per chunk.
+ * Terrain actors are not added to the stage and are never updated, but they are still set as
+ * fixtures user data, so collision listeners receive the right actor.<br/>
+ * <br/>
+ * Only actors with a static {@link PhysicsBodyController} and plain {@link FixtureController}'s
+ * can be attached, actors with any other controllers must stay on the stage.
+ * @author Cream
+ */
+public class ZootTerrain
+{
+	public static final float SINGLE_CHUNK = 0.0f;
+
+	private final ZootPhysics physics;
+	private final float chunkSize;
+	private final LongMap<Body> bodies = new LongMap<Body>();
+	private final List<ZootActor> actors = new ArrayList<ZootActor>();
+
+	public ZootTerrain(ZootPhysics physics)
+	{
+		this(physics, SINGLE_CHUNK);
+	}
+
+	/**
+	 * @param chunkSize - size of the chunk with separate body, in world units, {@link #SINGLE_CHUNK} for a single body
+	 */
+	public ZootTerrain(ZootPhysics physics, float chunkSize)
+	{
+		this.physics = physics;
+		this.chunkSize = chunkSize;
+	}
+
+	public static boolean canAttach(List<Controller> controllers)
+	{
+		boolean staticBody = false;
+		for(Controller ctrl : controllers)
+		{
+			if(ctrl.getClass() == PhysicsBodyController.class)
+			{
+				staticBody = ((PhysicsBodyController)ctrl).getType() == BodyType.StaticBody;
+			}
+			else if(ctrl.getClass() != FixtureController.class)
+			{
+				return false;
+			}
+		}
+		return staticBody;
+	}
+
+	/**
+	 * Attaches actor to the terrain body of the chunk containing the actor center. Must be
+	 * called before the controllers are initialized, which is left to the caller.
+	 * @return True if actor was attached, false if actor controllers cannot be a part of the terrain.
+	 */
+	public boolean attach(ZootActor actor, List<Controller> controllers)
+	{
+		if(!canAttach(controllers)) return false;
+
+		Body body = getChunkBody(actor.getX() + actor.getWidth() * 0.5f, actor.getY() + actor.getHeight() * 0.5f);
+		for(Controller ctrl : controllers)
+		{
+			if(ctrl.getClass() == PhysicsBodyController.class) ((PhysicsBodyController)ctrl).setSharedBody(body);
+		}
+		actors.add(actor);
+		return true;
+	}
+
+	/**
+	 * Removes all actors controllers and terrain bodies.
+	 */
+	public void clear()
+	{
+		actors.forEach(actor -> actor.removeAllControllers());
+		actors.clear();
+		bodies.values().forEach(body -> physics.removeBody(body));
+		bodies.clear();
+	}
+
+	public List<ZootActor> getActors()
+	{
+		return Collections.unmodifiableList(actors);
+	}
+
+	public int getBodyCount()
+	{
+		return bodies.size;
+	}
+
+	public float getChunkSize()
+	{
+		return chunkSize;
+	}
+
+	private Body getChunkBody(float x, float y)
+	{
+		long key = 0;
+		if(chunkSize > 0.0f)
+		{
+			long col = MathUtils.floor(x / chunkSize);
+			long row = MathUtils.floor(y / chunkSize);
+			key = (col << 32) | (row & 0xFFFFFFFFL);
+		}
+
+		Body body = bodies.get(key);
+		if(body == null)
+		{
+			BodyDef bodyDef = new BodyDef();
+			bodyDef.type = BodyType.StaticBody;
+			body = physics.createBody(bodyDef);
+			body.setUserData(this);
+			bodies.put(key, body);
+		}
+		return body;
+	}
+}
@@ -0,0 +1,201 @@
+package com.zootcat.scene;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.zootcat.controllers.Controller;
+import com.zootcat.controllers.physics.PhysicsBodyController;
+
+/**
+ * Update level of detail. Sets how often actors are updated, basing on their distance
+ * from the center of the view. Actors within the full radius are updated every step,
+ * actors within the reduced radius are updated with reduced rate and actors further
+ * away are suspended or updated with reduced rate.<br/>
+ * <br/>
+ * Actors with controllers that are always updated, see {@link Controller#isAlwaysUpdated()},
+ * are updated every step regardless of the distance. Actors not updated in a step still follow their
+ * physics bodies, see {@link Controller#onSkippedUpdate(float, ZootActor)}.
+ * @author Cream
+ */
+public class ZootUpdateLod
+{
+	public static final float DEFAULT_FULL_RADIUS = 24.0f;
+	public static final float DEFAULT_REDUCED_RADIUS = 48.0f;
+	public static final float DEFAULT_REDUCED_INTERVAL = 0.1f;
+
+	private float fullRadius = DEFAULT_FULL_RADIUS;
+	private float reducedRadius = DEFAULT_REDUCED_RADIUS;
+	private float reducedInterval = DEFAULT_REDUCED_INTERVAL;
+	private boolean suspendFarActors = true;
+	private boolean sleepSuspendedBodies = true;
+	private int fullCount = 0;
+	private int reducedCount = 0;
+	private int suspendedCount = 0;
+
+	/**
+	 * Sets update interval of the actors basing on their distance from the given center.
+	 * Actors other than {@link ZootActor} are not changed.
+	 */
+	public void update(Array<Actor> actors, float centerX, float centerY)
+	{
+		fullCount = 0;
+		reducedCount = 0;
+		suspendedCount = 0;
+
+		float fullRadius2 = fullRadius * fullRadius;
+		float reducedRadius2 = reducedRadius * reducedRadius;
+		for(int i = 0; i < actors.size; ++i)
+		{
+			Actor actor = actors.get(i);
+			if(!ClassReflection.isInstance(ZootActor.class, actor)) continue;
+
+			ZootActor zootActor = (ZootActor)actor;
+			float dx = zootActor.getX() + zootActor.getWidth() * 0.5f - centerX;
+			float dy = zootActor.getY() + zootActor.getHeight() * 0.5f - centerY;
+			float distance2 = dx * dx + dy * dy;
+
+			float interval;
+			if(zootActor.isAlwaysUpdated() || distance2 <= fullRadius2) interval = ZootActor.UPDATE_EVERY_STEP;
+			else if(distance2 <= reducedRadius2 || !suspendFarActors) interval = reducedInterval;
+			else interval = ZootActor.UPDATE_SUSPENDED;
+
+			if(interval == ZootActor.UPDATE_EVERY_STEP) ++fullCount;
+			else if(interval == ZootActor.UPDATE_SUSPENDED) ++suspendedCount;
+			else ++reducedCount;
+
+			setUpdateInterval(zootActor, interval);
+		}
+	}
+
+	/**
+	 * Restores updating of all actors every step.
+	 */
+	public void reset(Array<Actor> actors)
+	{
+		for(int i = 0; i < actors.size; ++i)
+		{
+			Actor actor = actors.get(i);
+			if(ClassReflection.isInstance(ZootActor.class, actor)) setUpdateInterval((ZootActor)actor, ZootActor.UPDATE_EVERY_STEP);
+		}
+		fullCount = 0;
+		reducedCount = 0;
+		suspendedCount = 0;
+	}
+
+	private void setUpdateInterval(ZootActor actor, float interval)
+	{
+		float previous = actor.getUpdateInterval();
+		if(previous == interval) return;
+
+		actor.setUpdateInterval(interval);
+		if(!sleepSuspendedBodies) return;
+
+		if(interval == ZootActor.UPDATE_SUSPENDED)
+		{
+			actor.controllersAction(PhysicsBodyController.class, ctrl -> { if(canSleep(ctrl)) ctrl.setAwake(false); });
+		}
+		else if(previous == ZootActor.UPDATE_SUSPENDED)
+		{
+			actor.controllersAction(PhysicsBodyController.class, ctrl -> ctrl.setAwake(true));
+		}
+	}
+
+	private static boolean canSleep(PhysicsBodyController ctrl)
+	{
+		//Box2D clears velocity of the sleeping body, moving bodies would stop in the air
+		return !ctrl.isBullet() && ctrl.getVelocity().isZero() && ctrl.getAngularVelocity() == 0.0f;
+	}
+
+	/**
+	 * Actors within this distance from the center are updated every step.
+	 */
+	public void setFullRadius(float radius)
+	{
+		fullRadius = radius;
+	}
+
+	public float getFullRadius()
+	{
+		return fullRadius;
+	}
+
+	/**
+	 * Actors within this distance from the center, outside of the full radius,
+	 * are updated with reduced rate.
+	 */
+	public void setReducedRadius(float radius)
+	{
+		reducedRadius = radius;
+	}
+
+	public float getReducedRadius()
+	{
+		return reducedRadius;
+	}
+
+	/**
+	 * Time in seconds between updates of actors updated with reduced rate.
+	 */
+	public void setReducedInterval(float interval)
+	{
+		reducedInterval = interval;
+	}
+
+	public float getReducedInterval()
+	{
+		return reducedInterval;
+	}
+
+	/**
+	 * When enabled, actors outside of the reduced radius are not updated at all,
+	 * otherwise they are updated with reduced rate. Enabled by default.
+	 */
+	public void setSuspendFarActors(boolean suspend)
+	{
+		suspendFarActors = suspend;
+	}
+
+	public boolean isSuspendFarActors()
+	{
+		return suspendFarActors;
+	}
+
+	/**
+	 * When enabled, physics bodies of suspended actors are put to sleep and woken up
+	 * when the actors are updated again. Moving bodies and bullets are not put to sleep.
+	 * Enabled by default.
+	 */
+	public void setSleepSuspendedBodies(boolean sleep)
+	{
+		sleepSuspendedBodies = sleep;
+	}
+
+	public boolean isSleepSuspendedBodies()
+	{
+		return sleepSuspendedBodies;
+	}
+
+	/**
+	 * Returns number of actors updated every step, set by the last {@link #update(Array, float, float)} call.
+	 */
+	public int getFullCount()
+	{
+		return fullCount;
+	}
+
+	/**
+	 * Returns number of actors updated with reduced rate, set by the last {@link #update(Array, float, float)} call.
+	 */
+	public int getReducedCount()
+	{
+		return reducedCount;
+	}
+
+	/**
+	 * Returns number of suspended actors, set by the last {@link #update(Array, float, float)} call.
+	 */
+	public int getSuspendedCount()
+	{
+		return suspendedCount;
+	}
+}
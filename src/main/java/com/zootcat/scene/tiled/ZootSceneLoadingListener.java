@@ -0,0 +1,10 @@
+package com.zootcat.scene.tiled;
+
+/**
+ * Notified on the render thread each time a {@link ZootSceneLoadingPhase} is finished.
+ * @author Cream
+ */
+public interface ZootSceneLoadingListener
+{
+	void onPhaseFinished(ZootSceneLoadingPhase phase, long durationMillis);
+}
@@ -0,0 +1,11 @@
+package com.zootcat.scene.tiled;
+
+/**
+ * Phases of {@link ZootTiledScene} actor loading, in execution order.
+ * @author Cream
+ * @see ZootSceneLoadingListener
+ */
+public enum ZootSceneLoadingPhase
+{
+	LayerOptimization, ActorPreparation, ActorInitialization
+}
@@ -8,16 +8,24 @@ import java.util.stream.StreamSupport;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.scenes.scene2d.Action;
+import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.EventListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.zootcat.camera.ZootCamera;
 import com.zootcat.controllers.factory.ControllerFactory;
+import com.zootcat.controllers.gfx.RenderController;
+import com.zootcat.controllers.physics.PhysicsBodyController;
+import com.zootcat.exceptions.RuntimeZootException;
 import com.zootcat.gfx.ZootRender;
 import com.zootcat.hud.ZootHud;
 import com.zootcat.map.ZootMap;
@@ -26,18 +34,23 @@ import com.zootcat.map.tiled.ZootTiledMapRender;
 import com.zootcat.map.tiled.ZootTiledMapRenderConfig;
 import com.zootcat.map.tiled.ZootTiledSceneActorFactory;
 import com.zootcat.map.tiled.ZootTiledWorldScaleCalculator;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizationStrategy;
 import com.zootcat.map.tiled.optimizer.ZootLayerOptimizer;
-import com.zootcat.map.tiled.optimizer.ZootLayerRegion;
-import com.zootcat.map.tiled.optimizer.ZootTiledCellTileComparator;
+import com.zootcat.physics.ZootBodyActivator;
 import com.zootcat.physics.ZootPhysics;
 import com.zootcat.scene.ZootActor;
+import com.zootcat.scene.ZootActorCuller;
+import com.zootcat.scene.ZootActorIdAllocator;
 import com.zootcat.scene.ZootScene;
 import com.zootcat.scene.ZootSceneActorSpawner;
+import com.zootcat.scene.ZootSceneIndex;
+import com.zootcat.scene.ZootStepScheduler;
+import com.zootcat.scene.ZootTerrain;
+import com.zootcat.scene.ZootUpdateLod;
 
 public class ZootTiledScene implements ZootScene
 {
-	private static final float FIXED_TIME_STEP = 1.0f / 60.0f;
-	private static final float MIN_TIME_STEP = 1.0f / 4.0f;
+	private static final int INDEX_CELL_SIZE_IN_TILES = 8;
 		
 	private Stage stage;
 	private ZootTiledMap map;
@@ -48,17 +61,38 @@ public class ZootTiledScene implements ZootScene
 	private ControllerFactory ctrlFactory;
 	private ZootHud hud;
 	private ZootTiledSceneActorSpawner spawner;
+	private ZootTiledSceneLoader loader;
+	private ZootTiledSceneActorFactory actorFactory;
+	private ZootActorIdAllocator actorIdAllocator = new ZootActorIdAllocator();
+	private ZootSceneIndex actorIndex;
+	private ZootActorCuller actorCuller = new ZootActorCuller();
+	private boolean actorCulling = false;
+	private ZootUpdateLod actorUpdateLod = new ZootUpdateLod();
+	private ZootStepScheduler stepScheduler;
+	private boolean actorUpdateLodEnabled = false;
+	private final Vector2 viewCenter = new Vector2();
+	private final Rectangle cameraView = new Rectangle();
 	
 	private float unitScale;
 	private float worldUnitPerTile;
 	private float viewportWidth;
 	private float viewportHeight;
-	private float timeAccumulator = 0.0f;	
+	private boolean renderInterpolation = false;
 	
 	private boolean isDebugMode;
 	private Box2DDebugRenderer debugRender;
 	
 	public ZootTiledScene(ZootTiledMap map, AssetManager assetManager, ControllerFactory factory, float viewportWidth, float viewportHeight, float worldUnitPerTile)
+	{
+		this(map, assetManager, factory, viewportWidth, viewportHeight, worldUnitPerTile, null);
+		finishLoading();
+	}
+	
+	/**
+	 * Creates the scene without actors. Actors are loaded by calling {@link #updateLoading()}
+	 * every frame until it returns true, or by calling {@link #finishLoading()}.
+	 */
+	public ZootTiledScene(ZootTiledMap map, AssetManager assetManager, ControllerFactory factory, float viewportWidth, float viewportHeight, float worldUnitPerTile, ZootSceneLoadingListener listener)
 	{						
     	this.worldUnitPerTile = worldUnitPerTile;
 		this.unitScale = ZootTiledWorldScaleCalculator.calculate(worldUnitPerTile, map.getTileWidth());
@@ -67,16 +101,18 @@ public class ZootTiledScene implements ZootScene
     	this.assetManager = assetManager;
     	this.ctrlFactory = factory;
     	this.map = map;
-    	createScene();
+    	this.actorIndex = new ZootSceneIndex(INDEX_CELL_SIZE_IN_TILES * worldUnitPerTile);
+    	createScene(listener);
 	}
 	
-	private void createScene()
+	private void createScene(ZootSceneLoadingListener listener)
 	{
 		//hud
 		this.hud = new ZootHud();
 		
 		//physics
     	physics = new ZootPhysics();
+    	stepScheduler = new ZootStepScheduler(physics, delta -> stage.act(delta));
     	
 		//render
     	ZootTiledMapRenderConfig renderConfig = new ZootTiledMapRenderConfig();
@@ -92,18 +128,11 @@ public class ZootTiledScene implements ZootScene
 		stage = new Stage(viewport);
 		
 		//actor factory
-    	ZootTiledSceneActorFactory actorFactory = new ZootTiledSceneActorFactory(this);
+    	actorFactory = new ZootTiledSceneActorFactory(this);
     	
-		//cell actors
-    	TiledMapTileLayer collisionLayer = map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME);
-    	
-    	List<ZootLayerRegion> cellRegions = ZootLayerOptimizer.optimize(collisionLayer, new ZootTiledCellTileComparator());			
-		List<ZootActor> cellActors = actorFactory.createFromLayerRegions(cellRegions);		
-		cellActors.forEach(cellActor -> stage.addActor(cellActor));
-		
-		//object actors
-		List<ZootActor> actors = actorFactory.createFromMapObjects(map.getAllObjects());		
-		actors.forEach(actor -> addActor(actor));
+		//cell and object actors loader
+		loader = new ZootTiledSceneLoader(map, actorFactory, cellActor -> addCellActor(cellActor), actor -> addActor(actor));
+		loader.setListener(listener);
 		
     	//actor spawner for spawning actors after scene have been created
     	spawner = new ZootTiledSceneActorSpawner(map, actorFactory);
@@ -113,6 +142,21 @@ public class ZootTiledScene implements ZootScene
 		debugRender = new Box2DDebugRenderer();
 	}
 	
+	public boolean updateLoading()
+	{
+		return loader.update();
+	}
+	
+	public void finishLoading()
+	{
+		loader.finish();
+	}
+	
+	public float getLoadingProgress()
+	{
+		return loader.getProgress();
+	}
+	
 	@Override
 	public ZootCamera getCamera()
 	{
@@ -142,6 +186,15 @@ public class ZootTiledScene implements ZootScene
 	{
 		stage.addActor(actor);		
 		actor.setScene(this);
+		actorIdAllocator.reserve(actor.getId());
+		actorIndex.add(actor);
+	}
+	
+	private void addCellActor(ZootActor cellActor)
+	{
+		stage.addActor(cellActor);
+		actorIdAllocator.reserve(cellActor.getId());
+		actorIndex.add(cellActor);
 	}
 	
 	@Override
@@ -181,25 +234,95 @@ public class ZootTiledScene implements ZootScene
 				 .orElse(null);
 	}
 	
+	@Override
+	public ZootActor getActorById(int id)
+	{
+		return actorIndex.getActorById(id);
+	}
+	
+	@Override
+	public List<ZootActor> getActorsByName(String name)
+	{
+		return actorIndex.getActorsByName(name);
+	}
+	
+	@Override
+	public List<ZootActor> getActorsByType(String type)
+	{
+		return actorIndex.getActorsByType(type);
+	}
+	
+	@Override
+	public List<ZootActor> getActorsInArea(Rectangle area)
+	{
+		return actorIndex.getActorsInArea(area);
+	}
+	
 	@Override
 	public void update(float delta)
 	{		
-		timeAccumulator += Math.min(MIN_TIME_STEP, delta);       
-		while(timeAccumulator >= FIXED_TIME_STEP)
+		ZootTiledSceneStreamer streamer = loader.getStreamer();
+		if(streamer != null || actorUpdateLodEnabled)
+		{
+			ZootActor target = camera.getTarget();
+			if(target != null) viewCenter.set(target.getX() + target.getWidth() * 0.5f, target.getY() + target.getHeight() * 0.5f);
+			else viewCenter.set(camera.position.x, camera.position.y);
+		}
+		
+		if(streamer != null)
+		{
+			streamer.update(viewCenter.x, viewCenter.y);
+		}
+		
+		if(actorUpdateLodEnabled)
 		{
-			stage.act(FIXED_TIME_STEP);
-			physics.step(FIXED_TIME_STEP);
-			timeAccumulator -= FIXED_TIME_STEP;
+			actorUpdateLod.update(stage.getActors(), viewCenter.x, viewCenter.y);
+		}
+		
+		ZootBodyActivator bodyActivator = physics.getBodyActivator();
+		if(bodyActivator.isEnabled())
+		{
+			float viewWidth = camera.viewportWidth * camera.zoom;
+			float viewHeight = camera.viewportHeight * camera.zoom;
+			cameraView.set(camera.position.x - viewWidth * 0.5f, camera.position.y - viewHeight * 0.5f, viewWidth, viewHeight);
+			bodyActivator.update(cameraView);
+		}
+		
+		stepScheduler.update(delta);
+		
+		if(renderInterpolation)
+		{
+			interpolateActors(getInterpolationAlpha());
 		}
 		camera.update(delta, true);
 		hud.update(delta);
 	}
 	
+	private void interpolateActors(float alpha)
+	{
+		Array<Actor> actors = stage.getActors();
+		for(int i = 0; i < actors.size; ++i)
+		{
+			Actor actor = actors.get(i);
+			if(!ClassReflection.isInstance(ZootActor.class, actor)) continue;
+			
+			ZootActor zootActor = (ZootActor)actor;
+			PhysicsBodyController bodyCtrl = zootActor.tryGetSingleController(PhysicsBodyController.class);
+			if(bodyCtrl != null && bodyCtrl.isEnabled()) bodyCtrl.interpolate(alpha, zootActor);
+		}
+	}
+	
 	@Override
 	public void render(float delta)
 	{			
 		mapRender.setView((OrthographicCamera)getCamera());
 		mapRender.render(delta);
+		
+		if(actorCulling)
+		{
+			actorCuller.setView(camera.frustum);
+			actorCuller.cull(stage.getActors());
+		}
 		stage.draw();
 		
 		if(isDebugMode())
@@ -323,6 +446,252 @@ public class ZootTiledScene implements ZootScene
 	{
 		return assetManager;
 	}
+	
+	public ZootActorIdAllocator getActorIdAllocator()
+	{
+		return actorIdAllocator;
+	}
+	
+	/**
+	 * Returns number of draw calls made when rendering the map in the last frame, or -1 if not known.
+	 */
+	public int getMapRenderCalls()
+	{
+		return getRenderCalls(mapRender.getBatch());
+	}
+	
+	/**
+	 * Returns number of draw calls made when rendering actors in the last frame, or -1 if not known.
+	 */
+	public int getActorRenderCalls()
+	{
+		return getRenderCalls(stage.getBatch());
+	}
+	
+	private int getRenderCalls(Batch batch)
+	{
+		return ClassReflection.isInstance(SpriteBatch.class, batch) ? ((SpriteBatch)batch).renderCalls : -1;
+	}
+	
+	public boolean isActorCulling()
+	{
+		return actorCulling;
+	}
+	
+	/**
+	 * When enabled, actors drawn outside of the camera view are not drawn. Render controllers drawing 
+	 * outside of the actor bounds must return their render bounds, see {@link RenderController#getRenderBounds}.
+	 * Disabled by default.
+	 */
+	public void setActorCulling(boolean enabled)
+	{
+		if(actorCulling && !enabled)
+		{
+			actorCuller.reset(stage.getActors());
+		}
+		actorCulling = enabled;
+	}
+	
+	/**
+	 * Returns actor culler, with number of culled and drawn actors in the last frame.
+	 */
+	public ZootActorCuller getActorCuller()
+	{
+		return actorCuller;
+	}
+	
+	/**
+	 * When enabled, bodies of actors far from the camera view are deactivated, 
+	 * see {@link ZootBodyActivator}. Disabled by default.
+	 */
+	public void setPhysicsActivation(boolean enabled)
+	{
+		physics.getBodyActivator().setEnabled(enabled);
+	}
+	
+	public boolean isPhysicsActivation()
+	{
+		return physics.getBodyActivator().isEnabled();
+	}
+	
+	/**
+	 * Sets time step, in seconds, of the actors update and physics simulation. 
+	 * Longer step lowers the CPU usage, render interpolation can be used to keep 
+	 * the movement smooth. Default is 1/60 s.
+	 */
+	public void setFixedTimeStep(float step)
+	{
+		stepScheduler.setFixedTimeStep(step);
+	}
+	
+	public float getFixedTimeStep()
+	{
+		return stepScheduler.getFixedTimeStep();
+	}
+	
+	/**
+	 * Returns scheduler of the scene steps, which limits the steps in a frame 
+	 * to its time budget and exposes the step counters.
+	 */
+	public ZootStepScheduler getStepScheduler()
+	{
+		return stepScheduler;
+	}
+	
+	/**
+	 * When enabled, actors with physics bodies are drawn between the body transform 
+	 * before and after the last physics step, basing on the time left in the accumulator. 
+	 * Disabled by default.
+	 */
+	public void setRenderInterpolation(boolean enabled)
+	{
+		renderInterpolation = enabled;
+	}
+	
+	public boolean isRenderInterpolation()
+	{
+		return renderInterpolation;
+	}
+	
+	/**
+	 * Returns part of the fixed time step left in the accumulator after the last update, from 0 to 1.
+	 */
+	public float getInterpolationAlpha()
+	{
+		return stepScheduler.getInterpolationAlpha();
+	}
+	
+	public boolean isActorUpdateLod()
+	{
+		return actorUpdateLodEnabled;
+	}
+	
+	/**
+	 * When enabled, actors far from the camera target are updated with reduced rate 
+	 * or suspended, see {@link ZootUpdateLod}. Disabled by default.
+	 */
+	public void setActorUpdateLod(boolean enabled)
+	{
+		if(actorUpdateLodEnabled && !enabled)
+		{
+			actorUpdateLod.reset(stage.getActors());
+		}
+		actorUpdateLodEnabled = enabled;
+	}
+	
+	/**
+	 * Returns update level of detail settings, with number of actors updated in the last frame.
+	 */
+	public ZootUpdateLod getActorUpdateLod()
+	{
+		return actorUpdateLod;
+	}
+	
+	/**
+	 * When enabled, actors are created only for the parts of the map near the camera 
+	 * target, see {@link ZootTiledSceneStreamer}. Must be set before loading starts. 
+	 * Disabled by default.
+	 */
+	public void setLevelStreaming(boolean enabled)
+	{
+		if(loader.isStarted())
+		{
+			throw new RuntimeZootException("Level streaming must be set before scene loading starts");
+		}
+		loader.setStreamer(enabled ? new ZootTiledSceneStreamer(map, actorFactory, unitScale, this::addCellActor, this::addActor) : null);
+	}
+	
+	public boolean isLevelStreaming()
+	{
+		return loader.getStreamer() != null;
+	}
+	
+	/**
+	 * Enables creating collision layer islands as single actors with outline fixtures, 
+	 * instead of actors for box regions. Does not affect level streaming. Disabled by default.
+	 * @throws RuntimeZootException when scene loading has already started
+	 */
+	public void setCollisionOutlines(boolean enabled)
+	{
+		if(loader.isStarted())
+		{
+			throw new RuntimeZootException("Collision outlines must be set before scene loading starts");
+		}
+		loader.setCollisionOutlines(enabled);
+	}
+	
+	public boolean isCollisionOutlines()
+	{
+		return loader.isCollisionOutlines();
+	}
+	
+	/**
+	 * Sets strategy used to divide the collision layer into box regions, {@link ZootLayerOptimizer#DEFAULT_STRATEGY}
+	 * by default. Also used for the chunks of level streaming, does not affect collision outlines.
+	 * @throws RuntimeZootException when scene loading has already started
+	 */
+	public void setCollisionOptimizationStrategy(ZootLayerOptimizationStrategy strategy)
+	{
+		if(loader.isStarted())
+		{
+			throw new RuntimeZootException("Collision optimization strategy must be set before scene loading starts");
+		}
+		loader.setOptimizationStrategy(strategy);
+	}
+	
+	public ZootLayerOptimizationStrategy getCollisionOptimizationStrategy()
+	{
+		return loader.getOptimizationStrategy();
+	}
+	
+	/**
+	 * When enabled, static collision layer actors are attached to a single {@link ZootTerrain} body
+	 * instead of having own bodies, and are not added to the stage. Does not affect level streaming. 
+	 * Disabled by default.
+	 * @throws RuntimeZootException when scene loading has already started
+	 */
+	public void setTerrainMode(boolean enabled)
+	{
+		if(loader.isStarted())
+		{
+			throw new RuntimeZootException("Terrain mode must be set before scene loading starts");
+		}
+		loader.setTerrain(enabled ? new ZootTerrain(physics) : null);
+	}
+	
+	public boolean isTerrainMode()
+	{
+		return loader.getTerrain() != null;
+	}
+	
+	/**
+	 * Returns terrain with static collision layer actors, or null if terrain mode is disabled.
+	 */
+	public ZootTerrain getTerrain()
+	{
+		return loader.getTerrain();
+	}
+	
+	/**
+	 * Returns number of regions created from the collision layer, available after the layer optimization phase.
+	 */
+	public int getCollisionRegionCount()
+	{
+		return loader.getCellRegionCount();
+	}
+	
+	/**
+	 * Returns level streamer, with its settings and number of loaded chunks, or null if streaming is disabled.
+	 */
+	public ZootTiledSceneStreamer getLevelStreamer()
+	{
+		return loader.getStreamer();
+	}
+	
+	public ZootSceneIndex getActorIndex()
+	{
+		return actorIndex;
+	}
 
 	@Override
 	public ZootSceneActorSpawner getActorSpawner()
@@ -0,0 +1,255 @@
+package com.zootcat.scene.tiled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.zootcat.map.tiled.ZootPreparedActor;
+import com.zootcat.map.tiled.ZootTiledMap;
+import com.zootcat.map.tiled.ZootTiledSceneActorFactory;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizationStrategy;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizer;
+import com.zootcat.map.tiled.optimizer.ZootLayerOutlineOptimizer;
+import com.zootcat.map.tiled.optimizer.ZootLayerRegion;
+import com.zootcat.map.tiled.optimizer.ZootTiledCellTileComparator;
+import com.zootcat.scene.ZootActor;
+import com.zootcat.scene.ZootTerrain;
+
+/**
+ * Loads actors of the tiled scene in phases. Collision layer optimization and actor
+ * preparation (parsing properties, resolving and creating controllers) are done in the
+ * background, on the actor factory pool. Controllers initialization, which can touch
+ * Box2D, is done on the render thread from {@link #update()} or {@link #finish()}.
+ * <br/><br/>
+ * When the streamer is set, map is only partitioned into chunks and just the always
+ * loaded objects are created, other actors are created by the streamer.
+ * @author Cream
+ */
+public class ZootTiledSceneLoader
+{
+	private static final ZootSceneLoadingPhase[] PHASES = ZootSceneLoadingPhase.values();
+
+	private final ZootTiledMap map;
+	private final ZootTiledSceneActorFactory actorFactory;
+	private final Consumer<ZootActor> cellActorConsumer;
+	private final Consumer<ZootActor> objectActorConsumer;
+	private ZootSceneLoadingListener listener;
+	private ZootTiledSceneStreamer streamer;
+	private boolean collisionOutlines = false;
+	private ZootLayerOptimizationStrategy optimizationStrategy = ZootLayerOptimizer.DEFAULT_STRATEGY;
+	private ZootTerrain terrain;
+
+	private ForkJoinTask<?> preparationTask;
+	private volatile ZootSceneLoadingPhase currentPhase = ZootSceneLoadingPhase.LayerOptimization;
+	private long optimizationTime;
+	private int cellRegionCount;
+	private long preparationTime;
+	private List<ZootPreparedActor> preparedCellActors;
+	private List<ZootPreparedActor> preparedObjectActors;
+	private boolean finished = false;
+
+	public ZootTiledSceneLoader(ZootTiledMap map, ZootTiledSceneActorFactory actorFactory, Consumer<ZootActor> cellActorConsumer, Consumer<ZootActor> objectActorConsumer)
+	{
+		this.map = map;
+		this.actorFactory = actorFactory;
+		this.cellActorConsumer = cellActorConsumer;
+		this.objectActorConsumer = objectActorConsumer;
+	}
+
+	public void setListener(ZootSceneLoadingListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * Sets streamer used to load the level in chunks. Must be set before loading starts.
+	 */
+	public void setStreamer(ZootTiledSceneStreamer streamer)
+	{
+		this.streamer = streamer;
+	}
+	
+	public ZootTiledSceneStreamer getStreamer()
+	{
+		return streamer;
+	}
+	
+	/**
+	 * When enabled, collision layer is optimized with {@link ZootLayerOutlineOptimizer}, so each island
+	 * of equal cells is created as a single actor with outline fixtures. Islands of tiles with sensor fixtures 
+	 * are divided into box regions. Must be set before loading starts.
+	 */
+	public void setCollisionOutlines(boolean enabled)
+	{
+		collisionOutlines = enabled;
+	}
+	
+	public boolean isCollisionOutlines()
+	{
+		return collisionOutlines;
+	}
+	
+	/**
+	 * Sets strategy used to divide the collision layer into box regions, also passed to the streamer. 
+	 * Must be set before loading starts.
+	 */
+	public void setOptimizationStrategy(ZootLayerOptimizationStrategy strategy)
+	{
+		optimizationStrategy = strategy;
+	}
+	
+	public ZootLayerOptimizationStrategy getOptimizationStrategy()
+	{
+		return optimizationStrategy;
+	}
+	
+	/**
+	 * Sets terrain, which takes static collision layer actors instead of the cell actor consumer.
+	 * Must be set before loading starts.
+	 */
+	public void setTerrain(ZootTerrain terrain)
+	{
+		this.terrain = terrain;
+	}
+	
+	public ZootTerrain getTerrain()
+	{
+		return terrain;
+	}
+	
+	/**
+	 * Returns number of regions the collision layer was optimized into, available after the layer optimization phase.
+	 */
+	public int getCellRegionCount()
+	{
+		return cellRegionCount;
+	}
+	
+	/**
+	 * Advances loading without blocking on the background work. Must be called from the render thread.
+	 * @return True if loading is finished, false otherwise.
+	 */
+	public boolean update()
+	{
+		if(finished) return true;
+
+		if(preparationTask == null)
+		{
+			startPreparation();
+			return false;
+		}
+
+		if(!preparationTask.isDone()) return false;
+
+		initialize();
+		return true;
+	}
+
+	/**
+	 * Blocks until loading is finished. Must be called from the render thread.
+	 */
+	public void finish()
+	{
+		if(finished) return;
+		if(preparationTask == null) startPreparation();
+		initialize();
+	}
+
+	public boolean isStarted()
+	{
+		return preparationTask != null;
+	}
+	
+	public boolean isFinished()
+	{
+		return finished;
+	}
+
+	public float getProgress()
+	{
+		return finished ? 1.0f : currentPhase.ordinal() / (float)PHASES.length;
+	}
+
+	private void startPreparation()
+	{
+		preparationTask = actorFactory.getPool().submit(() -> prepare());
+	}
+
+	private void prepare()
+	{
+		long start = TimeUtils.nanoTime();
+		List<ZootLayerRegion> cellRegions;
+		List<MapObject> alwaysLoadedObjects = null;
+		if(streamer != null)
+		{
+			cellRegions = Collections.emptyList();
+			streamer.setOptimizationStrategy(optimizationStrategy);
+			alwaysLoadedObjects = streamer.partition(map.getAllObjects());
+		}
+		else
+		{
+			TiledMapTileLayer collisionLayer = map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME);
+			ZootTiledCellTileComparator comparator = new ZootTiledCellTileComparator();
+			cellRegions = collisionOutlines ? ZootLayerOutlineOptimizer.optimize(collisionLayer, comparator, cell -> actorFactory.hasSensorFixtures(cell.getTile())) 
+											: ZootLayerOptimizer.optimize(collisionLayer, comparator, optimizationStrategy);
+		}
+		cellRegionCount = cellRegions.size();
+		optimizationTime = TimeUtils.timeSinceNanos(start);
+
+		currentPhase = ZootSceneLoadingPhase.ActorPreparation;
+		start = TimeUtils.nanoTime();
+		preparedCellActors = actorFactory.prepareFromLayerRegions(cellRegions);
+		preparedObjectActors = actorFactory.prepareFromMapObjects(streamer != null ? alwaysLoadedObjects : map.getAllObjects());
+		preparationTime = TimeUtils.timeSinceNanos(start);
+		currentPhase = ZootSceneLoadingPhase.ActorInitialization;
+	}
+
+	private void initialize()
+	{
+		//rethrows preparation exceptions on the render thread
+		preparationTask.join();
+		notifyPhaseFinished(ZootSceneLoadingPhase.LayerOptimization, optimizationTime);
+		notifyPhaseFinished(ZootSceneLoadingPhase.ActorPreparation, preparationTime);
+
+		long start = TimeUtils.nanoTime();
+		if(terrain != null) initializeTerrain();
+		actorFactory.initialize(preparedCellActors).forEach(cellActorConsumer);
+		actorFactory.initialize(preparedObjectActors).forEach(objectActorConsumer);
+		preparedCellActors = null;
+		preparedObjectActors = null;
+		finished = true;
+		notifyPhaseFinished(ZootSceneLoadingPhase.ActorInitialization, TimeUtils.timeSinceNanos(start));
+	}
+
+	private void initializeTerrain()
+	{
+		List<ZootPreparedActor> terrainActors = new ArrayList<ZootPreparedActor>();
+		List<ZootPreparedActor> stageActors = new ArrayList<ZootPreparedActor>();
+		for(ZootPreparedActor preparedActor : preparedCellActors)
+		{
+			if(terrain.attach(preparedActor.getActor(), preparedActor.getControllers()))
+			{
+				terrainActors.add(preparedActor);
+			}
+			else
+			{
+				stageActors.add(preparedActor);
+			}
+		}
+		actorFactory.initialize(terrainActors);
+		preparedCellActors = stageActors;
+	}
+
+	private void notifyPhaseFinished(ZootSceneLoadingPhase phase, long durationNanos)
+	{
+		if(listener != null)
+		{
+			listener.onPhaseFinished(phase, TimeUtils.nanosToMillis(durationNanos));
+		}
+	}
+}
@@ -0,0 +1,366 @@
+package com.zootcat.scene.tiled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.zootcat.map.tiled.ZootTiledMap;
+import com.zootcat.map.tiled.ZootTiledSceneActorFactory;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizationStrategy;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizer;
+import com.zootcat.map.tiled.optimizer.ZootLayerRegion;
+import com.zootcat.map.tiled.optimizer.ZootTiledCellTileComparator;
+import com.zootcat.scene.ZootActor;
+
+/**
+ * Streams actors of big tiled maps. Map is divided into square chunks, actors of the
+ * collision layer regions and map objects are created only for chunks near the view
+ * center and removed when the chunk gets far from it. Chunks are unloaded further than
+ * they are loaded, so moving along the chunk border does not load and unload the same
+ * chunk all the time.<br/>
+ * <br/>
+ * Map objects with {@value #ALWAYS_LOADED_PROPERTY} property set to true are not streamed
+ * and are created with the scene, e.g. the player. Object actors removed from the scene
+ * are not created again, other actors are created from the map in their initial state
+ * when their chunk is loaded again. Object actors that moved into another loaded chunk
+ * are kept until that chunk is unloaded.
+ * @author Cream
+ */
+public class ZootTiledSceneStreamer
+{
+	public static final String ALWAYS_LOADED_PROPERTY = "alwaysLoaded";
+	public static final int DEFAULT_CHUNK_SIZE = 32;
+	public static final int DEFAULT_LOAD_RADIUS = 1;
+	public static final int DEFAULT_UNLOAD_RADIUS = 2;
+
+	private final ZootTiledMap map;
+	private final ZootTiledSceneActorFactory actorFactory;
+	private final Consumer<ZootActor> cellActorConsumer;
+	private final Consumer<ZootActor> objectActorConsumer;
+	private final float unitScale;
+	private final ZootTiledCellTileComparator comparator = new ZootTiledCellTileComparator();
+	private final Rectangle objectBounds = new Rectangle();
+
+	private ZootLayerOptimizationStrategy optimizationStrategy = ZootLayerOptimizer.DEFAULT_STRATEGY;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private int loadRadius = DEFAULT_LOAD_RADIUS;
+	private int unloadRadius = DEFAULT_UNLOAD_RADIUS;
+	private int columns = 0;
+	private int rows = 0;
+	private Chunk[] chunks = new Chunk[0];
+	private final Array<Chunk> loadedChunks = new Array<Chunk>(false, 16);
+	private final IntMap<ZootActor> objectActors = new IntMap<ZootActor>();
+	private final IntSet removedObjectIds = new IntSet();
+	private int loadCount = 0;
+	private int unloadCount = 0;
+
+	public ZootTiledSceneStreamer(ZootTiledMap map, ZootTiledSceneActorFactory actorFactory, float unitScale, Consumer<ZootActor> cellActorConsumer, Consumer<ZootActor> objectActorConsumer)
+	{
+		this.map = map;
+		this.actorFactory = actorFactory;
+		this.unitScale = unitScale;
+		this.cellActorConsumer = cellActorConsumer;
+		this.objectActorConsumer = objectActorConsumer;
+	}
+
+	/**
+	 * Divides the map into chunks and assigns objects to the chunks basing on their center.
+	 * Ids of all objects are reserved, so actors created before the chunks are loaded do not
+	 * take them. Does not touch the scene, so it can be called outside of the render thread.
+	 * @param objects - all map objects
+	 * @return objects that are always loaded and should be created with the scene
+	 */
+	public List<MapObject> partition(List<MapObject> objects)
+	{
+		columns = Math.max(1, MathUtils.ceil(map.getMapWidth() / (float)chunkSize));
+		rows = Math.max(1, MathUtils.ceil(map.getMapHeight() / (float)chunkSize));
+		chunks = new Chunk[columns * rows];
+		for(int row = 0; row < rows; ++row)
+		{
+			for(int col = 0; col < columns; ++col)
+			{
+				chunks[row * columns + col] = new Chunk(col, row);
+			}
+		}
+
+		List<MapObject> alwaysLoadedObjects = new ArrayList<MapObject>();
+		float chunkWidth = chunkSize * map.getTileWidth();
+		float chunkHeight = chunkSize * map.getTileHeight();
+		int maxObjectId = 0;
+		for(MapObject object : objects)
+		{
+			maxObjectId = Math.max(maxObjectId, getObjectId(object));
+			if(object.getProperties().get(ALWAYS_LOADED_PROPERTY, false, Boolean.class))
+			{
+				alwaysLoadedObjects.add(object);
+				continue;
+			}
+
+			getObjectBounds(object, objectBounds);
+			int col = MathUtils.clamp((int)Math.floor((objectBounds.x + objectBounds.width * 0.5f) / chunkWidth), 0, columns - 1);
+			int row = MathUtils.clamp((int)Math.floor((objectBounds.y + objectBounds.height * 0.5f) / chunkHeight), 0, rows - 1);
+			getChunk(col, row).objects.add(object);
+		}
+		actorFactory.reserveActorId(maxObjectId);
+		return alwaysLoadedObjects;
+	}
+
+	/**
+	 * Loads chunks near the view center and unloads chunks far from it. Must be called from the render thread.
+	 * @param x - view center x, in world units
+	 * @param y - view center y, in world units
+	 */
+	public void update(float x, float y)
+	{
+		if(chunks.length == 0) return;
+
+		int centerCol = MathUtils.clamp((int)Math.floor(x / getChunkWorldWidth()), 0, columns - 1);
+		int centerRow = MathUtils.clamp((int)Math.floor(y / getChunkWorldHeight()), 0, rows - 1);
+
+		for(int i = loadedChunks.size - 1; i >= 0; --i)
+		{
+			Chunk chunk = loadedChunks.get(i);
+			if(Math.abs(chunk.col - centerCol) > unloadRadius || Math.abs(chunk.row - centerRow) > unloadRadius)
+			{
+				loadedChunks.removeIndex(i);
+				unload(chunk, centerCol, centerRow);
+			}
+		}
+
+		int startCol = Math.max(0, centerCol - loadRadius);
+		int endCol = Math.min(columns - 1, centerCol + loadRadius);
+		int startRow = Math.max(0, centerRow - loadRadius);
+		int endRow = Math.min(rows - 1, centerRow + loadRadius);
+		for(int row = startRow; row <= endRow; ++row)
+		{
+			for(int col = startCol; col <= endCol; ++col)
+			{
+				Chunk chunk = getChunk(col, row);
+				if(!chunk.loaded)
+				{
+					load(chunk);
+					loadedChunks.add(chunk);
+				}
+			}
+		}
+	}
+
+	private static int getObjectId(MapObject object)
+	{
+		return Integer.valueOf(object.getProperties().get("id").toString());
+	}
+
+	private void load(Chunk chunk)
+	{
+		chunk.loaded = true;
+		++loadCount;
+
+		TiledMapTileLayer collisionLayer = map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME);
+		if(collisionLayer != null)
+		{
+			List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(collisionLayer, comparator, optimizationStrategy, chunk.col * chunkSize, chunk.row * chunkSize, chunkSize, chunkSize);
+			for(ZootLayerRegion region : regions)
+			{
+				ZootActor cellActor = actorFactory.createFromLayerRegion(region);
+				chunk.cellActors.add(cellActor);
+				cellActorConsumer.accept(cellActor);
+			}
+		}
+
+		for(MapObject object : chunk.objects)
+		{
+			int id = getObjectId(object);
+			if(removedObjectIds.contains(id) || objectActors.containsKey(id)) continue;
+
+			ZootActor actor = actorFactory.createFromMapObject(object);
+			objectActors.put(actor.getId(), actor);
+			chunk.objectActors.add(actor);
+			objectActorConsumer.accept(actor);
+		}
+	}
+
+	private void unload(Chunk chunk, int centerCol, int centerRow)
+	{
+		chunk.loaded = false;
+		++unloadCount;
+
+		for(ZootActor cellActor : chunk.cellActors)
+		{
+			cellActor.remove();
+		}
+		chunk.cellActors.clear();
+
+		for(ZootActor actor : chunk.objectActors)
+		{
+			//removed from the scene while the chunk was loaded
+			if(actor.getParent() == null)
+			{
+				removedObjectIds.add(actor.getId());
+				objectActors.remove(actor.getId());
+				continue;
+			}
+
+			//moved into another chunk, which stays loaded or is loaded in this update
+			Chunk current = getChunkAt(actor.getX() + actor.getWidth() * 0.5f, actor.getY() + actor.getHeight() * 0.5f);
+			boolean currentInLoadRadius = Math.abs(current.col - centerCol) <= loadRadius && Math.abs(current.row - centerRow) <= loadRadius;
+			if(current != chunk && (current.loaded || currentInLoadRadius))
+			{
+				current.objectActors.add(actor);
+				continue;
+			}
+
+			objectActors.remove(actor.getId());
+			actor.remove();
+			actor.setScene(null);
+		}
+		chunk.objectActors.clear();
+	}
+
+	private Chunk getChunk(int col, int row)
+	{
+		return chunks[row * columns + col];
+	}
+
+	private Chunk getChunkAt(float x, float y)
+	{
+		int col = MathUtils.clamp((int)Math.floor(x / getChunkWorldWidth()), 0, columns - 1);
+		int row = MathUtils.clamp((int)Math.floor(y / getChunkWorldHeight()), 0, rows - 1);
+		return getChunk(col, row);
+	}
+
+	private float getChunkWorldWidth()
+	{
+		return chunkSize * map.getTileWidth() * unitScale;
+	}
+
+	private float getChunkWorldHeight()
+	{
+		return chunkSize * map.getTileHeight() * unitScale;
+	}
+
+	private static void getObjectBounds(MapObject object, Rectangle bounds)
+	{
+		if(ClassReflection.isInstance(PolygonMapObject.class, object))
+		{
+			bounds.set(((PolygonMapObject)object).getPolygon().getBoundingRectangle());
+			return;
+		}
+
+		MapProperties properties = object.getProperties();
+		bounds.set(getFloat(properties, "x"), getFloat(properties, "y"), getFloat(properties, "width"), getFloat(properties, "height"));
+	}
+
+	private static float getFloat(MapProperties properties, String key)
+	{
+		Object value = properties.get(key);
+		return value != null ? Float.valueOf(value.toString()) : 0.0f;
+	}
+
+	/**
+	 * Sets chunk size in tiles. Must be set before {@link #partition(List)}.
+	 */
+	public void setChunkSize(int chunkSize)
+	{
+		if(chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		this.chunkSize = chunkSize;
+	}
+
+	public int getChunkSize()
+	{
+		return chunkSize;
+	}
+
+	/**
+	 * Sets strategy used to divide the collision layer of each chunk into box regions.
+	 */
+	public void setOptimizationStrategy(ZootLayerOptimizationStrategy strategy)
+	{
+		optimizationStrategy = strategy;
+	}
+
+	public ZootLayerOptimizationStrategy getOptimizationStrategy()
+	{
+		return optimizationStrategy;
+	}
+
+	/**
+	 * Sets distance in chunks from the view center chunk, in which chunks are loaded and unloaded.
+	 * Unload radius must not be smaller than the load radius.
+	 */
+	public void setRadius(int loadRadius, int unloadRadius)
+	{
+		if(loadRadius < 0 || unloadRadius < loadRadius)
+		{
+			throw new IllegalArgumentException("Invalid streaming radius, load: " + loadRadius + ", unload: " + unloadRadius);
+		}
+		this.loadRadius = loadRadius;
+		this.unloadRadius = unloadRadius;
+	}
+
+	public int getLoadRadius()
+	{
+		return loadRadius;
+	}
+
+	public int getUnloadRadius()
+	{
+		return unloadRadius;
+	}
+
+	public int getChunkCount()
+	{
+		return chunks.length;
+	}
+
+	public int getLoadedChunkCount()
+	{
+		return loadedChunks.size;
+	}
+
+	public boolean isChunkLoaded(int col, int row)
+	{
+		return getChunk(col, row).loaded;
+	}
+
+	/**
+	 * Returns how many times chunks were loaded.
+	 */
+	public int getLoadCount()
+	{
+		return loadCount;
+	}
+
+	/**
+	 * Returns how many times chunks were unloaded.
+	 */
+	public int getUnloadCount()
+	{
+		return unloadCount;
+	}
+
+	private static class Chunk
+	{
+		final int col;
+		final int row;
+		final List<MapObject> objects = new ArrayList<MapObject>();
+		final Array<ZootActor> cellActors = new Array<ZootActor>(false, 16);
+		final Array<ZootActor> objectActors = new Array<ZootActor>(false, 16);
+		boolean loaded = false;
+
+		Chunk(int col, int row)
+		{
+			this.col = col;
+			this.row = row;
+		}
+	}
+}
@@ -10,11 +10,11 @@ public class ZootLoadingScreen extends ZootScreenAdapter
 {
 	private int allCount;
 	private int finishedCount;
-	private Consumer<AssetManager> task;
+	private ZootLoadingTask task;
 	
 	private ZootGame game;
 	private AssetManager assetManager;
-	private LinkedList<Consumer<AssetManager>> loadTasks = new LinkedList<Consumer<AssetManager>>();
+	private LinkedList<ZootLoadingTask> loadTasks = new LinkedList<ZootLoadingTask>();
 	
 	private Consumer<ZootGame> onFinishLoading;
 	private Consumer<Float> onRenderWhileLoading;
@@ -34,7 +34,7 @@ public class ZootLoadingScreen extends ZootScreenAdapter
 		if(allCount > 0)
 		{
 			task = loadTasks.remove();
-			task.accept(assetManager);
+			task.start(assetManager);
 		}
 	}
 
@@ -50,7 +50,7 @@ public class ZootLoadingScreen extends ZootScreenAdapter
 		doRenderWhileLoading(delta);
 		if(task != null)
 		{
-			boolean taskFinished = assetManager.update();
+			boolean taskFinished = task.update(assetManager);
 			if(taskFinished)
 			{
 				++finishedCount;
@@ -61,7 +61,7 @@ public class ZootLoadingScreen extends ZootScreenAdapter
 					return;
 				}
 				task = loadTasks.remove();
-				task.accept(assetManager);
+				task.start(assetManager);
 			}
 		}
 	}
@@ -72,13 +72,38 @@ public class ZootLoadingScreen extends ZootScreenAdapter
 	}
 	
 	public void addTask(Consumer<AssetManager> loadTask)
+	{
+		loadTasks.add(new ZootLoadingTask()
+		{
+			@Override
+			public void start(AssetManager assetManager)
+			{
+				loadTask.accept(assetManager);
+			}
+
+			@Override
+			public boolean update(AssetManager assetManager)
+			{
+				return assetManager.update();
+			}
+
+			@Override
+			public float getProgress(AssetManager assetManager)
+			{
+				return assetManager.getProgress();
+			}
+		});
+	}
+	
+	public void addTask(ZootLoadingTask loadTask)
 	{
 		loadTasks.add(loadTask);
 	}
 	
 	public float getProgress()
 	{		
-		float progress = finishedCount / (float)allCount;		
+		float taskProgress = task != null ? task.getProgress(assetManager) : 0.0f;
+		float progress = (finishedCount + taskProgress) / allCount;		
 		return Float.isNaN(progress) ? 0.0f : progress;
 	}
 		
@@ -0,0 +1,15 @@
+package com.zootcat.screen;
+
+import com.badlogic.gdx.assets.AssetManager;
+
+/**
+ * Task executed by {@link ZootLoadingScreen}. Task is started once and then
+ * updated every frame, until it reports it is finished.
+ * @author Cream
+ */
+public interface ZootLoadingTask
+{
+	void start(AssetManager assetManager);
+	boolean update(AssetManager assetManager);
+	float getProgress(AssetManager assetManager);
+}
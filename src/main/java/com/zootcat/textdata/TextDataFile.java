@@ -13,6 +13,7 @@ import com.zootcat.exceptions.ZootException;
 public class TextDataFile
 {
     private File file;
+    private List<String> lines;
     
     public TextDataFile(File file) throws ZootException
     {
@@ -30,8 +31,7 @@ public class TextDataFile
             TextDataSection currentDataSection = null;
             List<TextDataSection> result = new ArrayList<TextDataSection>();
             
-            List<String> lines = Files.readAllLines(Paths.get(file.getAbsolutePath()), Charset.forName("UTF-8"));
-            for(String line : lines)
+            for(String line : readLines())
             {
                 line = line.trim();
                 if(line.isEmpty() || line.startsWith("#"))
@@ -67,5 +67,15 @@ public class TextDataFile
         {
             throw new ZootException(e.getMessage(), e);
         }
+    }
+    
+    private List<String> readLines() throws IOException
+    {
+    	//file is read once, reading more sections does not touch the disk again
+    	if(lines == null)
+    	{
+    		lines = Files.readAllLines(Paths.get(file.getAbsolutePath()), Charset.forName("UTF-8"));
+    	}
+    	return lines;
     }    
 }
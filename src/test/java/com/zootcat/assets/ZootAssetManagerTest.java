@@ -1,8 +1,10 @@
 package com.zootcat.assets;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -16,6 +18,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.zootcat.gfx.ZootAnimationFile;
 import com.zootcat.map.tiled.ZootTiledMap;
+import com.zootcat.map.tiled.ZootTiledMapLoader;
 import com.zootcat.testing.ZootTestUtils;
 import com.zootcat.tools.physicsbodyeditor.PhysicsBodyEditorModel;
 
@@ -61,6 +64,16 @@ public class ZootAssetManagerTest
 		assertEquals(PhysicsBodyEditorModel.class, assetRecognizer.getAssetType("fixtureModel.json"));
 	}
 	
+	@Test
+	public void shouldSetPackAnimationSpriteSheets()
+	{
+		assertFalse(assetManager.isPackAnimationSpriteSheets());
+		
+		assetManager.setPackAnimationSpriteSheets(true);
+		assertTrue(assetManager.isPackAnimationSpriteSheets());
+		assertTrue(((ZootTiledMapLoader)assetManager.getLoader(ZootTiledMap.class)).isPackAnimationSpriteSheets());
+	}
+	
 	@Test
 	public void shouldReturnNullWhenFilenameIsNullOrEmpty()
 	{
@@ -0,0 +1,182 @@
+package com.zootcat.controllers.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.zootcat.controllers.factory.mocks.EnumParam;
+import com.zootcat.controllers.factory.mocks.MockDerivedController;
+import com.zootcat.controllers.factory.mocks.MockEnumParamController;
+import com.zootcat.controllers.factory.mocks.MockGlobalParamController;
+import com.zootcat.controllers.factory.mocks.MockPrimitiveParamsController;
+import com.zootcat.controllers.factory.mocks.MockRequiredParamController;
+import com.zootcat.exceptions.RuntimeZootException;
+
+public class ControllerBinderTest
+{
+	private Map<String, Object> params;
+	private Map<String, Object> globalParams;
+	
+	@Before
+	public void setup()
+	{
+		params = new HashMap<String, Object>();
+		globalParams = new HashMap<String, Object>();
+	}
+	
+	@Test
+	public void shouldReturnControllerClass()
+	{
+		ControllerBinder binder = new ControllerBinder(MockPrimitiveParamsController.class);
+		assertEquals(MockPrimitiveParamsController.class, binder.getControllerClass());
+	}
+	
+	@Test
+	public void shouldCreateNewControllerEachTime()
+	{
+		//given
+		ControllerBinder binder = new ControllerBinder(MockPrimitiveParamsController.class);
+		
+		//when
+		MockPrimitiveParamsController ctrl1 = (MockPrimitiveParamsController) binder.create(params, globalParams);
+		MockPrimitiveParamsController ctrl2 = (MockPrimitiveParamsController) binder.create(params, globalParams);
+		
+		//then
+		assertNotSame(ctrl1, ctrl2);
+	}
+	
+	@Test
+	public void shouldAssignPrimitiveParams()
+	{
+		//given
+		params.put("intParam", 1);
+		params.put("floatParam", 2.0f);
+		params.put("doubleParam", 3.0);
+		params.put("stringParam", "test");
+		params.put("booleanParam", true);
+		
+		//when
+		ControllerBinder binder = new ControllerBinder(MockPrimitiveParamsController.class);
+		MockPrimitiveParamsController ctrl = (MockPrimitiveParamsController) binder.create(params, globalParams);
+		
+		//then
+		assertEquals(1, ctrl.getIntParam());
+		assertEquals(2.0f, ctrl.getFloatParam(), 0.0f);
+		assertEquals(3.0, ctrl.getDoubleParam(), 0.0f);
+		assertEquals("test", ctrl.getStringParam());
+		assertTrue(ctrl.getBooleanParam());
+	}
+	
+	@Test
+	public void shouldWidenNumericParams()
+	{
+		//given
+		params.put("floatParam", 2);
+		params.put("doubleParam", 3.5f);
+		
+		//when
+		ControllerBinder binder = new ControllerBinder(MockPrimitiveParamsController.class);
+		MockPrimitiveParamsController ctrl = (MockPrimitiveParamsController) binder.create(params, globalParams);
+		
+		//then
+		assertEquals(2.0f, ctrl.getFloatParam(), 0.0f);
+		assertEquals(3.5, ctrl.getDoubleParam(), 0.0f);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowOnInvalidParamType()
+	{
+		//given
+		params.put("intParam", "string");
+		
+		//then
+		new ControllerBinder(MockPrimitiveParamsController.class).create(params, globalParams);
+	}
+	
+	@Test
+	public void shouldAssignEnumParam()
+	{
+		//given
+		params.put("enumParam", EnumParam.ENUM_VALUE_2.toString().toLowerCase());
+		
+		//when
+		ControllerBinder binder = new ControllerBinder(MockEnumParamController.class);
+		MockEnumParamController ctrl = (MockEnumParamController) binder.create(params, globalParams);
+		
+		//then
+		assertEquals(EnumParam.ENUM_VALUE_2, ctrl.getEnum());
+	}
+	
+	@Test(expected = RuntimeZootException.class)
+	public void shouldThrowOnInvalidEnumValue()
+	{
+		//given
+		params.put("enumParam", "invalid");
+		
+		//then
+		new ControllerBinder(MockEnumParamController.class).create(params, globalParams);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowWhenRequiredParamIsMissing()
+	{
+		new ControllerBinder(MockRequiredParamController.class).create(params, globalParams);
+	}
+	
+	@Test
+	public void shouldAssignGlobalParamFromGlobalParams()
+	{
+		//given
+		params.put("local", 1);
+		params.put("global", 3);
+		globalParams.put("global", 2);
+		
+		//when
+		ControllerBinder binder = new ControllerBinder(MockGlobalParamController.class);
+		MockGlobalParamController ctrl = (MockGlobalParamController) binder.create(params, globalParams);
+		
+		//then
+		assertEquals(1, ctrl.getLocal());
+		assertEquals(2, ctrl.getGlobal());
+	}
+	
+	@Test
+	public void shouldUseCurrentGlobalParamValue()
+	{
+		//given
+		params.put("local", 1);
+		ControllerBinder binder = new ControllerBinder(MockGlobalParamController.class);
+		
+		//when
+		globalParams.put("global", 2);
+		MockGlobalParamController ctrl1 = (MockGlobalParamController) binder.create(params, globalParams);
+		globalParams.put("global", 5);
+		MockGlobalParamController ctrl2 = (MockGlobalParamController) binder.create(params, globalParams);
+		
+		//then
+		assertEquals(2, ctrl1.getGlobal());
+		assertEquals(5, ctrl2.getGlobal());
+	}
+	
+	@Test
+	public void shouldAssignInheritedParams()
+	{
+		//given
+		params.put("baseParam", 1);
+		params.put("derivedParam", 2);
+		
+		//when
+		ControllerBinder binder = new ControllerBinder(MockDerivedController.class);
+		MockDerivedController ctrl = (MockDerivedController) binder.create(params, globalParams);
+		
+		//then
+		assertEquals(1, ctrl.getBaseParam());
+		assertEquals(2, ctrl.getDerivedParam());
+	}
+}
@@ -3,6 +3,7 @@ package com.zootcat.controllers.factory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
@@ -327,4 +328,38 @@ public class ControllerFactoryTest
 		assertEquals(1, ctrl.getBaseParam());
 		assertEquals(2, ctrl.getDerivedParam());
     }
+    
+    @Test
+    public void getBinderShouldReturnCachedBinder()
+    {
+    	ControllerBinder binder = factory.getBinder(MockPrimitiveParamsController.class);
+    	assertEquals(MockPrimitiveParamsController.class, binder.getControllerClass());
+    	assertSame(binder, factory.getBinder(MockPrimitiveParamsController.class));
+    }
+    
+    @Test(expected = RuntimeZootException.class)
+    public void shouldThrowOnInvalidParameterType()
+    {
+		//given
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("intParam", "string");
+		
+		//when
+		factory.add(MockPrimitiveParamsController.class);
+		factory.create(MockPrimitiveParamsController.class.getSimpleName(), params);
+    }
+    
+    @Test
+    public void addFromRegistryShouldAddControllersWhenRegistryIsPresent()
+    {
+    	//given
+    	ControllerFactory registryFactory = new ControllerFactory(false);
+    	
+    	//when
+    	boolean added = registryFactory.addFromRegistry();
+    	
+    	//then
+    	assertEquals(ControllerRegistry.load() != null, added);
+    	assertEquals(added, registryFactory.getSize() > 0);
+    }
 }
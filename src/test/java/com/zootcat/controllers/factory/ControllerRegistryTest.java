@@ -0,0 +1,100 @@
+package com.zootcat.controllers.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.zootcat.controllers.Controller;
+import com.zootcat.controllers.factory.mocks.AbstractController;
+import com.zootcat.controllers.factory.mocks.InterfaceOnlyController;
+import com.zootcat.controllers.factory.mocks.Mock1Controller;
+import com.zootcat.controllers.factory.mocks.Mock2Controller;
+import com.zootcat.controllers.factory.mocks.NotAController;
+import com.zootcat.controllers.factory.mocks.inner.Mock3Controller;
+
+public class ControllerRegistryTest
+{
+	@Test
+	public void shouldReadClassNames() throws IOException
+	{
+		//given
+		Reader reader = new StringReader("# comment\n\na.b.FirstController\n  a.b.SecondController  \n");
+		
+		//when
+		List<String> classNames = ControllerRegistry.read(reader);
+		
+		//then
+		assertEquals(Arrays.asList("a.b.FirstController", "a.b.SecondController"), classNames);
+	}
+	
+	@Test
+	public void shouldWriteAndReadControllers() throws IOException
+	{
+		//given
+		StringWriter writer = new StringWriter();
+		
+		//when
+		ControllerRegistry.write(Arrays.asList(Mock1Controller.class, Mock2Controller.class), writer);
+		List<String> classNames = ControllerRegistry.read(new StringReader(writer.toString()));
+		
+		//then
+		assertEquals(Arrays.asList(Mock1Controller.class.getName(), Mock2Controller.class.getName()), classNames);
+	}
+	
+	@Test
+	public void shouldFilterOutNotCreatableClasses()
+	{
+		//when
+		List<Class<? extends Controller>> controllers = ControllerRegistry.filterControllers(Arrays.asList(
+				Mock2Controller.class, 
+				InterfaceOnlyController.class, 
+				AbstractController.class, 
+				NotAController.class, 
+				Mock1Controller.class));
+		
+		//then
+		assertEquals(Arrays.asList(Mock1Controller.class, Mock2Controller.class), controllers);
+	}
+	
+	@Test
+	public void shouldGenerateRegistryFile() throws IOException
+	{
+		//given
+		File outputDir = Files.createTempDirectory("registry").toFile();
+		
+		//when
+		ControllerRegistry.main(new String[]{ outputDir.getPath(), "com.zootcat.controllers.factory.mocks" });
+		
+		//then
+		File registryFile = new File(outputDir, ControllerRegistry.REGISTRY_FILE);
+		assertTrue(registryFile.exists());
+		try(Reader reader = new InputStreamReader(new FileInputStream(registryFile), StandardCharsets.UTF_8))
+		{
+			List<String> classNames = ControllerRegistry.read(reader);
+			assertTrue(classNames.contains(Mock1Controller.class.getName()));
+			assertTrue(classNames.contains(Mock3Controller.class.getName()));
+			assertFalse(classNames.contains(NotAController.class.getName()));
+			assertFalse(classNames.contains(AbstractController.class.getName()));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowWhenGeneratingWithoutPackage() throws IOException
+	{
+		ControllerRegistry.main(new String[]{ "output" });
+	}
+}
@@ -3,22 +3,30 @@ package com.zootcat.controllers.gfx;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyFloat;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.util.Collections;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -29,11 +37,16 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.zootcat.assets.ZootAssetManager;
 import com.zootcat.controllers.factory.ControllerAnnotations;
 import com.zootcat.controllers.logic.DirectionController;
 import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.exceptions.ZootException;
 import com.zootcat.game.ZootGame;
+import com.zootcat.gfx.ZootAnimation;
+import com.zootcat.gfx.ZootAnimationFile;
+import com.zootcat.gfx.ZootAnimationTemplate;
 import com.zootcat.gfx.ZootGraphicsFactory;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.ZootDirection;
@@ -129,6 +142,44 @@ public class AnimatedSpriteControllerTest
 		assertEquals("Startup", animatedSpriteCtrl.getCurrentAnimation().getName());
 	}
 	
+	@Test
+	public void shouldUseAnimationTemplatesLoadedByAssetManager() throws ZootException
+	{
+		//given
+		ZootAnimationFile animationFile = new ZootAnimationFile(new File(animationFilePath));
+		animationFile.setSpriteSheetTextures(Collections.singletonMap("default", animationImage));
+		when(assetManager.isLoaded(animationFilePath, ZootAnimationFile.class)).thenReturn(true);
+		when(assetManager.get(animationFilePath, ZootAnimationFile.class)).thenReturn(animationFile);
+		
+		AnimatedSpriteController otherCtrl = new AnimatedSpriteController();
+		ControllerAnnotations.setControllerParameter(otherCtrl, "file", animationFilePath);
+		ControllerAnnotations.setControllerParameter(otherCtrl, "scene", scene);
+		ControllerAnnotations.setControllerParameter(otherCtrl, "game", game);
+		ControllerAnnotations.setControllerParameter(otherCtrl, "assetManager", assetManager);
+		
+		//when
+		animatedSpriteCtrl.init(actor);
+		otherCtrl.init(actor);
+		
+		//then
+		ZootAnimationTemplate idleTemplate = animationFile.getTemplates().get(ZootAnimation.getAnimationId("Idle"));
+		assertSame(idleTemplate, animatedSpriteCtrl.getAnimation("Idle").getTemplate());
+		assertSame(idleTemplate, otherCtrl.getAnimation("Idle").getTemplate());
+		assertNotSame(animatedSpriteCtrl.getAnimation("Idle"), otherCtrl.getAnimation("Idle"));
+		verify(assetManager, never()).get(anyString());
+	}
+	
+	@Test
+	public void shouldReadAnimationFileWhenNotLoadedByAssetManager()
+	{
+		//when
+		animatedSpriteCtrl.init(actor);
+		
+		//then
+		assertNotNull(animatedSpriteCtrl.getAnimation("Idle").getTemplate());
+		verify(assetManager).get(anyString());
+	}
+	
 	@Test
 	public void shouldHaveAllAnimationsIncludedInTheFile()
 	{
@@ -267,6 +318,71 @@ public class AnimatedSpriteControllerTest
 		verify(sprite).draw(batch);		
 	}
 	
+	@Test
+	public void shouldRenderSpriteAtActorPositionChangedAfterUpdate()
+	{
+		//given
+		Batch batch = mock(Batch.class);
+		animatedSpriteCtrl.init(actor);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		reset(sprite);
+		
+		//when - actor is moved between update and render, as with render interpolation
+		when(actor.getX()).thenReturn(10.0f);
+		when(actor.getY()).thenReturn(20.0f);
+		animatedSpriteCtrl.onRender(batch, 1.0f, actor, 1.0f);
+		
+		//then
+		InOrder inOrder = inOrder(sprite);
+		inOrder.verify(sprite).setBounds(eq(10.0f), eq(20.0f), anyFloat(), anyFloat());
+		inOrder.verify(sprite).draw(batch);
+	}
+	
+	@Test
+	public void shouldNotUpdateSpriteOnRenderIfNothingHasChanged()
+	{
+		//given
+		Batch batch = mock(Batch.class);
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		animatedSpriteCtrl.onRender(batch, 1.0f, actor, 1.0f);
+		
+		//then
+		verify(sprite, never()).setBounds(anyFloat(), anyFloat(), anyFloat(), anyFloat());
+		verify(sprite).draw(batch);
+	}
+	
+	@Test
+	public void renderBoundsShouldBeSpriteBoundsWithOverdraw()
+	{
+		//given
+		when(sprite.getBoundingRectangle()).thenReturn(new Rectangle(1.0f, 2.0f, 30.0f, 40.0f));
+		animatedSpriteCtrl.setOverdraw(0.5f);
+		animatedSpriteCtrl.init(actor);
+		
+		//when
+		Rectangle bounds = animatedSpriteCtrl.getRenderBounds(actor, new Rectangle());
+		
+		//then
+		assertEquals(new Rectangle(0.5f, 1.5f, 31.0f, 41.0f), bounds);
+	}
+	
+	@Test
+	public void renderBoundsShouldBeActorBoundsBeforeInit()
+	{
+		//given
+		when(actor.getX()).thenReturn(5.0f);
+		when(actor.getY()).thenReturn(6.0f);
+		
+		//when
+		Rectangle bounds = animatedSpriteCtrl.getRenderBounds(actor, new Rectangle());
+		
+		//then
+		assertEquals(new Rectangle(5.0f, 6.0f, ACTOR_WIDTH, ACTOR_HEIGHT), bounds);
+	}
+	
 	@Test
 	public void shouldUpdateCurrentAnimationTimeOnUpdate()
 	{
@@ -281,6 +397,161 @@ public class AnimatedSpriteControllerTest
 		assertEquals(0.5f, animatedSpriteCtrl.getCurrentAnimation().getAnimationTime(), 0.0f);		
 	}
 	
+	@Test
+	public void shouldNotUpdateSpriteIfNothingHasChanged()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verifyZeroInteractions(sprite);
+	}
+	
+	@Test
+	public void shouldUpdateSpriteWhenKeyFrameChanges()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		animatedSpriteCtrl.getCurrentAnimation().start();
+		reset(sprite);
+		
+		//when
+		animatedSpriteCtrl.onUpdate(animatedSpriteCtrl.getCurrentAnimation().getFrameDuration(), actor);
+		
+		//then
+		verify(sprite).setRegion((TextureRegion)any());
+		verify(sprite).setBounds(anyFloat(), anyFloat(), anyFloat(), anyFloat());
+	}
+	
+	@Test
+	public void shouldUpdateSpriteWhenActorMoves()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		when(actor.getX()).thenReturn(10.0f);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setBounds(eq(10.0f), anyFloat(), anyFloat(), anyFloat());
+	}
+	
+	@Test
+	public void shouldUpdateSpriteWhenActorRotationChanges()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		when(actor.getRotation()).thenReturn(45.0f);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setRotation(45.0f);
+	}
+	
+	@Test
+	public void shouldUpdateSpriteWhenActorColorChanges()
+	{
+		//given
+		when(actor.getColor()).thenReturn(Color.WHITE);
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		when(actor.getColor()).thenReturn(Color.RED);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setColor(Color.RED);
+	}
+	
+	@Test
+	public void shouldUpdateSpriteWhenDirectionChanges()
+	{
+		//given
+		when(directionCtrl.getDirection()).thenReturn(ZootDirection.Right);
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		when(directionCtrl.getDirection()).thenReturn(ZootDirection.Left);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setFlip(true, false);
+	}
+	
+	@Test
+	public void shouldUpdateSpriteWhenOffsetChanges()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		animatedSpriteCtrl.setOffset(5.0f, 0.0f);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setBounds(eq(5.0f), anyFloat(), anyFloat(), anyFloat());
+	}
+	
+	@Test
+	public void shouldUpdateSpriteAfterItWasInvalidated()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		animatedSpriteCtrl.invalidateSprite();
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setBounds(anyFloat(), anyFloat(), anyFloat(), anyFloat());
+	}
+	
+	@Test
+	public void shouldCacheDirectionController()
+	{
+		//given
+		animatedSpriteCtrl.init(actor);
+		
+		//when
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(actor, times(1)).tryGetSingleController(DirectionController.class);
+	}
+	
+	@Test
+	public void shouldFindDirectionControllerAgainWhenActorControllersChange()
+	{
+		//given
+		when(actor.tryGetSingleController(DirectionController.class)).thenReturn(null);
+		animatedSpriteCtrl.init(actor);
+		reset(sprite);
+		
+		//when
+		when(directionCtrl.getDirection()).thenReturn(ZootDirection.Left);
+		when(actor.tryGetSingleController(DirectionController.class)).thenReturn(directionCtrl);
+		when(actor.getControllersVersion()).thenReturn(1);
+		animatedSpriteCtrl.onUpdate(0.0f, actor);
+		
+		//then
+		verify(sprite).setFlip(true, false);
+	}
+	
 	@Test
 	public void shouldDoNothingWithSpriteOnUpdateIfCurrentAnimationIsNull()
 	{
@@ -7,6 +7,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
 import com.zootcat.scene.ZootActor;
 
 public class RenderControllerAdapterTest
@@ -47,4 +48,58 @@ public class RenderControllerAdapterTest
 		assertEquals(1.0f, ctrl.getOffsetX(), 0.0f);
 		assertEquals(-2.0f, ctrl.getOffsetY(), 0.0f);
 	}
+	
+	@Test
+	public void shouldSetOverdraw()
+	{
+		assertEquals(0.0f, ctrl.getOverdraw(), 0.0f);
+		
+		ctrl.setOverdraw(2.5f);
+		assertEquals(2.5f, ctrl.getOverdraw(), 0.0f);
+	}
+	
+	@Test
+	public void renderBoundsShouldBeActorBoundsByDefault()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		actor.setBounds(1.0f, 2.0f, 3.0f, 4.0f);
+		
+		//when
+		Rectangle bounds = ctrl.getRenderBounds(actor, new Rectangle());
+		
+		//then
+		assertEquals(new Rectangle(1.0f, 2.0f, 3.0f, 4.0f), bounds);
+	}
+	
+	@Test
+	public void renderBoundsShouldIncludeOffsetAndOverdraw()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		actor.setBounds(1.0f, 2.0f, 3.0f, 4.0f);
+		ctrl.setOffset(10.0f, -10.0f);
+		ctrl.setOverdraw(1.0f);
+		
+		//when
+		Rectangle bounds = ctrl.getRenderBounds(actor, new Rectangle());
+		
+		//then
+		assertEquals(new Rectangle(10.0f, -9.0f, 5.0f, 6.0f), bounds);
+	}
+	
+	@Test
+	public void renderBoundsShouldContainRotatedActor()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		actor.setBounds(0.0f, 0.0f, 6.0f, 8.0f);
+		actor.setRotation(45.0f);
+		
+		//when
+		Rectangle bounds = ctrl.getRenderBounds(actor, new Rectangle());
+		
+		//then
+		assertEquals(new Rectangle(-2.0f, -1.0f, 10.0f, 10.0f), bounds);
+	}
 }
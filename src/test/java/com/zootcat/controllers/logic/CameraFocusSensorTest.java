@@ -10,6 +10,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -44,7 +47,7 @@ public class CameraFocusSensorTest
 		MockitoAnnotations.initMocks(this);
 		when(scene.getUnitScale()).thenReturn(1.0f);
 		when(scene.getCamera()).thenReturn(camera);
-		when(scene.getFirstActor(any())).thenReturn(actor);
+		when(scene.getActorsByName(FOCUSED_ACTOR_NAME)).thenReturn(Arrays.asList(actor));
 		when(camera.getScrollingStrategy()).thenReturn(previousScrollingStrategy);
 		when(camera.getZoom()).thenReturn(0.0f);
 		
@@ -162,7 +165,7 @@ public class CameraFocusSensorTest
 	public void shouldThrowIfFocusActorWasNotFound()
 	{
 		//given
-		when(scene.getFirstActor(any())).thenReturn(null);
+		when(scene.getActorsByName(FOCUSED_ACTOR_NAME)).thenReturn(Collections.emptyList());
 		
 		//when
 		cameraFocusSensor.preUpdate(1.0f, mock(ZootActor.class));
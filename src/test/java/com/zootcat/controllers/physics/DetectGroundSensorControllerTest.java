@@ -27,6 +27,7 @@ import com.zootcat.controllers.factory.ControllerAnnotations;
 import com.zootcat.fsm.events.ZootActorEventCounterListener;
 import com.zootcat.fsm.events.ZootEvent;
 import com.zootcat.fsm.events.ZootEventType;
+import com.zootcat.physics.ZootCollisionEvent;
 import com.zootcat.physics.ZootPhysics;
 import com.zootcat.physics.ZootFixtureDefBuilder.FixtureDimensions;
 import com.zootcat.scene.ZootActor;
@@ -122,7 +123,7 @@ public class DetectGroundSensorControllerTest
 		
 		//then
 		assertFalse("Sensor fixture should be removed", physicsCtrl.getFixtures().contains(groundCtrl.getSensor(), true));
-		assertFalse("Actor should have deregistered ground detector listener", ctrlActor.getListeners().contains(groundCtrl, true));
+		assertEquals("Actor should have deregistered ground detector listener", 0, physics.getCollisionDispatcher().getListeners(physicsCtrl.getBody(), ZootCollisionEvent.Type.BeginContact).length);
 	}
 	
 	@Test
@@ -139,7 +140,7 @@ public class DetectGroundSensorControllerTest
 		assertTrue("Fixture should be a sensor", feetFixture.isSensor());		
 		assertEquals("Fixture should be assigned to proper body", physicsCtrl.getBody(), feetFixture.getBody());
 		assertEquals("Fixture shape should be polygon", Type.Polygon, feetFixture.getShape().getType());		
-		assertTrue("Actor should have registered ground detector listener", ctrlActor.getListeners().contains(groundCtrl, true));
+		assertEquals("Actor should have registered ground detector listener", groundCtrl, physics.getCollisionDispatcher().getListeners(physicsCtrl.getBody(), ZootCollisionEvent.Type.BeginContact)[0]);
 	}
 	
 	@Test
@@ -22,6 +22,7 @@ import org.mockito.MockitoAnnotations;
 import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.ChainShape;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
@@ -305,6 +306,73 @@ public class FixtureControllerTest
 					def.shape.getRadius(), 0.0f);
 	}
 	
+	@Test
+	public void shouldCreateChainFixturesFromOutlines()
+	{
+		//given
+		float[] outer = {-5.0f, -10.0f, 5.0f, -10.0f, 5.0f, 10.0f, -5.0f, 10.0f};
+		float[] hole = {-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f, 1.0f, -1.0f};
+		ControllerAnnotations.setControllerParameter(ctrl, "category", "CAT");
+		ControllerAnnotations.setControllerParameter(ctrl, "friction", 0.5f);
+		
+		//when
+		actor.setSize(ACTOR_WIDTH, ACTOR_HEIGHT);
+		ctrl.setOutlines(new float[][]{outer, hole});
+		ctrl.setDisposeShapesAutomatically(false);
+		ctrl.init(actor);
+		ctrl.onAdd(actor);
+		
+		//then
+		verify(physicsBodyCtrl, times(2)).addFixture(fixtureDefCaptor.capture(), eq(actor));
+		for(FixtureDef def : fixtureDefCaptor.getAllValues())
+		{
+			assertTrue("Should create chain shape", def.shape instanceof ChainShape);
+			assertEquals(0.5f, def.friction, 0.0f);
+			assertEquals(BitMaskConverter.Instance.fromString("CAT"), def.filter.categoryBits);
+		}
+		
+		Vector2 vertex = new Vector2();
+		ChainShape outerShape = (ChainShape)fixtureDefCaptor.getAllValues().get(0).shape;
+		outerShape.getVertex(2, vertex);
+		assertEquals(new Vector2(5.0f, 10.0f), vertex);
+	}
+	
+	@Test
+	public void shouldIgnoreOutlinesForSensors()
+	{
+		//given
+		ControllerAnnotations.setControllerParameter(ctrl, "sensor", true);
+		
+		//when
+		actor.setSize(ACTOR_WIDTH, ACTOR_HEIGHT);
+		ctrl.setOutlines(new float[][]{{-5.0f, -10.0f, 5.0f, -10.0f, 5.0f, 10.0f, -5.0f, 10.0f}});
+		ctrl.setDisposeShapesAutomatically(false);
+		ctrl.init(actor);
+		ctrl.onAdd(actor);
+		
+		//then
+		verify(physicsBodyCtrl).addFixture(fixtureDefCaptor.capture(), eq(actor));
+		assertTrue(fixtureDefCaptor.getValue().shape instanceof PolygonShape);
+		assertTrue(fixtureDefCaptor.getValue().isSensor);
+	}
+	
+	@Test
+	public void shouldIgnoreOutlinesForNonBoxShapes()
+	{
+		//given
+		ControllerAnnotations.setControllerParameter(ctrl, "shape", ZootBodyShape.CIRCLE);
+		
+		//when
+		ctrl.setOutlines(new float[][]{{0.0f, 0.0f, 1.0f, 0.0f, 1.0f, 1.0f}});
+		ctrl.setDisposeShapesAutomatically(false);
+		ctrl.init(actor);
+		ctrl.onAdd(actor);
+		
+		//then
+		verify(physicsBodyCtrl).addFixture(fixtureDefCaptor.capture(), eq(actor));
+		assertTrue(fixtureDefCaptor.getValue().shape instanceof CircleShape);
+	}
+	
 	@Test
 	public void shouldAddValueToCollisionMask()
 	{		
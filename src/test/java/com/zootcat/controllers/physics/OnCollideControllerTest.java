@@ -18,6 +18,7 @@ import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
 import com.zootcat.controllers.factory.ControllerAnnotations;
+import com.zootcat.physics.ZootCollisionEvent.Type;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.utils.BitMaskConverter;
 
@@ -68,6 +69,15 @@ public class OnCollideControllerTest
 		BitMaskConverter.Instance.clear();
 	}
 	
+	@Test
+	public void shouldBeInterestedOnlyInBeginAndEndContact()
+	{
+		assertTrue(ctrl.isInterestedIn(Type.BeginContact));
+		assertTrue(ctrl.isInterestedIn(Type.EndContact));
+		assertFalse(ctrl.isInterestedIn(Type.PreSolve));
+		assertFalse(ctrl.isInterestedIn(Type.PostSolve));
+	}
+	
 	@Test
 	public void shouldReturnControllerActor()
 	{
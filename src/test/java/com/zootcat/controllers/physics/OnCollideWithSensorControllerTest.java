@@ -29,6 +29,7 @@ import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.Shape.Type;
 import com.zootcat.controllers.factory.ControllerAnnotations;
 import com.zootcat.math.ZootBoundingBoxFactory;
+import com.zootcat.physics.ZootCollisionEvent;
 import com.zootcat.physics.ZootFixtureDefBuilder.FixtureDimensions;
 import com.zootcat.physics.ZootPhysics;
 import com.zootcat.scene.ZootActor;
@@ -358,7 +359,9 @@ public class OnCollideWithSensorControllerTest
 		ctrl.onAdd(ctrlActor);
 		
 		//then
-		assertTrue("Listener not registered", ctrlActor.getListeners().contains(ctrl, true));
+		assertEquals("Listener not registered", ctrl, physics.getCollisionDispatcher().getListeners(physicsCtrl.getBody(), ZootCollisionEvent.Type.BeginContact)[0]);
+		assertEquals("Listener not registered", ctrl, physics.getCollisionDispatcher().getListeners(physicsCtrl.getBody(), ZootCollisionEvent.Type.PreSolve)[0]);
+		assertEquals("Listener should not be registered", 0, physics.getCollisionDispatcher().getListeners(physicsCtrl.getBody(), ZootCollisionEvent.Type.PostSolve).length);
 	}
 	
 	@Test
@@ -4,8 +4,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyFloat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,7 +35,11 @@ import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.zootcat.controllers.ControllerPriority;
 import com.zootcat.controllers.factory.ControllerAnnotations;
+import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.physics.ZootBodyActivator;
+import com.zootcat.physics.ZootCollisionListener;
 import com.zootcat.physics.ZootPhysics;
+import com.zootcat.physics.ZootShapeFactory;
 import com.zootcat.scene.ZootActor;
 import com.zootcat.scene.ZootScene;
 
@@ -91,6 +98,7 @@ public class PhysicsBodyControllerTest
 		assertTrue(physicsBodyCtrl.canRotate);
 		assertTrue(physicsBodyCtrl.canSleep);
 		assertEquals(BodyType.DynamicBody, physicsBodyCtrl.type);	
+		assertFalse(physicsBodyCtrl.alwaysActive);
 	}
 	
 	@Test
@@ -135,6 +143,35 @@ public class PhysicsBodyControllerTest
 		verify(body).setActive(true);
 	}
 	
+	@Test
+	public void shouldNotMarkBodyAsAlwaysActiveByDefault()
+	{
+		//given
+		ZootBodyActivator activator = mock(ZootBodyActivator.class);
+		when(physics.getBodyActivator()).thenReturn(activator);
+		
+		//when
+		physicsBodyCtrl.onAdd(ctrlActor);
+		
+		//then
+		verify(activator, never()).addAlwaysActiveBody(body);
+	}
+	
+	@Test
+	public void shouldMarkBodyAsAlwaysActive()
+	{
+		//given
+		ZootBodyActivator activator = mock(ZootBodyActivator.class);
+		when(physics.getBodyActivator()).thenReturn(activator);
+		ControllerAnnotations.setControllerParameter(physicsBodyCtrl, "alwaysActive", true);
+		
+		//when
+		physicsBodyCtrl.onAdd(ctrlActor);
+		
+		//then
+		verify(activator).addAlwaysActiveBody(body);
+	}
+	
 	@Test
 	public void shouldRemoveBodyFromPhysics()
 	{
@@ -168,6 +205,13 @@ public class PhysicsBodyControllerTest
 		assertEquals(256.0f, physicsBodyCtrl.getVelocity().y, 0.0f);
 	}
 	
+	@Test
+	public void shouldReturnIfBodyIsBullet()
+	{
+		when(body.isBullet()).thenReturn(true);
+		assertTrue(physicsBodyCtrl.isBullet());
+	}
+	
 	@Test
 	public void shouldSetVelocityForBothParameters()
 	{
@@ -349,7 +393,7 @@ public class PhysicsBodyControllerTest
 		physicsBodyCtrl.removeFixture(fixture);
 		
 		assertEquals(0, physicsBodyCtrl.getFixtures().size());
-		verify(body).destroyFixture(fixture);
+		verify(physics).destroyFixture(body, fixture);
 	}
 	
 	@Test
@@ -385,6 +429,47 @@ public class PhysicsBodyControllerTest
 		verify(ctrlActor).setRotation(expectedDegrees);
 	}
 	
+	@Test
+	public void interpolateShouldSetTransformBetweenPreviousAndCurrentStep()
+	{
+		//given
+		when(physics.getStepCount()).thenReturn(5L);
+		when(body.getPosition()).thenReturn(new Vector2(10.0f, 20.0f));
+		when(body.getAngle()).thenReturn(0.0f);
+		physicsBodyCtrl.onUpdate(1.0f, ctrlActor);
+		
+		when(physics.getStepCount()).thenReturn(6L);
+		when(body.getPosition()).thenReturn(new Vector2(20.0f, 40.0f));
+		when(body.getAngle()).thenReturn(1.0f);
+		
+		//when
+		physicsBodyCtrl.interpolate(0.25f, ctrlActor);
+		
+		//then
+		verify(ctrlActor).setPosition(12.5f - ACTOR_WIDTH * 0.5f, 25.0f - ACTOR_HEIGHT * 0.5f);
+		verify(ctrlActor).setRotation(0.25f * MathUtils.radiansToDegrees);
+	}
+	
+	@Test
+	public void interpolateShouldUseCurrentTransformWhenPreviousIsOutdated()
+	{
+		//given
+		when(physics.getStepCount()).thenReturn(5L);
+		when(body.getPosition()).thenReturn(new Vector2(10.0f, 20.0f));
+		physicsBodyCtrl.onUpdate(1.0f, ctrlActor);
+		
+		when(physics.getStepCount()).thenReturn(7L);
+		when(body.getPosition()).thenReturn(new Vector2(20.0f, 40.0f));
+		when(body.getAngle()).thenReturn(1.0f);
+		
+		//when
+		physicsBodyCtrl.interpolate(0.25f, ctrlActor);
+		
+		//then
+		verify(ctrlActor).setPosition(20.0f - ACTOR_WIDTH * 0.5f, 40.0f - ACTOR_HEIGHT * 0.5f);
+		verify(ctrlActor).setRotation(1.0f * MathUtils.radiansToDegrees);
+	}
+	
 	@Test
 	public void shouldTakeVelocityFromBody()
 	{
@@ -430,5 +515,60 @@ public class PhysicsBodyControllerTest
 	public void shouldBeSingleton()
 	{
 		assertTrue(physicsBodyCtrl.isSingleton());
-	}
+	}
+	
+	@Test
+	public void shouldUseSharedBody()
+	{
+		//given
+		Body sharedBody = mock(Body.class);
+		PhysicsBodyController ctrl = new PhysicsBodyController();
+		ControllerAnnotations.setControllerParameter(ctrl, "scene", scene);
+		ctrl.setSharedBody(sharedBody);
+		
+		//when
+		ctrl.init(ctrlActor);
+		ctrl.onAdd(ctrlActor);
+		ctrl.onUpdate(1.0f, ctrlActor);
+		
+		//then
+		assertTrue(ctrl.isSharedBody());
+		assertEquals(sharedBody, ctrl.getBody());
+		verify(sharedBody, never()).setUserData(any());
+		verify(sharedBody, never()).setActive(anyBoolean());
+		verify(ctrlActor, never()).setPosition(anyFloat(), anyFloat());
+	}
+	
+	@Test
+	public void onRemoveShouldNotRemoveSharedBody()
+	{
+		//given
+		Body sharedBody = mock(Body.class);
+		PhysicsBodyController ctrl = new PhysicsBodyController();
+		ControllerAnnotations.setControllerParameter(ctrl, "scene", scene);
+		ctrl.setSharedBody(sharedBody);
+		ctrl.init(ctrlActor);
+		when(physics.createFixture(any(), any())).thenReturn(fixture);
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.shape = ZootShapeFactory.createBox(1.0f, 1.0f);
+		ctrl.addFixture(fixtureDef, ctrlActor);
+		fixtureDef.shape.dispose();
+		
+		//when
+		ctrl.onRemove(ctrlActor);
+		
+		//then
+		verify(physics, never()).removeBody(any());
+		verify(physics).destroyFixture(sharedBody, fixture);
+	}
+	
+	@Test(expected = RuntimeZootException.class)
+	public void addCollisionListenerShouldThrowForSharedBody()
+	{
+		PhysicsBodyController ctrl = new PhysicsBodyController();
+		ControllerAnnotations.setControllerParameter(ctrl, "scene", scene);
+		ctrl.setSharedBody(mock(Body.class));
+		ctrl.init(ctrlActor);
+		ctrl.addCollisionListener(mock(ZootCollisionListener.class));
+	}
 }
@@ -4,21 +4,34 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
+import com.zootcat.controllers.Controller;
 import com.zootcat.controllers.ControllerPriority;
+import com.zootcat.controllers.factory.ControllerAnnotations;
 import com.zootcat.controllers.logic.LifeController;
+import com.zootcat.controllers.recognizers.ZootMockitoControllerRecognizer;
 import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.physics.ZootCollisionEvent.Type;
+import com.zootcat.physics.ZootPhysics;
 import com.zootcat.scene.ZootActor;
+import com.zootcat.scene.ZootScene;
 
 public class PhysicsCollisionControllerTest
 {
@@ -83,32 +96,119 @@ public class PhysicsCollisionControllerTest
 	}
 	
 	@Test
-	public void shouldAddListenerToActor()
+	public void shouldRegisterListenerInActorBody()
 	{
 		//given
 		ZootActor actor = new ZootActor();
+		PhysicsBodyController physicsCtrl = mock(PhysicsBodyController.class);
+		when(physicsCtrl.getPriority()).thenReturn(ControllerPriority.High);
+		actor.setControllerRecognizer(ZootMockitoControllerRecognizer.Instance);
+		actor.addController(physicsCtrl);
 		
 		//when
 		ctrl.onAdd(actor);
 		
 		//then
-		assertTrue(actor.getListeners().contains(ctrl, true));
+		verify(physicsCtrl).addCollisionListener(ctrl);
 	}
 	
 	@Test
-	public void shouldRemoveListenerFromActor()
+	public void shouldUnregisterListenerFromActorBody()
 	{
 		//given
 		ZootActor actor = new ZootActor();
-		actor.addListener(ctrl);
+		PhysicsBodyController physicsCtrl = mock(PhysicsBodyController.class);
+		when(physicsCtrl.getPriority()).thenReturn(ControllerPriority.High);
+		actor.setControllerRecognizer(ZootMockitoControllerRecognizer.Instance);
+		actor.addController(physicsCtrl);
 		
 		//when
 		ctrl.onRemove(actor);
 		
+		//then
+		verify(physicsCtrl).removeCollisionListener(ctrl);
+	}
+	
+	@Test
+	public void shouldRegisterListenerWhenBodyControllerIsAddedLater()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		ZootPhysics physics = mock(ZootPhysics.class);
+		Body body = mock(Body.class);
+		PhysicsBodyController physicsCtrl = createBodyController(new PhysicsBodyController(), physics, body);
+		ctrl.init(actor);
+		physicsCtrl.init(actor);
+		
+		//when
+		actor.addController(ctrl);
+		actor.addController(physicsCtrl);
+		
+		//then
+		verify(physics, times(1)).addCollisionListener(body, ctrl);
+	}
+	
+	@Test
+	public void shouldRegisterListenerOnceWhenAddedWithBodyController()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		ZootPhysics physics = mock(ZootPhysics.class);
+		Body body = mock(Body.class);
+		PhysicsBodyController physicsCtrl = createBodyController(new PhysicsBodyController(), physics, body);
+		ctrl.init(actor);
+		physicsCtrl.init(actor);
+		
+		//when
+		actor.addControllers(Arrays.<Controller>asList(ctrl, physicsCtrl));
+		
+		//then
+		verify(physics, times(1)).addCollisionListener(body, ctrl);
+	}
+	
+	@Test
+	public void shouldRegisterListenerInSubclassedBodyController()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		ZootPhysics physics = mock(ZootPhysics.class);
+		Body body = mock(Body.class);
+		PhysicsBodyController physicsCtrl = createBodyController(new PhysicsBodyController() {}, physics, body);
+		ctrl.init(actor);
+		physicsCtrl.init(actor);
+		actor.addController(physicsCtrl);
+		
+		//when
+		actor.addController(ctrl);
+		actor.removeController(ctrl);
+		
+		//then
+		verify(physics, times(1)).addCollisionListener(body, ctrl);
+		verify(physics).removeCollisionListener(body, ctrl);
+	}
+	
+	@Test
+	public void shouldNotRegisterListenerAsActorEventListener()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		
+		//when
+		ctrl.onAdd(actor);
+		
 		//then
 		assertFalse(actor.getListeners().contains(ctrl, true));
 	}
 	
+	@Test
+	public void shouldBeInterestedInAllCollisionTypesByDefault()
+	{
+		assertTrue(ctrl.isInterestedIn(Type.BeginContact));
+		assertTrue(ctrl.isInterestedIn(Type.EndContact));
+		assertTrue(ctrl.isInterestedIn(Type.PreSolve));
+		assertTrue(ctrl.isInterestedIn(Type.PostSolve));
+	}
+	
 	@Test
 	public void shouldDoNothingOnUpdate()
 	{
@@ -343,4 +443,13 @@ public class PhysicsCollisionControllerTest
 	{
 		assertTrue(ctrl.equals(ctrl));
 	}
+	
+	private PhysicsBodyController createBodyController(PhysicsBodyController physicsCtrl, ZootPhysics physics, Body body)
+	{
+		ZootScene scene = mock(ZootScene.class);
+		when(scene.getPhysics()).thenReturn(physics);
+		when(physics.createBody(any(BodyDef.class))).thenReturn(body);
+		ControllerAnnotations.setControllerParameter(physicsCtrl, "scene", scene);
+		return physicsCtrl;
+	}
 }
@@ -1,7 +1,13 @@
 package com.zootcat.gfx;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.util.HashMap;
@@ -14,6 +20,7 @@ import org.mockito.MockitoAnnotations;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.zootcat.exceptions.RuntimeZootException;
 import com.zootcat.exceptions.ZootException;
@@ -136,4 +143,151 @@ public class ZootAnimationFileTest
 		
 		assertEquals(defaultTexture, anim3.getKeyFrameTexture());
 	}
+	
+	@Test
+	public void shouldCreateTemplates()
+	{
+		//given
+		Map<String, Texture> spriteSheets = createSpriteSheets();
+		
+		//when
+		Map<Integer, ZootAnimationTemplate> templates = anmFile.createTemplates(spriteSheets);
+		
+		//then
+		assertEquals(3, templates.size());
+		ZootAnimationTemplate template = templates.get("ANIMATION_2".hashCode());
+		assertEquals("ANIMATION_2", template.getName());
+		assertEquals(4, template.getFrameCount());
+		assertEquals(0.25f, template.getFrameDuration(), 0.0f);
+		assertEquals(PlayMode.LOOP_PINGPONG, template.getPlayMode());
+		assertEquals(texture2, template.getFrame(0).getTexture());
+		assertEquals(5, template.getOffsetCount());
+	}
+	
+	@Test
+	public void shouldCreateAnimationsFromTemplates()
+	{
+		//given
+		Map<Integer, ZootAnimationTemplate> templates = anmFile.createTemplates(createSpriteSheets());
+		
+		//when
+		Map<Integer, ZootAnimation> animations = ZootAnimationFile.createAnimations(templates.values());
+		
+		//then
+		assertEquals(3, animations.size());
+		templates.forEach((id, template) -> assertSame(template, animations.get(id).getTemplate()));
+	}
+	
+	@Test
+	public void shouldReturnNullTemplatesWhenSpriteSheetsWereNotSet()
+	{
+		assertNull(anmFile.getTemplates());
+	}
+	
+	@Test
+	public void shouldCreateTemplatesOnlyOnce()
+	{
+		//given
+		anmFile.setSpriteSheetTextures(createSpriteSheets());
+		
+		//when
+		Map<Integer, ZootAnimationTemplate> templates1 = anmFile.getTemplates();
+		Map<Integer, ZootAnimationTemplate> templates2 = anmFile.getTemplates();
+		
+		//then
+		assertEquals(3, templates1.size());
+		assertSame(templates1, templates2);
+	}
+	
+	@Test
+	public void shouldRecreateTemplatesWhenSpriteSheetsChange()
+	{
+		//given
+		anmFile.setSpriteSheetTextures(createSpriteSheets());
+		Map<Integer, ZootAnimationTemplate> templates1 = anmFile.getTemplates();
+		
+		//when
+		anmFile.setSpriteSheetTextures(createSpriteSheets());
+		Map<Integer, ZootAnimationTemplate> templates2 = anmFile.getTemplates();
+		
+		//then
+		assertNotSame(templates1, templates2);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowToModifyTemplates()
+	{
+		anmFile.setSpriteSheetTextures(createSpriteSheets());
+		anmFile.getTemplates().clear();
+	}
+	
+	@Test
+	public void shouldPreferPackedSpriteSheets()
+	{
+		//given
+		Texture atlasPage = mock(Texture.class);
+		anmFile.setSpriteSheetTextures(createSpriteSheets());
+		Map<Integer, ZootAnimationTemplate> templates1 = anmFile.getTemplates();
+		
+		//when
+		anmFile.setPackedSpriteSheets(createPackedSpriteSheets(atlasPage));
+		Map<Integer, ZootAnimationTemplate> templates2 = anmFile.getTemplates();
+		
+		//then
+		assertTrue(anmFile.isPacked());
+		assertNotSame(templates1, templates2);
+		assertEquals(3, templates2.size());
+		templates2.values().forEach(template -> assertEquals(atlasPage, template.getFrame(0).getTexture()));
+	}
+	
+	@Test
+	public void shouldGoBackToSpriteSheetTexturesWhenPackedSpriteSheetsAreReset()
+	{
+		//given
+		Map<String, TextureRegion> packedSpriteSheets = createPackedSpriteSheets(mock(Texture.class));
+		anmFile.setSpriteSheetTextures(createSpriteSheets());
+		anmFile.setPackedSpriteSheets(packedSpriteSheets);
+		anmFile.getTemplates();
+		
+		//when
+		anmFile.resetPackedSpriteSheets(packedSpriteSheets);
+		
+		//then
+		assertFalse(anmFile.isPacked());
+		assertEquals(texture2, anmFile.getTemplates().get("ANIMATION_2".hashCode()).getFrame(0).getTexture());
+	}
+	
+	@Test
+	public void shouldNotResetOtherPackedSpriteSheets()
+	{
+		//given
+		Map<String, TextureRegion> oldPackedSpriteSheets = createPackedSpriteSheets(mock(Texture.class));
+		Map<String, TextureRegion> newPackedSpriteSheets = createPackedSpriteSheets(mock(Texture.class));
+		anmFile.setPackedSpriteSheets(oldPackedSpriteSheets);
+		anmFile.setPackedSpriteSheets(newPackedSpriteSheets);
+		
+		//when
+		anmFile.resetPackedSpriteSheets(oldPackedSpriteSheets);
+		
+		//then
+		assertTrue(anmFile.isPacked());
+	}
+	
+	private Map<String, TextureRegion> createPackedSpriteSheets(Texture atlasPage)
+	{
+		Map<String, TextureRegion> spriteSheets = new HashMap<String, TextureRegion>();
+		spriteSheets.put(FIRST_SPRITE_SHEET_NAME, new TextureRegion(atlasPage));
+		spriteSheets.put(SECOND_SPRITE_SHEET_NAME, new TextureRegion(atlasPage));
+		spriteSheets.put(DEFAULT_SPRITE_SHEET_NAME, new TextureRegion(atlasPage));
+		return spriteSheets;
+	}
+	
+	private Map<String, Texture> createSpriteSheets()
+	{
+		Map<String, Texture> spriteSheets = new HashMap<String, Texture>();
+		spriteSheets.put(FIRST_SPRITE_SHEET_NAME, texture1);
+		spriteSheets.put(SECOND_SPRITE_SHEET_NAME, texture2);
+		spriteSheets.put(DEFAULT_SPRITE_SHEET_NAME, defaultTexture);
+		return spriteSheets;
+	}
 }
@@ -75,6 +75,34 @@ public class ZootAnimationFrameBuilderTest
 		});
 	}
 	
+	@Test
+	public void buildFromRegionTest()
+	{
+		//given
+		Texture atlasPage = mock(Texture.class);
+		when(atlasPage.getWidth()).thenReturn(1024);
+		when(atlasPage.getHeight()).thenReturn(1024);
+		TextureRegion region = new TextureRegion(atlasPage, 300, 400, 200, 100);
+		
+		//when
+		TextureRegion[] frames = builder.setCols(2)
+										.setRows(1)
+										.setFrameWidth(FRAME_WIDTH)
+										.setFrameHeight(FRAME_HEIGHT)
+										.setOffsetX(OFFSET_X)
+										.setOffsetY(10)
+										.build(region);
+		
+		//then
+		assertEquals(2, frames.length);
+		assertEquals(atlasPage, frames[0].getTexture());
+		assertEquals(300 + OFFSET_X, frames[0].getRegionX());
+		assertEquals(400 + 10, frames[0].getRegionY());
+		assertEquals(300 + OFFSET_X + FRAME_WIDTH, frames[1].getRegionX());
+		assertEquals(FRAME_WIDTH, frames[1].getRegionWidth());
+		assertEquals(FRAME_HEIGHT, frames[1].getRegionHeight());
+	}
+	
 	@Test
 	public void buildShouldResetBuilderStateTest()
 	{
@@ -103,7 +131,7 @@ public class ZootAnimationFrameBuilderTest
 	public void buildShouldThrowIfSpriteSheetIsNotGivenTest()
 	{
 		builder.setCols(1).setRows(1).setFrameHeight(1).setFrameWidth(1);
-		builder.build(null);
+		builder.build((Texture)null);
 	}
 	
 	@Test
@@ -0,0 +1,138 @@
+package com.zootcat.gfx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+public class ZootAnimationTemplateTest
+{
+	private static final String NAME = "Walk";
+	private static final float FRAME_DURATION = 0.1f;
+
+	private TextureRegion[] frames;
+	private ZootAnimationOffset[] offsets;
+	private ZootAnimationTemplate template;
+
+	@Before
+	public void setup()
+	{
+		Texture texture = mock(Texture.class);
+		frames = new TextureRegion[] { new TextureRegion(texture), new TextureRegion(texture) };
+		offsets = new ZootAnimationOffset[] { new ZootAnimationOffset(1, 2, 3, 4), new ZootAnimationOffset(5, 6, 7, 8) };
+		template = new ZootAnimationTemplate(NAME, frames, offsets, FRAME_DURATION, PlayMode.LOOP, 3);
+	}
+
+	@Test
+	public void shouldReturnTemplateData()
+	{
+		assertEquals(NAME, template.getName());
+		assertEquals(ZootAnimation.getAnimationId(NAME), template.getId());
+		assertEquals(2, template.getFrameCount());
+		assertSame(frames[0], template.getFrame(0));
+		assertSame(frames[1], template.getFrame(1));
+		assertEquals(2, template.getOffsetCount());
+		assertSame(offsets[0], template.getOffset(0));
+		assertSame(offsets[1], template.getOffset(1));
+		assertEquals(FRAME_DURATION, template.getFrameDuration(), 0.0f);
+		assertEquals(PlayMode.LOOP, template.getPlayMode());
+		assertEquals(3, template.getRepeatCount());
+		assertEquals(NAME, template.toString());
+	}
+
+	@Test
+	public void shouldCopyFramesAndOffsetsArrays()
+	{
+		//given
+		TextureRegion otherFrame = new TextureRegion();
+
+		//when
+		frames[0] = otherFrame;
+		offsets[0] = new ZootAnimationOffset();
+
+		//then
+		assertNotSame(otherFrame, template.getFrame(0));
+		assertEquals(1.0f, template.getOffset(0).right.x, 0.0f);
+	}
+
+	@Test
+	public void shouldNotAllowNegativeRepeatCount()
+	{
+		template = new ZootAnimationTemplate(NAME, frames, offsets, FRAME_DURATION, PlayMode.LOOP, -1);
+		assertEquals(0, template.getRepeatCount());
+	}
+
+	@Test
+	public void shouldCreateDefaultTemplate()
+	{
+		//when
+		template = new ZootAnimationTemplate(NAME, frames, FRAME_DURATION);
+
+		//then
+		assertEquals(PlayMode.NORMAL, template.getPlayMode());
+		assertEquals(0, template.getRepeatCount());
+		assertEquals(frames.length, template.getOffsetCount());
+		assertEquals(0.0f, template.getOffset(0).right.x, 0.0f);
+		assertEquals(0.0f, template.getOffset(1).left.y, 0.0f);
+	}
+
+	@Test
+	public void shouldCreateAnimationUsingTemplate()
+	{
+		//when
+		ZootAnimation animation = template.createAnimation();
+
+		//then
+		assertSame(template, animation.getTemplate());
+		assertEquals(NAME, animation.getName());
+		assertEquals(2, animation.getFrameCount());
+		assertEquals(FRAME_DURATION, animation.getFrameDuration(), 0.0f);
+		assertEquals(PlayMode.LOOP, animation.getPlayMode());
+		assertEquals(3, animation.getRepeatCount());
+		assertSame(frames[0], animation.getKeyFrame());
+		assertSame(offsets[0], animation.getKeyFrameOffset());
+	}
+
+	@Test
+	public void animationsShouldShareFramesButNotPlaybackState()
+	{
+		//given
+		ZootAnimation animation1 = template.createAnimation();
+		ZootAnimation animation2 = template.createAnimation();
+
+		//when
+		animation1.start();
+		animation1.step(FRAME_DURATION * 1.5f);
+
+		//then
+		assertSame(frames[1], animation1.getKeyFrame());
+		assertSame(frames[0], animation2.getKeyFrame());
+		assertEquals(0.0f, animation2.getAnimationTime(), 0.0f);
+		assertSame(animation1.getOffsets(), animation2.getOffsets());
+	}
+
+	@Test
+	public void changingAnimationShouldNotChangeTemplate()
+	{
+		//given
+		ZootAnimation animation = template.createAnimation();
+
+		//when
+		animation.setPlayMode(PlayMode.NORMAL);
+		animation.setRepeatCount(10);
+		animation.setOffsets(new ZootAnimationOffset[] { new ZootAnimationOffset() });
+
+		//then
+		assertEquals(PlayMode.LOOP, template.getPlayMode());
+		assertEquals(3, template.getRepeatCount());
+		assertEquals(2, template.getOffsetCount());
+		assertEquals(PlayMode.LOOP, template.createAnimation().getPlayMode());
+	}
+}
@@ -0,0 +1,173 @@
+package com.zootcat.gfx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.zootcat.testing.HeadlessGdxTestRunner;
+
+@RunWith(HeadlessGdxTestRunner.class)
+public class ZootSpriteSheetPackerTest
+{
+	private static final int PAGE_SIZE = 256;
+	private static final int PADDING = 2;
+
+	private ZootSpriteSheetPacker packer;
+	private Graphics graphics;
+
+	@Before
+	public void setup()
+	{
+		//sprite batch reads the screen size, so graphics are mocked instead of relying on other tests
+		graphics = Gdx.graphics;
+		Gdx.graphics = mock(Graphics.class);
+		when(Gdx.graphics.getWidth()).thenReturn(PAGE_SIZE);
+		when(Gdx.graphics.getHeight()).thenReturn(PAGE_SIZE);
+		Gdx.gl = Gdx.gl20 = mock(GL20.class);
+		packer = new ZootSpriteSheetPacker(PAGE_SIZE, PAGE_SIZE, PADDING);
+	}
+
+	@After
+	public void tearDown()
+	{
+		packer.dispose();
+		Gdx.gl = Gdx.gl20 = null;
+		Gdx.graphics = graphics;
+	}
+
+	@Test
+	public void shouldBeEmptyByDefault()
+	{
+		assertFalse(packer.isPacked("sheet"));
+		assertEquals(0, packer.getPageCount());
+	}
+
+	@Test
+	public void packShouldPackSpriteSheets()
+	{
+		//when
+		assertTrue(pack("sheet1", 64, 64));
+		assertTrue(pack("sheet2", 128, 32));
+
+		//then
+		assertTrue(packer.isPacked("sheet1"));
+		assertTrue(packer.isPacked("sheet2"));
+		assertEquals(1, packer.getPageCount());
+	}
+
+	@Test
+	public void packShouldIgnoreAlreadyPackedSpriteSheet()
+	{
+		//when
+		assertTrue(pack("sheet", 64, 64));
+		assertTrue(pack("sheet", 64, 64));
+
+		//then
+		assertEquals(1, packer.getPageCount());
+	}
+
+	@Test
+	public void packShouldNotPackSpriteSheetBiggerThanPage()
+	{
+		assertFalse(pack("wide", PAGE_SIZE, 16));
+		assertFalse(pack("high", 16, PAGE_SIZE - PADDING * 3 + 1));
+		assertFalse(packer.isPacked("wide"));
+		assertFalse(packer.isPacked("high"));
+		assertTrue(pack("fitting", PAGE_SIZE - PADDING * 3, PAGE_SIZE - PADDING * 3));
+	}
+
+	@Test
+	public void packShouldAddPagesWhenPageIsFull()
+	{
+		//when
+		assertTrue(pack("sheet1", 200, 200));
+		assertTrue(pack("sheet2", 200, 200));
+
+		//then
+		assertEquals(2, packer.getPageCount());
+	}
+
+	@Test
+	public void createAtlasShouldCreateRegionForEachSpriteSheet()
+	{
+		//given
+		pack("sheet1", 64, 64);
+		pack("sheet2", 32, 16);
+
+		//when
+		TextureAtlas atlas = packer.createAtlas(TextureFilter.Nearest, TextureFilter.Nearest);
+
+		//then
+		assertEquals(1, atlas.getTextures().size);
+		assertNotNull(atlas.findRegion("sheet1"));
+		assertEquals(64, atlas.findRegion("sheet1").getRegionWidth());
+		assertEquals(16, atlas.findRegion("sheet2").getRegionHeight());
+		assertNull(atlas.findRegion("sheet3"));
+		atlas.dispose();
+	}
+
+	@Test
+	public void packedSpriteSheetsShouldBeDrawnWithLessRenderCalls()
+	{
+		//given
+		Texture texture1 = new Texture(PAGE_SIZE / 4, PAGE_SIZE / 4, Format.RGBA8888);
+		Texture texture2 = new Texture(PAGE_SIZE / 4, PAGE_SIZE / 4, Format.RGBA8888);
+		pack("sheet1", PAGE_SIZE / 4, PAGE_SIZE / 4);
+		pack("sheet2", PAGE_SIZE / 4, PAGE_SIZE / 4);
+		TextureAtlas atlas = packer.createAtlas(TextureFilter.Nearest, TextureFilter.Nearest);
+		SpriteBatch batch = new SpriteBatch(100, mock(ShaderProgram.class));
+
+		//when
+		int separateRenderCalls = draw(batch, new TextureRegion(texture1), new TextureRegion(texture2));
+		int packedRenderCalls = draw(batch, atlas.findRegion("sheet1"), atlas.findRegion("sheet2"));
+
+		//then
+		assertEquals(10, separateRenderCalls);
+		assertEquals(1, packedRenderCalls);
+
+		batch.dispose();
+		atlas.dispose();
+		texture1.dispose();
+		texture2.dispose();
+	}
+
+	private int draw(SpriteBatch batch, TextureRegion region1, TextureRegion region2)
+	{
+		batch.begin();
+		for(int i = 0; i < 5; ++i)
+		{
+			batch.draw(region1, 0, 0);
+			batch.draw(region2, 0, 0);
+		}
+		batch.end();
+		return batch.renderCalls;
+	}
+
+	private boolean pack(String name, int width, int height)
+	{
+		Pixmap pixmap = new Pixmap(width, height, Format.RGBA8888);
+		boolean packed = packer.pack(name, pixmap);
+		pixmap.dispose();
+		return packed;
+	}
+}
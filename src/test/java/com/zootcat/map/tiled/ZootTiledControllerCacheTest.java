@@ -0,0 +1,152 @@
+package com.zootcat.map.tiled;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.zootcat.controllers.factory.ControllerFactory;
+import com.zootcat.controllers.factory.mocks.Mock1Controller;
+import com.zootcat.controllers.factory.mocks.Mock2Controller;
+import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.map.tiled.ZootTiledControllerCache.ControllerParams;
+
+public class ZootTiledControllerCacheTest
+{
+	private StaticTiledMapTile tile;
+	private ZootTiledControllerCache cache;
+	
+	@Before
+	public void setup()
+	{
+		ControllerFactory ctrlFactory = new ControllerFactory(false);
+		ctrlFactory.add(Mock1Controller.class);
+		ctrlFactory.add(Mock2Controller.class);
+		tile = new StaticTiledMapTile((TextureRegion)null);
+		cache = new ZootTiledControllerCache(ctrlFactory);
+	}
+	
+	@Test
+	public void shouldReturnEmptyListForTileWithoutControllers()
+	{
+		tile.getProperties().put("name", "tile");
+		assertTrue(cache.get(tile).isEmpty());
+	}
+	
+	@Test
+	public void shouldParseControllerParams()
+	{
+		//given
+		tile.getProperties().put("name", "tile");
+		tile.getProperties().put("Mock2Controller", "a=1, b=2.5f, c=text");
+		
+		//when
+		List<ControllerParams> controllers = cache.get(tile);
+		
+		//then
+		assertEquals(1, controllers.size());
+		assertEquals("Mock2Controller", controllers.get(0).name);
+		assertEquals(1, controllers.get(0).params.get("a"));
+		assertEquals(2.5f, controllers.get(0).params.get("b"));
+		assertEquals("text", controllers.get(0).params.get("c"));
+	}
+	
+	@Test
+	public void shouldParseTileOnlyOnce()
+	{
+		//given
+		tile.getProperties().put("Mock1Controller", "");
+		
+		//when
+		List<ControllerParams> controllers1 = cache.get(tile);
+		List<ControllerParams> controllers2 = cache.get(tile);
+		
+		//then
+		assertSame(controllers1, controllers2);
+		assertEquals(1, cache.size());
+	}
+	
+	@Test
+	public void shouldReturnSameParamsForAllThreads() throws Exception
+	{
+		//given
+		tile.getProperties().put("Mock2Controller", "a=1");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<List<ControllerParams>>> results = new ArrayList<Future<List<ControllerParams>>>();
+		
+		//when
+		try
+		{
+			for(int i = 0; i < 16; ++i) results.add(executor.submit(() -> cache.get(tile)));
+			for(Future<List<ControllerParams>> result : results) result.get();
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		//then
+		assertEquals(1, cache.size());
+		for(Future<List<ControllerParams>> result : results) assertSame(cache.get(tile), result.get());
+	}
+	
+	@Test
+	public void shouldKeepSeparateEntriesForEachTile()
+	{
+		//given
+		StaticTiledMapTile otherTile = new StaticTiledMapTile((TextureRegion)null);
+		tile.getProperties().put("Mock1Controller", "");
+		otherTile.getProperties().put("Mock2Controller", "a=1");
+		
+		//when
+		List<ControllerParams> controllers = cache.get(tile);
+		List<ControllerParams> otherControllers = cache.get(otherTile);
+		
+		//then
+		assertEquals(2, cache.size());
+		assertEquals("Mock1Controller", controllers.get(0).name);
+		assertEquals("Mock2Controller", otherControllers.get(0).name);
+	}
+	
+	@Test
+	public void shouldParseAgainAfterClear()
+	{
+		//given
+		tile.getProperties().put("Mock1Controller", "");
+		List<ControllerParams> controllers = cache.get(tile);
+		
+		//when
+		tile.getProperties().put("Mock2Controller", "a=1");
+		cache.clear();
+		
+		//then
+		assertEquals(0, cache.size());
+		assertNotSame(controllers, cache.get(tile));
+		assertEquals(2, cache.get(tile).size());
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowToModifyParams()
+	{
+		tile.getProperties().put("Mock2Controller", "a=1");
+		cache.get(tile).get(0).params.put("a", 2);
+	}
+	
+	@Test(expected = RuntimeZootException.class)
+	public void shouldThrowOnInvalidParams()
+	{
+		tile.getProperties().put("Mock2Controller", "1, string");
+		cache.get(tile);
+	}
+}
@@ -0,0 +1,295 @@
+package com.zootcat.map.tiled;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.zootcat.testing.HeadlessGdxTestRunner;
+
+@RunWith(HeadlessGdxTestRunner.class)
+public class ZootTiledMapLayerCacheTest
+{
+	private static final int LAYER_WIDTH = 10;
+	private static final int LAYER_HEIGHT = 6;
+	private static final int TILE_SIZE = 16;
+	private static final int CHUNK_SIZE = 4;
+	private static final float UNIT_SCALE = 0.5f;
+
+	private Texture texture;
+	private StaticTiledMapTile staticTile;
+	private AnimatedTiledMapTile animatedTile;
+	private TiledMapTileLayer layer;
+	private SpriteCache spriteCache;
+	private Batch batch;
+	private int nextCacheId;
+
+	@Before
+	public void setup()
+	{
+		Gdx.gl = Gdx.gl20 = mock(GL20.class);
+		texture = mock(Texture.class);
+		when(texture.getWidth()).thenReturn(128);
+		when(texture.getHeight()).thenReturn(128);
+
+		staticTile = new StaticTiledMapTile(new TextureRegion(texture, 16, 32, TILE_SIZE, TILE_SIZE));
+		Array<StaticTiledMapTile> frames = new Array<StaticTiledMapTile>();
+		frames.add(new StaticTiledMapTile(new TextureRegion(texture, 0, 0, TILE_SIZE, TILE_SIZE)));
+		animatedTile = new AnimatedTiledMapTile(1.0f, frames);
+		layer = new TiledMapTileLayer(LAYER_WIDTH, LAYER_HEIGHT, TILE_SIZE, TILE_SIZE);
+
+		nextCacheId = 0;
+		spriteCache = mock(SpriteCache.class);
+		when(spriteCache.endCache()).thenAnswer(invocation -> nextCacheId++);
+
+		batch = mock(Batch.class);
+		when(batch.getColor()).thenReturn(new Color(Color.WHITE));
+		when(batch.getProjectionMatrix()).thenReturn(new Matrix4());
+		when(batch.getTransformMatrix()).thenReturn(new Matrix4());
+	}
+
+	@After
+	public void tearDown()
+	{
+		Gdx.gl = Gdx.gl20 = null;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowOnInvalidChunkSize()
+	{
+		new ZootTiledMapLayerCache(layer, UNIT_SCALE, 0);
+	}
+
+	@Test
+	public void shouldDivideLayerIntoChunks()
+	{
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+		assertEquals(3 * 2, cache.getChunkCount());
+	}
+
+	@Test
+	public void countStaticTilesShouldNotCountEmptyAndAnimatedCells()
+	{
+		//given
+		setTile(0, 0, staticTile);
+		setTile(5, 5, staticTile);
+		setTile(1, 0, animatedTile);
+		layer.setCell(2, 0, new Cell());
+
+		//then
+		assertEquals(2, ZootTiledMapLayerCache.countStaticTiles(layer));
+	}
+
+	@Test
+	public void buildShouldCreateCacheForEachChunkWithStaticTiles()
+	{
+		//given
+		setTile(0, 0, staticTile);
+		setTile(3, 3, staticTile);
+		setTile(9, 5, staticTile);
+		setTile(5, 0, animatedTile);
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+
+		//when
+		cache.build(spriteCache);
+
+		//then
+		verify(spriteCache, times(2)).beginCache();
+		verify(spriteCache, times(2)).endCache();
+		verify(spriteCache, times(3)).add(eq(texture), any(float[].class), eq(0), eq(30));
+	}
+
+	@Test
+	public void buildShouldAddSixVerticesPerTileToRealSpriteCache()
+	{
+		//given
+		setTile(0, 0, staticTile);
+		setTile(1, 0, staticTile);
+		setTile(2, 1, staticTile);
+		SpriteCache realCache = new SpriteCache(3, mock(ShaderProgram.class), false);
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+
+		//when
+		cache.build(realCache);
+		cache.draw(realCache, batch, new Rectangle(0, 0, 10, 10));
+		realCache.dispose();
+
+		//then
+		assertEquals(1, cache.getDrawnChunkCount());
+		verify(Gdx.gl20).glDrawArrays(GL20.GL_TRIANGLES, 0, 3 * 6);
+	}
+
+	@Test
+	public void drawShouldDrawOnlyVisibleChunks()
+	{
+		//given
+		setTile(0, 0, staticTile);
+		setTile(9, 5, staticTile);
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+		cache.build(spriteCache);
+
+		//when
+		cache.draw(spriteCache, batch, new Rectangle(0, 0, 10, 10));
+
+		//then
+		assertEquals(1, cache.getDrawnChunkCount());
+		verify(spriteCache).draw(0);
+		verify(spriteCache, never()).draw(1);
+		verify(batch).end();
+		verify(spriteCache).begin();
+		verify(spriteCache).end();
+		verify(batch).begin();
+	}
+
+	@Test
+	public void drawShouldDrawAllChunksInView()
+	{
+		//given
+		setTile(0, 0, staticTile);
+		setTile(9, 5, staticTile);
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+		cache.build(spriteCache);
+
+		//when
+		cache.draw(spriteCache, batch, new Rectangle(0, 0, LAYER_WIDTH * TILE_SIZE * UNIT_SCALE, LAYER_HEIGHT * TILE_SIZE * UNIT_SCALE));
+
+		//then
+		assertEquals(2, cache.getDrawnChunkCount());
+		verify(spriteCache).draw(0);
+		verify(spriteCache).draw(1);
+		verify(spriteCache, times(1)).begin();
+	}
+
+	@Test
+	public void drawShouldNotUseCacheWhenNoChunkIsVisible()
+	{
+		//given
+		setTile(0, 0, staticTile);
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+		cache.build(spriteCache);
+
+		//when
+		cache.draw(spriteCache, batch, new Rectangle(1000, 1000, 10, 10));
+
+		//then
+		assertEquals(0, cache.getDrawnChunkCount());
+		verify(spriteCache, never()).begin();
+		verify(spriteCache, never()).draw(anyInt());
+		verify(batch, never()).end();
+	}
+
+	@Test
+	public void drawShouldDrawVisibleAnimatedTilesWithBatch()
+	{
+		//given
+		setTile(0, 0, animatedTile);
+		setTile(1, 1, animatedTile);
+		setTile(9, 5, animatedTile);
+		ZootTiledMapLayerCache cache = new ZootTiledMapLayerCache(layer, UNIT_SCALE, CHUNK_SIZE);
+		cache.build(spriteCache);
+
+		//when
+		cache.draw(spriteCache, batch, new Rectangle(0, 0, 10, 10));
+
+		//then
+		assertEquals(0, cache.getDrawnChunkCount());
+		assertEquals(2, cache.getDrawnDynamicTileCount());
+		verify(batch, times(2)).draw(eq(texture), any(float[].class), eq(0), eq(20));
+		verify(spriteCache, never()).beginCache();
+	}
+
+	@Test
+	public void computeVerticesShouldMatchOrthogonalRenderer()
+	{
+		//given
+		layer.setOpacity(0.5f);
+		layer.setOffsetX(3.0f);
+		layer.setOffsetY(5.0f);
+		staticTile.setOffsetX(2.0f);
+		staticTile.setOffsetY(1.0f);
+		int[] rotations = { Cell.ROTATE_0, Cell.ROTATE_90, Cell.ROTATE_180, Cell.ROTATE_270 };
+		for(int i = 0; i < 16; ++i)
+		{
+			Cell cell = setTile(i % LAYER_WIDTH, i / LAYER_WIDTH, staticTile);
+			cell.setFlipHorizontally((i & 1) != 0);
+			cell.setFlipVertically((i & 2) != 0);
+			cell.setRotation(rotations[i / 4]);
+		}
+
+		List<float[]> expected = new ArrayList<float[]>();
+		doAnswer(invocation ->
+		{
+			expected.add(((float[])invocation.getArguments()[1]).clone());
+			return null;
+		}).when(batch).draw(any(Texture.class), any(float[].class), anyInt(), anyInt());
+
+		OrthogonalTiledMapRenderer renderer = new OrthogonalTiledMapRenderer(new TiledMap(), UNIT_SCALE, batch);
+		renderer.setView(new Matrix4(), 0, 0, 1000, 1000);
+		renderer.renderTileLayer(layer);
+
+		//when
+		List<float[]> actual = new ArrayList<float[]>();
+		float color = Color.toFloatBits(1.0f, 1.0f, 1.0f, layer.getOpacity());
+		for(int row = LAYER_HEIGHT - 1; row >= 0; --row)
+		{
+			for(int col = 0; col < LAYER_WIDTH; ++col)
+			{
+				//same order as orthogonal renderer, top to bottom
+				Cell cell = layer.getCell(col, row);
+				if(cell == null) continue;
+				float[] vertices = new float[20];
+				ZootTiledMapLayerCache.computeVertices(layer, cell, col, row, UNIT_SCALE, color, vertices);
+				actual.add(vertices);
+			}
+		}
+
+		//then
+		assertEquals(16, expected.size());
+		assertEquals(expected.size(), actual.size());
+		for(int i = 0; i < expected.size(); ++i)
+		{
+			assertArrayEquals(expected.get(i), actual.get(i), 0.0001f);
+		}
+	}
+
+	private Cell setTile(int col, int row, TiledMapTile tile)
+	{
+		Cell cell = new Cell();
+		cell.setTile(tile);
+		layer.setCell(col, row, cell);
+		return cell;
+	}
+}
@@ -6,9 +6,16 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +41,7 @@ import com.zootcat.exceptions.RuntimeZootException;
 import com.zootcat.map.tiled.optimizer.ZootLayerRegion;
 import com.zootcat.physics.ZootPhysics;
 import com.zootcat.scene.ZootActor;
+import com.zootcat.scene.ZootActorIdAllocator;
 import com.zootcat.scene.tiled.ZootTiledScene;
 
 public class ZootTiledSceneActorFactoryTest
@@ -62,6 +70,7 @@ public class ZootTiledSceneActorFactoryTest
 	private MapProperties tileProperties;
 	private ZootTiledSceneActorFactory factory;
 	private ControllerFactory ctrlFactory;
+	private ZootActorIdAllocator actorIdAllocator;
 		
 	@Before
 	public void setup()
@@ -74,6 +83,8 @@ public class ZootTiledSceneActorFactoryTest
 		when(sceneMock.getUnitScale()).thenReturn(1.0f);
 		when(sceneMock.getAssetManager()).thenReturn(mock(AssetManager.class));
 		when(sceneMock.getMap()).thenReturn(mapMock);
+		actorIdAllocator = new ZootActorIdAllocator();
+		when(sceneMock.getActorIdAllocator()).thenReturn(actorIdAllocator);
 		ctrlFactory = new ControllerFactory();
 		when(sceneMock.getControllerFactory()).thenReturn(ctrlFactory);
 		
@@ -327,55 +338,206 @@ public class ZootTiledSceneActorFactoryTest
 	}
 	
 	@Test
-	public void shouldReturnActorWithIdGreaterThanSceneMaxId()
+	public void shouldReturnActorWithIdFromSceneAllocator()
 	{
 		//given
-		ZootActor actor1 = new ZootActor();	actor1.setId(200);		
-		ZootActor actor2 = new ZootActor(); actor2.setId(100);
-				
+		actorIdAllocator.reserve(200);
+		
 		//when
-		when(sceneMock.getActors()).thenReturn(Arrays.asList(actor1, actor2));		
 		ZootActor createdActor = factory.createFromTile(new StaticTiledMapTile(mock(TextureRegion.class)));
 		
 		//then
 		assertNotNull(createdActor);
-		assertEquals(201, createdActor.getId());		
+		assertEquals(201, createdActor.getId());
+		assertEquals(201, actorIdAllocator.getLastId());
 	}
 	
 	@Test
-	public void shouldReturnActorWithIdGreaterThanMapObjectsMaxId()
+	public void shouldReturnActorsWithUniqueIdsWhenSpawningFromTile()
 	{
 		//given
-		MapObject mapObject1 = new MapObject();	mapObject1.getProperties().put("id", 400);		
-		MapObject mapObject2 = new MapObject();	mapObject2.getProperties().put("id", 500);
+		final int spawnCount = 1000;
+		StaticTiledMapTile tile = new StaticTiledMapTile(mock(TextureRegion.class));
+		Set<Integer> ids = new HashSet<Integer>();
+		actorIdAllocator.reserve(10);
 		
 		//when
-		when(mapMock.getAllObjects()).thenReturn(Arrays.asList(mapObject1, mapObject2));
-		ZootActor createdActor = factory.createFromTile(new StaticTiledMapTile(mock(TextureRegion.class)));
+		for(int i = 0; i < spawnCount; ++i)
+		{
+			ids.add(factory.createFromTile(tile).getId());
+		}
 		
 		//then
-		assertNotNull(createdActor);
-		assertEquals(501, createdActor.getId());		
+		assertEquals(spawnCount, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id > 10));
+	}
+	
+	@Test
+	public void shouldNotScanSceneActorsOrMapObjectsWhenCreatingFromTile()
+	{
+		//when
+		factory.createFromTile(new StaticTiledMapTile(mock(TextureRegion.class)));
+		
+		//then
+		verify(sceneMock, never()).getActors();
+		verify(mapMock, never()).getAllObjects();
+	}
+	
+	@Test
+	public void prepareFromMapObjectShouldCreateControllersWithoutAddingThemToActor()
+	{
+		//given
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, true);
+		MapObject mapObject = createDefaultMapObject();
+		mapObject.getProperties().put("Mock2Controller", "a=1, b=2.2f, c=string");
+		
+		//when
+		ZootPreparedActor preparedActor = factory.prepareFromMapObject(mapObject);
+		
+		//then
+		assertEquals(ACTOR_ID, preparedActor.getActor().getId());
+		assertEquals(1, preparedActor.getControllers().size());
+		assertEquals(1, ((Mock2Controller)preparedActor.getControllers().get(0)).a);
+		assertTrue(preparedActor.getActor().getAllControllers().isEmpty());
+	}
+	
+	@Test
+	public void initializeShouldAddPreparedControllersToActor()
+	{
+		//given
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, true);
+		MapObject mapObject = createDefaultMapObject();
+		mapObject.getProperties().put("Mock1Controller", "");
+		ZootPreparedActor preparedActor = factory.prepareFromMapObject(mapObject);
+		
+		//when
+		ZootActor actor = factory.initialize(preparedActor);
+		
+		//then
+		assertEquals(preparedActor.getActor(), actor);
+		assertNotNull(actor.getSingleController(Mock1Controller.class));
+	}
+	
+	@Test
+	public void createFromMapObjectsShouldKeepObjectsOrderWhenPreparingInParallel()
+	{
+		//given
+		final int objectCount = 200;
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, true);
+		List<MapObject> mapObjects = new ArrayList<MapObject>();
+		for(int i = 0; i < objectCount; ++i)
+		{
+			MapObject mapObject = createDefaultMapObject();
+			mapObject.getProperties().put("id", i);
+			mapObject.getProperties().put("Mock2Controller", "a=" + i);
+			mapObjects.add(mapObject);
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		factory.setPool(pool);
+		
+		//when
+		List<ZootActor> actors = factory.createFromMapObjects(mapObjects);
+		pool.shutdown();
+		
+		//then
+		assertEquals(pool, factory.getPool());
+		assertEquals(objectCount, actors.size());
+		for(int i = 0; i < objectCount; ++i)
+		{
+			assertEquals(i, actors.get(i).getId());
+			assertEquals(i, actors.get(i).getSingleController(Mock2Controller.class).a);
+		}
+	}
+	
+	@Test
+	public void createFromLayerRegionsShouldCreateControllersForRegionsSharingTile()
+	{
+		//given
+		final int regionCount = 100;
+		tileProperties.put(SimpleController.class.getSimpleName(), "");
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, false);
+		List<ZootLayerRegion> regions = new ArrayList<ZootLayerRegion>();
+		for(int i = 0; i < regionCount; ++i)
+		{
+			regions.add(new ZootLayerRegion(i, 0, 1, 1, innerCell));
+		}
+		
+		//when
+		List<ZootActor> actors = factory.createFromLayerRegions(regions);
+		
+		//then
+		assertEquals(regionCount, actors.size());
+		for(int i = 0; i < regionCount; ++i)
+		{
+			assertEquals(i, actors.get(i).getX(), 0.0f);
+			assertNotNull(actors.get(i).getSingleController(SimpleController.class));
+		}
+	}
+	
+	@Test(expected = RuntimeZootException.class)
+	public void createFromMapObjectsShouldRethrowPreparationException()
+	{
+		//given
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, true);
+		MapObject mapObject = createDefaultMapObject();
+		mapObject.getProperties().put("Mock2Controller", "1, string");
+		
+		//then
+		factory.createFromMapObjects(Arrays.asList(createDefaultMapObject(), mapObject));
 	}
 	
 	@Test
-	public void shouldReturnActorWithIdGreaterThanMapObjectsMaxIdAndSceneActorsMaxId()
+	public void shouldParseTileControllersOnlyOnceWhenCreatingFromTile()
 	{
 		//given
-		ZootActor actor1 = new ZootActor(); actor1.setId(1);
-		ZootActor actor2 = new ZootActor();	actor2.setId(2);
-		MapObject mapObject1 = new MapObject();	mapObject1.getProperties().put("id", 3);
-		MapObject mapObject2 = new MapObject();	mapObject2.getProperties().put("id", 4);
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, true);
 		StaticTiledMapTile tile = new StaticTiledMapTile(mock(TextureRegion.class));
-				
+		tile.getProperties().put("Mock2Controller", "a=7");
+		
 		//when
-		when(sceneMock.getActors()).thenReturn(Arrays.asList(actor1, actor2));		
-		when(mapMock.getAllObjects()).thenReturn(Arrays.asList(mapObject1, mapObject2));	
-		ZootActor createdActor = factory.createFromTile(tile);
+		ZootActor actor1 = factory.createFromTile(tile);
+		tile.getProperties().put("Mock2Controller", "a=8");
+		ZootActor actor2 = factory.createFromTile(tile);
 		
 		//then
-		assertNotNull(createdActor);
-		assertEquals(5, createdActor.getId());
+		assertEquals(1, factory.getControllerCache().size());
+		assertEquals(7, actor1.getSingleController(Mock2Controller.class).a);
+		assertEquals(7, actor2.getSingleController(Mock2Controller.class).a);
+		assertFalse(actor1.getSingleController(Mock2Controller.class) == actor2.getSingleController(Mock2Controller.class));
+	}
+	
+	@Test
+	public void shouldShareTileControllersCacheBetweenCellsAndRegions()
+	{
+		//given
+		tileProperties.put(SimpleController.class.getSimpleName(), "");
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, false);
+		
+		//when
+		factory.createFromMapCell(createDefaultCell());
+		factory.createFromLayerRegion(new ZootLayerRegion(0, 0, 1, 1, innerCell));
+		
+		//then
+		assertEquals(1, factory.getControllerCache().size());
+	}
+	
+	@Test
+	public void hasSensorFixturesShouldCheckFixtureControllerParams()
+	{
+		//given
+		ctrlFactory.addFromPackage(CTRL_PACKAGE, false);
+		TiledMapTile sensorTile = new StaticTiledMapTile((TextureRegion)null);
+		sensorTile.getProperties().put("FixtureController", "sensor=true");
+		TiledMapTile solidTile = new StaticTiledMapTile((TextureRegion)null);
+		solidTile.getProperties().put("FixtureController", "sensor=false");
+		TiledMapTile otherTile = new StaticTiledMapTile((TextureRegion)null);
+		otherTile.getProperties().put(SimpleController.class.getSimpleName(), "sensor=true");
+		
+		//then
+		assertTrue(factory.hasSensorFixtures(sensorTile));
+		assertFalse(factory.hasSensorFixtures(solidTile));
+		assertFalse(factory.hasSensorFixtures(otherTile));
+		assertFalse(factory.hasSensorFixtures(tile));
 	}
 	
 	private ZootTiledMapCell createDefaultCell()
@@ -8,7 +8,10 @@ import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
 import com.zootcat.assets.ZootAssetRecognizer;
 import com.zootcat.map.ZootMap;
 import com.zootcat.map.tiled.ZootTiledMapLoader;
@@ -130,4 +133,44 @@ public class ZootLayerOptimizerTest
 		assertEquals(32.0f, regions.get(5).tileWidth, 0.0f);
 		assertEquals(32.0f, regions.get(5).tileHeight, 0.0f);
 	}
+	
+	@Test
+	public void optimizeAreaTest()
+	{
+		//given
+		TiledMapTileLayer layer = new TiledMapTileLayer(10, 4, 32, 32);
+		StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+		for(int x = 0; x < 10; ++x)
+		{
+			for(int y = 0; y < 2; ++y)
+			{
+				Cell cell = new Cell();
+				cell.setTile(tile);
+				layer.setCell(x, y, cell);
+			}
+		}
+		
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, new ZootTiledCellTileComparator(), 4, 0, 4, 4);
+		
+		//then
+		assertEquals(1, regions.size());
+		assertEquals(4, regions.get(0).x);
+		assertEquals(0, regions.get(0).y);
+		assertEquals(4, regions.get(0).width);
+		assertEquals(2, regions.get(0).height);
+	}
+	
+	@Test
+	public void optimizeAreaOutsideOfLayerTest()
+	{
+		//given
+		TiledMapTileLayer layer = new TiledMapTileLayer(10, 4, 32, 32);
+		
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, new ZootTiledCellTileComparator(), 10, 0, 4, 4);
+		
+		//then
+		assertEquals(0, regions.size());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,301 @@
+package com.zootcat.map.tiled.optimizer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+
+public class ZootLayerOutlineOptimizerTest
+{
+	private static final float TILE_SIZE = 32.0f;
+
+	private TiledMapTileLayer layer;
+	private TiledMapTile tile;
+	private TiledMapTile otherTile;
+	private ZootTiledCellTileComparator comparator;
+
+	@Before
+	public void setup()
+	{
+		layer = new TiledMapTileLayer(10, 10, (int)TILE_SIZE, (int)TILE_SIZE);
+		tile = new StaticTiledMapTile(new TextureRegion());
+		otherTile = new StaticTiledMapTile(new TextureRegion());
+		comparator = new ZootTiledCellTileComparator();
+	}
+
+	@Test
+	public void shouldReturnNoRegionsForEmptyLayer()
+	{
+		assertEquals(0, ZootLayerOutlineOptimizer.optimize(layer, comparator).size());
+	}
+
+	@Test
+	public void shouldOutlineBox()
+	{
+		//given
+		fill(tile, 2, 3, 3, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 2, 3, 3, 2);
+		assertEquals(TILE_SIZE, regions.get(0).tileWidth, 0.0f);
+		assertEquals(TILE_SIZE, regions.get(0).tileHeight, 0.0f);
+		assertSame(tile, regions.get(0).cell.getTile());
+		assertEquals(1, regions.get(0).outlines.length);
+		assertArrayEquals(new float[]{0, 0, 3, 0, 3, 2, 0, 2}, regions.get(0).outlines[0], 0.0f);
+	}
+
+	@Test
+	public void shouldOutlineLShapeWithoutCollinearVertices()
+	{
+		//given
+		fill(tile, 0, 0, 4, 1);
+		fill(tile, 0, 1, 1, 3);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 0, 0, 4, 4);
+		assertEquals(1, regions.get(0).outlines.length);
+		assertArrayEquals(new float[]{0, 0, 4, 0, 4, 1, 1, 1, 1, 4, 0, 4}, regions.get(0).outlines[0], 0.0f);
+		assertEquals(7.0f, getArea(regions.get(0)), 0.0f);
+	}
+
+	@Test
+	public void shouldDivideLShapedSensorIslandIntoBoxes()
+	{
+		//given
+		fill(tile, 0, 0, 4, 1);
+		fill(tile, 0, 1, 1, 3);
+		fill(otherTile, 6, 0, 2, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator, cell -> cell.getTile() == tile);
+
+		//then
+		assertEquals(3, regions.size());
+		assertRegion(regions.get(0), 0, 0, 4, 1);
+		assertRegion(regions.get(1), 0, 1, 1, 3);
+		assertNull(regions.get(0).outlines);
+		assertNull(regions.get(1).outlines);
+		assertSame(tile, regions.get(0).cell.getTile());
+		assertSame(tile, regions.get(1).cell.getTile());
+		assertRegion(regions.get(2), 6, 0, 2, 2);
+		assertNotNull(regions.get(2).outlines);
+	}
+
+	@Test
+	public void shouldDivideSensorIslandsOnlyInsideOfArea()
+	{
+		//given
+		fill(tile, 0, 0, 4, 1);
+		fill(tile, 0, 1, 1, 3);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator, cell -> true, 1, 0, 3, 3);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 1, 0, 3, 1);
+		assertNull(regions.get(0).outlines);
+	}
+
+	@Test
+	public void shouldOutlineHoles()
+	{
+		//given
+		fill(tile, 1, 1, 4, 4);
+		layer.setCell(2, 2, null);
+		layer.setCell(3, 2, null);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 1, 1, 4, 4);
+		assertEquals(2, regions.get(0).outlines.length);
+		assertEquals(16.0f, getSignedArea(regions.get(0).outlines[0]), 0.0f);
+		assertEquals(-2.0f, getSignedArea(regions.get(0).outlines[1]), 0.0f);
+		assertEquals(14.0f, getArea(regions.get(0)), 0.0f);
+	}
+
+	@Test
+	public void shouldTraceOutlinesTouchingInSingleVertexSeparately()
+	{
+		//given
+		layer.setCell(1, 1, createCell(tile));
+		layer.setCell(0, 1, createCell(tile));
+		fill(tile, 0, 2, 1, 2);
+		layer.setCell(1, 3, createCell(tile));
+		fill(tile, 2, 2, 1, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator);
+
+		//then
+		assertEquals(1, regions.size());
+		assertEquals(2, regions.get(0).outlines.length);
+		assertEquals(4, regions.get(0).outlines[1].length / 2);
+		assertEquals(-1.0f, getSignedArea(regions.get(0).outlines[1]), 0.0f);
+		assertEquals(7.0f, getArea(regions.get(0)), 0.0f);
+	}
+
+	@Test
+	public void shouldSplitIslandsByTile()
+	{
+		//given
+		fill(tile, 0, 0, 2, 2);
+		fill(otherTile, 2, 0, 2, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator);
+
+		//then
+		assertEquals(2, regions.size());
+		assertRegion(regions.get(0), 0, 0, 2, 2);
+		assertSame(tile, regions.get(0).cell.getTile());
+		assertRegion(regions.get(1), 2, 0, 2, 2);
+		assertSame(otherTile, regions.get(1).cell.getTile());
+	}
+
+	@Test
+	public void shouldNotConnectDiagonalCells()
+	{
+		//given
+		layer.setCell(0, 0, createCell(tile));
+		layer.setCell(1, 1, createCell(tile));
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator);
+
+		//then
+		assertEquals(2, regions.size());
+		assertRegion(regions.get(0), 0, 0, 1, 1);
+		assertRegion(regions.get(1), 1, 1, 1, 1);
+	}
+
+	@Test
+	public void shouldOptimizeOnlyGivenArea()
+	{
+		//given
+		fill(tile, 0, 0, 10, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(layer, comparator, 4, 0, 4, 4);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 4, 0, 4, 2);
+		assertArrayEquals(new float[]{0, 0, 4, 0, 4, 2, 0, 2}, regions.get(0).outlines[0], 0.0f);
+	}
+
+	@Test
+	public void shouldCoverAllCellsOfRandomLayer()
+	{
+		//given
+		TiledMapTileLayer randomLayer = new TiledMapTileLayer(40, 40, (int)TILE_SIZE, (int)TILE_SIZE);
+		java.util.Random random = new java.util.Random(123);
+		int cellCount = 0;
+		for(int x = 0; x < 40; ++x)
+		{
+			for(int y = 0; y < 40; ++y)
+			{
+				if(random.nextInt(3) == 0) continue;
+				randomLayer.setCell(x, y, createCell(random.nextBoolean() ? tile : otherTile));
+				++cellCount;
+			}
+		}
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOutlineOptimizer.optimize(randomLayer, comparator);
+
+		//then
+		float area = 0.0f;
+		for(ZootLayerRegion region : regions)
+		{
+			area += getArea(region);
+			for(float[] outline : region.outlines)
+			{
+				assertPerpendicularSegments(outline);
+			}
+		}
+		assertEquals(cellCount, area, 0.0f);
+	}
+	
+	private void assertPerpendicularSegments(float[] outline)
+	{
+		assertEquals(0, outline.length % 4);
+		for(int i = 0; i < outline.length; i += 2)
+		{
+			int next = (i + 2) % outline.length;
+			boolean horizontal = outline[i + 1] == outline[next + 1];
+			boolean expectedHorizontal = (i / 2) % 2 == (outline[1] == outline[3] ? 0 : 1);
+			assertEquals("Segment " + i / 2 + " should be perpendicular to the previous one", expectedHorizontal, horizontal);
+		}
+	}
+
+	private void assertRegion(ZootLayerRegion region, int x, int y, int width, int height)
+	{
+		assertEquals(x, region.x);
+		assertEquals(y, region.y);
+		assertEquals(width, region.width);
+		assertEquals(height, region.height);
+	}
+
+	private float getArea(ZootLayerRegion region)
+	{
+		float area = 0.0f;
+		for(float[] outline : region.outlines)
+		{
+			area += getSignedArea(outline);
+		}
+		return area;
+	}
+
+	private float getSignedArea(float[] outline)
+	{
+		float area = 0.0f;
+		for(int i = 0; i < outline.length; i += 2)
+		{
+			int next = (i + 2) % outline.length;
+			area += outline[i] * outline[next + 1] - outline[next] * outline[i + 1];
+		}
+		return area * 0.5f;
+	}
+
+	private void fill(TiledMapTile tile, int x, int y, int width, int height)
+	{
+		for(int cx = x; cx < x + width; ++cx)
+		{
+			for(int cy = y; cy < y + height; ++cy)
+			{
+				layer.setCell(cx, cy, createCell(tile));
+			}
+		}
+	}
+
+	private Cell createCell(TiledMapTile tile)
+	{
+		Cell cell = new Cell();
+		cell.setTile(tile);
+		return cell;
+	}
+}
@@ -0,0 +1,308 @@
+package com.zootcat.map.tiled.optimizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.zootcat.testing.HeadlessGdxTestRunner;
+
+@RunWith(HeadlessGdxTestRunner.class)
+public class ZootMinimumPartitionStrategyTest
+{
+	private static final int TILE_SIZE = 32;
+
+	private TiledMapTileLayer layer;
+	private TiledMapTile tile;
+	private TiledMapTile otherTile;
+	private ZootTiledCellTileComparator comparator;
+	private ZootMinimumPartitionStrategy strategy;
+
+	@Before
+	public void setup()
+	{
+		layer = new TiledMapTileLayer(10, 10, TILE_SIZE, TILE_SIZE);
+		tile = new StaticTiledMapTile(new TextureRegion());
+		otherTile = new StaticTiledMapTile(new TextureRegion());
+		comparator = new ZootTiledCellTileComparator();
+		strategy = new ZootMinimumPartitionStrategy();
+	}
+
+	@Test
+	public void shouldReturnNoRegionsForEmptyLayer()
+	{
+		assertEquals(0, ZootLayerOptimizer.optimize(layer, comparator, strategy).size());
+	}
+
+	@Test
+	public void shouldCreateSingleRegionForBox()
+	{
+		//given
+		fill(layer, tile, 2, 3, 3, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 2, 3, 3, 2);
+		assertEquals(TILE_SIZE, regions.get(0).tileWidth, 0.0f);
+		assertEquals(TILE_SIZE, regions.get(0).tileHeight, 0.0f);
+		assertSame(tile, regions.get(0).cell.getTile());
+	}
+
+	@Test
+	public void shouldCreateFewerRegionsThanGreedyForTShape()
+	{
+		//given
+		fill(layer, tile, 0, 1, 3, 1);
+		layer.setCell(1, 0, createCell(tile));
+
+		//when
+		List<ZootLayerRegion> greedyRegions = ZootLayerOptimizer.optimize(layer, comparator);
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(3, greedyRegions.size());
+		assertEquals(2, regions.size());
+		assertPartition(layer, regions);
+	}
+
+	@Test
+	public void shouldNotCreateMoreRegionsThanGreedyForLShape()
+	{
+		//given
+		fill(layer, tile, 0, 0, 1, 4);
+		fill(layer, tile, 1, 0, 3, 1);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(2, regions.size());
+		assertPartition(layer, regions);
+	}
+
+	@Test
+	public void shouldCreateFewerRegionsThanGreedyForStaircase()
+	{
+		//given
+		fill(layer, tile, 4, 0, 2, 1);
+		fill(layer, tile, 2, 1, 6, 1);
+		fill(layer, tile, 0, 2, 10, 1);
+
+		//when
+		List<ZootLayerRegion> greedyRegions = ZootLayerOptimizer.optimize(layer, comparator);
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(5, greedyRegions.size());
+		assertEquals(3, regions.size());
+		assertPartition(layer, regions);
+	}
+
+	@Test
+	public void shouldUseChordsBetweenConcaveVertices()
+	{
+		//given - cross, two parallel chords are used instead of cutting every concave vertex
+		fill(layer, tile, 2, 0, 2, 8);
+		fill(layer, tile, 0, 3, 6, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(3, regions.size());
+		assertPartition(layer, regions);
+	}
+
+	@Test
+	public void shouldPartitionIslandWithHole()
+	{
+		//given
+		fill(layer, tile, 1, 1, 5, 5);
+		layer.setCell(3, 3, null);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(4, regions.size());
+		assertPartition(layer, regions);
+	}
+
+	@Test
+	public void shouldNotMergeDifferentTiles()
+	{
+		//given
+		fill(layer, tile, 0, 0, 2, 2);
+		fill(layer, otherTile, 2, 0, 2, 2);
+
+		//when
+		List<ZootLayerRegion> regions = ZootLayerOptimizer.optimize(layer, comparator, strategy);
+
+		//then
+		assertEquals(2, regions.size());
+		assertRegion(regions.get(0), 0, 0, 2, 2);
+		assertSame(tile, regions.get(0).cell.getTile());
+		assertRegion(regions.get(1), 2, 0, 2, 2);
+		assertSame(otherTile, regions.get(1).cell.getTile());
+	}
+
+	@Test
+	public void shouldOptimizeOnlyGivenArea()
+	{
+		//given
+		fill(layer, tile, 0, 0, 10, 2);
+
+		//when
+		List<ZootLayerRegion> regions = strategy.optimize(layer, comparator, 4, 0, 4, 4);
+
+		//then
+		assertEquals(1, regions.size());
+		assertRegion(regions.get(0), 4, 0, 4, 2);
+	}
+
+	@Test
+	public void shouldExactlyCoverCellsOfRandomLayers()
+	{
+		ZootGreedyOptimizationStrategy greedyStrategy = new ZootGreedyOptimizationStrategy();
+		Random random = new Random(1234);
+		for(int i = 0; i < 50; ++i)
+		{
+			//given
+			int width = 1 + random.nextInt(40);
+			int height = 1 + random.nextInt(40);
+			int emptyChance = 2 + random.nextInt(6);
+			TiledMapTileLayer randomLayer = new TiledMapTileLayer(width, height, TILE_SIZE, TILE_SIZE);
+			for(int x = 0; x < width; ++x)
+			{
+				for(int y = 0; y < height; ++y)
+				{
+					if(random.nextInt(emptyChance) == 0) continue;
+					randomLayer.setCell(x, y, createCell(random.nextInt(4) == 0 ? otherTile : tile));
+				}
+			}
+
+			//when
+			List<ZootLayerRegion> greedyRegions = greedyStrategy.optimize(randomLayer, comparator, 0, 0, width, height);
+			List<ZootLayerRegion> regions = strategy.optimize(randomLayer, comparator, 0, 0, width, height);
+
+			//then
+			assertPartition(randomLayer, greedyRegions);
+			assertPartition(randomLayer, regions);
+			assertTrue("Layer " + i + " regions: " + regions.size() + " greedy: " + greedyRegions.size(), regions.size() <= greedyRegions.size());
+		}
+	}
+
+	@Ignore("Benchmark, takes several seconds")
+	@Test
+	public void benchmarkRandomBigLayer()
+	{
+		//given
+		final int size = 1000;
+		final int runs = 5;
+		Random random = new Random(1234);
+		TiledMapTileLayer bigLayer = new TiledMapTileLayer(size, size, TILE_SIZE, TILE_SIZE);
+		for(int x = 0; x < size; ++x)
+		{
+			for(int y = 0; y < size; ++y)
+			{
+				if(random.nextInt(3) == 0) continue;
+				bigLayer.setCell(x, y, createCell(tile));
+			}
+		}
+		ZootGreedyOptimizationStrategy greedyStrategy = new ZootGreedyOptimizationStrategy();
+
+		//when
+		List<ZootLayerRegion> greedyRegions = null;
+		List<ZootLayerRegion> regions = null;
+		long greedyTime = Long.MAX_VALUE;
+		long time = Long.MAX_VALUE;
+		for(int i = 0; i < runs; ++i)
+		{
+			long start = System.nanoTime();
+			greedyRegions = greedyStrategy.optimize(bigLayer, comparator, 0, 0, size, size);
+			greedyTime = Math.min(greedyTime, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			regions = strategy.optimize(bigLayer, comparator, 0, 0, size, size);
+			time = Math.min(time, System.nanoTime() - start);
+		}
+		Gdx.app.log("ZootMinimumPartitionStrategyTest", "Layer " + size + "x" + size + ", best of " + runs + " runs, "
+				+ "greedy: " + greedyRegions.size() + " regions in " + (greedyTime / 1000000) + " ms, "
+				+ "minimum: " + regions.size() + " regions in " + (time / 1000000) + " ms");
+
+		//then
+		assertPartition(bigLayer, regions);
+		assertTrue("Regions: " + regions.size() + " greedy: " + greedyRegions.size(), regions.size() <= greedyRegions.size());
+	}
+
+	private void assertPartition(TiledMapTileLayer layer, List<ZootLayerRegion> regions)
+	{
+		boolean[][] covered = new boolean[layer.getWidth()][layer.getHeight()];
+		for(ZootLayerRegion region : regions)
+		{
+			assertTrue(region.width > 0 && region.height > 0);
+			for(int x = region.x; x < region.x + region.width; ++x)
+			{
+				for(int y = region.y; y < region.y + region.height; ++y)
+				{
+					Cell cell = layer.getCell(x, y);
+					assertFalse("Cell " + x + "," + y + " is covered twice", covered[x][y]);
+					assertTrue("Cell " + x + "," + y + " is null", cell != null);
+					assertTrue("Cell " + x + "," + y + " is different", comparator.areEqual(region.cell, cell));
+					covered[x][y] = true;
+				}
+			}
+		}
+
+		for(int x = 0; x < layer.getWidth(); ++x)
+		{
+			for(int y = 0; y < layer.getHeight(); ++y)
+			{
+				assertEquals("Cell " + x + "," + y + " coverage", layer.getCell(x, y) != null, covered[x][y]);
+			}
+		}
+	}
+
+	private void assertRegion(ZootLayerRegion region, int x, int y, int width, int height)
+	{
+		assertEquals(x, region.x);
+		assertEquals(y, region.y);
+		assertEquals(width, region.width);
+		assertEquals(height, region.height);
+	}
+
+	private void fill(TiledMapTileLayer layer, TiledMapTile tile, int x, int y, int width, int height)
+	{
+		for(int cx = x; cx < x + width; ++cx)
+		{
+			for(int cy = y; cy < y + height; ++cy)
+			{
+				layer.setCell(cx, cy, createCell(tile));
+			}
+		}
+	}
+
+	private Cell createCell(TiledMapTile tile)
+	{
+		Cell cell = new Cell();
+		cell.setTile(tile);
+		return cell;
+	}
+}
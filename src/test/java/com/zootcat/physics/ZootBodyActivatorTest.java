@@ -0,0 +1,245 @@
+package com.zootcat.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.zootcat.scene.ZootActor;
+
+public class ZootBodyActivatorTest
+{
+	private static final float MARGIN = 2.0f;
+	private static final Rectangle VIEW = new Rectangle(0.0f, 0.0f, 10.0f, 10.0f);
+
+	private ZootPhysics physics;
+	private ZootBodyActivator activator;
+
+	@Before
+	public void setup()
+	{
+		physics = new ZootPhysics();
+		activator = physics.getBodyActivator();
+		activator.setMargin(MARGIN);
+		activator.setEnabled(true);
+	}
+
+	@After
+	public void tearDown()
+	{
+		physics.dispose();
+	}
+
+	@Test
+	public void shouldHaveDefaultValues()
+	{
+		ZootBodyActivator activator = new ZootBodyActivator(physics.getWorld());
+		assertFalse(activator.isEnabled());
+		assertEquals(ZootBodyActivator.DEFAULT_MARGIN, activator.getMargin(), 0.0f);
+		assertEquals(ZootBodyActivator.DEFAULT_BATCH_SIZE, activator.getBatchSize());
+		assertEquals(0, activator.getDeactivatedBodyCount());
+	}
+
+	@Test
+	public void updateShouldDoNothingWhenDisabled()
+	{
+		//given
+		Body body = createActorBody(50.0f, 50.0f);
+		activator.setEnabled(false);
+
+		//when
+		activator.update(VIEW);
+
+		//then
+		assertTrue(body.isActive());
+	}
+
+	@Test
+	public void updateShouldDeactivateBodiesOutsideOfRegion()
+	{
+		//given
+		Body inside = createActorBody(5.0f, 5.0f);
+		Body inMargin = createActorBody(11.5f, 5.0f);
+		Body partiallyInside = createActorBody(-2.2f, 5.0f);
+		Body outside = createActorBody(50.0f, 50.0f);
+
+		//when
+		activator.update(VIEW);
+
+		//then
+		assertTrue(inside.isActive());
+		assertTrue(inMargin.isActive());
+		assertTrue(partiallyInside.isActive());
+		assertFalse(outside.isActive());
+		assertEquals(1, activator.getDeactivatedBodyCount());
+		assertEquals(3, physics.getActiveBodyCount());
+		assertEquals(1, physics.getInactiveBodyCount());
+	}
+
+	@Test
+	public void updateShouldNotDeactivateBodiesWithoutActors()
+	{
+		//given
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.position.set(50.0f, 50.0f);
+		Body body = physics.createBody(bodyDef);
+
+		//when
+		activator.update(VIEW);
+
+		//then
+		assertTrue(body.isActive());
+	}
+
+	@Test
+	public void updateShouldNotDeactivateAlwaysActiveBodies()
+	{
+		//given
+		Body body = createActorBody(50.0f, 50.0f);
+		activator.addAlwaysActiveBody(body);
+
+		//when
+		activator.update(VIEW);
+
+		//then
+		assertTrue(activator.isAlwaysActive(body));
+		assertTrue(body.isActive());
+	}
+
+	@Test
+	public void updateShouldReactivateBodiesWhenRegionMovesOverThem()
+	{
+		//given
+		Body body = createActorBody(50.0f, 50.0f);
+		activator.update(VIEW);
+
+		//when
+		activator.update(new Rectangle(40.0f, 40.0f, 10.0f, 10.0f));
+
+		//then
+		assertTrue(body.isActive());
+		assertEquals(0, activator.getDeactivatedBodyCount());
+	}
+
+	@Test
+	public void updateShouldReactivateBodiesMarkedAsAlwaysActive()
+	{
+		//given
+		Body body = createActorBody(50.0f, 50.0f);
+		activator.update(VIEW);
+
+		//when
+		activator.addAlwaysActiveBody(body);
+		activator.update(VIEW);
+
+		//then
+		assertTrue(body.isActive());
+
+		//when
+		activator.removeAlwaysActiveBody(body);
+		activator.update(VIEW);
+
+		//then
+		assertFalse(activator.isAlwaysActive(body));
+		assertFalse(body.isActive());
+	}
+
+	@Test
+	public void updateShouldNotActivateBodiesDeactivatedByGame()
+	{
+		//given
+		Body body = createActorBody(5.0f, 5.0f);
+		body.setActive(false);
+
+		//when
+		activator.update(VIEW);
+
+		//then
+		assertFalse(body.isActive());
+		assertEquals(0, activator.getDeactivatedBodyCount());
+	}
+
+	@Test
+	public void updateShouldDeactivateBodiesInBatches()
+	{
+		//given
+		activator.setBatchSize(2);
+		for(int i = 0; i < 5; ++i)
+		{
+			createActorBody(50.0f + i, 50.0f);
+		}
+
+		//when
+		activator.update(VIEW);
+
+		//then
+		assertEquals(2, activator.getDeactivatedBodyCount());
+
+		//when
+		activator.update(VIEW);
+		activator.update(VIEW);
+
+		//then
+		assertEquals(5, activator.getDeactivatedBodyCount());
+		assertEquals(0, physics.getActiveBodyCount());
+	}
+
+	@Test
+	public void disableShouldReactivateBodies()
+	{
+		//given
+		Body body = createActorBody(50.0f, 50.0f);
+		activator.update(VIEW);
+
+		//when
+		activator.setEnabled(false);
+
+		//then
+		assertTrue(body.isActive());
+		assertEquals(0, activator.getDeactivatedBodyCount());
+	}
+
+	@Test
+	public void shouldForgetRemovedBodies()
+	{
+		//given
+		Body body = createActorBody(50.0f, 50.0f);
+		Body other = createActorBody(60.0f, 50.0f);
+		activator.update(VIEW);
+
+		//when
+		physics.removeBody(body);
+		activator.update(new Rectangle(55.0f, 45.0f, 10.0f, 10.0f));
+
+		//then
+		assertEquals(0, activator.getDeactivatedBodyCount());
+		assertTrue(other.isActive());
+		assertEquals(1, physics.getActiveBodyCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setBatchSizeShouldThrowOnInvalidSize()
+	{
+		activator.setBatchSize(0);
+	}
+
+	private Body createActorBody(float x, float y)
+	{
+		ZootActor actor = new ZootActor();
+		actor.setBounds(x - 0.5f, y - 0.5f, 1.0f, 1.0f);
+
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		bodyDef.position.set(x, y);
+		Body body = physics.createBody(bodyDef);
+		body.setUserData(actor);
+		return body;
+	}
+}
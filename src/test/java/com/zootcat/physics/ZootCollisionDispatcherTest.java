@@ -0,0 +1,148 @@
+package com.zootcat.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.zootcat.physics.ZootCollisionEvent.Type;
+
+public class ZootCollisionDispatcherTest
+{
+	private Body body;
+	private ZootCollisionListener listener1;
+	private ZootCollisionListener listener2;
+	private ZootCollisionDispatcher dispatcher;
+
+	@Before
+	public void setup()
+	{
+		body = mock(Body.class);
+		listener1 = mock(ZootCollisionListener.class);
+		listener2 = mock(ZootCollisionListener.class);
+		when(listener1.isInterestedIn(any(Type.class))).thenReturn(true);
+		when(listener2.isInterestedIn(any(Type.class))).thenReturn(true);
+		dispatcher = new ZootCollisionDispatcher();
+	}
+
+	@Test
+	public void shouldReturnNoListenersForUnknownBody()
+	{
+		assertEquals(0, dispatcher.getListeners(body, Type.BeginContact).length);
+		assertFalse(dispatcher.hasListeners(body));
+	}
+
+	@Test
+	public void shouldAddListenersInOrder()
+	{
+		//when
+		dispatcher.addListener(body, listener1);
+		dispatcher.addListener(body, listener2);
+
+		//then
+		ZootCollisionListener[] listeners = dispatcher.getListeners(body, Type.BeginContact);
+		assertEquals(2, listeners.length);
+		assertEquals(listener1, listeners[0]);
+		assertEquals(listener2, listeners[1]);
+		assertTrue(dispatcher.hasListeners(body));
+	}
+
+	@Test
+	public void shouldAddListenerOnlyForTypesItIsInterestedIn()
+	{
+		//given
+		ZootCollisionListener listener = mock(ZootCollisionListener.class);
+		when(listener.isInterestedIn(Type.PreSolve)).thenReturn(true);
+
+		//when
+		dispatcher.addListener(body, listener);
+
+		//then
+		assertEquals(0, dispatcher.getListeners(body, Type.BeginContact).length);
+		assertEquals(0, dispatcher.getListeners(body, Type.EndContact).length);
+		assertEquals(1, dispatcher.getListeners(body, Type.PreSolve).length);
+		assertEquals(0, dispatcher.getListeners(body, Type.PostSolve).length);
+	}
+
+	@Test
+	public void shouldRemoveListener()
+	{
+		//given
+		dispatcher.addListener(body, listener1);
+		dispatcher.addListener(body, listener2);
+
+		//when
+		dispatcher.removeListener(body, listener1);
+
+		//then
+		ZootCollisionListener[] listeners = dispatcher.getListeners(body, Type.EndContact);
+		assertEquals(1, listeners.length);
+		assertEquals(listener2, listeners[0]);
+
+		//when
+		dispatcher.removeListener(body, listener2);
+
+		//then
+		assertEquals(0, dispatcher.getListeners(body, Type.EndContact).length);
+		assertFalse(dispatcher.hasListeners(body));
+	}
+
+	@Test
+	public void shouldNotModifyListenersArrayReturnedBeforeChange()
+	{
+		//given
+		dispatcher.addListener(body, listener1);
+		ZootCollisionListener[] listeners = dispatcher.getListeners(body, Type.BeginContact);
+
+		//when
+		dispatcher.addListener(body, listener2);
+		dispatcher.removeListener(body, listener1);
+
+		//then
+		assertEquals(1, listeners.length);
+		assertEquals(listener1, listeners[0]);
+	}
+
+	@Test
+	public void shouldRemoveAllBodyListeners()
+	{
+		//given
+		dispatcher.addListener(body, listener1);
+		dispatcher.addListener(body, listener2);
+
+		//when
+		dispatcher.removeListeners(body);
+
+		//then
+		assertFalse(dispatcher.hasListeners(body));
+		assertEquals(0, dispatcher.getListeners(body, Type.PostSolve).length);
+	}
+
+	@Test
+	public void shouldClearListeners()
+	{
+		//given
+		dispatcher.addListener(body, listener1);
+
+		//when
+		dispatcher.clear();
+
+		//then
+		assertFalse(dispatcher.hasListeners(body));
+	}
+
+	@Test
+	public void shouldNotThrowWhenRemovingNotRegisteredListener()
+	{
+		dispatcher.removeListener(body, listener1);
+		dispatcher.addListener(body, listener2);
+		dispatcher.removeListener(body, listener1);
+		assertEquals(1, dispatcher.getListeners(body, Type.BeginContact).length);
+	}
+}
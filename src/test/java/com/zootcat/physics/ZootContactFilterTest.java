@@ -3,6 +3,9 @@ package com.zootcat.physics;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Before;
@@ -85,6 +88,43 @@ public class ZootContactFilterTest
 		assertTrue(contactFilter.shouldCollide(fixtureA, fixtureB));
 	}
 	
+	@Test
+	public void removingLastFixtureFilterShouldRestoreDefaultBehaviourTest()
+	{
+		filterA.categoryBits = 0x0004;
+		filterA.maskBits = 0x0004;
+		filterB.categoryBits = 0x0008;
+		contactFilter.addFixtureFilter(fixtureA, filterTrue);
+		assertTrue(contactFilter.shouldCollide(fixtureA, fixtureB));
+		
+		contactFilter.removeFixtureFilter(fixtureA, filterTrue);
+		assertFalse(contactFilter.shouldCollide(fixtureA, fixtureB));
+	}
+	
+	@Test
+	public void removingNotAddedFixtureFilterShouldDoNothingTest()
+	{
+		contactFilter.removeFixtureFilter(fixtureA, filterFalse);
+		assertTrue(contactFilter.shouldCollide(fixtureA, fixtureB));
+		
+		contactFilter.addFixtureFilter(fixtureA, filterFalse);
+		contactFilter.removeFixtureFilter(fixtureA, filterTrue);
+		assertFalse(contactFilter.shouldCollide(fixtureA, fixtureB));
+	}
+	
+	@Test
+	public void fixturesWithoutFiltersShouldUseDefaultBehaviourWhenOtherFixturesHaveFiltersTest()
+	{
+		Fixture fixtureC = mock(Fixture.class);
+		contactFilter.addFixtureFilter(fixtureC, filterFalse);
+		filterA.categoryBits = 0x0004;
+		filterA.maskBits = 0x0004;
+		filterB.categoryBits = 0x0008;
+		
+		assertFalse(contactFilter.shouldCollide(fixtureA, fixtureB));
+		verify(filterFalse, never()).shouldCollide(anyObject(), anyObject());
+	}
+	
 	@Test
 	public void defaultFiltersShouldCollideTest()
 	{
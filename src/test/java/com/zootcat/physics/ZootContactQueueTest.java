@@ -0,0 +1,322 @@
+package com.zootcat.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.zootcat.scene.ZootActor;
+
+public class ZootContactQueueTest
+{
+	private List<String> events;
+	private ZootCollisionDispatcher dispatcher;
+	private ZootContactQueue queue;
+
+	@Before
+	public void setup()
+	{
+		events = new ArrayList<String>();
+		dispatcher = new ZootCollisionDispatcher();
+		queue = new ZootContactQueue(4);
+	}
+
+	@Test
+	public void shouldCreateQueueWithDefaultCapacity()
+	{
+		assertEquals(ZootContactQueue.DEFAULT_CAPACITY, new ZootContactQueue().getCapacity());
+		assertEquals(0, new ZootContactQueue().size());
+	}
+
+	@Test
+	public void shouldDispatchRecordedContacts()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A"));
+
+		//when
+		queue.addBeginContact(createContact(fixtureA, fixtureB));
+		queue.addEndContact(createContact(fixtureA, fixtureB));
+		int recorded = queue.size();
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(2, recorded);
+		assertEquals(0, queue.size());
+		assertEquals(Arrays.asList("A begin a-b", "A end a-b"), events);
+	}
+
+	@Test
+	public void shouldGroupContactsByBodyInFirstRecordedOrder()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		Fixture fixtureC = createFixture("c");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A"));
+		dispatcher.addListener(fixtureB.getBody(), new RecordingListener("B"));
+		dispatcher.addListener(fixtureC.getBody(), new RecordingListener("C"));
+
+		//when
+		queue.addBeginContact(createContact(fixtureB, fixtureC));
+		queue.addBeginContact(createContact(fixtureA, fixtureB));
+		queue.addEndContact(createContact(fixtureB, fixtureC));
+		queue.addBeginContact(createContact(fixtureC, fixtureA));
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(Arrays.asList("B begin b-c", "B begin a-b", "B end b-c",
+								   "C begin b-c", "C end b-c", "C begin c-a",
+								   "A begin a-b", "A begin c-a"), events);
+	}
+
+	@Test
+	public void shouldPassDeferredContactWithRecordedFixtures()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		List<Contact> contacts = new ArrayList<Contact>();
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A")
+		{
+			@Override
+			public void beginContact(ZootActor actorA, ZootActor actorB, Contact contact)
+			{
+				contacts.add(contact);
+				assertSame(fixtureB, contact.getFixtureA());
+				assertSame(fixtureA, contact.getFixtureB());
+				assertEquals(2, contact.getChildIndexA());
+				assertEquals(3, contact.getChildIndexB());
+				assertTrue(contact.isTouching());
+			}
+		});
+
+		Contact contact = createContact(fixtureB, fixtureA);
+		when(contact.getChildIndexA()).thenReturn(2);
+		when(contact.getChildIndexB()).thenReturn(3);
+
+		//when
+		queue.addBeginContact(contact);
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(1, contacts.size());
+		assertTrue(contacts.get(0) instanceof ZootDeferredContact);
+	}
+
+	@Test
+	public void shouldNotDispatchToListenersRequiringImmediateDispatch()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A")
+		{
+			@Override
+			public boolean requiresImmediateDispatch()
+			{
+				return true;
+			}
+		});
+		dispatcher.addListener(fixtureB.getBody(), new RecordingListener("B"));
+
+		//when
+		queue.addBeginContact(createContact(fixtureA, fixtureB));
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(Arrays.asList("B begin a-b"), events);
+	}
+
+	@Test
+	public void shouldDropContactsOfRemovedBody()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		Fixture fixtureC = createFixture("c");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A"));
+		queue.addBeginContact(createContact(fixtureA, fixtureB));
+		queue.addBeginContact(createContact(fixtureA, fixtureC));
+
+		//when
+		queue.remove(fixtureB.getBody());
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(Arrays.asList("A begin a-c"), events);
+		assertEquals(1, queue.getDroppedCount());
+	}
+
+	@Test
+	public void shouldDropContactsOfRemovedFixture()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		Fixture otherFixtureB = createFixture("b2", fixtureB.getBody());
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A"));
+		queue.addBeginContact(createContact(fixtureA, fixtureB));
+		queue.addBeginContact(createContact(fixtureA, otherFixtureB));
+
+		//when
+		queue.remove(fixtureB);
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(Arrays.asList("A begin a-b2"), events);
+		assertEquals(1, queue.getDroppedCount());
+	}
+
+	@Test
+	public void shouldDropContactsOfBodyRemovedDuringDispatch()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		Fixture fixtureB = createFixture("b");
+		Fixture fixtureC = createFixture("c");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A")
+		{
+			@Override
+			public void beginContact(ZootActor actorA, ZootActor actorB, Contact contact)
+			{
+				super.beginContact(actorA, actorB, contact);
+				queue.remove(fixtureB.getBody());
+			}
+		});
+		dispatcher.addListener(fixtureB.getBody(), new RecordingListener("B"));
+		dispatcher.addListener(fixtureC.getBody(), new RecordingListener("C"));
+
+		//when
+		queue.addBeginContact(createContact(fixtureA, fixtureB));
+		queue.addBeginContact(createContact(fixtureB, fixtureC));
+		queue.addBeginContact(createContact(fixtureC, fixtureA));
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(Arrays.asList("A begin a-b", "A begin c-a", "C begin c-a"), events);
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	public void shouldGrowAndKeepRecordingOrder()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A"));
+		List<String> expected = new ArrayList<String>();
+
+		//when
+		for(int i = 0; i < 3; ++i) queue.addBeginContact(createContact(fixtureA, createFixture("x" + i)));
+		queue.dispatch(dispatcher);
+		for(int i = 0; i < 10; ++i)
+		{
+			queue.addBeginContact(createContact(fixtureA, createFixture("y" + i)));
+			expected.add("A begin a-y" + i);
+		}
+		events.clear();
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(16, queue.getCapacity());
+		assertEquals(expected, events);
+	}
+
+	@Test
+	public void shouldSkipContactsWithoutListeners()
+	{
+		//given
+		queue.addBeginContact(createContact(createFixture("a"), createFixture("b")));
+
+		//when
+		queue.dispatch(dispatcher);
+
+		//then
+		assertTrue(events.isEmpty());
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	public void clearShouldRemoveRecordedContacts()
+	{
+		//given
+		Fixture fixtureA = createFixture("a");
+		dispatcher.addListener(fixtureA.getBody(), new RecordingListener("A"));
+		queue.addBeginContact(createContact(fixtureA, createFixture("b")));
+
+		//when
+		queue.clear();
+		queue.dispatch(dispatcher);
+
+		//then
+		assertEquals(0, queue.size());
+		assertFalse(events.contains("A begin a-b"));
+	}
+
+	private Fixture createFixture(String name)
+	{
+		return createFixture(name, mock(Body.class));
+	}
+
+	private Fixture createFixture(String name, Body body)
+	{
+		ZootActor actor = new ZootActor();
+		actor.setName(name);
+		Fixture fixture = mock(Fixture.class);
+		when(fixture.getBody()).thenReturn(body);
+		when(fixture.getUserData()).thenReturn(actor);
+		return fixture;
+	}
+
+	private Contact createContact(Fixture fixtureA, Fixture fixtureB)
+	{
+		Contact contact = mock(Contact.class);
+		when(contact.getFixtureA()).thenReturn(fixtureA);
+		when(contact.getFixtureB()).thenReturn(fixtureB);
+		return contact;
+	}
+
+	private class RecordingListener extends ZootCollisionListener
+	{
+		private final String name;
+
+		public RecordingListener(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public void beginContact(ZootActor actorA, ZootActor actorB, Contact contact)
+		{
+			events.add(name + " begin " + actorA.getName() + "-" + actorB.getName());
+		}
+
+		@Override
+		public void endContact(ZootActor actorA, ZootActor actorB, Contact contact)
+		{
+			events.add(name + " end " + actorA.getName() + "-" + actorB.getName());
+		}
+
+		@Override
+		public void preSolve(ZootActor actorA, ZootActor actorB, Contact contact, Manifold manifold) {}
+
+		@Override
+		public void postSolve(ZootActor actorA, ZootActor actorB, ContactImpulse contactImpulse) {}
+	}
+}
@@ -1,15 +1,15 @@
 package com.zootcat.physics;
 
 import static org.junit.Assert.*;
-import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -32,7 +32,9 @@ public class ZootPhysicsContactListenerTest
 	@Mock private Contact contact;
 	@Mock private Manifold oldManifold;
 	@Mock private ContactImpulse contactImpulse;
-	@Captor private ArgumentCaptor<ZootCollisionEvent> eventCaptor;
+	@Mock private ZootCollisionListener collisionListenerA;
+	@Mock private ZootCollisionListener collisionListenerB;
+	private ZootCollisionDispatcher dispatcher;
 	private ZootPhysicsContactListener listener;
 	
 	@Before
@@ -43,9 +45,15 @@ public class ZootPhysicsContactListenerTest
 		when(contact.getFixtureB()).thenReturn(fixtureB);
 		when(fixtureA.getBody()).thenReturn(bodyA);
 		when(fixtureB.getBody()).thenReturn(bodyB);		
-		when(bodyA.getUserData()).thenReturn(actorA);
-		when(bodyB.getUserData()).thenReturn(actorB);
-		listener = new ZootPhysicsContactListener();
+		when(fixtureA.getUserData()).thenReturn(actorA);
+		when(fixtureB.getUserData()).thenReturn(actorB);
+		when(collisionListenerA.isInterestedIn(any(Type.class))).thenReturn(true);
+		when(collisionListenerB.isInterestedIn(any(Type.class))).thenReturn(true);
+
+		dispatcher = new ZootCollisionDispatcher();
+		dispatcher.addListener(bodyA, collisionListenerA);
+		dispatcher.addListener(bodyB, collisionListenerB);
+		listener = new ZootPhysicsContactListener(dispatcher);
 	}
 	
 	@Test
@@ -55,27 +63,8 @@ public class ZootPhysicsContactListenerTest
 		listener.beginContact(contact);		
 				
 		//then
-		verify(actorA, times(1)).fire(anyObject());
-		verify(actorA).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventA = eventCaptor.getValue();
-		assertEquals(actorA, eventA.getActorA());
-		assertEquals(actorB, eventA.getActorB());
-		assertEquals(contact, eventA.getContact());
-		assertEquals(Type.BeginContact, eventA.getType());
-		assertNull(eventA.getManifold());
-		assertNull(eventA.getContactImpulse());
-				
-		verify(actorB, times(1)).fire(anyObject());
-		verify(actorB).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventB = eventCaptor.getValue();
-		assertEquals(actorA, eventB.getActorA());
-		assertEquals(actorB, eventB.getActorB());
-		assertEquals(contact, eventB.getContact());
-		assertEquals(Type.BeginContact, eventB.getType());
-		assertNull(eventB.getManifold());
-		assertNull(eventB.getContactImpulse());
+		verify(collisionListenerA, times(1)).beginContact(actorA, actorB, contact);
+		verify(collisionListenerB, times(1)).beginContact(actorA, actorB, contact);
 	}
 	
 	@Test
@@ -85,27 +74,8 @@ public class ZootPhysicsContactListenerTest
 		listener.endContact(contact);		
 				
 		//then
-		verify(actorA, times(1)).fire(anyObject());
-		verify(actorA).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventA = eventCaptor.getValue();
-		assertEquals(actorA, eventA.getActorA());
-		assertEquals(actorB, eventA.getActorB());
-		assertEquals(contact, eventA.getContact());
-		assertEquals(Type.EndContact, eventA.getType());
-		assertNull(eventA.getManifold());
-		assertNull(eventA.getContactImpulse());
-				
-		verify(actorB, times(1)).fire(anyObject());
-		verify(actorB).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventB = eventCaptor.getValue();
-		assertEquals(actorA, eventB.getActorA());
-		assertEquals(actorB, eventB.getActorB());
-		assertEquals(contact, eventB.getContact());
-		assertEquals(Type.EndContact, eventB.getType());
-		assertNull(eventB.getManifold());
-		assertNull(eventB.getContactImpulse());
+		verify(collisionListenerA, times(1)).endContact(actorA, actorB, contact);
+		verify(collisionListenerB, times(1)).endContact(actorA, actorB, contact);
 	}
 	
 	@Test
@@ -115,27 +85,8 @@ public class ZootPhysicsContactListenerTest
 		listener.preSolve(contact, oldManifold);		
 				
 		//then
-		verify(actorA, times(1)).fire(anyObject());
-		verify(actorA).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventA = eventCaptor.getValue();
-		assertEquals(actorA, eventA.getActorA());
-		assertEquals(actorB, eventA.getActorB());
-		assertEquals(contact, eventA.getContact());
-		assertEquals(Type.PreSolve, eventA.getType());
-		assertEquals(oldManifold, eventA.getManifold());
-		assertNull(eventA.getContactImpulse());
-				
-		verify(actorB, times(1)).fire(anyObject());
-		verify(actorB).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventB = eventCaptor.getValue();
-		assertEquals(actorA, eventB.getActorA());
-		assertEquals(actorB, eventB.getActorB());
-		assertEquals(contact, eventB.getContact());
-		assertEquals(Type.PreSolve, eventB.getType());
-		assertEquals(oldManifold, eventB.getManifold());
-		assertNull(eventB.getContactImpulse());
+		verify(collisionListenerA, times(1)).preSolve(actorA, actorB, contact, oldManifold);
+		verify(collisionListenerB, times(1)).preSolve(actorA, actorB, contact, oldManifold);
 	}
 	
 	@Test
@@ -145,27 +96,100 @@ public class ZootPhysicsContactListenerTest
 		listener.postSolve(contact, contactImpulse);		
 				
 		//then
-		verify(actorA, times(1)).fire(anyObject());
-		verify(actorA).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventA = eventCaptor.getValue();
-		assertEquals(actorA, eventA.getActorA());
-		assertEquals(actorB, eventA.getActorB());
-		assertEquals(contact, eventA.getContact());
-		assertEquals(Type.PostSolve, eventA.getType());
-		assertNull(eventA.getManifold());
-		assertEquals(contactImpulse, eventA.getContactImpulse());
-				
-		verify(actorB, times(1)).fire(anyObject());
-		verify(actorB).fire(eventCaptor.capture());
-		
-		ZootCollisionEvent eventB = eventCaptor.getValue();
-		assertEquals(actorA, eventB.getActorA());
-		assertEquals(actorB, eventB.getActorB());
-		assertEquals(contact, eventB.getContact());
-		assertEquals(Type.PostSolve, eventB.getType());
-		assertNull(eventB.getManifold());
-		assertEquals(contactImpulse, eventB.getContactImpulse());
+		verify(collisionListenerA, times(1)).postSolve(actorA, actorB, contactImpulse);
+		verify(collisionListenerB, times(1)).postSolve(actorA, actorB, contactImpulse);
 	}
 	
+	@Test
+	public void shouldNotFireEventsOnActors()
+	{
+		//when
+		listener.beginContact(contact);
+		listener.endContact(contact);
+		listener.preSolve(contact, oldManifold);
+		listener.postSolve(contact, contactImpulse);
+
+		//then
+		verify(actorA, never()).fire(any());
+		verify(actorB, never()).fire(any());
+	}
+
+	@Test
+	public void shouldSkipCallbacksListenersAreNotInterestedIn()
+	{
+		//given
+		ZootCollisionListener beginOnlyListener = mock(ZootCollisionListener.class);
+		when(beginOnlyListener.isInterestedIn(Type.BeginContact)).thenReturn(true);
+		dispatcher.removeListener(bodyA, collisionListenerA);
+		dispatcher.addListener(bodyA, beginOnlyListener);
+
+		//when
+		listener.beginContact(contact);
+		listener.preSolve(contact, oldManifold);
+
+		//then
+		verify(beginOnlyListener, times(1)).beginContact(actorA, actorB, contact);
+		verify(beginOnlyListener, never()).preSolve(actorA, actorB, contact, oldManifold);
+		verify(collisionListenerB, times(1)).preSolve(actorA, actorB, contact, oldManifold);
+	}
+
+	@Test
+	public void shouldNotTouchActorsWhenThereAreNoListeners()
+	{
+		//given
+		dispatcher.removeListeners(bodyA);
+		dispatcher.removeListeners(bodyB);
+
+		//when
+		listener.beginContact(contact);
+		listener.endContact(contact);
+		listener.preSolve(contact, oldManifold);
+		listener.postSolve(contact, contactImpulse);
+
+		//then
+		verify(fixtureA, never()).getUserData();
+		verify(fixtureB, never()).getUserData();
+	}
+
+	@Test
+	public void shouldPassFixtureActorsForSharedBody()
+	{
+		//given
+		ZootActor terrainActor = mock(ZootActor.class);
+		Fixture terrainFixture = mock(Fixture.class);
+		when(terrainFixture.getBody()).thenReturn(bodyB);
+		when(terrainFixture.getUserData()).thenReturn(terrainActor);
+		when(contact.getFixtureB()).thenReturn(terrainFixture);
+
+		//when
+		listener.beginContact(contact);
+
+		//then
+		verify(collisionListenerA, times(1)).beginContact(actorA, terrainActor, contact);
+		verify(collisionListenerB, times(1)).beginContact(actorA, terrainActor, contact);
+	}
+
+	@Test
+	public void shouldRecordContactsWhenQueueIsSet()
+	{
+		//given
+		ZootContactQueue queue = new ZootContactQueue();
+		when(collisionListenerB.requiresImmediateDispatch()).thenReturn(true);
+		listener.setContactQueue(queue);
+
+		//when
+		listener.beginContact(contact);
+		listener.endContact(contact);
+		listener.preSolve(contact, oldManifold);
+		listener.postSolve(contact, contactImpulse);
+
+		//then
+		assertEquals(2, queue.size());
+		verify(collisionListenerA, never()).beginContact(any(), any(), any());
+		verify(collisionListenerA, never()).endContact(any(), any(), any());
+		verify(collisionListenerA, times(1)).preSolve(actorA, actorB, contact, oldManifold);
+		verify(collisionListenerA, times(1)).postSolve(actorA, actorB, contactImpulse);
+		verify(collisionListenerB, times(1)).beginContact(actorA, actorB, contact);
+		verify(collisionListenerB, times(1)).endContact(actorA, actorB, contact);
+	}
 }
@@ -0,0 +1,301 @@
+package com.zootcat.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.utils.Array;
+import com.zootcat.utils.BitMaskConverter;
+
+public class ZootPhysicsQueryTest
+{
+	private static final short ALL = ZootPhysicsQuery.ALL_CATEGORIES;
+
+	private short ground;
+	private short enemy;
+	private ZootPhysics physics;
+	private Array<Fixture> result;
+
+	@Before
+	public void setup()
+	{
+		BitMaskConverter.Instance.clear();
+		ground = BitMaskConverter.Instance.fromString("ground");
+		enemy = BitMaskConverter.Instance.fromString("enemy");
+		physics = new ZootPhysics();
+		result = new Array<Fixture>();
+	}
+
+	@After
+	public void tearDown()
+	{
+		physics.dispose();
+		BitMaskConverter.Instance.clear();
+	}
+
+	@Test
+	public void queryAreaShouldAddOverlappingFixtures()
+	{
+		//given
+		Fixture first = createBox(0.0f, 0.0f, ground);
+		Fixture second = createBox(2.0f, 0.0f, enemy);
+		createBox(10.0f, 0.0f, ground);
+		Fixture previous = createBox(20.0f, 0.0f, ground);
+		result.add(previous);
+
+		//when
+		int count = physics.queryArea(-1.0f, -1.0f, 3.0f, 1.0f, ALL, result);
+
+		//then
+		assertEquals(2, count);
+		assertEquals(3, result.size);
+		assertSame(previous, result.get(0));
+		assertTrue(result.contains(first, true));
+		assertTrue(result.contains(second, true));
+	}
+
+	@Test
+	public void queryAreaShouldFilterByCategory()
+	{
+		//given
+		createBox(0.0f, 0.0f, ground);
+		Fixture enemyFixture = createBox(2.0f, 0.0f, enemy);
+
+		//when
+		int count = physics.queryArea(-1.0f, -1.0f, 3.0f, 1.0f, enemy, result);
+
+		//then
+		assertEquals(1, count);
+		assertSame(enemyFixture, result.get(0));
+	}
+
+	@Test
+	public void queryAreaShouldAcceptMaskFromConverter()
+	{
+		//given
+		createBox(0.0f, 0.0f, ground);
+		createBox(2.0f, 0.0f, enemy);
+		createBox(4.0f, 0.0f, BitMaskConverter.Instance.fromString("player"));
+
+		//when
+		int count = physics.queryArea(-1.0f, -1.0f, 5.0f, 1.0f, BitMaskConverter.Instance.fromString("ground|enemy"), result);
+
+		//then
+		assertEquals(2, count);
+	}
+
+	@Test
+	public void queryPointShouldAddOnlyFixturesContainingPoint()
+	{
+		//given
+		Fixture circle = createFixture(0.0f, 0.0f, ZootShapeFactory.createCircle(1.0f), ground);
+		Fixture box = createBox(1.0f, 1.0f, ground);
+
+		//when
+		int insideBoth = physics.queryPoint(0.6f, 0.6f, ALL, result);
+		Array<Fixture> insideBothResult = new Array<Fixture>(result);
+		result.clear();
+		int insideBoxOnly = physics.queryPoint(0.95f, 0.95f, ALL, result);
+
+		//then
+		assertEquals(2, insideBoth);
+		assertTrue(insideBothResult.contains(circle, true));
+		assertTrue(insideBothResult.contains(box, true));
+		assertEquals(1, insideBoxOnly);
+		assertSame(box, result.get(0));
+	}
+
+	@Test
+	public void queryPointShouldFilterByCategory()
+	{
+		//given
+		createBox(0.0f, 0.0f, ground);
+
+		//when
+		int count = physics.queryPoint(0.0f, 0.0f, enemy, result);
+
+		//then
+		assertEquals(0, count);
+		assertEquals(0, result.size);
+	}
+
+	@Test
+	public void rayCastClosestShouldReturnFirstHitFixture()
+	{
+		//given
+		createBox(6.0f, 0.0f, ground);
+		Fixture closest = createBox(3.0f, 0.0f, ground);
+		ZootRayCastHit hit = new ZootRayCastHit();
+
+		//when
+		boolean found = physics.rayCastClosest(0.0f, 0.0f, 10.0f, 0.0f, ALL, hit);
+
+		//then
+		assertTrue(found);
+		assertSame(closest, hit.fixture);
+		assertEquals(2.5f, hit.point.x, 0.001f);
+		assertEquals(0.0f, hit.point.y, 0.001f);
+		assertEquals(-1.0f, hit.normal.x, 0.001f);
+		assertEquals(0.0f, hit.normal.y, 0.001f);
+		assertEquals(0.25f, hit.fraction, 0.001f);
+	}
+
+	@Test
+	public void rayCastClosestShouldSkipOtherCategories()
+	{
+		//given
+		createBox(3.0f, 0.0f, ground);
+		Fixture enemyFixture = createBox(6.0f, 0.0f, enemy);
+		ZootRayCastHit hit = new ZootRayCastHit();
+
+		//when
+		boolean found = physics.rayCastClosest(0.0f, 0.0f, 10.0f, 0.0f, enemy, hit);
+
+		//then
+		assertTrue(found);
+		assertSame(enemyFixture, hit.fixture);
+		assertEquals(5.5f, hit.point.x, 0.001f);
+	}
+
+	@Test
+	public void rayCastClosestShouldResetHitWhenNothingWasHit()
+	{
+		//given
+		createBox(3.0f, 5.0f, ground);
+		ZootRayCastHit hit = new ZootRayCastHit();
+		hit.fixture = createBox(20.0f, 20.0f, ground);
+		hit.fraction = 0.5f;
+
+		//when
+		boolean found = physics.rayCastClosest(0.0f, 0.0f, 10.0f, 0.0f, ALL, hit);
+
+		//then
+		assertFalse(found);
+		assertNull(hit.fixture);
+		assertEquals(0.0f, hit.fraction, 0.0f);
+	}
+
+	@Test
+	public void rayCastAllShouldReturnHitsOrderedByDistance()
+	{
+		//given
+		Fixture third = createBox(8.0f, 0.0f, ground);
+		Fixture first = createBox(2.0f, 0.0f, ground);
+		createBox(4.0f, 0.0f, enemy);
+		Fixture second = createBox(6.0f, 0.0f, ground);
+		ZootRayCastHit[] hits = createHits(5);
+
+		//when
+		int count = physics.rayCastAll(0.0f, 0.0f, 10.0f, 0.0f, ground, hits);
+
+		//then
+		assertEquals(3, count);
+		assertSame(first, hits[0].fixture);
+		assertSame(second, hits[1].fixture);
+		assertSame(third, hits[2].fixture);
+		assertEquals(0.15f, hits[0].fraction, 0.001f);
+		assertEquals(0.55f, hits[1].fraction, 0.001f);
+		assertEquals(0.75f, hits[2].fraction, 0.001f);
+	}
+
+	@Test
+	public void rayCastAllShouldKeepClosestHitsWhenBufferIsFull()
+	{
+		//given
+		createBox(8.0f, 0.0f, ground);
+		Fixture second = createBox(4.0f, 0.0f, ground);
+		createBox(6.0f, 0.0f, ground);
+		Fixture first = createBox(2.0f, 0.0f, ground);
+		ZootRayCastHit[] hits = createHits(2);
+
+		//when
+		int count = physics.rayCastAll(0.0f, 0.0f, 10.0f, 0.0f, ALL, hits);
+
+		//then
+		assertEquals(2, count);
+		assertSame(first, hits[0].fixture);
+		assertSame(second, hits[1].fixture);
+	}
+
+	@Test
+	public void rayCastAllShouldReturnNoHitsForEmptyBuffer()
+	{
+		//given
+		createBox(2.0f, 0.0f, ground);
+
+		//when
+		int count = physics.rayCastAll(0.0f, 0.0f, 10.0f, 0.0f, ALL, new ZootRayCastHit[0]);
+
+		//then
+		assertEquals(0, count);
+	}
+
+	@Test
+	public void rayCastAnyShouldCheckIfAnythingWasHit()
+	{
+		//given
+		createBox(2.0f, 0.0f, ground);
+
+		//then
+		assertTrue(physics.rayCastAny(0.0f, 0.0f, 10.0f, 0.0f, ALL));
+		assertTrue(physics.rayCastAny(0.0f, 0.0f, 10.0f, 0.0f, ground));
+		assertFalse(physics.rayCastAny(0.0f, 0.0f, 10.0f, 0.0f, enemy));
+		assertFalse(physics.rayCastAny(0.0f, 5.0f, 10.0f, 5.0f, ALL));
+	}
+
+	@Test
+	public void shouldNotHitAnythingWithZeroLengthRay()
+	{
+		//given
+		createBox(0.0f, 0.0f, ground);
+		ZootRayCastHit hit = new ZootRayCastHit();
+
+		//then
+		assertFalse(physics.rayCastAny(0.0f, 0.0f, 0.0f, 0.0f, ALL));
+		assertFalse(physics.rayCastClosest(0.0f, 0.0f, 0.0f, 0.0f, ALL, hit));
+		assertEquals(0, physics.rayCastAll(0.0f, 0.0f, 0.0f, 0.0f, ALL, createHits(1)));
+	}
+
+	@Test
+	public void shouldReuseQuery()
+	{
+		assertSame(physics.getQuery(), physics.getQuery());
+	}
+
+	private ZootRayCastHit[] createHits(int size)
+	{
+		ZootRayCastHit[] hits = new ZootRayCastHit[size];
+		for(int i = 0; i < size; ++i) hits[i] = new ZootRayCastHit();
+		return hits;
+	}
+
+	private Fixture createBox(float x, float y, short category)
+	{
+		return createFixture(x, y, ZootShapeFactory.createBox(1.0f, 1.0f), category);
+	}
+
+	private Fixture createFixture(float x, float y, Shape shape, short category)
+	{
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.position.set(x, y);
+		Body body = physics.createBody(bodyDef);
+
+		FixtureDef fixtureDef = new FixtureDef();
+		fixtureDef.shape = shape;
+		fixtureDef.filter.categoryBits = category;
+		Fixture fixture = physics.createFixture(body, fixtureDef);
+		shape.dispose();
+		return fixture;
+	}
+}
@@ -3,6 +3,7 @@ package com.zootcat.physics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -10,6 +11,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,9 +20,14 @@ import org.junit.Test;
 
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.physics.box2d.Shape;
+import com.zootcat.scene.ZootActor;
 
 public class ZootPhysicsTest
 {
@@ -46,6 +53,35 @@ public class ZootPhysicsTest
 		assertEquals(-200.0f, physics.getGravity().y, 0.0f);
 	}
 	
+	@Test
+	public void stepShouldIncrementStepCount()
+	{
+		//given
+		assertEquals(0, physics.getStepCount());
+		
+		//when
+		physics.step(1.0f / 60.0f);
+		physics.step(1.0f / 60.0f);
+		
+		//then
+		assertEquals(2, physics.getStepCount());
+	}
+	
+	@Test
+	public void shouldSetIterations()
+	{
+		//given
+		assertEquals(ZootPhysics.DEFAULT_VELOCITY_ITERATIONS, physics.getVelocityIterations());
+		assertEquals(ZootPhysics.DEFAULT_POSITION_ITERATIONS, physics.getPositionIterations());
+		
+		//when
+		physics.setIterations(3, 1);
+		
+		//then
+		assertEquals(3, physics.getVelocityIterations());
+		assertEquals(1, physics.getPositionIterations());
+	}
+	
 	@Test
 	public void shouldDestroyFixture()
 	{
@@ -118,4 +154,129 @@ public class ZootPhysicsTest
 		assertTrue(physics.getFixturesInArea(10.0f, 10.0f, 10.5f, 0.5f).contains(fix1));
 		assertTrue(physics.getFixturesInArea(10.0f, 10.0f, 10.5f, 10.5f).contains(fix1));
 	}
+	
+	@Test
+	public void shouldDispatchContactsToRegisteredCollisionListeners()
+	{
+		//given
+		ZootCollisionListener listener = mock(ZootCollisionListener.class);
+		when(listener.isInterestedIn(any(ZootCollisionEvent.Type.class))).thenReturn(true);
+		
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		Body bodyA = physics.createBody(bodyDef);
+		Body bodyB = physics.createBody(bodyDef);
+		bodyA.createFixture(ZootShapeFactory.createBox(1.0f, 1.0f), 1.0f);
+		bodyB.createFixture(ZootShapeFactory.createBox(1.0f, 1.0f), 1.0f);
+		
+		//when
+		physics.addCollisionListener(bodyA, listener);
+		physics.step(1.0f / 60.0f);
+		
+		//then
+		verify(listener).beginContact(any(), any(), any());
+	}
+	
+	@Test
+	public void shouldRemoveCollisionListener()
+	{
+		//given
+		ZootCollisionListener listener = mock(ZootCollisionListener.class);
+		when(listener.isInterestedIn(any(ZootCollisionEvent.Type.class))).thenReturn(true);
+		Body body = physics.createBody(new BodyDef());
+		
+		//when
+		physics.addCollisionListener(body, listener);
+		
+		//then
+		assertEquals(1, physics.getCollisionDispatcher().getListeners(body, ZootCollisionEvent.Type.BeginContact).length);
+		
+		//when
+		physics.removeCollisionListener(body, listener);
+		
+		//then
+		assertEquals(0, physics.getCollisionDispatcher().getListeners(body, ZootCollisionEvent.Type.BeginContact).length);
+	}
+	
+	@Test
+	public void shouldRemoveCollisionListenersWhenRemovingBody()
+	{
+		//given
+		ZootCollisionListener listener = mock(ZootCollisionListener.class);
+		when(listener.isInterestedIn(any(ZootCollisionEvent.Type.class))).thenReturn(true);
+		Body body = physics.createBody(new BodyDef());
+		physics.addCollisionListener(body, listener);
+		
+		//when
+		physics.removeBody(body);
+		
+		//then
+		assertFalse(physics.getCollisionDispatcher().hasListeners(body));
+	}
+	
+	@Test
+	public void shouldNotDeferContactsByDefault()
+	{
+		assertFalse(physics.isDeferredContacts());
+		assertNull(physics.getContactQueue());
+	}
+	
+	@Test
+	public void shouldEnableAndDisableDeferredContacts()
+	{
+		physics.setDeferredContacts(true);
+		assertTrue(physics.isDeferredContacts());
+		assertNotNull(physics.getContactQueue());
+		
+		physics.setDeferredContacts(false);
+		assertFalse(physics.isDeferredContacts());
+		assertNull(physics.getContactQueue());
+	}
+	
+	@Test
+	public void shouldDispatchDeferredContactsAfterStep()
+	{
+		//given
+		physics.setDeferredContacts(true);
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyType.DynamicBody;
+		Body bodyA = physics.createBody(bodyDef);
+		Body bodyB = physics.createBody(bodyDef);
+		bodyA.createFixture(ZootShapeFactory.createBox(1.0f, 1.0f), 1.0f);
+		bodyB.createFixture(ZootShapeFactory.createBox(1.0f, 1.0f), 1.0f);
+		
+		List<String> events = new ArrayList<String>();
+		physics.addCollisionListener(bodyA, new ZootCollisionListener()
+		{
+			@Override
+			public void beginContact(ZootActor actorA, ZootActor actorB, Contact contact)
+			{
+				events.add("begin " + physics.getWorld().isLocked() + " " + (contact instanceof ZootDeferredContact));
+				physics.removeBody(bodyB);
+			}
+
+			@Override
+			public void endContact(ZootActor actorA, ZootActor actorB, Contact contact)
+			{
+				events.add("end " + physics.getWorld().isLocked());
+			}
+
+			@Override
+			public void preSolve(ZootActor actorA, ZootActor actorB, Contact contact, Manifold manifold)
+			{
+				events.add("preSolve " + physics.getWorld().isLocked());
+			}
+
+			@Override
+			public void postSolve(ZootActor actorA, ZootActor actorB, ContactImpulse contactImpulse) {}
+		});
+		
+		//when
+		physics.step(1.0f / 60.0f);
+		
+		//then
+		assertEquals(Arrays.asList("preSolve true", "begin false true", "end false"), events);
+		assertEquals(0, physics.getContactQueue().size());
+		assertEquals(1, physics.getWorld().getBodyCount());
+	}
 }
@@ -2,6 +2,7 @@ package com.zootcat.physics;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -14,12 +15,13 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.ChainShape;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.Shape;
 import com.zootcat.exceptions.RuntimeZootException;
-import com.zootcat.math.ZootBoundingBoxFactory;
+import com.zootcat.math.ZootBoundingBoxFactory;
 
 public class ZootPhysicsUtilsTest 
 {
@@ -86,7 +88,7 @@ public class ZootPhysicsUtilsTest
 		verify(fixture).getShape();
 		verifyNoMoreInteractions(fixture);
 	}
-	
+	
 	@Test(expected = RuntimeZootException.class)
 	public void shouldThrowIfFixtureHasUnsupportedShapeType()
 	{
@@ -99,7 +101,7 @@ public class ZootPhysicsUtilsTest
 		when(shape.getType()).thenReturn(Shape.Type.Edge);
 		ZootPhysicsUtils.moveFixture(fixture, 1.0f, 2.0f);
 	}
-	
+	
 	@Test
 	public void shouldDoNothingIfNoShapeIsSet()
 	{
@@ -112,12 +114,12 @@ public class ZootPhysicsUtilsTest
 		
 		//then
 		verify(fixture).getShape();
-		verifyNoMoreInteractions(fixture);
+		verifyNoMoreInteractions(fixture);
 	}
 	
 	@Test
 	public void shouldMoveFixtureWithPolygonShape()
-	{
+	{
 		//given
 		final float mx = 5.0f;
 		final float my = -3.0f;
@@ -133,12 +135,12 @@ public class ZootPhysicsUtilsTest
 		//then
 		Vector2 centroid = ZootPhysicsUtils.getPolygonCentroid(polygon);
 		assertEquals(mx, centroid.x, 0.0f);
-		assertEquals(my, centroid.y, 0.0f);
+		assertEquals(my, centroid.y, 0.0f);
 	}
 	
 	@Test
 	public void shouldMoveFixtureWithCircleShape()
-	{
+	{
 		//given
 		final float mx = 55.0f;
 		final float my = -33.0f;
@@ -168,12 +170,12 @@ public class ZootPhysicsUtilsTest
 		//when
 		when(fixture.getShape()).thenReturn(shape);
 		when(shape.getType()).thenReturn(Shape.Type.Edge);
-		ZootPhysicsUtils.setFixturePosition(fixture, 0.0f, 0.0f);
+		ZootPhysicsUtils.setFixturePosition(fixture, 0.0f, 0.0f);
 	}
 	
 	@Test
 	public void shouldSetPolygonShapeFixturePosition()
-	{
+	{
 		//given
 		final float posX = 5.0f;
 		final float posY = -3.0f;
@@ -189,12 +191,12 @@ public class ZootPhysicsUtilsTest
 		//then
 		Vector2 centroid = ZootPhysicsUtils.getPolygonCentroid(polygon);
 		assertEquals(posX, centroid.x, 0.0f);
-		assertEquals(posY, centroid.y, 0.0f);
+		assertEquals(posY, centroid.y, 0.0f);
 	}
 	
 	@Test
 	public void shouldSetCircleShapeFixturePosition()
-	{
+	{
 		//given
 		final float posX = 55.0f;
 		final float posY = -33.0f;
@@ -211,7 +213,7 @@ public class ZootPhysicsUtilsTest
 		//then
 		Vector2 center = circle.getPosition();
 		assertEquals(posX, center.x, 0.0f);
-		assertEquals(posY, center.y, 0.0f);	
+		assertEquals(posY, center.y, 0.0f);	
 	}
 	
 	@Test(expected = RuntimeZootException.class)
@@ -316,4 +318,63 @@ public class ZootPhysicsUtilsTest
 		assertEquals(10.0f, box.getWidth(), 0.0f);
 		assertEquals(7.5f, box.getHeight(), 0.0f);
 	}
+	
+	@Test
+	public void shouldCreateMovedPolygon()
+	{
+		//given
+		PolygonShape polygon = new PolygonShape();
+		polygon.setAsBox(1.0f, 2.0f);
+		
+		//when
+		PolygonShape moved = (PolygonShape)ZootPhysicsUtils.createMovedShape(polygon, 10.0f, 20.0f);
+		
+		//then
+		Vector2 centroid = ZootPhysicsUtils.getPolygonCentroid(moved);
+		assertEquals(10.0f, centroid.x, 0.0001f);
+		assertEquals(20.0f, centroid.y, 0.0001f);
+		assertEquals(0.0f, ZootPhysicsUtils.getPolygonCentroid(polygon).x, 0.0001f);
+		moved.dispose();
+		polygon.dispose();
+	}
+	
+	@Test
+	public void shouldCreateMovedCircle()
+	{
+		//given
+		CircleShape circle = new CircleShape();
+		circle.setRadius(3.0f);
+		circle.setPosition(new Vector2(1.0f, 1.0f));
+		
+		//when
+		CircleShape moved = (CircleShape)ZootPhysicsUtils.createMovedShape(circle, 10.0f, 20.0f);
+		
+		//then
+		assertEquals(3.0f, moved.getRadius(), 0.0f);
+		assertEquals(11.0f, moved.getPosition().x, 0.0f);
+		assertEquals(21.0f, moved.getPosition().y, 0.0f);
+		assertEquals(1.0f, circle.getPosition().x, 0.0f);
+		moved.dispose();
+		circle.dispose();
+	}
+	
+	@Test
+	public void shouldCreateMovedChainLoop()
+	{
+		//given
+		ChainShape chain = ZootShapeFactory.createChainLoop(new float[]{0, 0, 2, 0, 2, 1, 0, 1});
+		
+		//when
+		ChainShape moved = (ChainShape)ZootPhysicsUtils.createMovedShape(chain, 10.0f, 20.0f);
+		
+		//then
+		assertTrue(moved.isLooped());
+		assertEquals(chain.getVertexCount(), moved.getVertexCount());
+		Vector2 vertex = new Vector2();
+		moved.getVertex(2, vertex);
+		assertEquals(12.0f, vertex.x, 0.0f);
+		assertEquals(21.0f, vertex.y, 0.0f);
+		moved.dispose();
+		chain.dispose();
+	}
 }
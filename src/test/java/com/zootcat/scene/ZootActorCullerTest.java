@@ -0,0 +1,124 @@
+package com.zootcat.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.zootcat.controllers.gfx.RenderControllerAdapter;
+import com.zootcat.testing.HeadlessGdxTestRunner;
+
+@RunWith(HeadlessGdxTestRunner.class)
+public class ZootActorCullerTest
+{
+	private ZootActorCuller culler;
+	private Array<Actor> actors;
+
+	@Before
+	public void setup()
+	{
+		culler = new ZootActorCuller();
+		actors = new Array<Actor>();
+	}
+
+	@Test
+	public void shouldSetViewFromCameraFrustum()
+	{
+		//given
+		OrthographicCamera camera = new OrthographicCamera(20.0f, 10.0f);
+		camera.position.set(50.0f, 30.0f, 0.0f);
+		camera.zoom = 2.0f;
+		camera.update();
+
+		//when
+		culler.setView(camera.frustum);
+
+		//then
+		Rectangle view = culler.getView();
+		assertEquals(30.0f, view.x, 0.001f);
+		assertEquals(20.0f, view.y, 0.001f);
+		assertEquals(40.0f, view.width, 0.001f);
+		assertEquals(20.0f, view.height, 0.001f);
+	}
+
+	@Test
+	public void shouldCullActorsOutsideOfView()
+	{
+		//given
+		ZootActor visible = createActor(5.0f, 5.0f, 0.0f);
+		ZootActor invisible = createActor(50.0f, 50.0f, 0.0f);
+		ZootActor visibleWithOverdraw = createActor(11.0f, 11.0f, 2.0f);
+		ZootActor withoutRenderControllers = new ZootActor();
+		withoutRenderControllers.setBounds(1.0f, 1.0f, 1.0f, 1.0f);
+		Actor otherActor = new Actor();
+		otherActor.setBounds(50.0f, 50.0f, 1.0f, 1.0f);
+		actors.addAll(visible, invisible, visibleWithOverdraw, withoutRenderControllers, otherActor);
+		culler.setView(new Rectangle(0.0f, 0.0f, 10.0f, 10.0f));
+
+		//when
+		culler.cull(actors);
+
+		//then
+		assertFalse(visible.isCulled());
+		assertTrue(invisible.isCulled());
+		assertFalse(visibleWithOverdraw.isCulled());
+		assertTrue(withoutRenderControllers.isCulled());
+		assertEquals(2, culler.getDrawnCount());
+		assertEquals(2, culler.getCulledCount());
+	}
+
+	@Test
+	public void shouldUncullActorWhenItEntersView()
+	{
+		//given
+		ZootActor actor = createActor(50.0f, 50.0f, 0.0f);
+		actors.add(actor);
+		culler.setView(new Rectangle(0.0f, 0.0f, 10.0f, 10.0f));
+		culler.cull(actors);
+
+		//when
+		actor.setPosition(5.0f, 5.0f);
+		culler.cull(actors);
+
+		//then
+		assertFalse(actor.isCulled());
+		assertEquals(1, culler.getDrawnCount());
+		assertEquals(0, culler.getCulledCount());
+	}
+
+	@Test
+	public void resetShouldUncullAllActors()
+	{
+		//given
+		ZootActor actor = createActor(50.0f, 50.0f, 0.0f);
+		actors.add(actor);
+		culler.setView(new Rectangle(0.0f, 0.0f, 10.0f, 10.0f));
+		culler.cull(actors);
+
+		//when
+		culler.reset(actors);
+
+		//then
+		assertFalse(actor.isCulled());
+		assertEquals(0, culler.getDrawnCount());
+		assertEquals(0, culler.getCulledCount());
+	}
+
+	private ZootActor createActor(float x, float y, float overdraw)
+	{
+		RenderControllerAdapter renderCtrl = new RenderControllerAdapter();
+		renderCtrl.setOverdraw(overdraw);
+
+		ZootActor actor = new ZootActor();
+		actor.setBounds(x, y, 1.0f, 1.0f);
+		actor.addController(renderCtrl);
+		return actor;
+	}
+}
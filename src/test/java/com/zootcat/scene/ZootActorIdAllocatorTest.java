@@ -0,0 +1,109 @@
+package com.zootcat.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ZootActorIdAllocatorTest
+{
+	private ZootActorIdAllocator allocator;
+	
+	@Before
+	public void setup()
+	{
+		allocator = new ZootActorIdAllocator();
+	}
+	
+	@Test
+	public void shouldStartFromOne()
+	{
+		assertEquals(0, allocator.getLastId());
+		assertEquals(1, allocator.next());
+		assertEquals(2, allocator.next());
+		assertEquals(2, allocator.getLastId());
+	}
+	
+	@Test
+	public void shouldAllocateIdGreaterThanReserved()
+	{
+		//when
+		allocator.reserve(200);
+		allocator.reserve(100);
+		
+		//then
+		assertEquals(201, allocator.next());
+	}
+	
+	@Test
+	public void shouldIgnoreReservingAlreadyAllocatedId()
+	{
+		//when
+		allocator.next();
+		allocator.next();
+		allocator.reserve(1);
+		
+		//then
+		assertEquals(3, allocator.next());
+	}
+	
+	@Test
+	public void shouldNotReuseIdsAcrossSpawnRemoveCycles()
+	{
+		//given
+		Set<Integer> allocatedIds = new HashSet<Integer>();
+		Set<Integer> aliveIds = new HashSet<Integer>();
+		allocator.reserve(50);
+		
+		//when
+		for(int cycle = 0; cycle < 100; ++cycle)
+		{
+			for(int i = 0; i < 10; ++i)
+			{
+				int id = allocator.next();
+				assertTrue("Id should be unique: " + id, allocatedIds.add(id));
+				aliveIds.add(id);
+			}
+			
+			//remove every other actor
+			aliveIds.removeIf(id -> id % 2 == 0);
+			
+			//actors added with explicit ids are reserved
+			allocator.reserve(allocator.getLastId() - 5);
+		}
+		
+		//then
+		assertEquals(1000, allocatedIds.size());
+		assertTrue(allocatedIds.stream().allMatch(id -> id > 50));
+	}
+	
+	@Test
+	public void shouldAllocateUniqueIdsFromManyThreads() throws InterruptedException
+	{
+		//given
+		final int threadCount = 4;
+		final int idsPerThread = 1000;
+		Set<Integer> allocatedIds = Collections.synchronizedSet(new HashSet<Integer>());
+		Thread[] threads = new Thread[threadCount];
+		for(int i = 0; i < threadCount; ++i)
+		{
+			threads[i] = new Thread(() -> 
+			{
+				for(int j = 0; j < idsPerThread; ++j) allocatedIds.add(allocator.next());
+			});
+		}
+		
+		//when
+		for(Thread thread : threads) thread.start();
+		for(Thread thread : threads) thread.join();
+		
+		//then
+		assertEquals(threadCount * idsPerThread, allocatedIds.size());
+		assertEquals(threadCount * idsPerThread, allocator.getLastId());
+	}
+}
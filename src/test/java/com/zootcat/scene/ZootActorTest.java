@@ -16,10 +16,13 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.junit.AfterClass;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -28,6 +31,11 @@ import org.mockito.InOrder;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Action;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.utils.viewport.Viewport;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.zootcat.controllers.ChangeListenerController;
 import com.zootcat.controllers.Controller;
@@ -40,6 +48,7 @@ import com.zootcat.controllers.factory.mocks.RenderControllerMock1;
 import com.zootcat.controllers.factory.mocks.RenderControllerMock2;
 import com.zootcat.controllers.factory.mocks.SimpleController;
 import com.zootcat.controllers.gfx.RenderController;
+import com.zootcat.controllers.gfx.RenderControllerAdapter;
 import com.zootcat.controllers.recognizers.ZootClassControllerRecognizer;
 import com.zootcat.controllers.recognizers.ZootMockitoControllerRecognizer;
 import com.zootcat.exceptions.ZootControllerNotFoundException;
@@ -171,6 +180,48 @@ public class ZootActorTest
 		assertEquals(ctrl2, actor.getAllControllers().get(1));
 	}
 	
+	@Test
+	public void shouldChangeControllersVersionWhenControllersChange()
+	{
+		//given
+		int version = actor.getControllersVersion();
+		
+		//when
+		actor.addController(ctrl1);
+		
+		//then
+		assertTrue(version != actor.getControllersVersion());
+		
+		//when
+		version = actor.getControllersVersion();
+		actor.removeController(ctrl1);
+		
+		//then
+		assertTrue(version != actor.getControllersVersion());
+		
+		//when
+		version = actor.getControllersVersion();
+		actor.setControllerRecognizer(actor.getControllerRecognizer());
+		
+		//then
+		assertTrue(version != actor.getControllersVersion());
+	}
+	
+	@Test
+	public void shouldNotChangeControllersVersionWhenControllersAreQueried()
+	{
+		//given
+		actor.addController(ctrl1);
+		int version = actor.getControllersVersion();
+		
+		//when
+		actor.getControllers(ctrl1.getClass());
+		actor.getAllControllers();
+		
+		//then
+		assertEquals(version, actor.getControllersVersion());
+	}
+	
 	@Test
 	public void shouldSortControllersAfterAdding()
 	{
@@ -403,6 +454,58 @@ public class ZootActorTest
 		verify(renderCtrl2, times(2)).onRender(eq(batch), eq(parentAlpha), anyObject(), anyFloat());
 	}
 	
+	@Test
+	public void shouldNotDrawWhenCulled()
+	{
+		//given
+		Batch batch = mock(Batch.class);
+		RenderController renderCtrl = spy(new RenderControllerMock1());
+		actor.addController(renderCtrl);
+		
+		//when
+		actor.setCulled(true);
+		actor.draw(batch, 1.0f);
+		
+		//then
+		assertTrue(actor.isCulled());
+		verify(renderCtrl, never()).onRender(anyObject(), anyFloat(), anyObject(), anyFloat());
+		
+		//when
+		actor.setCulled(false);
+		actor.draw(batch, 1.0f);
+		
+		//then
+		assertFalse(actor.isCulled());
+		verify(renderCtrl, times(1)).onRender(eq(batch), anyFloat(), anyObject(), anyFloat());
+	}
+	
+	@Test
+	public void shouldBeRenderedInAreaOverlappingRenderBounds()
+	{
+		//given
+		Rectangle bounds = new Rectangle();
+		RenderControllerAdapter renderCtrl = new RenderControllerAdapter();
+		renderCtrl.setOverdraw(1.0f);
+		actor.setBounds(10.0f, 10.0f, 2.0f, 2.0f);
+		
+		//then
+		assertFalse(actor.isRenderedInArea(new Rectangle(0.0f, 0.0f, 20.0f, 20.0f), bounds));
+		
+		//when
+		actor.addController(renderCtrl);
+		
+		//then
+		assertTrue(actor.isRenderedInArea(new Rectangle(0.0f, 0.0f, 20.0f, 20.0f), bounds));
+		assertTrue(actor.isRenderedInArea(new Rectangle(12.5f, 12.5f, 1.0f, 1.0f), bounds));
+		assertFalse(actor.isRenderedInArea(new Rectangle(13.5f, 13.5f, 1.0f, 1.0f), bounds));
+		
+		//when
+		renderCtrl.setEnabled(false);
+		
+		//then
+		assertFalse(actor.isRenderedInArea(new Rectangle(0.0f, 0.0f, 20.0f, 20.0f), bounds));
+	}
+	
 	@Test
 	public void shouldOnlyExecuteEnabledRenderControllersOnDraw()
 	{
@@ -427,6 +530,37 @@ public class ZootActorTest
 		verify(renderCtrl2, never()).onRender(eq(batch), eq(parentAlpha), anyObject(), anyFloat());
 	}
 	
+	@Test
+	public void shouldNotAllocateWhenUpdatingAndNotifyingControllers()
+	{
+		//given
+		final int actorCount = 500;
+		final int stepCount = 2000;
+		java.lang.management.ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)mxBean;
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+		
+		List<ZootActor> actors = new ArrayList<ZootActor>();
+		for(int i = 0; i < actorCount; ++i)
+		{
+			ZootActor actor = new ZootActor();
+			actor.addControllers(Arrays.asList(new SimpleController(), new RenderControllerMock1(), new ChangeListenerControllerMock()));
+			actors.add(actor);
+		}
+		
+		//when
+		runSteps(actors, stepCount);
+		long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+		runSteps(actors, stepCount);
+		long allocatedAfter = threadBean.getThreadAllocatedBytes(threadId);
+		
+		//then - single allocation per update would take at least 16 bytes, below that is jvm noise
+		double bytesPerUpdate = (allocatedAfter - allocatedBefore) / (double)(actorCount * stepCount);
+		assertTrue("Should not allocate on every update, bytes per update: " + bytesPerUpdate, bytesPerUpdate < 1.0);
+	}
+	
 	@Test
 	public void shouldHaveDefaultStateMachine()
 	{
@@ -771,6 +905,75 @@ public class ZootActorTest
 		assertTrue(ctrls.contains(derivedCtrl));
 	}
 	
+	@Test
+	public void shouldReturnSameControllersListWhenControllersDidNotChange()
+	{
+		//given
+		SimpleController ctrl = new SimpleController();
+		actor.addController(ctrl);
+
+		//when
+		List<SimpleController> ctrls1 = actor.getControllers(SimpleController.class);
+		List<SimpleController> ctrls2 = actor.getControllers(SimpleController.class);
+
+		//then
+		assertTrue(ctrls1 == ctrls2);
+		assertEquals(1, ctrls1.size());
+	}
+
+	@Test
+	public void shouldUpdateControllersListAfterAddingAndRemovingControllers()
+	{
+		//given
+		SimpleController ctrl1 = new SimpleController();
+		SimpleController ctrl2 = new SimpleController();
+
+		//when
+		assertTrue(actor.getControllers(SimpleController.class).isEmpty());
+		assertNull(actor.tryGetSingleController(SimpleController.class));
+		actor.addController(ctrl1);
+
+		//then
+		assertEquals(1, actor.getControllers(SimpleController.class).size());
+		assertEquals(ctrl1, actor.tryGetSingleController(SimpleController.class));
+
+		//when
+		actor.addControllers(Arrays.asList(ctrl2));
+
+		//then
+		assertEquals(2, actor.getControllers(SimpleController.class).size());
+
+		//when
+		actor.removeController(ctrl1);
+
+		//then
+		assertEquals(1, actor.getControllers(SimpleController.class).size());
+
+		//when
+		actor.removeAllControllers();
+
+		//then
+		assertTrue(actor.getControllers(SimpleController.class).isEmpty());
+	}
+
+	@Test
+	public void shouldUpdateControllersListAfterChangingControllerRecognizer()
+	{
+		//given
+		Controller ctrl = mock(SimpleController.class);
+		actor.setControllerRecognizer(ZootClassControllerRecognizer.Instance);
+		actor.addController(ctrl);
+
+		//then
+		assertTrue(actor.getControllers(SimpleController.class).isEmpty());
+
+		//when
+		actor.setControllerRecognizer(ZootMockitoControllerRecognizer.Instance);
+
+		//then
+		assertEquals(1, actor.getControllers(SimpleController.class).size());
+	}
+
 	@Test
 	public void shouldInvokeActionOnAllControllersOfGivenTypeWithNoDerivedControllers()
 	{
@@ -827,10 +1030,207 @@ public class ZootActorTest
 		assertEquals(ZootClassControllerRecognizer.Instance, actor.getControllerRecognizer());
 	}
 	
+	@Test
+	public void shouldBeUpdatedEveryStepByDefault()
+	{
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, actor.getUpdateInterval(), 0.0f);
+		assertFalse(actor.isAlwaysUpdated());
+	}
+	
+	@Test
+	public void shouldUpdateControllersWithAccumulatedDeltaWhenUpdateIntervalIsSet()
+	{
+		//given
+		when(ctrl1.isEnabled()).thenReturn(true);
+		actor.addController(ctrl1);
+		actor.setUpdateInterval(0.5f);
+		
+		//when
+		actor.act(0.25f);
+		
+		//then
+		verify(ctrl1, never()).onUpdate(anyFloat(), eq(actor));
+		
+		//when
+		actor.act(0.25f);
+		
+		//then
+		verify(ctrl1, times(1)).onUpdate(0.5f, actor);
+		
+		//when
+		actor.act(0.25f);
+		
+		//then
+		verify(ctrl1, times(1)).onUpdate(anyFloat(), eq(actor));
+	}
+	
+	@Test
+	public void shouldPassRemainingDeltaWhenUpdatedEveryStepAgain()
+	{
+		//given
+		when(ctrl1.isEnabled()).thenReturn(true);
+		actor.addController(ctrl1);
+		actor.setUpdateInterval(0.5f);
+		actor.act(0.25f);
+		
+		//when
+		actor.setUpdateInterval(ZootActor.UPDATE_EVERY_STEP);
+		actor.act(0.25f);
+		
+		//then
+		verify(ctrl1).onUpdate(0.5f, actor);
+	}
+	
+	@Test
+	public void shouldNotUpdateSuspendedActor()
+	{
+		//given
+		when(ctrl1.isEnabled()).thenReturn(true);
+		actor.addController(ctrl1);
+		actor.setUpdateInterval(0.5f);
+		actor.act(0.25f);
+		
+		//when
+		actor.setUpdateInterval(ZootActor.UPDATE_SUSPENDED);
+		actor.act(1.0f);
+		
+		//then
+		verify(ctrl1, never()).onUpdate(anyFloat(), eq(actor));
+		
+		//when
+		actor.setUpdateInterval(ZootActor.UPDATE_EVERY_STEP);
+		actor.act(0.25f);
+		
+		//then
+		verify(ctrl1).onUpdate(0.25f, actor);
+	}
+	
+	@Test
+	public void shouldNotifyControllersAboutSkippedUpdates()
+	{
+		//given
+		when(ctrl1.isEnabled()).thenReturn(true);
+		actor.addController(ctrl1);
+		actor.setUpdateInterval(0.5f);
+		
+		//when
+		actor.act(0.25f);
+		actor.setUpdateInterval(ZootActor.UPDATE_SUSPENDED);
+		actor.act(1.0f);
+		actor.setUpdateInterval(ZootActor.UPDATE_EVERY_STEP);
+		actor.act(0.5f);
+		
+		//then
+		verify(ctrl1).onSkippedUpdate(0.25f, actor);
+		verify(ctrl1).onSkippedUpdate(1.0f, actor);
+		verify(ctrl1, never()).onSkippedUpdate(0.5f, actor);
+		verify(ctrl1).onUpdate(0.5f, actor);
+	}
+	
+	@Test
+	public void shouldRunActionsOfSuspendedActor()
+	{
+		//given
+		Stage stage = new Stage(mock(Viewport.class), mock(Batch.class));
+		stage.addActor(actor);
+		actor.setUpdateInterval(ZootActor.UPDATE_SUSPENDED);
+		actor.addAction(Actions.delay(0.5f, Actions.removeActor()));
+		
+		//when
+		actor.act(0.25f);
+		
+		//then
+		assertTrue(actor.hasParent());
+		
+		//when
+		actor.act(0.25f);
+		
+		//then
+		assertFalse(actor.hasParent());
+	}
+	
+	@Test
+	public void shouldRunActionsEveryStepWithReducedUpdateRate()
+	{
+		//given
+		when(ctrl1.isEnabled()).thenReturn(true);
+		actor.addController(ctrl1);
+		actor.setUpdateInterval(0.5f);
+		Action action = mock(Action.class);
+		actor.addAction(action);
+		
+		//when
+		actor.act(0.25f);
+		actor.act(0.25f);
+		
+		//then
+		verify(action, times(2)).act(0.25f);
+		verify(ctrl1, times(1)).onUpdate(0.5f, actor);
+	}
+	
+	@Test
+	public void shouldUpdateEveryStepWhenControllerIsAlwaysUpdated()
+	{
+		//given
+		when(ctrl1.isEnabled()).thenReturn(true);
+		when(ctrl1.isAlwaysUpdated()).thenReturn(true);
+		actor.addController(ctrl1);
+		actor.setUpdateInterval(ZootActor.UPDATE_SUSPENDED);
+		
+		//when
+		actor.act(0.25f);
+		
+		//then
+		assertTrue(actor.isAlwaysUpdated());
+		verify(ctrl1).onUpdate(0.25f, actor);
+		
+		//when
+		actor.removeController(ctrl1);
+		
+		//then
+		assertFalse(actor.isAlwaysUpdated());
+	}
+	
 	@Test
 	public void shouldHaveClassControllerRecognizerByDefault()
 	{
 		ZootActor actor = new ZootActor();
 		assertEquals(ZootClassControllerRecognizer.Instance, actor.getControllerRecognizer());
 	}
+	
+	private void runSteps(List<ZootActor> actors, int stepCount)
+	{
+		for(int step = 0; step < stepCount; ++step)
+		{
+			for(int i = 0; i < actors.size(); ++i)
+			{
+				ZootActor actor = actors.get(i);
+				actor.act(1.0f / 60.0f);
+				actor.setPosition(step, step);
+				actor.setSize(step + 1, step + 1);
+				actor.setRotation(step);
+			}
+		}
+	}
+	
+	private static class ChangeListenerControllerMock extends ControllerAdapter implements ChangeListenerController
+	{
+		@Override
+		public void onSizeChange(ZootActor actor)
+		{
+			//noop
+		}
+
+		@Override
+		public void onPositionChange(ZootActor actor)
+		{
+			//noop
+		}
+
+		@Override
+		public void onRotationChange(ZootActor actor)
+		{
+			//noop
+		}
+	}
 }
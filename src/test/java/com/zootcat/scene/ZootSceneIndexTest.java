@@ -0,0 +1,394 @@
+package com.zootcat.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+
+public class ZootSceneIndexTest
+{
+	private static final float CELL_SIZE = 10.0f;
+
+	private ZootSceneIndex index;
+
+	@Before
+	public void setup()
+	{
+		index = new ZootSceneIndex(CELL_SIZE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowOnInvalidCellSize()
+	{
+		new ZootSceneIndex(0.0f);
+	}
+
+	@Test
+	public void shouldBeEmptyByDefault()
+	{
+		assertEquals(0, index.size());
+		assertEquals(CELL_SIZE, index.getCellSize(), 0.0f);
+		assertNull(index.getActorById(1));
+		assertTrue(index.getActorsByName(ZootActor.DEFAULT_NAME).isEmpty());
+		assertTrue(index.getActorsByType("enemy").isEmpty());
+		assertTrue(index.getActorsInArea(new Rectangle(-100, -100, 200, 200)).isEmpty());
+	}
+
+	@Test
+	public void addShouldIndexActor()
+	{
+		//given
+		ZootActor actor = createActor(5, "Player", 1, 1, 2, 2);
+		actor.addType("Hero");
+
+		//when
+		index.add(actor);
+
+		//then
+		assertEquals(1, index.size());
+		assertTrue(index.contains(actor));
+		assertEquals(index, actor.getSceneIndex());
+		assertEquals(actor, index.getActorById(5));
+		assertEquals(Arrays.asList(actor), index.getActorsByName("Player"));
+		assertEquals(Arrays.asList(actor), index.getActorsByType("hero"));
+		assertEquals(Arrays.asList(actor), index.getActorsInArea(new Rectangle(0, 0, 5, 5)));
+	}
+
+	@Test
+	public void addShouldIgnoreAlreadyAddedActor()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+
+		//when
+		index.add(actor);
+		index.add(actor);
+
+		//then
+		assertEquals(1, index.size());
+		assertEquals(1, index.getActorsByName("Actor").size());
+		assertEquals(1, index.getActorsInArea(new Rectangle(0, 0, 1, 1)).size());
+	}
+
+	@Test
+	public void removeShouldRemoveActorFromIndex()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		actor.addType("type");
+		index.add(actor);
+
+		//when
+		index.remove(actor);
+
+		//then
+		assertEquals(0, index.size());
+		assertFalse(index.contains(actor));
+		assertNull(actor.getSceneIndex());
+		assertNull(index.getActorById(1));
+		assertTrue(index.getActorsByName("Actor").isEmpty());
+		assertTrue(index.getActorsByType("type").isEmpty());
+		assertTrue(index.getActorsInArea(new Rectangle(0, 0, 1, 1)).isEmpty());
+	}
+
+	@Test
+	public void removeShouldIgnoreNotIndexedActor()
+	{
+		index.remove(new ZootActor());
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	public void removingActorShouldRemoveItFromIndex()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.remove();
+
+		//then
+		assertFalse(index.contains(actor));
+		assertTrue(index.getActorsByName("Actor").isEmpty());
+	}
+
+	@Test
+	public void getActorsByNameShouldIgnoreCase()
+	{
+		//given
+		ZootActor actor1 = createActor(1, "Platform", 0, 0, 1, 1);
+		ZootActor actor2 = createActor(2, "PLATFORM", 0, 0, 1, 1);
+		ZootActor actor3 = createActor(3, "Other", 0, 0, 1, 1);
+		index.add(actor1);
+		index.add(actor2);
+		index.add(actor3);
+
+		//then
+		assertEquals(Arrays.asList(actor1, actor2), index.getActorsByName("platform"));
+		assertEquals(Arrays.asList(actor3), index.getActorsByName("OTHER"));
+	}
+
+	@Test
+	public void getActorsByNameShouldHandleNullName()
+	{
+		//given
+		ZootActor actor = createActor(1, null, 0, 0, 1, 1);
+		index.add(actor);
+
+		//then
+		assertEquals(Arrays.asList(actor), index.getActorsByName(null));
+	}
+
+	@Test
+	public void getActorsByNameShouldReturnCopy()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		index.getActorsByName("Actor").clear();
+
+		//then
+		assertEquals(Arrays.asList(actor), index.getActorsByName("Actor"));
+	}
+
+	@Test
+	public void shouldUpdateIndexWhenNameChanges()
+	{
+		//given
+		ZootActor actor = createActor(1, "Old", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.setName("New");
+
+		//then
+		assertTrue(index.getActorsByName("Old").isEmpty());
+		assertEquals(Arrays.asList(actor), index.getActorsByName("New"));
+	}
+
+	@Test
+	public void shouldUpdateIndexWhenIdChanges()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.setId(2);
+
+		//then
+		assertNull(index.getActorById(1));
+		assertEquals(actor, index.getActorById(2));
+	}
+
+	@Test
+	public void getActorByIdShouldReturnRemainingActorWithSameId()
+	{
+		//given
+		ZootActor actor1 = createActor(1, "Actor1", 0, 0, 1, 1);
+		ZootActor actor2 = createActor(1, "Actor2", 0, 0, 1, 1);
+		index.add(actor1);
+		index.add(actor2);
+
+		//when
+		index.remove(actor1);
+
+		//then
+		assertEquals(actor2, index.getActorById(1));
+	}
+
+	@Test
+	public void shouldUpdateIndexWhenTypesChange()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		actor.addType("enemy");
+		index.add(actor);
+
+		//when
+		actor.addType(" Flying ");
+		actor.removeType("ENEMY");
+
+		//then
+		assertTrue(index.getActorsByType("enemy").isEmpty());
+		assertEquals(Arrays.asList(actor), index.getActorsByType("flying"));
+		assertEquals(Arrays.asList(actor), index.getActorsByType("FLYING"));
+	}
+
+	@Test
+	public void addingSameTypeTwiceShouldNotDuplicateActor()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.addType("enemy");
+		actor.addType("Enemy");
+
+		//then
+		assertEquals(1, index.getActorsByType("enemy").size());
+	}
+
+	@Test
+	public void getActorsInAreaShouldReturnOnlyOverlappingActors()
+	{
+		//given
+		ZootActor inside = createActor(1, "Inside", 12, 12, 2, 2);
+		ZootActor overlapping = createActor(2, "Overlapping", 18, 18, 5, 5);
+		ZootActor sameCellOutside = createActor(3, "Outside1", 1, 1, 1, 1);
+		ZootActor farAway = createActor(4, "Outside2", 100, 100, 1, 1);
+		index.add(inside);
+		index.add(overlapping);
+		index.add(sameCellOutside);
+		index.add(farAway);
+
+		//when
+		List<ZootActor> result = index.getActorsInArea(new Rectangle(10, 10, 10, 10));
+
+		//then
+		assertEquals(new HashSet<ZootActor>(Arrays.asList(inside, overlapping)), new HashSet<ZootActor>(result));
+	}
+
+	@Test
+	public void getActorsInAreaShouldReturnActorSpanningManyCellsOnce()
+	{
+		//given
+		ZootActor bigActor = createActor(1, "Big", -25, -25, 50, 50);
+		index.add(bigActor);
+
+		//when
+		List<ZootActor> result = index.getActorsInArea(new Rectangle(-100, -100, 200, 200));
+
+		//then
+		assertEquals(Arrays.asList(bigActor), result);
+	}
+
+	@Test
+	public void getActorsInAreaShouldFindActorWithNegativePosition()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", -15, -35, 1, 1);
+		index.add(actor);
+
+		//then
+		assertEquals(Arrays.asList(actor), index.getActorsInArea(new Rectangle(-16, -36, 2, 2)));
+		assertTrue(index.getActorsInArea(new Rectangle(15, 35, 2, 2)).isEmpty());
+	}
+
+	@Test
+	public void getActorsInAreaShouldHandleHugeArea()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		List<ZootActor> result = index.getActorsInArea(new Rectangle(-Float.MAX_VALUE / 2, -Float.MAX_VALUE / 2, Float.MAX_VALUE, Float.MAX_VALUE));
+
+		//then
+		assertEquals(Arrays.asList(actor), result);
+	}
+
+	@Test
+	public void getActorsInAreaShouldAddToProvidedList()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		ZootActor otherActor = new ZootActor();
+		List<ZootActor> result = new ArrayList<ZootActor>(Arrays.asList(otherActor));
+		index.add(actor);
+
+		//when
+		index.getActorsInArea(new Rectangle(0, 0, 1, 1), result);
+
+		//then
+		assertEquals(Arrays.asList(otherActor, actor), result);
+	}
+
+	@Test
+	public void shouldUpdateIndexWhenActorMoves()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.setPosition(50, 50);
+
+		//then
+		assertTrue(index.getActorsInArea(new Rectangle(0, 0, 5, 5)).isEmpty());
+		assertEquals(Arrays.asList(actor), index.getActorsInArea(new Rectangle(48, 48, 5, 5)));
+	}
+
+	@Test
+	public void shouldUpdateIndexWhenActorMovesWithinCell()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.setPosition(5, 5);
+
+		//then
+		assertTrue(index.getActorsInArea(new Rectangle(0, 0, 2, 2)).isEmpty());
+		assertEquals(Arrays.asList(actor), index.getActorsInArea(new Rectangle(4, 4, 2, 2)));
+	}
+
+	@Test
+	public void shouldUpdateIndexWhenActorSizeChanges()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+
+		//when
+		actor.setSize(30, 30);
+
+		//then
+		assertEquals(Arrays.asList(actor), index.getActorsInArea(new Rectangle(25, 25, 1, 1)));
+	}
+
+	@Test
+	public void shouldNotUpdateIndexAfterActorWasRemoved()
+	{
+		//given
+		ZootActor actor = createActor(1, "Actor", 0, 0, 1, 1);
+		index.add(actor);
+		index.remove(actor);
+
+		//when
+		actor.setPosition(50, 50);
+		actor.setName("New");
+		actor.addType("type");
+
+		//then
+		assertEquals(0, index.size());
+		assertTrue(index.getActorsInArea(new Rectangle(48, 48, 5, 5)).isEmpty());
+		assertTrue(index.getActorsByName("New").isEmpty());
+		assertTrue(index.getActorsByType("type").isEmpty());
+	}
+
+	private ZootActor createActor(int id, String name, float x, float y, float width, float height)
+	{
+		ZootActor actor = new ZootActor();
+		actor.setId(id);
+		actor.setName(name);
+		actor.setBounds(x, y, width, height);
+		return actor;
+	}
+}
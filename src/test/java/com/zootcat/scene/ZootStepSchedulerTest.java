@@ -0,0 +1,279 @@
+package com.zootcat.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.zootcat.controllers.ControllerAdapter;
+import com.zootcat.physics.ZootPhysics;
+
+public class ZootStepSchedulerTest
+{
+	private static final float STEP = 1.0f / 64.0f;
+	private static final long EXPENSIVE_STEP_NANOS = 10000000L;
+	private static final float NANOS_TO_SECONDS = 1.0f / 1000000000.0f;
+
+	private ZootPhysics physics;
+	private ZootStepScheduler scheduler;
+	private int actionCount;
+	private long actionCostNanos;
+
+	@Before
+	public void setup()
+	{
+		actionCount = 0;
+		actionCostNanos = 0;
+		physics = new ZootPhysics();
+		scheduler = new ZootStepScheduler(physics, delta ->
+		{
+			++actionCount;
+			busyWait(actionCostNanos);
+		});
+		scheduler.setFixedTimeStep(STEP);
+		scheduler.setTimeBudget(1.0f);
+	}
+
+	@After
+	public void tearDown()
+	{
+		physics.dispose();
+	}
+
+	@Test
+	public void shouldHaveDefaultValues()
+	{
+		ZootStepScheduler scheduler = new ZootStepScheduler(physics, delta -> {});
+		assertEquals(ZootStepPolicy.DropTime, scheduler.getPolicy());
+		assertEquals(ZootStepScheduler.DEFAULT_FIXED_TIME_STEP, scheduler.getFixedTimeStep(), 0.0f);
+		assertEquals(ZootStepScheduler.DEFAULT_MAX_FRAME_TIME, scheduler.getMaxFrameTime(), 0.0f);
+		assertEquals(ZootStepScheduler.DEFAULT_MAX_SUBSTEPS, scheduler.getMaxSubsteps());
+		assertEquals(ZootStepScheduler.DEFAULT_TIME_BUDGET, scheduler.getTimeBudget(), 0.0f);
+		assertEquals(ZootStepScheduler.DEFAULT_REDUCED_VELOCITY_ITERATIONS, scheduler.getReducedVelocityIterations());
+		assertEquals(ZootStepScheduler.DEFAULT_REDUCED_POSITION_ITERATIONS, scheduler.getReducedPositionIterations());
+		assertEquals(1.0f, scheduler.getTimeScale(), 0.0f);
+		assertEquals(0, scheduler.getStepCount());
+	}
+
+	@Test
+	public void shouldRunFixedStepsForFrameTime()
+	{
+		//when
+		int steps = scheduler.update(STEP * 2.5f);
+
+		//then
+		assertEquals(2, steps);
+		assertEquals(2, actionCount);
+		assertEquals(2, physics.getStepCount());
+		assertEquals(2, scheduler.getLastStepCount());
+		assertEquals(0.5f, scheduler.getInterpolationAlpha(), 0.0001f);
+
+		//when
+		steps = scheduler.update(STEP * 0.5f);
+
+		//then
+		assertEquals(1, steps);
+		assertEquals(3, scheduler.getStepCount());
+		assertEquals(0.0f, scheduler.getInterpolationAlpha(), 0.0001f);
+		assertEquals(0, scheduler.getOverBudgetFrameCount());
+	}
+
+	@Test
+	public void shouldClampFrameTime()
+	{
+		//given
+		scheduler.setMaxSubsteps(100);
+		scheduler.setMaxFrameTime(STEP * 4.0f);
+
+		//when
+		int steps = scheduler.update(1.0f);
+
+		//then
+		assertEquals(4, steps);
+		assertEquals(0.0f, scheduler.getDroppedTime(), 0.0f);
+	}
+
+	@Test
+	public void shouldDropStepsOverMaxSubsteps()
+	{
+		//given
+		scheduler.setMaxSubsteps(3);
+
+		//when
+		int steps = scheduler.update(STEP * 10.5f);
+
+		//then
+		assertEquals(3, steps);
+		assertEquals(1, scheduler.getOverBudgetFrameCount());
+		assertEquals(STEP * 7.0f, scheduler.getDroppedTime(), 0.0001f);
+		assertEquals(0.5f, scheduler.getInterpolationAlpha(), 0.0001f);
+
+		//when
+		steps = scheduler.update(STEP);
+
+		//then
+		assertEquals(1, steps);
+		assertEquals(1, scheduler.getOverBudgetFrameCount());
+	}
+
+	@Test
+	public void shouldKeepFrameTimeBoundedWithExpensiveController()
+	{
+		//given
+		ZootActor actor = new ZootActor();
+		actor.addController(new ExpensiveController());
+		ZootStepScheduler scheduler = new ZootStepScheduler(physics, delta -> actor.act(delta));
+		scheduler.setFixedTimeStep(STEP);
+		scheduler.setMaxSubsteps(15);
+		scheduler.setTimeBudget(0.02f);
+		final float unboundedFrameTime = 15 * EXPENSIVE_STEP_NANOS * NANOS_TO_SECONDS;
+
+		for(int i = 0; i < 5; ++i)
+		{
+			//when
+			long start = TimeUtils.nanoTime();
+			int steps = scheduler.update(0.25f);
+			float frameTime = TimeUtils.timeSinceNanos(start) * NANOS_TO_SECONDS;
+
+			//then
+			assertTrue("Steps: " + steps, steps >= 1 && steps <= 3);
+			assertTrue("Frame time: " + frameTime, frameTime < unboundedFrameTime * 0.5f);
+		}
+		assertEquals(5, scheduler.getOverBudgetFrameCount());
+		assertTrue(scheduler.getDroppedTime() > 0.0f);
+		assertTrue(scheduler.getStepCost() >= EXPENSIVE_STEP_NANOS * NANOS_TO_SECONDS);
+		assertTrue(scheduler.getLastStepTime() >= scheduler.getLastStepCount() * EXPENSIVE_STEP_NANOS * NANOS_TO_SECONDS);
+	}
+
+	@Test
+	public void slowMotionPolicyShouldScaleTimeWhenOverBudget()
+	{
+		//given
+		actionCostNanos = EXPENSIVE_STEP_NANOS;
+		scheduler.setTimeBudget(0.001f);
+		scheduler.setPolicy(ZootStepPolicy.SlowMotion);
+
+		//when
+		scheduler.update(STEP * 2.0f);
+
+		//then
+		assertEquals(1, scheduler.getLastStepCount());
+		assertEquals(0.5f, scheduler.getTimeScale(), 0.0001f);
+
+		//when
+		scheduler.update(STEP * 2.0f);
+
+		//then
+		assertEquals(1, scheduler.getLastStepCount());
+		assertEquals(1, scheduler.getOverBudgetFrameCount());
+		assertEquals(0.5f + ZootStepScheduler.TIME_SCALE_RECOVERY, scheduler.getTimeScale(), 0.0001f);
+	}
+
+	@Test
+	public void slowMotionPolicyShouldNotScaleTimeBelowMinimum()
+	{
+		//given
+		actionCostNanos = EXPENSIVE_STEP_NANOS;
+		scheduler.setTimeBudget(0.001f);
+		scheduler.setPolicy(ZootStepPolicy.SlowMotion);
+
+		//when
+		scheduler.update(STEP * 10.0f);
+
+		//then
+		assertEquals(ZootStepScheduler.MIN_TIME_SCALE, scheduler.getTimeScale(), 0.0f);
+	}
+
+	@Test
+	public void reduceIterationsPolicyShouldLowerIterationsWhenOverBudget()
+	{
+		//given
+		actionCostNanos = EXPENSIVE_STEP_NANOS;
+		scheduler.setTimeBudget(0.001f);
+		scheduler.setReducedIterations(2, 1);
+		scheduler.setPolicy(ZootStepPolicy.ReduceIterations);
+
+		//when
+		scheduler.update(STEP * 2.0f);
+
+		//then
+		assertTrue(scheduler.isIterationsReduced());
+		assertEquals(2, physics.getVelocityIterations());
+		assertEquals(1, physics.getPositionIterations());
+
+		//when
+		for(int i = 0; i < ZootStepScheduler.ITERATIONS_RECOVERY_FRAMES - 1; ++i)
+		{
+			scheduler.update(STEP);
+		}
+
+		//then
+		assertTrue(scheduler.isIterationsReduced());
+
+		//when
+		scheduler.update(STEP);
+
+		//then
+		assertFalse(scheduler.isIterationsReduced());
+		assertEquals(ZootPhysics.DEFAULT_VELOCITY_ITERATIONS, physics.getVelocityIterations());
+		assertEquals(ZootPhysics.DEFAULT_POSITION_ITERATIONS, physics.getPositionIterations());
+	}
+
+	@Test
+	public void setPolicyShouldRestoreIterationsAndTimeScale()
+	{
+		//given
+		actionCostNanos = EXPENSIVE_STEP_NANOS;
+		scheduler.setTimeBudget(0.001f);
+		scheduler.setPolicy(ZootStepPolicy.ReduceIterations);
+		scheduler.update(STEP * 2.0f);
+
+		//when
+		scheduler.setPolicy(ZootStepPolicy.SlowMotion);
+
+		//then
+		assertFalse(scheduler.isIterationsReduced());
+		assertEquals(ZootPhysics.DEFAULT_VELOCITY_ITERATIONS, physics.getVelocityIterations());
+
+		//when
+		scheduler.update(STEP * 2.0f);
+		scheduler.setPolicy(ZootStepPolicy.DropTime);
+
+		//then
+		assertEquals(1.0f, scheduler.getTimeScale(), 0.0f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setFixedTimeStepShouldThrowOnInvalidStep()
+	{
+		scheduler.setFixedTimeStep(0.0f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setMaxSubstepsShouldThrowOnInvalidValue()
+	{
+		scheduler.setMaxSubsteps(0);
+	}
+
+	private static void busyWait(long nanos)
+	{
+		long end = TimeUtils.nanoTime() + nanos;
+		while(TimeUtils.nanoTime() < end)
+		{
+			//simulate expensive step
+		}
+	}
+
+	private static class ExpensiveController extends ControllerAdapter
+	{
+		@Override
+		public void onUpdate(float delta, ZootActor actor)
+		{
+			busyWait(EXPENSIVE_STEP_NANOS);
+		}
+	}
+}
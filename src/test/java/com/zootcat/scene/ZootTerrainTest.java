@@ -0,0 +1,237 @@
+package com.zootcat.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.zootcat.controllers.Controller;
+import com.zootcat.controllers.factory.ControllerAnnotations;
+import com.zootcat.controllers.physics.FixtureController;
+import com.zootcat.controllers.physics.PhysicsBodyController;
+import com.zootcat.physics.ZootCollisionListener;
+import com.zootcat.physics.ZootPhysics;
+import com.zootcat.physics.ZootPhysicsUtils;
+import com.zootcat.physics.ZootShapeFactory;
+
+public class ZootTerrainTest
+{
+	private ZootPhysics physics;
+	private ZootScene scene;
+	private ZootTerrain terrain;
+
+	@Before
+	public void setup()
+	{
+		physics = new ZootPhysics();
+		scene = mock(ZootScene.class);
+		when(scene.getPhysics()).thenReturn(physics);
+		when(scene.getUnitScale()).thenReturn(1.0f);
+		terrain = new ZootTerrain(physics);
+	}
+
+	@After
+	public void tearDown()
+	{
+		physics.dispose();
+	}
+
+	@Test
+	public void canAttachShouldAcceptOnlyStaticBodyWithFixtures()
+	{
+		assertTrue(ZootTerrain.canAttach(createControllers(BodyType.StaticBody)));
+		assertFalse(ZootTerrain.canAttach(createControllers(BodyType.DynamicBody)));
+		assertFalse(ZootTerrain.canAttach(new ArrayList<Controller>()));
+		assertFalse(ZootTerrain.canAttach(Arrays.asList(new FixtureController())));
+
+		List<Controller> controllers = createControllers(BodyType.StaticBody);
+		controllers.add(mock(Controller.class));
+		assertFalse(ZootTerrain.canAttach(controllers));
+	}
+
+	@Test
+	public void shouldNotAttachActorWithOtherControllers()
+	{
+		//given
+		ZootActor actor = createActor(0.0f, 0.0f);
+		List<Controller> controllers = createControllers(BodyType.KinematicBody);
+
+		//when
+		boolean attached = terrain.attach(actor, controllers);
+
+		//then
+		assertFalse(attached);
+		assertTrue(terrain.getActors().isEmpty());
+		assertEquals(0, terrain.getBodyCount());
+		assertFalse(((PhysicsBodyController)controllers.get(0)).isSharedBody());
+	}
+
+	@Test
+	public void shouldPlaceFixturesOfAttachedActorsOnSingleBody()
+	{
+		//given
+		ZootActor first = createActor(0.0f, 0.0f);
+		ZootActor second = createActor(10.0f, 4.0f);
+		int bodyCount = physics.getWorld().getBodyCount();
+
+		//when
+		attachAndInitialize(first);
+		attachAndInitialize(second);
+
+		//then
+		assertEquals(1, terrain.getBodyCount());
+		assertEquals(bodyCount + 1, physics.getWorld().getBodyCount());
+		assertEquals(Arrays.asList(first, second), terrain.getActors());
+
+		PhysicsBodyController firstBodyCtrl = first.getSingleController(PhysicsBodyController.class);
+		PhysicsBodyController secondBodyCtrl = second.getSingleController(PhysicsBodyController.class);
+		assertSame(firstBodyCtrl.getBody(), secondBodyCtrl.getBody());
+		assertSame(terrain, firstBodyCtrl.getBody().getUserData());
+		assertEquals(2, firstBodyCtrl.getBody().getFixtureList().size);
+
+		Fixture secondFixture = secondBodyCtrl.getFixtures().get(0);
+		assertSame(second, secondFixture.getUserData());
+		Vector2 center = ZootPhysicsUtils.getFixtureCenter(secondFixture);
+		assertEquals(11.0f, center.x, 0.0001f);
+		assertEquals(4.5f, center.y, 0.0001f);
+	}
+
+	@Test
+	public void shouldNotMoveAttachedActors()
+	{
+		//given
+		ZootActor actor = createActor(10.0f, 4.0f);
+		attachAndInitialize(actor);
+
+		//when
+		actor.act(1.0f);
+
+		//then
+		assertEquals(10.0f, actor.getX(), 0.0f);
+		assertEquals(4.0f, actor.getY(), 0.0f);
+	}
+
+	@Test
+	public void shouldCreateBodyPerChunk()
+	{
+		//given
+		terrain = new ZootTerrain(physics, 8.0f);
+
+		//when
+		attachAndInitialize(createActor(0.0f, 0.0f));
+		attachAndInitialize(createActor(2.0f, 2.0f));
+		attachAndInitialize(createActor(9.0f, 0.0f));
+		attachAndInitialize(createActor(-3.0f, 0.0f));
+
+		//then
+		assertEquals(3, terrain.getBodyCount());
+		assertEquals(8.0f, terrain.getChunkSize(), 0.0f);
+		assertNotSame(terrain.getActors().get(0).getSingleController(PhysicsBodyController.class).getBody(),
+					  terrain.getActors().get(2).getSingleController(PhysicsBodyController.class).getBody());
+	}
+
+	@Test
+	public void shouldReportCollisionsWithAttachedActor()
+	{
+		//given
+		ZootActor left = createActor(0.0f, 0.0f);
+		ZootActor right = createActor(4.0f, 0.0f);
+		attachAndInitialize(left);
+		attachAndInitialize(right);
+
+		BodyDef boxDef = new BodyDef();
+		boxDef.type = BodyType.DynamicBody;
+		boxDef.position.set(4.5f, 1.5f);
+		Body box = physics.createBody(boxDef);
+		box.createFixture(ZootShapeFactory.createBox(0.5f, 0.5f), 1.0f);
+
+		List<Object> touchedActors = new ArrayList<Object>();
+		physics.addCollisionListener(box, new ZootCollisionListener()
+		{
+			@Override
+			public void beginContact(ZootActor actorA, ZootActor actorB, Contact contact)
+			{
+				touchedActors.add(actorA == null ? actorB : actorA);
+			}
+
+			@Override
+			public void endContact(ZootActor actorA, ZootActor actorB, Contact contact) {}
+
+			@Override
+			public void preSolve(ZootActor actorA, ZootActor actorB, Contact contact, Manifold manifold) {}
+
+			@Override
+			public void postSolve(ZootActor actorA, ZootActor actorB, ContactImpulse contactImpulse) {}
+		});
+
+		//when
+		for(int i = 0; i < 60; ++i) physics.step(1.0f / 60.0f);
+
+		//then
+		assertEquals(Arrays.asList(right), touchedActors);
+	}
+
+	@Test
+	public void clearShouldRemoveBodiesAndFixtures()
+	{
+		//given
+		ZootActor actor = createActor(0.0f, 0.0f);
+		attachAndInitialize(actor);
+		int bodyCount = physics.getWorld().getBodyCount();
+
+		//when
+		terrain.clear();
+
+		//then
+		assertEquals(0, terrain.getBodyCount());
+		assertTrue(terrain.getActors().isEmpty());
+		assertEquals(bodyCount - 1, physics.getWorld().getBodyCount());
+		assertEquals(0, actor.getAllControllers().size());
+	}
+
+	private void attachAndInitialize(ZootActor actor)
+	{
+		List<Controller> controllers = createControllers(BodyType.StaticBody);
+		assertTrue(terrain.attach(actor, controllers));
+		controllers.forEach(ctrl -> ctrl.init(actor));
+		actor.addControllers(controllers);
+	}
+
+	private ZootActor createActor(float x, float y)
+	{
+		ZootActor actor = new ZootActor();
+		actor.setBounds(x, y, 2.0f, 1.0f);
+		return actor;
+	}
+
+	private List<Controller> createControllers(BodyType type)
+	{
+		PhysicsBodyController bodyCtrl = new PhysicsBodyController();
+		ControllerAnnotations.setControllerParameter(bodyCtrl, "scene", scene);
+		ControllerAnnotations.setControllerParameter(bodyCtrl, "type", type);
+
+		FixtureController fixtureCtrl = new FixtureController();
+		ControllerAnnotations.setControllerParameter(fixtureCtrl, "scene", scene);
+
+		return new ArrayList<Controller>(Arrays.asList(bodyCtrl, fixtureCtrl));
+	}
+}
@@ -0,0 +1,280 @@
+package com.zootcat.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.zootcat.controllers.ControllerPriority;
+import com.zootcat.controllers.factory.ControllerAnnotations;
+import com.zootcat.controllers.logic.MovingPlatformController;
+import com.zootcat.controllers.logic.triggers.TriggerController;
+import com.zootcat.controllers.physics.PhysicsBodyController;
+import com.zootcat.controllers.recognizers.ZootMockitoControllerRecognizer;
+import com.zootcat.physics.ZootPhysics;
+
+public class ZootUpdateLodTest
+{
+	private static final float FULL_RADIUS = 10.0f;
+	private static final float REDUCED_RADIUS = 20.0f;
+	private static final float REDUCED_INTERVAL = 0.25f;
+
+	private ZootUpdateLod lod;
+	private Array<Actor> actors;
+
+	@Before
+	public void setup()
+	{
+		lod = new ZootUpdateLod();
+		lod.setFullRadius(FULL_RADIUS);
+		lod.setReducedRadius(REDUCED_RADIUS);
+		lod.setReducedInterval(REDUCED_INTERVAL);
+		actors = new Array<Actor>();
+	}
+
+	@Test
+	public void shouldHaveDefaultValues()
+	{
+		ZootUpdateLod lod = new ZootUpdateLod();
+		assertEquals(ZootUpdateLod.DEFAULT_FULL_RADIUS, lod.getFullRadius(), 0.0f);
+		assertEquals(ZootUpdateLod.DEFAULT_REDUCED_RADIUS, lod.getReducedRadius(), 0.0f);
+		assertEquals(ZootUpdateLod.DEFAULT_REDUCED_INTERVAL, lod.getReducedInterval(), 0.0f);
+		assertTrue(lod.isSuspendFarActors());
+		assertTrue(lod.isSleepSuspendedBodies());
+	}
+
+	@Test
+	public void shouldSetUpdateIntervalBasingOnDistance()
+	{
+		//given
+		ZootActor near = createActor(5.0f, 5.0f);
+		ZootActor middle = createActor(15.0f, 0.0f);
+		ZootActor far = createActor(0.0f, 30.0f);
+		Actor otherActor = new Actor();
+		otherActor.setPosition(100.0f, 100.0f);
+		actors.addAll(near, middle, far, otherActor);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+
+		//then
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, near.getUpdateInterval(), 0.0f);
+		assertEquals(REDUCED_INTERVAL, middle.getUpdateInterval(), 0.0f);
+		assertEquals(ZootActor.UPDATE_SUSPENDED, far.getUpdateInterval(), 0.0f);
+		assertEquals(1, lod.getFullCount());
+		assertEquals(1, lod.getReducedCount());
+		assertEquals(1, lod.getSuspendedCount());
+	}
+
+	@Test
+	public void shouldMeasureDistanceFromActorCenter()
+	{
+		//given
+		ZootActor actor = createActor(-11.0f, -1.0f);
+		actor.setSize(2.0f, 2.0f);
+		actors.add(actor);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+
+		//then
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, actor.getUpdateInterval(), 0.0f);
+	}
+
+	@Test
+	public void shouldUseReducedIntervalForFarActorsWhenNotSuspending()
+	{
+		//given
+		ZootActor far = createActor(0.0f, 30.0f);
+		actors.add(far);
+		lod.setSuspendFarActors(false);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+
+		//then
+		assertFalse(lod.isSuspendFarActors());
+		assertEquals(REDUCED_INTERVAL, far.getUpdateInterval(), 0.0f);
+		assertEquals(0, lod.getSuspendedCount());
+	}
+
+	@Test
+	public void shouldUpdateAlwaysUpdatedActorsEveryStep()
+	{
+		//given
+		ZootActor trigger = createActor(100.0f, 0.0f);
+		trigger.addController(new TriggerController());
+		ZootActor platform = createActor(0.0f, 100.0f);
+		platform.addController(new MovingPlatformController());
+		actors.addAll(trigger, platform);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+
+		//then
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, trigger.getUpdateInterval(), 0.0f);
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, platform.getUpdateInterval(), 0.0f);
+		assertEquals(2, lod.getFullCount());
+	}
+
+	@Test
+	public void shouldPutSuspendedBodiesToSleepAndWakeThemUp()
+	{
+		//given
+		PhysicsBodyController bodyCtrl = createBodyController();
+		ZootActor actor = createActor(0.0f, 30.0f);
+		actor.addController(bodyCtrl);
+		actors.add(actor);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+		lod.update(actors, 0.0f, 0.0f);
+
+		//then
+		verify(bodyCtrl, times(1)).setAwake(false);
+
+		//when
+		lod.update(actors, 0.0f, 30.0f);
+
+		//then
+		verify(bodyCtrl, times(1)).setAwake(true);
+	}
+
+	@Test
+	public void shouldNotPutMovingBodiesToSleep()
+	{
+		//given
+		PhysicsBodyController movingCtrl = createBodyController();
+		PhysicsBodyController rotatingCtrl = createBodyController();
+		PhysicsBodyController bulletCtrl = createBodyController();
+		when(movingCtrl.getVelocity()).thenReturn(new Vector2(5.0f, 0.0f));
+		when(rotatingCtrl.getAngularVelocity()).thenReturn(1.0f);
+		when(bulletCtrl.isBullet()).thenReturn(true);
+		
+		ZootActor moving = createActor(0.0f, 30.0f);
+		ZootActor rotating = createActor(0.0f, 31.0f);
+		ZootActor bullet = createActor(0.0f, 32.0f);
+		moving.addController(movingCtrl);
+		rotating.addController(rotatingCtrl);
+		bullet.addController(bulletCtrl);
+		actors.addAll(moving, rotating, bullet);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+
+		//then
+		assertEquals(3, lod.getSuspendedCount());
+		verify(movingCtrl, never()).setAwake(false);
+		verify(rotatingCtrl, never()).setAwake(false);
+		verify(bulletCtrl, never()).setAwake(false);
+	}
+
+	@Test
+	public void shouldNotPutBodiesToSleepWhenDisabled()
+	{
+		//given
+		PhysicsBodyController bodyCtrl = createBodyController();
+		ZootActor actor = createActor(0.0f, 30.0f);
+		actor.addController(bodyCtrl);
+		actors.add(actor);
+		lod.setSleepSuspendedBodies(false);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+		lod.update(actors, 0.0f, 30.0f);
+
+		//then
+		assertFalse(lod.isSleepSuspendedBodies());
+		verify(bodyCtrl, never()).setAwake(false);
+		verify(bodyCtrl, never()).setAwake(true);
+	}
+
+	@Test
+	public void resetShouldUpdateAllActorsEveryStep()
+	{
+		//given
+		PhysicsBodyController bodyCtrl = createBodyController();
+		ZootActor middle = createActor(15.0f, 0.0f);
+		ZootActor far = createActor(0.0f, 30.0f);
+		far.addController(bodyCtrl);
+		actors.addAll(middle, far);
+		lod.update(actors, 0.0f, 0.0f);
+
+		//when
+		lod.reset(actors);
+
+		//then
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, middle.getUpdateInterval(), 0.0f);
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, far.getUpdateInterval(), 0.0f);
+		assertEquals(0, lod.getFullCount());
+		assertEquals(0, lod.getReducedCount());
+		assertEquals(0, lod.getSuspendedCount());
+		verify(bodyCtrl).setAwake(true);
+	}
+
+	@Test
+	public void shouldFollowMovingBodyOfSuspendedActor()
+	{
+		//given
+		ZootPhysics physics = new ZootPhysics();
+		physics.setGravity(0.0f, 0.0f);
+		ZootScene scene = mock(ZootScene.class);
+		when(scene.getPhysics()).thenReturn(physics);
+		when(scene.getUnitScale()).thenReturn(1.0f);
+
+		PhysicsBodyController bodyCtrl = new PhysicsBodyController();
+		ControllerAnnotations.setControllerParameter(bodyCtrl, "scene", scene);
+		ControllerAnnotations.setControllerParameter(bodyCtrl, "type", BodyType.DynamicBody);
+		ZootActor actor = new ZootActor();
+		actor.setBounds(-0.5f, 29.5f, 1.0f, 1.0f);
+		bodyCtrl.init(actor);
+		actor.addController(bodyCtrl);
+		bodyCtrl.setVelocity(0.0f, -10.0f);
+		actors.add(actor);
+
+		//when
+		lod.update(actors, 0.0f, 0.0f);
+		float suspendedInterval = actor.getUpdateInterval();
+		for(int i = 0; i < 150; ++i)
+		{
+			physics.step(1.0f / 60.0f);
+			actor.act(1.0f / 60.0f);
+			lod.update(actors, 0.0f, 0.0f);
+		}
+		float bodyY = bodyCtrl.getBody().getPosition().y;
+		physics.dispose();
+
+		//then
+		assertEquals(ZootActor.UPDATE_SUSPENDED, suspendedInterval, 0.0f);
+		assertEquals(ZootActor.UPDATE_EVERY_STEP, actor.getUpdateInterval(), 0.0f);
+		assertEquals(5.0f, bodyY, 0.1f);
+		assertEquals(bodyY, actor.getY() + actor.getHeight() * 0.5f, 0.001f);
+	}
+
+	private ZootActor createActor(float x, float y)
+	{
+		ZootActor actor = new ZootActor();
+		actor.setPosition(x, y);
+		actor.setControllerRecognizer(ZootMockitoControllerRecognizer.Instance);
+		return actor;
+	}
+
+	private PhysicsBodyController createBodyController()
+	{
+		PhysicsBodyController bodyCtrl = mock(PhysicsBodyController.class);
+		when(bodyCtrl.getPriority()).thenReturn(ControllerPriority.Normal);
+		when(bodyCtrl.getVelocity()).thenReturn(new Vector2());
+		return bodyCtrl;
+	}
+}
@@ -0,0 +1,332 @@
+package com.zootcat.scene.tiled;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.zootcat.exceptions.RuntimeZootException;
+import com.zootcat.map.tiled.ZootPreparedActor;
+import com.zootcat.map.tiled.ZootTiledMap;
+import com.zootcat.map.tiled.ZootTiledSceneActorFactory;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizer;
+import com.zootcat.map.tiled.optimizer.ZootLayerRegion;
+import com.zootcat.map.tiled.optimizer.ZootMinimumPartitionStrategy;
+import com.zootcat.scene.ZootActor;
+import com.zootcat.scene.ZootTerrain;
+
+public class ZootTiledSceneLoaderTest
+{
+	@Mock private ZootTiledMap map;
+	@Mock private TiledMapTileLayer collisionLayer;
+	@Mock private ZootTiledSceneActorFactory actorFactory;
+	@Mock private ZootSceneLoadingListener listener;
+	@Captor private ArgumentCaptor<List<ZootLayerRegion>> regionsCaptor;
+
+	private ForkJoinPool pool;
+	private ZootActor cellActor;
+	private ZootActor objectActor;
+	private List<ZootPreparedActor> preparedCellActors;
+	private List<ZootPreparedActor> preparedObjectActors;
+	private List<ZootActor> addedCellActors;
+	private List<ZootActor> addedObjectActors;
+	private ZootTiledSceneLoader loader;
+
+	@Before
+	public void setup()
+	{
+		MockitoAnnotations.initMocks(this);
+		pool = new ForkJoinPool(2);
+		cellActor = new ZootActor();
+		objectActor = new ZootActor();
+		preparedCellActors = Arrays.asList(new ZootPreparedActor(cellActor, new ArrayList<>()));
+		preparedObjectActors = Arrays.asList(new ZootPreparedActor(objectActor, new ArrayList<>()));
+		addedCellActors = new ArrayList<ZootActor>();
+		addedObjectActors = new ArrayList<ZootActor>();
+
+		List<MapObject> mapObjects = Arrays.asList(new MapObject());
+		when(map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME)).thenReturn(collisionLayer);
+		when(map.getAllObjects()).thenReturn(mapObjects);
+		when(actorFactory.getPool()).thenReturn(pool);
+		when(actorFactory.prepareFromLayerRegions(anyListOf(ZootLayerRegion.class))).thenReturn(preparedCellActors);
+		when(actorFactory.prepareFromMapObjects(mapObjects)).thenReturn(preparedObjectActors);
+		when(actorFactory.initialize(preparedCellActors)).thenReturn(Arrays.asList(cellActor));
+		when(actorFactory.initialize(preparedObjectActors)).thenReturn(Arrays.asList(objectActor));
+
+		loader = new ZootTiledSceneLoader(map, actorFactory, addedCellActors::add, addedObjectActors::add);
+		loader.setListener(listener);
+	}
+
+	@After
+	public void tearDown()
+	{
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void shouldNotBeFinishedBeforeFirstUpdate()
+	{
+		assertFalse(loader.isFinished());
+		assertEquals(0.0f, loader.getProgress(), 0.0f);
+		assertTrue(addedCellActors.isEmpty());
+		assertTrue(addedObjectActors.isEmpty());
+	}
+
+	@Test
+	public void finishShouldAddActors()
+	{
+		//when
+		loader.finish();
+
+		//then
+		assertTrue(loader.isFinished());
+		assertEquals(1.0f, loader.getProgress(), 0.0f);
+		assertEquals(Arrays.asList(cellActor), addedCellActors);
+		assertEquals(Arrays.asList(objectActor), addedObjectActors);
+	}
+
+	@Test
+	public void finishShouldDoNothingWhenAlreadyFinished()
+	{
+		//when
+		loader.finish();
+		loader.finish();
+
+		//then
+		assertEquals(1, addedCellActors.size());
+		assertEquals(1, addedObjectActors.size());
+	}
+
+	@Test
+	public void updateShouldNotInitializeActorsUntilPreparationIsDone() throws InterruptedException
+	{
+		//given
+		CountDownLatch preparationStarted = new CountDownLatch(1);
+		CountDownLatch preparationAllowed = new CountDownLatch(1);
+		when(map.getAllObjects()).thenAnswer(invocation ->
+		{
+			preparationStarted.countDown();
+			preparationAllowed.await();
+			return Arrays.asList();
+		});
+		when(actorFactory.prepareFromMapObjects(anyListOf(MapObject.class))).thenReturn(preparedObjectActors);
+
+		//when
+		assertFalse(loader.update());
+		assertTrue(preparationStarted.await(5, TimeUnit.SECONDS));
+
+		//then
+		assertFalse(loader.update());
+		assertFalse(loader.isFinished());
+		assertEquals(ZootSceneLoadingPhase.ActorPreparation.ordinal() / 3.0f, loader.getProgress(), 0.0f);
+		assertTrue(addedObjectActors.isEmpty());
+
+		//when
+		preparationAllowed.countDown();
+		pool.awaitQuiescence(5, TimeUnit.SECONDS);
+
+		//then
+		assertTrue(loader.update());
+		assertTrue(loader.isFinished());
+		assertEquals(Arrays.asList(objectActor), addedObjectActors);
+	}
+
+	@Test
+	public void finishShouldCreateOnlyAlwaysLoadedObjectsWhenStreaming()
+	{
+		//given
+		List<MapObject> alwaysLoadedObjects = Arrays.asList(new MapObject());
+		ZootTiledSceneStreamer streamer = mock(ZootTiledSceneStreamer.class);
+		when(streamer.partition(map.getAllObjects())).thenReturn(alwaysLoadedObjects);
+		when(actorFactory.prepareFromLayerRegions(Collections.emptyList())).thenReturn(Collections.emptyList());
+		when(actorFactory.prepareFromMapObjects(alwaysLoadedObjects)).thenReturn(preparedObjectActors);
+		when(actorFactory.initialize(Collections.emptyList())).thenReturn(Collections.emptyList());
+		loader.setStreamer(streamer);
+
+		//when
+		loader.finish();
+
+		//then
+		assertEquals(streamer, loader.getStreamer());
+		assertTrue(addedCellActors.isEmpty());
+		assertEquals(Arrays.asList(objectActor), addedObjectActors);
+		verify(streamer).partition(map.getAllObjects());
+		verify(streamer).setOptimizationStrategy(loader.getOptimizationStrategy());
+		verify(collisionLayer, never()).getWidth();
+	}
+	
+	@Test
+	public void shouldBeStartedAfterFirstUpdate()
+	{
+		assertFalse(loader.isStarted());
+		loader.update();
+		assertTrue(loader.isStarted());
+	}
+	
+	@Test
+	public void shouldNotifyListenerAboutAllPhasesInOrder()
+	{
+		//when
+		loader.finish();
+
+		//then
+		InOrder inOrder = inOrder(listener);
+		inOrder.verify(listener).onPhaseFinished(eq(ZootSceneLoadingPhase.LayerOptimization), anyLong());
+		inOrder.verify(listener).onPhaseFinished(eq(ZootSceneLoadingPhase.ActorPreparation), anyLong());
+		inOrder.verify(listener).onPhaseFinished(eq(ZootSceneLoadingPhase.ActorInitialization), anyLong());
+	}
+
+	@Test
+	public void shouldNotNotifyListenerWhenNotSet()
+	{
+		loader.setListener(null);
+		loader.finish();
+		assertTrue(loader.isFinished());
+	}
+
+	@Test
+	public void finishShouldCreateOutlineRegionsWhenCollisionOutlinesAreEnabled()
+	{
+		//given
+		TiledMapTileLayer layer = new TiledMapTileLayer(4, 4, 32, 32);
+		StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+		for(int x = 0; x < 3; ++x)
+		{
+			Cell cell = new Cell();
+			cell.setTile(tile);
+			layer.setCell(x, x == 2 ? 1 : 0, cell);
+		}
+		when(map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME)).thenReturn(layer);
+		loader.setCollisionOutlines(true);
+		
+		//when
+		loader.finish();
+		
+		//then
+		assertTrue(loader.isCollisionOutlines());
+		verify(actorFactory).prepareFromLayerRegions(regionsCaptor.capture());
+		assertEquals(2, regionsCaptor.getValue().size());
+		assertEquals(2, regionsCaptor.getValue().get(0).width);
+		assertEquals(1, regionsCaptor.getValue().get(0).outlines.length);
+	}
+
+	@Test
+	public void finishShouldDivideSensorIslandsIntoBoxesWhenCollisionOutlinesAreEnabled()
+	{
+		//given
+		TiledMapTileLayer layer = new TiledMapTileLayer(4, 4, 32, 32);
+		StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+		for(int x = 0; x < 3; ++x)
+		{
+			Cell cell = new Cell();
+			cell.setTile(tile);
+			layer.setCell(x, 0, cell);
+		}
+		Cell top = new Cell();
+		top.setTile(tile);
+		layer.setCell(0, 1, top);
+		when(map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME)).thenReturn(layer);
+		when(actorFactory.hasSensorFixtures(tile)).thenReturn(true);
+		loader.setCollisionOutlines(true);
+		
+		//when
+		loader.finish();
+		
+		//then
+		verify(actorFactory).prepareFromLayerRegions(regionsCaptor.capture());
+		assertEquals(2, regionsCaptor.getValue().size());
+		assertNull(regionsCaptor.getValue().get(0).outlines);
+		assertNull(regionsCaptor.getValue().get(1).outlines);
+	}
+
+	@Test
+	public void finishShouldUseOptimizationStrategyAndCountRegions()
+	{
+		//given
+		TiledMapTileLayer layer = new TiledMapTileLayer(4, 4, 32, 32);
+		StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+		for(int x = 0; x < 3; ++x)
+		{
+			Cell cell = new Cell();
+			cell.setTile(tile);
+			layer.setCell(x, 1, cell);
+		}
+		Cell stem = new Cell();
+		stem.setTile(tile);
+		layer.setCell(1, 0, stem);
+		when(map.getLayer(ZootTiledMap.COLLISION_LAYER_NAME)).thenReturn(layer);
+		assertSame(ZootLayerOptimizer.DEFAULT_STRATEGY, loader.getOptimizationStrategy());
+		ZootMinimumPartitionStrategy strategy = new ZootMinimumPartitionStrategy();
+		loader.setOptimizationStrategy(strategy);
+		
+		//when
+		loader.finish();
+		
+		//then
+		assertSame(strategy, loader.getOptimizationStrategy());
+		verify(actorFactory).prepareFromLayerRegions(regionsCaptor.capture());
+		assertEquals(2, regionsCaptor.getValue().size());
+		assertEquals(2, loader.getCellRegionCount());
+	}
+
+	@Test
+	public void finishShouldAttachCellActorsToTerrain()
+	{
+		//given
+		ZootTerrain terrain = mock(ZootTerrain.class);
+		ZootPreparedActor preparedCellActor = preparedCellActors.get(0);
+		when(terrain.attach(preparedCellActor.getActor(), preparedCellActor.getControllers())).thenReturn(true);
+		loader.setTerrain(terrain);
+		
+		//when
+		loader.finish();
+		
+		//then
+		assertSame(terrain, loader.getTerrain());
+		verify(actorFactory).initialize(Arrays.asList(preparedCellActor));
+		assertTrue(addedCellActors.isEmpty());
+		assertEquals(Arrays.asList(objectActor), addedObjectActors);
+	}
+
+	@Test(expected = RuntimeZootException.class)
+	public void finishShouldRethrowPreparationException()
+	{
+		//given
+		when(actorFactory.prepareFromMapObjects(anyListOf(MapObject.class))).thenThrow(new RuntimeZootException("Invalid object"));
+
+		//then
+		loader.finish();
+	}
+
+}
@@ -0,0 +1,447 @@
+package com.zootcat.scene.tiled;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.zootcat.controllers.factory.ControllerFactory;
+import com.zootcat.map.tiled.ZootTiledMap;
+import com.zootcat.map.tiled.ZootTiledSceneActorFactory;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizationStrategy;
+import com.zootcat.map.tiled.optimizer.ZootLayerOptimizer;
+import com.zootcat.map.tiled.optimizer.ZootTiledCellComparator;
+import com.zootcat.physics.ZootPhysics;
+import com.zootcat.scene.ZootActor;
+import com.zootcat.scene.ZootActorIdAllocator;
+import com.zootcat.testing.HeadlessGdxTestRunner;
+
+@RunWith(HeadlessGdxTestRunner.class)
+public class ZootTiledSceneStreamerTest
+{
+	private static final int TILE_SIZE = 16;
+	private static final float UNIT_SCALE = 1.0f / TILE_SIZE;
+	private static final int MAP_HEIGHT = 16;
+	private static final int CHUNK_SIZE = 16;
+	private static final String BODY_CONTROLLERS = "PhysicsBodyController";
+	private static final String FIXTURE_CONTROLLERS = "FixtureController";
+
+	private ZootPhysics physics;
+	private ZootTiledScene scene;
+	private ZootTiledSceneActorFactory actorFactory;
+	private Group stage;
+	private List<ZootActor> addedCellActors;
+	private List<ZootActor> addedObjectActors;
+	private int nextObjectId;
+
+	@Before
+	public void setup()
+	{
+		physics = new ZootPhysics();
+		scene = mock(ZootTiledScene.class);
+		when(scene.getPhysics()).thenReturn(physics);
+		when(scene.getUnitScale()).thenReturn(UNIT_SCALE);
+		when(scene.getAssetManager()).thenReturn(mock(AssetManager.class));
+		when(scene.getActorIdAllocator()).thenReturn(new ZootActorIdAllocator());
+		when(scene.getControllerFactory()).thenReturn(new ControllerFactory());
+		actorFactory = new ZootTiledSceneActorFactory(scene);
+
+		stage = new Group();
+		addedCellActors = new ArrayList<ZootActor>();
+		addedObjectActors = new ArrayList<ZootActor>();
+		nextObjectId = 1;
+	}
+
+	@After
+	public void tearDown()
+	{
+		physics.dispose();
+	}
+
+	@Test
+	public void partitionShouldDivideMapIntoChunks()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 4 + 1);
+		MapObject alwaysLoaded = addObject(tiledMap, 10);
+		alwaysLoaded.getProperties().put(ZootTiledSceneStreamer.ALWAYS_LOADED_PROPERTY, true);
+		addObject(tiledMap, 20);
+		ZootTiledSceneStreamer streamer = createStreamer(tiledMap);
+		streamer.setChunkSize(CHUNK_SIZE);
+
+		//when
+		List<MapObject> alwaysLoadedObjects = streamer.partition(new ZootTiledMap(tiledMap).getAllObjects());
+
+		//then
+		assertEquals(5, streamer.getChunkCount());
+		assertEquals(0, streamer.getLoadedChunkCount());
+		assertEquals(1, alwaysLoadedObjects.size());
+		assertEquals(alwaysLoaded.getProperties().get("id"), alwaysLoadedObjects.get(0).getProperties().get("id"));
+	}
+
+	@Test
+	public void updateShouldLoadChunksNearViewCenter()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		addGround(tiledMap);
+		addObject(tiledMap, CHUNK_SIZE * 1 + 5);
+		addObject(tiledMap, CHUNK_SIZE * 3 + 5);
+		addObject(tiledMap, CHUNK_SIZE * 6 + 5);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+
+		//when
+		streamer.update(CHUNK_SIZE * 3.5f, 1.0f);
+
+		//then
+		assertEquals(3, streamer.getLoadedChunkCount());
+		assertFalse(streamer.isChunkLoaded(1, 0));
+		assertTrue(streamer.isChunkLoaded(2, 0));
+		assertTrue(streamer.isChunkLoaded(3, 0));
+		assertTrue(streamer.isChunkLoaded(4, 0));
+		assertEquals(3, addedCellActors.size());
+		assertEquals(1, addedObjectActors.size());
+		assertEquals(CHUNK_SIZE * 3 + 5, addedObjectActors.get(0).getX(), 0.0f);
+		assertEquals(3 + 1, physics.getWorld().getBodyCount());
+	}
+
+	@Test
+	public void updateShouldSplitCollisionRegionsAtChunkBorders()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 2);
+		addGround(tiledMap);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+
+		//when
+		streamer.update(0.0f, 0.0f);
+
+		//then
+		assertEquals(2, addedCellActors.size());
+		assertEquals(CHUNK_SIZE, addedCellActors.get(0).getWidth(), 0.0f);
+		assertEquals(CHUNK_SIZE, addedCellActors.get(1).getWidth(), 0.0f);
+	}
+
+	@Test
+	public void updateShouldUseOptimizationStrategyForChunks()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 2);
+		addGround(tiledMap);
+		ZootLayerOptimizationStrategy strategy = mock(ZootLayerOptimizationStrategy.class);
+		when(strategy.optimize(any(TiledMapTileLayer.class), any(ZootTiledCellComparator.class), 
+							   any(Integer.class), any(Integer.class), any(Integer.class), any(Integer.class))).thenReturn(Collections.emptyList());
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+
+		//when
+		streamer.setOptimizationStrategy(strategy);
+		streamer.update(0.0f, 0.0f);
+
+		//then
+		assertSame(strategy, streamer.getOptimizationStrategy());
+		assertTrue(addedCellActors.isEmpty());
+		TiledMapTileLayer collisionLayer = (TiledMapTileLayer)tiledMap.getLayers().get(ZootTiledMap.COLLISION_LAYER_NAME);
+		verify(strategy).optimize(same(collisionLayer), any(ZootTiledCellComparator.class), eq(0), eq(0), eq(CHUNK_SIZE), eq(CHUNK_SIZE));
+		verify(strategy).optimize(same(collisionLayer), any(ZootTiledCellComparator.class), eq(CHUNK_SIZE), eq(0), eq(CHUNK_SIZE), eq(CHUNK_SIZE));
+	}
+
+	@Test
+	public void updateShouldUnloadChunksOutsideOfUnloadRadius()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		addGround(tiledMap);
+		addObject(tiledMap, CHUNK_SIZE * 2 + 5);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		streamer.update(CHUNK_SIZE * 3.5f, 1.0f);
+
+		//when
+		streamer.update(CHUNK_SIZE * 5.5f, 1.0f);
+
+		//then
+		assertFalse(streamer.isChunkLoaded(2, 0));
+		assertTrue(streamer.isChunkLoaded(3, 0));
+		assertTrue(streamer.isChunkLoaded(6, 0));
+		assertEquals(4, streamer.getLoadedChunkCount());
+		assertEquals(1, streamer.getUnloadCount());
+		assertEquals(4, stage.getChildren().size);
+		assertEquals(4, physics.getWorld().getBodyCount());
+	}
+
+	@Test
+	public void updateShouldNotReloadChunksWhenMovingAlongChunkBorder()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		streamer.update(CHUNK_SIZE * 4.0f - 0.5f, 1.0f);
+		streamer.update(CHUNK_SIZE * 4.0f + 0.5f, 1.0f);
+		int loadCount = streamer.getLoadCount();
+
+		//when
+		for(int i = 0; i < 10; ++i)
+		{
+			streamer.update(CHUNK_SIZE * 4.0f - 0.5f, 1.0f);
+			streamer.update(CHUNK_SIZE * 4.0f + 0.5f, 1.0f);
+		}
+
+		//then
+		assertEquals(loadCount, streamer.getLoadCount());
+		assertEquals(0, streamer.getUnloadCount());
+	}
+
+	@Test
+	public void updateShouldRecreateActorsWhenChunkIsLoadedAgain()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		addObject(tiledMap, 5);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		streamer.update(0.0f, 0.0f);
+		streamer.update(CHUNK_SIZE * 7.0f, 0.0f);
+
+		//when
+		streamer.update(0.0f, 0.0f);
+
+		//then
+		assertEquals(2, addedObjectActors.size());
+		assertEquals(1, stage.getChildren().size);
+		assertEquals(1, physics.getWorld().getBodyCount());
+	}
+
+	@Test
+	public void partitionShouldReserveIdsOfStreamedObjects()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		nextObjectId = 50;
+		addObject(tiledMap, CHUNK_SIZE * 6);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+		tile.getProperties().put("id", 1);
+
+		//when
+		ZootActor tileActor = actorFactory.createFromTile(tile);
+		streamer.update(CHUNK_SIZE * 6.0f, 0.0f);
+
+		//then
+		assertEquals(1, addedObjectActors.size());
+		assertEquals(50, addedObjectActors.get(0).getId());
+		assertTrue(tileActor.getId() > 50);
+	}
+
+	@Test
+	public void updateShouldNotRecreateRemovedObjectActors()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		addObject(tiledMap, 5);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		streamer.update(0.0f, 0.0f);
+		addedObjectActors.get(0).remove();
+
+		//when
+		streamer.update(CHUNK_SIZE * 7.0f, 0.0f);
+		streamer.update(0.0f, 0.0f);
+
+		//then
+		assertEquals(1, addedObjectActors.size());
+		assertEquals(0, stage.getChildren().size);
+	}
+
+	@Test
+	public void updateShouldKeepObjectActorsMovedIntoLoadedChunk()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		addObject(tiledMap, 5);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		streamer.update(0.0f, 0.0f);
+		ZootActor movedActor = addedObjectActors.get(0);
+		movedActor.setX(CHUNK_SIZE * 4 + 5);
+
+		//when
+		streamer.update(CHUNK_SIZE * 4.5f, 0.0f);
+
+		//then
+		assertFalse(streamer.isChunkLoaded(0, 0));
+		assertEquals(1, addedObjectActors.size());
+		assertEquals(stage, movedActor.getParent());
+		assertEquals(1, physics.getWorld().getBodyCount());
+	}
+
+	@Test
+	public void updateShouldRecreateMovedObjectActorWhenItsChunkIsUnloaded()
+	{
+		//given
+		TiledMap tiledMap = createMap(CHUNK_SIZE * 8);
+		addObject(tiledMap, 5);
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		streamer.update(0.0f, 0.0f);
+		ZootActor movedActor = addedObjectActors.get(0);
+		movedActor.setX(CHUNK_SIZE * 4 + 5);
+		streamer.update(CHUNK_SIZE * 4.5f, 0.0f);
+
+		//when
+		streamer.update(0.0f, 0.0f);
+
+		//then
+		assertEquals(null, movedActor.getParent());
+		assertEquals(2, addedObjectActors.size());
+		assertEquals(5.0f, addedObjectActors.get(1).getX(), 0.0f);
+		assertEquals(1, physics.getWorld().getBodyCount());
+	}
+
+	@Test
+	public void shouldUseDefaultOptimizationStrategy()
+	{
+		assertSame(ZootLayerOptimizer.DEFAULT_STRATEGY, createStreamer(createMap(CHUNK_SIZE)).getOptimizationStrategy());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setRadiusShouldThrowWhenUnloadRadiusIsSmallerThanLoadRadius()
+	{
+		createStreamer(createMap(CHUNK_SIZE)).setRadius(2, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setChunkSizeShouldThrowOnInvalidSize()
+	{
+		createStreamer(createMap(CHUNK_SIZE)).setChunkSize(0);
+	}
+
+	@Test
+	public void shouldKeepBodyCountLowWhenWalkingAcrossBigMap()
+	{
+		//given
+		final int mapWidth = 10000;
+		final int objectSpacing = 10;
+		TiledMap tiledMap = createMap(mapWidth);
+		addGround(tiledMap);
+		for(int x = 5; x < mapWidth; x += objectSpacing)
+		{
+			addObject(tiledMap, x);
+		}
+		ZootTiledSceneStreamer streamer = createPartitionedStreamer(tiledMap);
+		Runtime runtime = Runtime.getRuntime();
+
+		//when
+		int peakBodyCount = 0;
+		long peakHeap = 0;
+		for(int x = 0; x <= mapWidth; ++x)
+		{
+			streamer.update(x, 1.0f);
+			peakBodyCount = Math.max(peakBodyCount, physics.getWorld().getBodyCount());
+			if(x % CHUNK_SIZE == 0) peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+		}
+		Gdx.app.log("ZootTiledSceneStreamerTest", "Map " + mapWidth + " tiles, " + (mapWidth / objectSpacing) + " objects, "
+				+ "peak body count: " + peakBodyCount + ", peak heap: " + (peakHeap / (1024 * 1024)) + " MB, "
+				+ "chunk loads: " + streamer.getLoadCount());
+
+		//then
+		int maxLoadedChunks = streamer.getUnloadRadius() * 2 + 2;
+		int bodiesPerChunk = 1 + CHUNK_SIZE / objectSpacing + 1;
+		assertTrue("Peak body count: " + peakBodyCount, peakBodyCount <= maxLoadedChunks * bodiesPerChunk);
+		assertEquals(streamer.getChunkCount(), streamer.getLoadCount());
+		assertTrue(streamer.getLoadedChunkCount() <= streamer.getLoadRadius() * 2 + 1);
+	}
+
+	private ZootTiledSceneStreamer createStreamer(TiledMap tiledMap)
+	{
+		ZootTiledSceneStreamer streamer = new ZootTiledSceneStreamer(new ZootTiledMap(tiledMap), actorFactory, UNIT_SCALE, actor ->
+		{
+			addedCellActors.add(actor);
+			stage.addActor(actor);
+		}, actor ->
+		{
+			addedObjectActors.add(actor);
+			stage.addActor(actor);
+		});
+		return streamer;
+	}
+
+	private ZootTiledSceneStreamer createPartitionedStreamer(TiledMap tiledMap)
+	{
+		ZootTiledSceneStreamer streamer = createStreamer(tiledMap);
+		streamer.setChunkSize(CHUNK_SIZE);
+		streamer.setRadius(1, 2);
+		streamer.partition(new ZootTiledMap(tiledMap).getAllObjects());
+		return streamer;
+	}
+
+	private TiledMap createMap(int width)
+	{
+		TiledMap tiledMap = new TiledMap();
+		MapProperties properties = tiledMap.getProperties();
+		properties.put(ZootTiledMap.MAP_WIDTH_PROPERTY, width);
+		properties.put(ZootTiledMap.MAP_HEIGHT_PROPERTY, MAP_HEIGHT);
+		properties.put(ZootTiledMap.TILE_WIDTH_PROPERTY, TILE_SIZE);
+		properties.put(ZootTiledMap.TILE_HEIGHT_PROPERTY, TILE_SIZE);
+
+		TiledMapTileLayer collisionLayer = new TiledMapTileLayer(width, MAP_HEIGHT, TILE_SIZE, TILE_SIZE);
+		collisionLayer.setName(ZootTiledMap.COLLISION_LAYER_NAME);
+		tiledMap.getLayers().add(collisionLayer);
+
+		MapLayer objectLayer = new MapLayer();
+		objectLayer.setName("Objects");
+		tiledMap.getLayers().add(objectLayer);
+		return tiledMap;
+	}
+
+	private void addGround(TiledMap tiledMap)
+	{
+		StaticTiledMapTile groundTile = new StaticTiledMapTile(new TextureRegion());
+		groundTile.getProperties().put("id", 1);
+		groundTile.getProperties().put(BODY_CONTROLLERS, "type=StaticBody");
+		groundTile.getProperties().put(FIXTURE_CONTROLLERS, "");
+
+		TiledMapTileLayer collisionLayer = (TiledMapTileLayer)tiledMap.getLayers().get(ZootTiledMap.COLLISION_LAYER_NAME);
+		for(int x = 0; x < collisionLayer.getWidth(); ++x)
+		{
+			Cell cell = new Cell();
+			cell.setTile(groundTile);
+			collisionLayer.setCell(x, 0, cell);
+		}
+	}
+
+	private MapObject addObject(TiledMap tiledMap, int tileX)
+	{
+		MapObject object = new MapObject();
+		MapProperties properties = object.getProperties();
+		properties.put("id", nextObjectId++);
+		properties.put("x", (float)tileX * TILE_SIZE);
+		properties.put("y", (float)TILE_SIZE);
+		properties.put("width", (float)TILE_SIZE);
+		properties.put("height", (float)TILE_SIZE);
+		properties.put(BODY_CONTROLLERS, "");
+		properties.put(FIXTURE_CONTROLLERS, "");
+		tiledMap.getLayers().get("Objects").getObjects().add(object);
+		return object;
+	}
+}
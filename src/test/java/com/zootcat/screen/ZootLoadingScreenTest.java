@@ -3,6 +3,8 @@ package com.zootcat.screen;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.function.Consumer;
@@ -169,4 +171,64 @@ public class ZootLoadingScreenTest
 		screen.render(0.0f);
 		assertEquals("Should not go over 100%", 1.0f, screen.getProgress(), 0.0f);
 	}
+	
+	@Test
+	public void shouldIncludeCurrentTaskProgress()
+	{
+		//given
+		ZootLoadingTask loadingTask = mock(ZootLoadingTask.class);
+		when(loadingTask.update(assetManager)).thenReturn(false);
+		when(loadingTask.getProgress(assetManager)).thenReturn(0.5f);
+		screen.addTask(task);
+		screen.addTask(loadingTask);
+		
+		//when
+		screen.show();
+		screen.render(0.0f);
+		
+		//then
+		verify(loadingTask).start(assetManager);
+		assertEquals(0.75f, screen.getProgress(), 0.0f);
+	}
+	
+	@Test
+	public void shouldFinishLoadingWhenLoadingTaskIsFinished()
+	{
+		//given
+		ZootLoadingTask loadingTask = mock(ZootLoadingTask.class);
+		when(loadingTask.update(assetManager)).thenReturn(false);
+		screen.onFinishLoading((game) -> { success = true; });
+		screen.addTask(loadingTask);
+		
+		//when
+		screen.show();
+		screen.render(0.0f);
+		
+		//then
+		assertFalse(success);
+		
+		//when
+		when(loadingTask.update(assetManager)).thenReturn(true);
+		screen.render(0.0f);
+		
+		//then
+		assertTrue(success);
+		assertEquals(1.0f, screen.getProgress(), 0.0f);
+	}
+	
+	@Test
+	public void shouldIncludeAssetManagerProgressForAssetTasks()
+	{
+		//given
+		when(assetManager.update()).thenReturn(false);
+		when(assetManager.getProgress()).thenReturn(0.5f);
+		screen.addTask(task);
+		
+		//when
+		screen.show();
+		screen.render(0.0f);
+		
+		//then
+		assertEquals(0.5f, screen.getProgress(), 0.0f);
+	}
 }
@@ -3,6 +3,8 @@ package com.zootcat.textdata;
 import static org.junit.Assert.assertEquals;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import org.junit.Before;
@@ -49,5 +51,22 @@ public class TextDataFileTest
         
         result = file.readSections(":OtherSectionStart", ":OtherSectionEnd");
         assertEquals(1, result.size());
-    }    
+    }
+    
+    @Test
+    public void shouldReadFileOnlyOnce() throws Exception
+    {
+    	//given
+    	File fileCopy = File.createTempFile("TextDataFile", ".txt");
+    	Files.copy(testFile.toPath(), fileCopy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    	TextDataFile file = new TextDataFile(fileCopy);
+    	file.readSections(":SectionStart", ":SectionEnd");
+    	
+    	//when
+    	fileCopy.delete();
+    	List<TextDataSection> result = file.readSections(":OtherSectionStart", ":OtherSectionEnd");
+    	
+    	//then
+    	assertEquals(1, result.size());
+    }
 }